@@ -0,0 +1,157 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.github.owlcs.ontapi.internal.InternalCache;
+import org.apache.jena.graph.impl.LiteralLabel;
+import org.semanticweb.owlapi.model.*;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.stream.Stream;
+
+import static com.github.owlcs.ontapi.OntApiException.notNull;
+
+/**
+ * A {@link DataFactoryImpl} extension with bounded caches for named entities, datatypes and short literals.
+ * It is intended to be a second-level cache that is shared by all ontologies of a manager:
+ * the model-free OWL objects (e.g. that are produced by {@link com.github.owlcs.ontapi.internal.objects.ModelObject#eraseModel()})
+ * are immutable and therefore can be reused between different ontologies,
+ * so the same entity, which is used in many ontologies, is created only once.
+ * Note that the ONT objects themselves (see {@link com.github.owlcs.ontapi.internal.ModelObjectFactory})
+ * are bound to a particular model and therefore are still cached (and created) on the model level:
+ * this factory does not reduce the number of per-model {@code ONTObject} wrappers,
+ * it only shares the plain OWL-API objects they are erased to.
+ * Also note that this factory is used only instead of the default {@link DataFactoryImpl};
+ * if the manager is configured with a custom {@link DataFactory}, there is no shared cache at all.
+ *
+ * @see com.github.owlcs.ontapi.config.OntConfig#getManagerObjectsCacheSize()
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class CacheDataFactory extends DataFactoryImpl {
+    private static final long serialVersionUID = 4309785325640139853L;
+    /**
+     * Literals with a longer lexical form are not cached:
+     * it is unlikely they are common for different ontologies, but they would waste cache room.
+     */
+    public static final int MAX_LITERAL_LENGTH = 64;
+
+    protected final long size;
+    protected final boolean parallel;
+
+    protected transient InternalCache.Loading<IRI, OWLClass> classes;
+    protected transient InternalCache.Loading<IRI, OWLDatatype> datatypes;
+    protected transient InternalCache.Loading<IRI, OWLAnnotationProperty> annotationProperties;
+    protected transient InternalCache.Loading<IRI, OWLDataProperty> dataProperties;
+    protected transient InternalCache.Loading<IRI, OWLObjectProperty> objectProperties;
+    protected transient InternalCache.Loading<IRI, OWLNamedIndividual> individuals;
+    protected transient InternalCache.Loading<LiteralLabel, OWLLiteral> literals;
+
+    /**
+     * Creates a factory with caches.
+     *
+     * @param size     long, the maximum size of each cache, positive
+     * @param parallel boolean, if {@code true} caffeine caches are used, otherwise LHM based caches
+     */
+    public CacheDataFactory(long size, boolean parallel) {
+        if (size <= 0) {
+            throw new OntApiException.IllegalArgument("Wrong cache size: " + size);
+        }
+        this.size = size;
+        this.parallel = parallel;
+        initCaches();
+    }
+
+    protected void initCaches() {
+        this.classes = InternalCache.createBounded(super::getOWLClass, parallel, size);
+        this.datatypes = InternalCache.createBounded(super::getOWLDatatype, parallel, size);
+        this.annotationProperties = InternalCache.createBounded(super::getOWLAnnotationProperty, parallel, size);
+        this.dataProperties = InternalCache.createBounded(super::getOWLDataProperty, parallel, size);
+        this.objectProperties = InternalCache.createBounded(super::getOWLObjectProperty, parallel, size);
+        this.individuals = InternalCache.createBounded(super::getOWLNamedIndividual, parallel, size);
+        this.literals = InternalCache.createBounded(super::getOWLLiteral, parallel, size);
+    }
+
+    /**
+     * Lists all caches.
+     *
+     * @return {@code Stream} of {@link InternalCache.Loading}s
+     */
+    protected Stream<InternalCache.Loading<?, ?>> caches() {
+        return Stream.of(classes, datatypes, annotationProperties,
+                dataProperties, objectProperties, individuals, literals);
+    }
+
+    /**
+     * Answers the total number of cached objects.
+     *
+     * @return long
+     */
+    public long size() {
+        return caches().mapToLong(c -> c.asCache().size()).sum();
+    }
+
+    /**
+     * Discards all cached objects.
+     */
+    @Override
+    public void purge() {
+        caches().forEach(InternalCache.Loading::clear);
+    }
+
+    @Override
+    public OWLClass getOWLClass(IRI iri) {
+        return classes.get(notNull(iri, "Null class iri"));
+    }
+
+    @Override
+    public OWLDatatype getOWLDatatype(IRI iri) {
+        return datatypes.get(notNull(iri, "Null datatype iri"));
+    }
+
+    @Override
+    public OWLAnnotationProperty getOWLAnnotationProperty(IRI iri) {
+        return annotationProperties.get(notNull(iri, "Null annotation property iri"));
+    }
+
+    @Override
+    public OWLDataProperty getOWLDataProperty(IRI iri) {
+        return dataProperties.get(notNull(iri, "Null data property iri"));
+    }
+
+    @Override
+    public OWLObjectProperty getOWLObjectProperty(IRI iri) {
+        return objectProperties.get(notNull(iri, "Null object property iri"));
+    }
+
+    @Override
+    public OWLNamedIndividual getOWLNamedIndividual(IRI iri) {
+        return individuals.get(notNull(iri, "Null individual iri"));
+    }
+
+    @Override
+    public OWLLiteral getOWLLiteral(LiteralLabel label) {
+        if (notNull(label, "Null literal label").getLexicalForm().length() > MAX_LITERAL_LENGTH) {
+            return super.getOWLLiteral(label);
+        }
+        return literals.get(label);
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initCaches();
+    }
+}
@@ -17,6 +17,7 @@ package com.github.owlcs.ontapi;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.config.OntWriterConfiguration;
 import com.github.owlcs.ontapi.internal.InternalCache;
+import com.github.owlcs.ontapi.internal.CacheBudget;
 import com.github.owlcs.ontapi.internal.InternalConfig;
 import com.github.owlcs.ontapi.internal.InternalModel;
 import com.github.owlcs.ontapi.internal.InternalModelImpl;
@@ -62,7 +63,13 @@ public class ModelConfig implements InternalConfig, Serializable {
      * @return {@link InternalModel}
      */
     public InternalModel createInternalModel(Graph graph) {
-        return BaseModel.createInternalModel(graph, getPersonality(), this, manager.getOWLDataFactory(), getManagerCaches());
+        InternalModel res = BaseModel.createInternalModel(graph,
+                getPersonality(), this, manager.getModelDataFactory(), getManagerCaches());
+        CacheBudget budget = manager.getCacheBudget();
+        if (budget != null) {
+            budget.register(res);
+        }
+        return res;
     }
 
     /**
@@ -132,16 +132,19 @@ public class OWLOntologyWrapper extends RWLockedOntology {
 
     @Override
     public Stream<OWLOntology> directImports() {
+        resolveImports();
         return withReadLockToObject(delegate::directImports);
     }
 
     @Override
     public Stream<OWLOntology> imports() {
+        resolveImports();
         return withReadLockToObject(() -> getOWLOntologyManager().imports(this));
     }
 
     @Override
     public Stream<OWLOntology> importsClosure() {
+        resolveImports();
         return withReadLockToObject(() -> getOWLOntologyManager().importsClosure(this));
     }
 
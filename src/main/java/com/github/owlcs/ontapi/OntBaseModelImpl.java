@@ -814,7 +814,7 @@ public abstract class OntBaseModelImpl implements OWLOntology, BaseModel {
 
     @Override
     public <T extends OWLAxiom> int getAxiomCount(AxiomType<T> axiomType) {
-        return (int) axioms(axiomType).count();
+        return (int) base.getOWLAxiomCount(axiomType);
     }
 
     @Override
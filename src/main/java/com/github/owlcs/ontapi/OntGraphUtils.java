@@ -15,6 +15,7 @@
 package com.github.owlcs.ontapi;
 
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
+import com.github.owlcs.ontapi.internal.NodeDictionary;
 import com.github.owlcs.ontapi.jena.impl.OntIDImpl;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.owlcs.ontapi.jena.utils.Graphs;
@@ -26,7 +27,11 @@ import org.apache.jena.rdf.model.impl.ModelCom;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.riot.RDFParser;
+import org.apache.jena.riot.RDFParserBuilder;
+import org.apache.jena.riot.system.StreamRDF;
 import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.core.Quad;
 import org.semanticweb.owlapi.io.*;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLDocumentFormat;
@@ -69,6 +74,12 @@ public class OntGraphUtils {
     public static final String LAST_REQUEST_TYPE = ", */*; q=0.09";
     public static final String DEFAULT_REQUEST = "application/rdf+xml, application/xml; q=0.7, text/xml; q=0.6" +
             TEXT_PLAIN_REQUEST_TYPE + LAST_REQUEST_TYPE;
+    /**
+     * The number of triples that are accumulated by the parser sink before they are flushed into the target graph.
+     *
+     * @see GraphStreamRDF
+     */
+    public static final int READ_BATCH_SIZE = 8192;
 
     /**
      * Gets an OWL Ontology ID parsed from the given graph.
@@ -254,19 +265,97 @@ public class OntGraphUtils {
     public static OntFormat readGraph(Graph graph,
                                       OWLOntologyDocumentSource source,
                                       OntLoaderConfiguration conf) throws OWLOntologyCreationException {
+        return readGraph(graph, source, conf, null);
+    }
+
+    /**
+     * Reads the source document into the graph, reporting the progress to the given listener.
+     * The parser feeds triples directly into the {@code graph} in batches of {@link #READ_BATCH_SIZE} triples,
+     * no intermediate graph or model is created.
+     * If the source is {@link OntGraphDocumentSource}, then its graph is bulk-copied into the given {@code graph}
+     * without any serialization.
+     *
+     * @param graph    {@link Graph} the graph(empty) to put in
+     * @param source   {@link OWLOntologyDocumentSource} the source
+     *                 (encapsulates IO-stream, IO-Reader, Graph or IRI of document)
+     * @param conf     {@link OntLoaderConfiguration} config
+     * @param listener {@link ReadListener} to monitor the process, can be {@code null}
+     * @return {@link OntFormat} corresponding to the specified source
+     * @throws UnsupportedFormatException   if source can't be read into graph using jena.
+     * @throws ConfigMismatchException      if there is some conflict with config settings,
+     *                                      anyway we can't continue.
+     * @throws OWLOntologyCreationException if there is some serious IO problem
+     * @throws OntApiException              if some other problem
+     * @since 2.1.1
+     */
+    public static OntFormat readGraph(Graph graph,
+                                      OWLOntologyDocumentSource source,
+                                      OntLoaderConfiguration conf,
+                                      ReadListener listener) throws OWLOntologyCreationException {
+        return readGraph(graph, source, conf, null, listener);
+    }
+
+    /**
+     * Reads the source document into the graph, reporting the progress to the given listener.
+     * If the {@link NodeDictionary} is specified, the parser takes uri nodes from it,
+     * so that the same uri is represented by the same {@code Node} instance in all graphs sharing the dictionary.
+     *
+     * @param graph    {@link Graph} the graph(empty) to put in
+     * @param source   {@link OWLOntologyDocumentSource} the source
+     *                 (encapsulates IO-stream, IO-Reader, Graph or IRI of document)
+     * @param conf     {@link OntLoaderConfiguration} config
+     * @param nodes    {@link NodeDictionary} to intern uri nodes, can be {@code null}
+     * @param listener {@link ReadListener} to monitor the process, can be {@code null}
+     * @return {@link OntFormat} corresponding to the specified source
+     * @throws UnsupportedFormatException   if source can't be read into graph using jena.
+     * @throws ConfigMismatchException      if there is some conflict with config settings,
+     *                                      anyway we can't continue.
+     * @throws OWLOntologyCreationException if there is some serious IO problem
+     * @throws OntApiException              if some other problem
+     * @see #readGraph(Graph, OWLOntologyDocumentSource, OntLoaderConfiguration, ReadListener)
+     * @since 2.1.1
+     */
+    static OntFormat readGraph(Graph graph,
+                               OWLOntologyDocumentSource source,
+                               OntLoaderConfiguration conf,
+                               NodeDictionary nodes,
+                               ReadListener listener) throws OWLOntologyCreationException {
         IRI iri = OntApiException.notNull(source, "Null document source.").getDocumentIRI();
         if (LOGGER.isDebugEnabled())
             LOGGER.debug("Read graph from <{}>.", iri);
-        OntFormat res = read(graph, source, s -> s.getInputStream().orElse(null));
+        if (source instanceof OntGraphDocumentSource) {
+            return copyGraph(graph, (OntGraphDocumentSource) source, listener);
+        }
+        OntFormat res = read(graph, source, s -> s.getInputStream().orElse(null), nodes, listener);
         if (res != null) return res;
-        res = read(graph, source, s -> asInputStream(s.getReader().orElse(null)));
+        res = read(graph, source, s -> asInputStream(s.getReader().orElse(null)), nodes, listener);
         if (res != null) return res;
         if (conf.getSupportedSchemes().stream().noneMatch(s -> s.same(iri))) {
             throw new ConfigMismatchException("Not allowed scheme: " + iri);
         }
         String header = source.getAcceptHeaders().orElse(DEFAULT_REQUEST);
         return read(graph, source, s -> DocumentSources.getInputStream(iri, conf, header)
-                .orElseThrow(() -> new OWLOntologyInputSourceException("Can't get input-stream from " + iri)));
+                .orElseThrow(() -> new OWLOntologyInputSourceException("Can't get input-stream from " + iri)),
+                nodes, listener);
+    }
+
+    /**
+     * Copies the content of the graph encapsulated in the {@link OntGraphDocumentSource} into the given {@code graph}.
+     * No (de)serialization is performed: triples are passed as they are, in batches.
+     *
+     * @param graph    {@link Graph} the graph to put in
+     * @param source   {@link OntGraphDocumentSource}
+     * @param listener {@link ReadListener}, can be {@code null}
+     * @return {@link OntFormat}
+     */
+    protected static OntFormat copyGraph(Graph graph, OntGraphDocumentSource source, ReadListener listener) {
+        Graph from = source.getGraph();
+        GraphStreamRDF sink = new GraphStreamRDF(graph, source.getDocumentIRI(), READ_BATCH_SIZE, listener);
+        sink.start();
+        from.getPrefixMapping().getNsPrefixMap().forEach(sink::prefix);
+        from.find().forEachRemaining(sink::triple);
+        sink.finish();
+        return source.getOntFormat();
     }
 
     /**
@@ -282,6 +371,27 @@ public class OntGraphUtils {
     protected static OntFormat read(Graph graph,
                                     OWLOntologyDocumentSource source,
                                     OntInputSupplier supplier) throws OWLOntologyCreationException {
+        return read(graph, source, supplier, null, null);
+    }
+
+    /**
+     * Performs reading to the graph from the source using {@link OntInputSupplier ont-supplier},
+     * which produces a new input stream each call.
+     * The parser output goes directly to the graph through the {@link GraphStreamRDF batching sink}.
+     *
+     * @param graph    {@link Graph}
+     * @param source   {@link OWLOntologyDocumentSource}
+     * @param supplier {@link OntInputSupplier}
+     * @param nodes    {@link NodeDictionary}, can be {@code null}
+     * @param listener {@link ReadListener}, can be {@code null}
+     * @return {@link OntFormat} or {@code null} in case no {@code InputStream} is provided
+     * @throws OWLOntologyCreationException if something is wrong.
+     */
+    protected static OntFormat read(Graph graph,
+                                    OWLOntologyDocumentSource source,
+                                    OntInputSupplier supplier,
+                                    NodeDictionary nodes,
+                                    ReadListener listener) throws OWLOntologyCreationException {
         IRI iri = source.getDocumentIRI();
         final OWLOntologyCreationException cause = new UnsupportedFormatException(String.format("Can't read %s %s.",
                 source.getClass().getSimpleName(), iri));
@@ -299,7 +409,11 @@ public class OntGraphUtils {
                 if (LOGGER.isDebugEnabled())
                     LOGGER.debug("try <{}>", lang);
                 // with @base:
-                RDFDataMgr.read(graph, is, iri.toString(), lang);
+                RDFParserBuilder parser = RDFParser.create().source(is).base(iri.toString()).lang(lang);
+                if (nodes != null) {
+                    parser.factory(nodes.createFactoryRDF());
+                }
+                parser.parse(new GraphStreamRDF(graph, iri, READ_BATCH_SIZE, listener));
                 return format;
             } catch (OWLOntologyInputSourceException | IOException e) {
                 throw new OWLOntologyCreationException(source.getClass().getSimpleName() +
@@ -419,4 +533,129 @@ public class OntGraphUtils {
          */
         InputStream open(OWLOntologyDocumentSource source) throws OWLOntologyInputSourceException;
     }
+
+    /**
+     * A callback to monitor the reading of a document into a graph.
+     * It is called each time a batch of triples is flushed into the graph, and once at the end of reading.
+     *
+     * @since 2.1.1
+     */
+    @FunctionalInterface
+    public interface ReadListener {
+
+        /**
+         * Reports the reading progress.
+         *
+         * @param document {@link IRI} of the document that is being read
+         * @param triples  long, the number of triples that have been put into the graph so far
+         * @param nanos    long, the time elapsed since the start of reading, in nanoseconds
+         * @param finished boolean, {@code true} if this is the last call for the document
+         */
+        void onProgress(IRI document, long triples, long nanos, boolean finished);
+
+        /**
+         * Calculates the reading speed.
+         *
+         * @param triples long, number of triples
+         * @param nanos   long, elapsed time in nanoseconds
+         * @return double, triples per second
+         */
+        static double triplesPerSecond(long triples, long nanos) {
+            return nanos <= 0 ? 0 : triples * 1_000_000_000d / nanos;
+        }
+    }
+
+    /**
+     * A {@link StreamRDF} that puts the parser output directly into the target graph.
+     * Triples are accumulated in a bounded buffer and then flushed into the graph in bulk,
+     * so the memory overhead is limited to the buffer capacity and does not depend on the document size.
+     * Quads are accepted only for the default graph, just like
+     * {@link org.apache.jena.riot.system.StreamRDFLib#graph(Graph)} does.
+     *
+     * @since 2.1.1
+     */
+    public static class GraphStreamRDF implements StreamRDF {
+        protected final Graph graph;
+        protected final IRI document;
+        protected final ReadListener listener;
+        protected final Triple[] buffer;
+        protected int size;
+        protected long count;
+        protected long start;
+
+        public GraphStreamRDF(Graph graph, IRI document, int batchSize, ReadListener listener) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("Wrong batch size: " + batchSize);
+            }
+            this.graph = Objects.requireNonNull(graph, "Null graph");
+            this.document = document;
+            this.listener = listener;
+            this.buffer = new Triple[batchSize];
+        }
+
+        @Override
+        public void start() {
+            start = System.nanoTime();
+        }
+
+        @Override
+        public void triple(Triple triple) {
+            buffer[size++] = triple;
+            if (size == buffer.length) {
+                flush(false);
+            }
+        }
+
+        @Override
+        public void quad(Quad quad) {
+            if (quad.isTriple() || quad.isDefaultGraph()) {
+                triple(quad.asTriple());
+            }
+        }
+
+        @Override
+        public void base(String base) {
+        }
+
+        @Override
+        public void prefix(String prefix, String iri) {
+            graph.getPrefixMapping().setNsPrefix(prefix, iri);
+        }
+
+        @Override
+        public void finish() {
+            flush(true);
+            if (LOGGER.isDebugEnabled()) {
+                long nanos = System.nanoTime() - start;
+                LOGGER.debug("<{}>: {} triples are read in {} ms ({} triples/s).",
+                        document, count, nanos / 1_000_000, (long) ReadListener.triplesPerSecond(count, nanos));
+            }
+        }
+
+        /**
+         * Puts all buffered triples into the graph.
+         *
+         * @param last boolean, {@code true} if this is the final flush
+         */
+        protected void flush(boolean last) {
+            if (size != 0) {
+                GraphUtil.add(graph, size == buffer.length ? buffer : Arrays.copyOf(buffer, size));
+                count += size;
+                Arrays.fill(buffer, 0, size, null);
+                size = 0;
+            }
+            if (listener != null) {
+                listener.onProgress(document, count, System.nanoTime() - start, last);
+            }
+        }
+
+        /**
+         * Answers the number of triples that have been flushed into the graph.
+         *
+         * @return long
+         */
+        public long getCount() {
+            return count;
+        }
+    }
 }
@@ -0,0 +1,440 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.owlcs.ontapi;
+
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An opt-in instrumentation of the hot paths:
+ * content and component cache loads (per {@link com.github.owlcs.ontapi.internal.OWLTopObjectType type}),
+ * graph searchers calls, {@link com.github.owlcs.ontapi.transforms.GraphTransformers graph transformations},
+ * document reading while loading and waiting for ontology read/write locks.
+ * <p>
+ * The instrumentation is disabled by default, and in this state each hook costs a single volatile read.
+ * It can be turned on either by the system property {@link #ENABLE_PROPERTY ont-api.metrics}
+ * (with the {@link JMXRegistry JMX} registry) or programmatically via {@link #setRegistry(Registry)}.
+ * Metrics are identified by dot-separated names, e.g. {@code content.load.SUBCLASS_OF},
+ * {@code transform.OWLCommonTransform}, {@code lock.read.wait}.
+ *
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class OntMetrics {
+    /**
+     * The system property to enable the default (JMX) registry at startup.
+     */
+    public static final String ENABLE_PROPERTY = "ont-api.metrics";
+    private static final Logger LOGGER = LoggerFactory.getLogger(OntMetrics.class);
+
+    private static volatile Registry registry = Boolean.getBoolean(ENABLE_PROPERTY) ? JMXRegistry.create() : null;
+
+    /**
+     * Answers {@code true} if metrics are collected.
+     *
+     * @return boolean
+     */
+    public static boolean isEnabled() {
+        return registry != null;
+    }
+
+    /**
+     * Returns the current registry.
+     *
+     * @return {@link Registry} or {@code null} if metrics are disabled
+     */
+    public static Registry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Sets a new registry; the previous one (if any) is {@link Registry#close() closed}.
+     *
+     * @param r {@link Registry} or {@code null} to disable metrics
+     */
+    public static synchronized void setRegistry(Registry r) {
+        Registry prev = registry;
+        registry = r;
+        if (prev != null && prev != r) {
+            prev.close();
+        }
+    }
+
+    /**
+     * Enables metrics collecting with the default {@link JMXRegistry JMX} registry.
+     *
+     * @return {@link Registry}
+     */
+    public static synchronized Registry enable() {
+        Registry res = registry;
+        if (res == null) {
+            setRegistry(res = JMXRegistry.create());
+        }
+        return res;
+    }
+
+    /**
+     * Disables metrics collecting.
+     */
+    public static void disable() {
+        setRegistry(null);
+    }
+
+    /**
+     * Starts a timer.
+     *
+     * @return long, the current nano time or {@code 0} if metrics are disabled
+     */
+    public static long start() {
+        return registry == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Stops the timer, that has been started by the {@link #start()} method, and records the elapsed time.
+     *
+     * @param name  {@code String}, the metric name
+     * @param start long, the timer start
+     */
+    public static void stop(String name, long start) {
+        Registry r = registry;
+        if (r == null || start == 0) {
+            return;
+        }
+        r.record(name, System.nanoTime() - start);
+    }
+
+    /**
+     * Increments the counter with the given name.
+     *
+     * @param name {@code String}, the metric name
+     */
+    public static void count(String name) {
+        Registry r = registry;
+        if (r != null) {
+            r.count(name, 1);
+        }
+    }
+
+    /**
+     * Wraps the given iterator so that the time spent in its {@code hasNext()} and {@code next()} methods
+     * is recorded when it is exhausted or closed.
+     * Since all ONT-API searchers are lazy, this is the only reasonable way to measure them.
+     * If metrics are disabled the iterator is just wrapped, so callers are expected to check {@link #isEnabled()} first.
+     *
+     * @param name     {@code String}, the metric name
+     * @param iterator {@link Iterator}
+     * @param <X>      anything
+     * @return {@link ExtendedIterator} of {@link X}
+     */
+    public static <X> ExtendedIterator<X> timed(String name, Iterator<X> iterator) {
+        Registry r = registry;
+        if (r == null) {
+            return WrappedIterator.create(iterator);
+        }
+        return new TimedIterator<>(r, name, iterator);
+    }
+
+    /**
+     * A metrics registry, a sink for all measurements.
+     * Implementations must be thread-safe.
+     */
+    public interface Registry {
+
+        /**
+         * Records the time measurement.
+         *
+         * @param name  {@code String}, the metric name
+         * @param nanos long, elapsed time in nanoseconds
+         */
+        void record(String name, long nanos);
+
+        /**
+         * Adds the delta to the counter.
+         *
+         * @param name  {@code String}, the metric name
+         * @param delta long
+         */
+        void count(String name, long delta);
+
+        /**
+         * Releases resources, if any.
+         */
+        default void close() {
+        }
+    }
+
+    /**
+     * A simple in-memory registry.
+     */
+    public static class MapRegistry implements Registry {
+        protected final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+        protected Metric get(String name) {
+            return metrics.computeIfAbsent(name, x -> new Metric());
+        }
+
+        @Override
+        public void record(String name, long nanos) {
+            get(name).add(nanos);
+        }
+
+        @Override
+        public void count(String name, long delta) {
+            get(name).count.add(delta);
+        }
+
+        /**
+         * Returns a snapshot of all metrics.
+         *
+         * @return unmodifiable sorted {@code Map} with metric names as keys
+         */
+        public Map<String, Metric> getMetrics() {
+            return Collections.unmodifiableMap(new TreeMap<>(metrics));
+        }
+
+        /**
+         * Returns the metric by its name.
+         *
+         * @param name {@code String}
+         * @return {@code Optional} of {@link Metric}
+         */
+        public Optional<Metric> getMetric(String name) {
+            return Optional.ofNullable(metrics.get(name));
+        }
+
+        /**
+         * Resets all metrics.
+         */
+        public void reset() {
+            metrics.clear();
+        }
+    }
+
+    /**
+     * The default registry, that exposes all the collected metrics as attributes of the dynamic MBean
+     * with the name {@link #OBJECT_NAME com.github.owlcs.ontapi:type=Metrics}.
+     * Each metric {@code X} produces three attributes:
+     * {@code X.count}, {@code X.totalMs} and {@code X.maxMs}.
+     */
+    public static class JMXRegistry extends MapRegistry implements DynamicMBean {
+        public static final String OBJECT_NAME = "com.github.owlcs.ontapi:type=Metrics";
+        protected static final String COUNT = ".count";
+        protected static final String TOTAL = ".totalMs";
+        protected static final String MAX = ".maxMs";
+
+        protected ObjectName name;
+
+        /**
+         * Creates and registers a new JMX registry.
+         * If the registration fails (e.g. the name is already taken), the metrics are still collected.
+         *
+         * @return {@link JMXRegistry}
+         */
+        public static JMXRegistry create() {
+            JMXRegistry res = new JMXRegistry();
+            try {
+                ObjectName name = new ObjectName(OBJECT_NAME);
+                ManagementFactory.getPlatformMBeanServer().registerMBean(res, name);
+                res.name = name;
+            } catch (JMException | SecurityException e) {
+                LOGGER.warn("Can't register metrics MBean: {}", e.getMessage());
+            }
+            return res;
+        }
+
+        @Override
+        public void close() {
+            if (name == null) {
+                return;
+            }
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            } catch (JMException | SecurityException e) {
+                LOGGER.warn("Can't unregister metrics MBean: {}", e.getMessage());
+            }
+            name = null;
+        }
+
+        @Override
+        public Object getAttribute(String attribute) throws AttributeNotFoundException {
+            Object res = null;
+            if (attribute.endsWith(COUNT)) {
+                res = getMetric(attribute.substring(0, attribute.length() - COUNT.length()))
+                        .map(Metric::getCount).orElse(null);
+            } else if (attribute.endsWith(TOTAL)) {
+                res = getMetric(attribute.substring(0, attribute.length() - TOTAL.length()))
+                        .map(x -> x.getTotalNanos() / 1_000_000.0).orElse(null);
+            } else if (attribute.endsWith(MAX)) {
+                res = getMetric(attribute.substring(0, attribute.length() - MAX.length()))
+                        .map(x -> x.getMaxNanos() / 1_000_000.0).orElse(null);
+            }
+            if (res == null) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return res;
+        }
+
+        @Override
+        public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("Read-only: " + attribute.getName());
+        }
+
+        @Override
+        public AttributeList getAttributes(String[] attributes) {
+            AttributeList res = new AttributeList();
+            for (String a : attributes) {
+                try {
+                    res.add(new Attribute(a, getAttribute(a)));
+                } catch (AttributeNotFoundException e) {
+                    // skip
+                }
+            }
+            return res;
+        }
+
+        @Override
+        public AttributeList setAttributes(AttributeList attributes) {
+            return new AttributeList();
+        }
+
+        @Override
+        public Object invoke(String action, Object[] params, String[] signature) throws ReflectionException {
+            if ("reset".equals(action)) {
+                reset();
+                return null;
+            }
+            throw new ReflectionException(new NoSuchMethodException(action));
+        }
+
+        @Override
+        public MBeanInfo getMBeanInfo() {
+            List<MBeanAttributeInfo> attributes = new ArrayList<>();
+            getMetrics().keySet().forEach(x -> {
+                attributes.add(new MBeanAttributeInfo(x + COUNT, Long.class.getName(),
+                        "Number of calls", true, false, false));
+                attributes.add(new MBeanAttributeInfo(x + TOTAL, Double.class.getName(),
+                        "Total time, ms", true, false, false));
+                attributes.add(new MBeanAttributeInfo(x + MAX, Double.class.getName(),
+                        "Max time, ms", true, false, false));
+            });
+            MBeanOperationInfo reset = new MBeanOperationInfo("reset", "Resets all metrics",
+                    new MBeanParameterInfo[0], "void", MBeanOperationInfo.ACTION);
+            return new MBeanInfo(getClass().getName(), "ONT-API hot-path metrics",
+                    attributes.toArray(new MBeanAttributeInfo[0]), null,
+                    new MBeanOperationInfo[]{reset}, null);
+        }
+    }
+
+    /**
+     * A single metric: a counter with the total and the maximum time.
+     */
+    public static class Metric {
+        protected final LongAdder count = new LongAdder();
+        protected final LongAdder total = new LongAdder();
+        protected final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        protected void add(long nanos) {
+            count.increment();
+            total.add(nanos);
+            max.accumulate(nanos);
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return total.sum();
+        }
+
+        public long getMaxNanos() {
+            return max.get();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ENGLISH, "Metric{count=%d, total=%.3fms, max=%.3fms}",
+                    getCount(), getTotalNanos() / 1_000_000.0, getMaxNanos() / 1_000_000.0);
+        }
+    }
+
+    /**
+     * An iterator that accumulates the time spent in its methods.
+     *
+     * @param <X> anything
+     */
+    protected static class TimedIterator<X> extends NiceIterator<X> {
+        protected final Registry registry;
+        protected final String name;
+        protected final Iterator<X> base;
+        protected long nanos;
+        protected boolean done;
+
+        protected TimedIterator(Registry registry, String name, Iterator<X> base) {
+            this.registry = registry;
+            this.name = name;
+            this.base = base;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (done) {
+                return false;
+            }
+            long start = System.nanoTime();
+            boolean res = base.hasNext();
+            nanos += System.nanoTime() - start;
+            if (!res) {
+                finish();
+            }
+            return res;
+        }
+
+        @Override
+        public X next() {
+            long start = System.nanoTime();
+            try {
+                return base.next();
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public void close() {
+            NiceIterator.close(base);
+            finish();
+        }
+
+        protected void finish() {
+            if (done) {
+                return;
+            }
+            done = true;
+            registry.record(name, nanos);
+        }
+    }
+}
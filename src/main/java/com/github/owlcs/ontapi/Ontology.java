@@ -16,6 +16,8 @@ package com.github.owlcs.ontapi;
 
 import com.github.owlcs.ontapi.config.AxiomsSettings;
 import com.github.owlcs.ontapi.jena.model.OntModel;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLOntology;
 
 /**
@@ -81,6 +83,63 @@ public interface Ontology extends OWLOntology {
      */
     void clearCache();
 
+    /**
+     * Returns a page of axioms, which allows to iterate over a huge ontology portion by portion.
+     * The first page is requested with {@code null} cursor,
+     * every next one - with the cursor that is returned along with the previous page.
+     * Axioms are in the same order as {@link #axioms()} returns them,
+     * if the content cache is enabled, the cost of a page does not depend on its position.
+     * A cursor stays valid as long as the ontology is not modified (including {@link #clearCache()}).
+     *
+     * @param cursor String, the continuation token from the previous page, or {@code null} for the first page
+     * @param limit  int, the maximum page size, positive
+     * @return {@link Page} of {@link OWLAxiom}s
+     * @throws OntApiException.IllegalArgument if the cursor is wrong
+     * @throws OntApiException.IllegalState    if the ontology has been modified since the cursor was issued
+     * @since 2.1.1
+     */
+    Page<OWLAxiom> axiomsPage(String cursor, int limit);
+
+    /**
+     * Returns a page of the ontology signature (i.e. {@link OWLEntity entities}).
+     * Works in the same way as {@link #axiomsPage(String, int)}.
+     *
+     * @param cursor String, the continuation token from the previous page, or {@code null} for the first page
+     * @param limit  int, the maximum page size, positive
+     * @return {@link Page} of {@link OWLEntity}s
+     * @throws OntApiException.IllegalArgument if the cursor is wrong
+     * @throws OntApiException.IllegalState    if the ontology has been modified since the cursor was issued
+     * @see #signature()
+     * @since 2.1.1
+     */
+    Page<OWLEntity> signaturePage(String cursor, int limit);
+
+    /**
+     * Makes this ontology read-only.
+     * All content and component caches are loaded and replaced with compact immutable snapshots,
+     * the internal graph listeners are detached, and, once all the imports are frozen as well,
+     * the R/W lock (if any) is no longer taken on reading.
+     * After this, any attempt to modify the ontology,
+     * either through the OWL-API interface or through the {@link #asGraphModel() RDF view},
+     * including changes in the imports hierarchy, causes an exception.
+     * An ontology, that is loaded into the manager later, is not attached to the frozen ontology,
+     * even if it is listed in the {@code owl:imports} declarations.
+     * Note that the operation cannot be undone, and the method {@link #clearCache()} becomes no-op.
+     * Also note that a change of some imported ontology is not reflected in the axioms of the frozen ontology.
+     * Calling this method more than once has no effect.
+     *
+     * @since 2.1.1
+     */
+    void freeze();
+
+    /**
+     * Answers {@code true} if the ontology is {@link #freeze() frozen}.
+     *
+     * @return boolean
+     * @since 2.1.1
+     */
+    boolean isFrozen();
+
     /**
      * Returns the manager, that is responsible for referencing between different ontologies.
      * Each ontology must have a link to the manager,
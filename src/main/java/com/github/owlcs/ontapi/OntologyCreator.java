@@ -63,6 +63,10 @@ public interface OntologyCreator {
      * <p>
      * By default the method offers a {@link org.apache.jena.mem.GraphMem},
      * which demonstrates great performance for relatively small data.
+     * If a deterministic order of triples, range scans or cursor-based paging are required,
+     * the {@link com.github.owlcs.ontapi.jena.SortedGraph} can be used instead.
+     * To find out which {@code find} patterns are issued by a workload,
+     * the graph can be wrapped by the {@link com.github.owlcs.ontapi.jena.ProfilingGraph}.
      *
      * @return {@link Graph Jena Graph}
      * @see OntologyCreator#createUnionGraph(Graph, OntLoaderConfiguration)
@@ -0,0 +1,169 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import com.github.owlcs.ontapi.config.AxiomsSettings;
+import com.github.owlcs.ontapi.internal.AxiomTranslator;
+import com.github.owlcs.ontapi.internal.ONTObject;
+import com.github.owlcs.ontapi.internal.ONTObjectFactory;
+import com.github.owlcs.ontapi.internal.searchers.axioms.ByTriple;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.semanticweb.owlapi.model.*;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A helper to calculate the difference between two ontologies in the form of {@link OWLOntologyChange}s.
+ * <p>
+ * The calculation does not use the content caches and does not read all axioms.
+ * First, the base graphs are compared triple by triple (this is a cheap hash-lookups operation),
+ * then only the changed triples are mapped to the affected axioms through their root statements.
+ * If a declaration (or any other {@code rdf:type} triple) of some entity is changed,
+ * then all the statements, that refer to that entity, are also considered as changed,
+ * since the axioms, that use the entity, may appear or disappear along with its declaration.
+ * The ontology header (i.e. the ontology id, imports and ontology annotations) is always compared directly.
+ * <p>
+ * Blank nodes are compared as is, without any structure matching.
+ * So the main cost is proportional to the change size only if the ontologies share blank nodes
+ * (e.g. if one of them is a copy or a {@link OntologyManager#forkOntology(OWLOntology) fork} of the other).
+ * For two ontologies loaded separately from the same source, all triples with blank nodes differ,
+ * and all the axioms with anonymous parts have to be read and compared.
+ * <p>
+ * Note that axioms are compared in the form in which they are read from the graphs.
+ * Both ontologies must not be modified during the calculation.
+ *
+ * @see ByTriple
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class OntologyDiff {
+
+    /**
+     * Calculates the list of changes, which turn the {@code source} ontology into the {@code target} ontology.
+     * All changes refer to the {@code source}, so they can be applied directly via its manager.
+     * The changes go in the following order:
+     * the ontology id change (if any), imports, ontology annotations, axioms removals, axioms additions.
+     *
+     * @param source {@link Ontology}, the ontology to change, not {@code null}
+     * @param target {@link Ontology}, the desired state, not {@code null}
+     * @return a {@code List} of {@link OWLOntologyChange}s, empty if the ontologies have the same content
+     */
+    public static List<OWLOntologyChange> diff(Ontology source, Ontology target) {
+        List<OWLOntologyChange> res = new ArrayList<>();
+        OWLOntologyID id = target.getOntologyID();
+        if (!source.getOntologyID().equals(id)) {
+            res.add(new SetOntologyID(source, id));
+        }
+        diff(source.importsDeclarations(), target.importsDeclarations(),
+                x -> new RemoveImport(source, x), x -> new AddImport(source, x), res);
+        diff(source.annotations(), target.annotations(),
+                x -> new RemoveOntologyAnnotation(source, x), x -> new AddOntologyAnnotation(source, x), res);
+
+        OntModel left = getModel(source);
+        OntModel right = getModel(target);
+        Set<Triple> removed = difference(left.getBaseGraph(), right.getBaseGraph());
+        Set<Triple> added = difference(right.getBaseGraph(), left.getBaseGraph());
+        if (removed.isEmpty() && added.isEmpty()) {
+            return res;
+        }
+        Set<Node> entities = Stream.concat(removed.stream(), added.stream())
+                .filter(t -> t.getSubject().isURI() && RDF.Nodes.type.equals(t.getPredicate()))
+                .map(Triple::getSubject).collect(Collectors.toSet());
+        ByTriple searcher = new ByTriple();
+        Set<Triple> roots = new HashSet<>();
+        searcher.getRootStatements(left, withReferences(removed, left.getBaseGraph(), entities))
+                .forEach(s -> roots.add(s.asTriple()));
+        searcher.getRootStatements(right, withReferences(added, right.getBaseGraph(), entities))
+                .forEach(s -> roots.add(s.asTriple()));
+
+        Set<OWLAxiom> before = listAxioms(searcher, left, roots);
+        Set<OWLAxiom> after = listAxioms(searcher, right, roots);
+        before.stream().filter(x -> !after.contains(x) && !contains(right, x)).sorted()
+                .forEach(x -> res.add(new RemoveAxiom(source, x)));
+        after.stream().filter(x -> !before.contains(x) && !contains(left, x)).sorted()
+                .forEach(x -> res.add(new AddAxiom(source, x)));
+        return res;
+    }
+
+    /**
+     * Answers a {@code Set} of all base triples from the {@code left} graph, that are absent in the {@code right} graph.
+     *
+     * @param left  {@link Graph}, not {@code null}
+     * @param right {@link Graph}, not {@code null}
+     * @return a {@code Set} of {@link Triple}s
+     */
+    public static Set<Triple> difference(Graph left, Graph right) {
+        return left.find().filterDrop(right::contains).toSet();
+    }
+
+    /**
+     * Adds to the given {@code triples} all the triples from the {@code graph}, that refer to the given nodes.
+     *
+     * @param triples  a {@code Set} of changed {@link Triple}s
+     * @param graph    {@link Graph}
+     * @param entities a {@code Set} of URI {@link Node}s, whose declarations are changed
+     * @return a {@code Set} of {@link Triple}s
+     */
+    private static Set<Triple> withReferences(Set<Triple> triples, Graph graph, Set<Node> entities) {
+        if (entities.isEmpty()) {
+            return triples;
+        }
+        Set<Triple> res = new HashSet<>(triples);
+        for (Node e : entities) {
+            graph.find(e, Node.ANY, Node.ANY).forEachRemaining(res::add);
+            graph.find(Node.ANY, e, Node.ANY).forEachRemaining(res::add);
+            graph.find(Node.ANY, Node.ANY, e).forEachRemaining(res::add);
+        }
+        return res;
+    }
+
+    private static <X> void diff(Stream<X> source,
+                                 Stream<X> target,
+                                 Function<X, OWLOntologyChange> remove,
+                                 Function<X, OWLOntologyChange> add,
+                                 List<OWLOntologyChange> res) {
+        Set<X> left = source.collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<X> right = target.collect(Collectors.toCollection(LinkedHashSet::new));
+        left.stream().filter(x -> !right.contains(x)).forEach(x -> res.add(remove.apply(x)));
+        right.stream().filter(x -> !left.contains(x)).forEach(x -> res.add(add.apply(x)));
+    }
+
+    private static OntModel getModel(Ontology ontology) {
+        return ontology instanceof BaseModel ? ((BaseModel) ontology).getBase() : ontology.asGraphModel();
+    }
+
+    private static Set<OWLAxiom> listAxioms(ByTriple searcher, OntModel model, Collection<Triple> roots) {
+        ONTObjectFactory factory = AxiomTranslator.getObjectFactory(model);
+        AxiomsSettings config = AxiomTranslator.getConfig(model);
+        Set<OWLAxiom> res = new HashSet<>();
+        searcher.listONTAxioms(model, roots, factory, config).mapWith(ONTObject::getOWLObject)
+                .forEachRemaining(res::add);
+        return res;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean contains(OntModel model, OWLAxiom axiom) {
+        AxiomTranslator<OWLAxiom> translator = (AxiomTranslator<OWLAxiom>) AxiomTranslator.get(axiom.getAxiomType());
+        return translator.containsONTObject(axiom, model,
+                AxiomTranslator.getObjectFactory(model), AxiomTranslator.getConfig(model));
+    }
+}
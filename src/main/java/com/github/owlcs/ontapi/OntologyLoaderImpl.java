@@ -16,6 +16,11 @@ package com.github.owlcs.ontapi;
 
 import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
+import com.github.owlcs.ontapi.internal.InternalModel;
+import com.github.owlcs.ontapi.internal.OWLComponentType;
+import com.github.owlcs.ontapi.internal.OWLTopObjectType;
+import com.github.owlcs.ontapi.jena.DeltaGraph;
+import com.github.owlcs.ontapi.jena.LazyGraph;
 import com.github.owlcs.ontapi.jena.UnionGraph;
 import com.github.owlcs.ontapi.jena.utils.Graphs;
 import com.github.owlcs.ontapi.jena.utils.OntModels;
@@ -36,6 +41,9 @@ import org.slf4j.LoggerFactory;
 import javax.annotation.Nonnull;
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.stream.Collectors;
 
 /**
@@ -63,8 +71,24 @@ import java.util.stream.Collectors;
 public class OntologyLoaderImpl implements OntologyFactory.Loader {
     private static final Logger LOGGER = LoggerFactory.getLogger(OntologyLoaderImpl.class);
 
+    // to load imports in lazy mode:
+    protected static final ExecutorService IMPORTS_EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread res = new Thread(r, "ont-api-imports-loader");
+        res.setDaemon(true);
+        return res;
+    });
+    // to build caches after loading, in background:
+    protected static final ExecutorService WARM_UP_EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+        Thread res = new Thread(r, "ont-api-cache-warm-up");
+        res.setDaemon(true);
+        res.setPriority(Thread.MIN_PRIORITY);
+        return res;
+    });
+
     // to use OWL-API parsers:
     protected final OntologyLoader alternative;
+    // to monitor jena parsing, can be null:
+    protected final OntGraphUtils.ReadListener listener;
     // state parameters:
     protected Map<String, GraphInfo> graphs = new LinkedHashMap<>();
     protected Map<IRI, Optional<IRI>> sourceMap = new HashMap<>();
@@ -80,7 +104,20 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
      * @param alternative {@link OntologyLoader}, can be {@code null}
      */
     public OntologyLoaderImpl(OntologyLoader alternative) {
+        this(alternative, null);
+    }
+
+    /**
+     * Creates a {@code Loader} instance that reports the progress of reading each document
+     * to the specified {@link OntGraphUtils.ReadListener listener}.
+     *
+     * @param alternative {@link OntologyLoader}, can be {@code null}
+     * @param listener    {@link OntGraphUtils.ReadListener}, can be {@code null}
+     * @since 2.1.1
+     */
+    public OntologyLoaderImpl(OntologyLoader alternative, OntGraphUtils.ReadListener listener) {
         this.alternative = alternative;
+        this.listener = listener;
     }
 
     @Override
@@ -109,23 +146,44 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                 LOGGER.debug("Load ontology using OWL-API methods. Source [{}]{}",
                         source.getClass().getSimpleName(), source.getDocumentIRI());
             }
-            return OntApiException.mustNotBeNull(alternative, "No OWL loader found.").loadOntology(builder, manager, source, config);
+            Ontology res = OntApiException.mustNotBeNull(alternative, "No OWL loader found.")
+                    .loadOntology(builder, manager, source, config);
+            warmUp(res, config);
+            return res;
         }
         try {
             GraphInfo primary = loadGraph(source, builder, manager, config);
+            OntLoaderConfiguration conf = config;
+            if (isLazyImports(conf) && needsTransforms(primary, conf) && hasImports(primary, conf)) {
+                // the transformations require the whole imports closure
+                // (otherwise, e.g., the imported entities would be declared locally), so there is no lazy mode
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("The ontology {} is to be transformed, load its imports eagerly.", primary.name());
+                }
+                conf = conf.setLoadImportsLazily(false);
+            }
             // null key in case of anonymous ontology.
             // But: only one anonymous is allowed (as root of imports tree), if there is no mapping in manager.
             graphs.put(primary.getURI(), primary);
             // first expand graphs map by creating primary model:
-            Ontology res = OntApiException.notNull(createModel(primary, builder, manager, config), "Should never happen");
+            Ontology res = OntApiException.notNull(createModel(primary, builder, manager, conf), "Should never happen");
             // then process all the rest dependent models
             // (we have already all graphs compiled, now need populate them as models):
             List<GraphInfo> graphs = this.graphs.keySet().stream()
                     .filter(u -> !Objects.equals(u, primary.getURI()))
                     .map(k -> this.graphs.get(k)).collect(Collectors.toList());
+            List<Ontology> created = new ArrayList<>();
+            created.add(res);
             for (GraphInfo g : graphs) {
-                createModel(g, builder, manager, config);
+                Ontology o = createModel(g, builder, manager, conf);
+                if (o != null) {
+                    created.add(o);
+                }
             }
+            if (config.isUseSharedGraphCache()) {
+                putInSharedCache();
+            }
+            created.forEach(o -> warmUp(o, config));
             return res;
         } finally {
             // the possibility to reuse:
@@ -133,6 +191,82 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         }
     }
 
+    /**
+     * Builds the content and component caches of the given ontology according to the configuration settings.
+     * For a concurrent ontology the caches are built in background, on the low-priority daemon thread,
+     * each cache is loaded in its own read-locked section, so the writers are not blocked for long;
+     * if a query needs the same cache at the same time, it will wait for the in-flight loading to complete.
+     * A non-concurrent ontology is not thread-safe, so its caches are built right here, in the current thread.
+     *
+     * @param ontology {@link Ontology}, not {@code null}
+     * @param config   {@link OntLoaderConfiguration}, not {@code null}
+     * @see OntLoaderConfiguration#getWarmUpContent()
+     * @see OntLoaderConfiguration#getWarmUpComponents()
+     */
+    protected static void warmUp(Ontology ontology, OntLoaderConfiguration config) {
+        List<OWLTopObjectType> content = config.getWarmUpContent();
+        List<OWLComponentType> components = config.getWarmUpComponents();
+        if ((content.isEmpty() && components.isEmpty()) || !(ontology instanceof BaseModel)) {
+            return;
+        }
+        InternalModel base = ((BaseModel) ontology).getBase();
+        if (!(ontology instanceof RWLockedOntology) || !((RWLockedOntology) ontology).isConcurrent()) {
+            base.forceLoad(content, components);
+            return;
+        }
+        ReadWriteLock lock = ((RWLockedOntology) ontology).getLock();
+        WARM_UP_EXECUTOR.execute(() -> {
+            long start = OntMetrics.start();
+            try {
+                content.forEach(k -> withReadLock(lock,
+                        () -> base.forceLoad(Collections.singleton(k), Collections.emptySet())));
+                components.forEach(k -> withReadLock(lock,
+                        () -> base.forceLoad(Collections.emptySet(), Collections.singleton(k))));
+            } catch (Exception e) {
+                LOGGER.warn("Unable to warm up caches for {}: '{}'", base.getID(), e.getMessage());
+            }
+            OntMetrics.stop("loader.warm-up", start);
+        });
+    }
+
+    private static void withReadLock(ReadWriteLock lock, Runnable op) {
+        lock.readLock().lock();
+        try {
+            op.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Puts all freshly loaded and already transformed graphs into the {@link SharedGraphCache}.
+     * Each such graph is wrapped by a {@link DeltaGraph}, which holds the changes made while loading
+     * (i.e. transformations), so the changes are merged into the parent graph before caching.
+     * After this the parent must never be changed.
+     * A graph with {@code owl:imports} is not cached,
+     * since its transformations depend on the imports closure, which is not a part of the cache key.
+     */
+    protected void putInSharedCache() {
+        graphs.values().forEach(info -> {
+            String key = info.getCacheKey();
+            if (key == null) {
+                return;
+            }
+            if (!info.getImports().isEmpty()) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Graph <{}> has imports and is not put in the shared cache.", info.name());
+                }
+                return;
+            }
+            DeltaGraph delta = (DeltaGraph) info.getGraph();
+            Graph graph = delta.getParent();
+            delta.merge(graph);
+            if (SharedGraphCache.get().put(key, graph, info.getFormat()) && LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Graph <{}> is put in the shared cache.", info.name());
+            }
+        });
+    }
+
     /**
      * Release the state parameters that can appear during the load.
      *
@@ -168,7 +302,8 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Set up ontology model {}.", info.name());
             }
-            Graph graph = makeUnionGraph(info, builder, manager, config);
+            boolean isLazyRoot = graphs.size() == 1 && isLazyImports(config);
+            UnionGraph graph = makeUnionGraph(info, builder, manager, config);
             // create ontology instance
             Ontology res = builder.createOntology(graph, manager, config);
             if (manager.contains(res)) {
@@ -194,6 +329,10 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             if (info.getSource() != null) {
                 manager.setOntologyDocumentIRI(res, info.getSource());
             }
+            if (isLazyRoot) {
+                // the imports are added at the very end, since any query to the union graph would wait for them:
+                addLazyImports(info, graph, builder, manager, config);
+            }
             return res;
         } finally { // just in case:
             info.setProcessed();
@@ -219,7 +358,7 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         // #makeUnionGraph will change #graphs collection:
         UnionGraph graph = makeUnionGraph(info, new HashSet<>(), builder, manager, config);
 
-        if (!isPrimary || info.noTransforms() || !config.isPerformTransformation()) {
+        if (!isPrimary || !needsTransforms(info, config)) {
             // no transformations needed
             return graph;
         }
@@ -231,10 +370,13 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                 .collect(Collectors.toSet());
         if (LOGGER.isDebugEnabled())
             LOGGER.debug("Perform graph transformations on <{}>.", info.name());
+        long start = OntMetrics.start();
         try {
             stats = config.getGraphTransformers().transform(graph, transformed);
         } catch (TransformException t) {
             throw new OntologyFactoryImpl.OWLTransformException(t);
+        } finally {
+            OntMetrics.stop("loader.transform", start);
         }
         info.setStats(stats);
         stats.stats(true)
@@ -255,6 +397,119 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
         return graph;
     }
 
+    /**
+     * Answers {@code true} if the graph transformations must be performed for the given graph.
+     *
+     * @param info   {@link GraphInfo}
+     * @param config {@link OntLoaderConfiguration}
+     * @return boolean
+     */
+    protected static boolean needsTransforms(GraphInfo info, OntLoaderConfiguration config) {
+        return config.isPerformTransformation() && (!info.noTransforms() || info.isCached());
+    }
+
+    /**
+     * Answers {@code true} if the given graph has {@code owl:imports} that are not ignored.
+     *
+     * @param info   {@link GraphInfo}
+     * @param config {@link OntLoaderConfiguration}
+     * @return boolean
+     */
+    protected static boolean hasImports(GraphInfo info, OntLoaderConfiguration config) {
+        return info.getImports().stream().map(IRI::create).anyMatch(x -> !config.isIgnoredImport(x));
+    }
+
+    /**
+     * Answers {@code true} if the imports must be loaded lazily.
+     *
+     * @param config {@link OntLoaderConfiguration}
+     * @return boolean
+     * @see com.github.owlcs.ontapi.config.LoadSettings#isLoadImportsLazily()
+     */
+    protected static boolean isLazyImports(OntLoaderConfiguration config) {
+        return config.isProcessImports() && config.isLoadImportsLazily();
+    }
+
+    /**
+     * Attaches the imports to the root graph in lazy mode.
+     * The imports which are already present in the manager are attached as usual,
+     * for all others the {@link LazyGraph placeholders} are created,
+     * the graphs are loaded in background with the help of a fresh loader.
+     *
+     * @param node    {@link GraphInfo} the root graph
+     * @param res     {@link UnionGraph} the root union graph, that is assembled without imports
+     * @param builder {@link OntologyCreator}
+     * @param manager {@link OntologyManager}
+     * @param config  {@link OntLoaderConfiguration}
+     * @return the same {@link UnionGraph}
+     */
+    protected UnionGraph addLazyImports(GraphInfo node,
+                                        UnionGraph res,
+                                        OntologyCreator builder,
+                                        OntologyManager manager,
+                                        OntLoaderConfiguration config) {
+        OntLoaderConfiguration eager = config.setLoadImportsLazily(false);
+        Set<String> seen = new HashSet<>();
+        seen.add(node.getURI());
+        for (String uri : node.getImports().stream().sorted().collect(Collectors.toList())) {
+            IRI iri = IRI.create(uri);
+            if (seen.contains(uri) || config.isIgnoredImport(iri)) {
+                continue;
+            }
+            if (findModel(manager, iri) == null) {
+                res.addGraph(LazyGraph.submit(uri, () -> loadImport(uri, builder, manager, eager), IMPORTS_EXECUTOR));
+                continue;
+            }
+            // nothing to parse, the same as for eager mode:
+            GraphInfo info = graphs.get(uri);
+            try {
+                if (info == null)
+                    info = fetchGraph(uri, builder, manager, eager);
+            } catch (OWLOntologyCreationException e) {
+                throw new OntApiException.IllegalState("Can't fetch existing ontology <" + uri + ">", e);
+            }
+            graphs.put(uri, info);
+            res.addGraph(makeUnionGraph(info, new HashSet<>(seen), builder, manager, eager));
+        }
+        return res;
+    }
+
+    /**
+     * Loads the import closure into a standalone {@link UnionGraph} using a fresh loader.
+     * Note: the resulting graphs are not registered in the manager.
+     *
+     * @param uri     {@code String}, the ontology IRI
+     * @param builder {@link OntologyCreator}
+     * @param manager {@link OntologyManager}
+     * @param config  {@link OntLoaderConfiguration}, with disabled lazy imports
+     * @return {@link Graph}
+     * @throws OWLOntologyCreationException if the graph can't be loaded
+     *                                      and the missing imports handling strategy does not allow to skip it
+     */
+    protected Graph loadImport(String uri,
+                               OntologyCreator builder,
+                               OntologyManager manager,
+                               OntLoaderConfiguration config) throws OWLOntologyCreationException {
+        OntologyLoaderImpl loader = new OntologyLoaderImpl(alternative, listener);
+        try {
+            GraphInfo info = loader.fetchGraph(uri, builder, manager, config);
+            loader.graphs.put(info.getURI(), info);
+            UnionGraph res = loader.makeUnionGraph(info, builder, manager, config);
+            if (config.isUseSharedGraphCache()) {
+                loader.putInSharedCache();
+            }
+            return res;
+        } catch (OWLOntologyCreationException e) {
+            if (MissingImportHandlingStrategy.THROW_EXCEPTION.equals(config.getMissingImportHandlingStrategy())) {
+                throw e;
+            }
+            LOGGER.warn("Can't read sub graph <{}>. Exception: '{}'", uri, e.getMessage());
+            return builder.createGraph();
+        } finally {
+            loader.clear();
+        }
+    }
+
     /**
      * Assembles the {@link UnionGraph} from the inner collection ({@link #graphs}).
      * Note: this collection can be modified by this method.
@@ -285,7 +540,8 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             graph = u.getBaseGraph();
         }
         UnionGraph res = builder.createUnionGraph(graph, config);
-        if (config.isProcessImports()) {
+        // in lazy mode the imports of the root are processed separately, see #addLazyImports
+        if (config.isProcessImports() && !(seen.isEmpty() && config.isLoadImportsLazily())) {
             processImports(node, seen, builder, manager, config)
                     .forEach(ch -> res.addGraph(makeUnionGraph(ch, new HashSet<>(seen), builder, manager, config)));
         }
@@ -522,11 +778,36 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
                 .map(IRIDocumentSource::new)
                 .map(OWLOntologyDocumentSource.class::cast)
                 .orElse(source);
+        String key = config.isUseSharedGraphCache() ? SharedGraphCache.key(src.getDocumentIRI(),
+                config.isPerformTransformation() ? config.getGraphTransformers() : null).orElse(null) : null;
+        SharedGraphCache.Entry cached = key == null ? null : SharedGraphCache.get().get(key);
+        if (cached != null) {
+            // already transformed
+            // the cached graph is never changed, so there is no need to track it
+            GraphInfo res = createGraphInfo(new DeltaGraph(cached.getGraph(), false), cached.getFormat(), doc, false);
+            res.setCached();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Graph <{}> is taken from the shared cache. Source: {}[{}]",
+                        res.name(), source.getClass().getSimpleName(), res.getSource());
+            }
+            return res;
+        }
         try {
             // jena:
             Graph graph = builder.createGraph();
-            OntFormat format = OntGraphUtils.readGraph(graph, src, config);
-            GraphInfo res = createGraphInfo(graph, format, doc, true);
+            long start = OntMetrics.start();
+            OntFormat format = OntGraphUtils.readGraph(graph, src, config,
+                    getAdapter().asIMPL(manager).getNodeDictionary(), listener);
+            OntMetrics.stop("loader.read.jena", start);
+            GraphInfo res;
+            if (key != null) {
+                // the graph will be put in the shared cache after transformations, see #putInSharedCache();
+                // it is changed only through the delta merge, so there is no need to track it
+                res = createGraphInfo(new DeltaGraph(graph, false), format, doc, true);
+                res.setCacheKey(key);
+            } else {
+                res = createGraphInfo(graph, format, doc, true);
+            }
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Graph <{}> is loaded by jena. Source: {}[{}]. Format: {}",
                         res.name(), source.getClass().getSimpleName(), res.getSource(), res.getFormat());
@@ -558,7 +839,9 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             try {
                 // WARNING: it is a recursive part:
                 // The OWL-API will call some manager load methods which, in turn, will call a factory methods.
+                long start = OntMetrics.start();
                 Ontology ont = alternative.loadOntology(_builder, _manager, src, _config);
+                OntMetrics.stop("loader.read.owlapi", start);
                 ont.imports().forEach(o -> _manager.documentIRIByOntology(o)
                         .ifPresent(iri -> loaded.put(iri, toGraphInfo(getAdapter().asONT(o), iri))));
                 GraphInfo res = toGraphInfo(ont, doc);
@@ -696,6 +979,8 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
 
         private boolean fresh;
         private final boolean transforms;
+        private boolean cached;
+        private String cacheKey;
         private Node ontology;
         private Set<String> imports;
         private GraphStats stats;
@@ -740,6 +1025,32 @@ public class OntologyLoaderImpl implements OntologyFactory.Loader {
             return !transforms;
         }
 
+        /**
+         * Answers {@code true} if the graph is taken from the {@link SharedGraphCache}.
+         *
+         * @return boolean
+         */
+        protected boolean isCached() {
+            return cached;
+        }
+
+        protected void setCached() {
+            this.cached = true;
+        }
+
+        /**
+         * Returns the key to put the graph in the {@link SharedGraphCache} after loading.
+         *
+         * @return {@code String} or {@code null}
+         */
+        protected String getCacheKey() {
+            return cacheKey;
+        }
+
+        protected void setCacheKey(String key) {
+            this.cacheKey = key;
+        }
+
         protected void setProcessed() {
             this.fresh = false;
         }
@@ -434,6 +434,50 @@ public interface OntologyManager extends OWLOntologyManager {
     @Override
     Ontology copyOntology(OWLOntology source, OntologyCopy settings);
 
+    /**
+     * Creates a copy-on-write fork of the specified ontology in this manager.
+     * The base graph of the returned ontology is a {@link com.github.owlcs.ontapi.jena.DeltaGraph delta overlay}
+     * on top of the source base graph, which is treated as an immutable snapshot:
+     * the source data is not copied, and all changes made on the fork are recorded in the delta,
+     * so the operation is cheap, and the memory grows only with the number of changes.
+     * A fork can be {@link #mergeFork(Ontology, Ontology) merged back} into the source,
+     * or thrown away (e.g. using the method {@link #removeOntology(OWLOntology)}).
+     * <p>
+     * As in case of {@link #copyOntology(OWLOntology, OntologyCopy) SHALLOW copying},
+     * no transformations and no import processing are performed, but missed import references are restored,
+     * if the corresponding ontologies are found in this manager.
+     * Since the fork has the same ontology id as the source,
+     * this manager must not contain the source (i.e. it must be a fresh or some other manager).
+     * The source is not expected to be modified while the fork is in use:
+     * such modifications are detected, the fork content stays consistent at the graph level,
+     * but the fork caches are not updated, and the fork can no longer be merged.
+     * This is a new (ONT-API) method.
+     *
+     * @param source {@link OWLOntology} the source, must be an {@link Ontology} instance
+     * @return a new (forked) {@link Ontology}
+     * @throws OntApiException if the source is not an ONT-API ontology or any other unexpected error occurs
+     * @since 2.1.1
+     */
+    Ontology forkOntology(OWLOntology source);
+
+    /**
+     * Applies all changes, that were made on the specified fork, to the ontology it was forked from.
+     * After the operation the fork has no own changes, but its content remains the same.
+     * The target is modified through its graph model, so all its caches are properly invalidated.
+     * Both this manager and the manager of the target are locked for the duration of the operation.
+     * A stale fork, i.e. a fork whose source has been changed since the fork was created or last merged
+     * (e.g. by merging another fork of the same source), is rejected: it should be forked again.
+     * This is a new (ONT-API) method.
+     *
+     * @param fork   {@link Ontology}, that was created by the method {@link #forkOntology(OWLOntology)}
+     *               of this manager
+     * @param target {@link Ontology} the source of the fork
+     * @throws OntApiException.IllegalArgument if the {@code fork} is not a fork of the {@code target}
+     * @throws OntApiException.IllegalState    if the {@code target} has been changed after the fork was made
+     * @since 2.1.1
+     */
+    void mergeFork(Ontology fork, Ontology target);
+
     /**
      * Loads an ontology by the specified {@code source} IRI.
      * Note: if a loaded ontology contains any {@code owl:imports} they will also be processed,
@@ -17,9 +17,14 @@ package com.github.owlcs.ontapi;
 import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.config.OntWriterConfiguration;
+import com.github.owlcs.ontapi.internal.CacheBudget;
 import com.github.owlcs.ontapi.internal.InternalCache;
 import com.github.owlcs.ontapi.internal.InternalConfig;
 import com.github.owlcs.ontapi.internal.InternalModel;
+import com.github.owlcs.ontapi.internal.NodeDictionary;
+import com.github.owlcs.ontapi.jena.DeltaGraph;
+import com.github.owlcs.ontapi.jena.LazyGraph;
+import com.github.owlcs.ontapi.jena.OntModelFactory;
 import com.github.owlcs.ontapi.jena.UnionGraph;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.owlcs.ontapi.jena.utils.Graphs;
@@ -54,7 +59,9 @@ import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -72,6 +79,8 @@ public class OntologyManagerImpl
         implements OntologyManager, OWLOntologyFactory.OWLOntologyCreationHandler, HasAdapter, Serializable {
     private static final Logger LOGGER = LoggerFactory.getLogger(OntologyManagerImpl.class);
     private static final long serialVersionUID = -4764329329583952286L;
+    // to order the locks of two managers with the same identity hash code, see #mergeFork(Ontology, Ontology)
+    private static final Object MERGE_TIE_LOCK = new Object();
 
     // listeners:
     protected final ListenersHolder listeners = new ListenersHolder();
@@ -81,6 +90,12 @@ public class OntologyManagerImpl
     protected OntWriterConfiguration writerConfig;
     // Loading Cache for IRIs, that is shared between ontologies that belong to this manager.
     protected transient InternalCache.Loading<String, IRI> iris;
+    // Dictionary to intern uri Nodes and IRIs (since 2.1.1), can be null.
+    protected transient NodeDictionary nodes;
+    // Data factory with shared caches for model-free OWL objects (since 2.1.1), can be the same as dataFactory.
+    protected transient DataFactory objects;
+    // Budget for the ontology caches (since 2.1.1), can be null.
+    protected transient CacheBudget budget;
     // OntologyFactory collection:
     protected final RWLockedCollection<OWLOntologyFactory> ontologyFactories;
     // IRI mappers
@@ -154,7 +169,10 @@ public class OntologyManagerImpl
         this.parserFactories = new RWLockedCollection<>(this.lock, sorting);
         this.ontologyStorers = new RWLockedCollection<>(this.lock, sorting);
         this.content = new OntologyCollectionImpl<>(this.lock);
+        this.nodes = createNodeDictionary();
         this.iris = createIRICache();
+        this.objects = createObjectsCache();
+        this.budget = createCacheBudget();
     }
 
     @Override
@@ -166,10 +184,14 @@ public class OntologyManagerImpl
      * Creates a fresh {@link IRI} cache instance depending on this manager settings.
      * Note if caching is disabled ({@link OntConfig#getManagerIRIsCacheSize()} is not positive),
      * a fake empty cache is returned.
+     * If the nodes dictionary is enabled, the weak-valued IRIs table of that dictionary is returned.
      *
      * @return {@link InternalCache.Loading} for {@link IRI}s
      */
     protected InternalCache.Loading<String, IRI> createIRICache() {
+        if (this.nodes != null) {
+            return this.nodes.getIRIs();
+        }
         int size = this.config.getManagerIRIsCacheSize();
         if (size < 0) {
             return InternalCache.createEmpty().asLoading(IRI::create);
@@ -177,6 +199,87 @@ public class OntologyManagerImpl
         return InternalCache.createBounded(IRI::create, NoOpReadWriteLock.isConcurrent(lock), size);
     }
 
+    /**
+     * Creates a fresh {@link NodeDictionary} depending on this manager settings.
+     *
+     * @return {@link NodeDictionary} or {@code null} if interning is disabled
+     * @see OntConfig#isManagerInternNodes()
+     * @since 2.1.1
+     */
+    protected NodeDictionary createNodeDictionary() {
+        return this.config.isManagerInternNodes() ? new NodeDictionary() : null;
+    }
+
+    /**
+     * Returns the dictionary that is used to share uri {@code Node}s and {@code IRI}s between all ontologies
+     * of this manager.
+     *
+     * @return {@link NodeDictionary} or {@code null} if interning is disabled
+     * @since 2.1.1
+     */
+    public NodeDictionary getNodeDictionary() {
+        return nodes;
+    }
+
+    /**
+     * Creates a {@link DataFactory} to be used by ontology models to produce model-free OWL objects.
+     * If the shared cache is enabled ({@link OntConfig#getManagerObjectsCacheSize()} is positive)
+     * and the manager's data factory is the default one, a {@link CacheDataFactory} is returned,
+     * otherwise the manager's data factory itself.
+     *
+     * @return {@link DataFactory}
+     * @since 2.1.1
+     */
+    protected DataFactory createObjectsCache() {
+        int size = this.config.getManagerObjectsCacheSize();
+        if (size <= 0) {
+            return this.dataFactory;
+        }
+        if (this.dataFactory.getClass() != DataFactoryImpl.class) {
+            LOGGER.warn("The shared objects cache is not supported for the custom data factory {}, " +
+                    "the cache is disabled.", this.dataFactory.getClass().getName());
+            return this.dataFactory;
+        }
+        return new CacheDataFactory(size, isConcurrent());
+    }
+
+    /**
+     * Returns the {@link DataFactory} that is shared by all ontology models of this manager.
+     * It may differ from the {@link #getOWLDataFactory() manager's data factory}
+     * in that it caches named entities, datatypes and short literals.
+     *
+     * @return {@link DataFactory}
+     * @see OntConfig#getManagerObjectsCacheSize()
+     * @since 2.1.1
+     */
+    public DataFactory getModelDataFactory() {
+        return objects;
+    }
+
+    /**
+     * Creates a fresh {@link CacheBudget} depending on this manager settings.
+     *
+     * @return {@link CacheBudget} or {@code null} if the budget is disabled
+     * @see OntConfig#getManagerCacheBudget()
+     * @since 2.1.1
+     */
+    protected CacheBudget createCacheBudget() {
+        int size = this.config.getManagerCacheBudget();
+        return size <= 0 ? null : new CacheBudget(size);
+    }
+
+    /**
+     * Returns the budget, that controls the caches of all ontologies of this manager.
+     * It can be used to get the eviction and reload statistics.
+     *
+     * @return {@link CacheBudget} or {@code null} if there is no budget
+     * @see OntConfig#getManagerCacheBudget()
+     * @since 2.1.1
+     */
+    public CacheBudget getCacheBudget() {
+        return budget;
+    }
+
     /**
      * Answers {@code true} if this manager must be thread-safe.
      *
@@ -230,11 +333,30 @@ public class OntologyManagerImpl
             // just copying all settings is not suitable in this case.
             // This fact greatly and unnecessarily complicates the matter
             int size = this.config.getManagerIRIsCacheSize();
+            int objects = this.config.getManagerObjectsCacheSize();
+            int budget = this.config.getManagerCacheBudget();
+            boolean intern = this.config.isManagerInternNodes();
             this.config = OntConfig.withLock(getAdapter().asONT(conf), lock);
-            if (size != this.config.getManagerIRIsCacheSize()) {
+            if (intern != this.config.isManagerInternNodes()) {
+                this.nodes = createNodeDictionary();
+                this.iris = createIRICache();
+            } else if (size != this.config.getManagerIRIsCacheSize()) {
                 // reset cache:
                 this.iris = createIRICache();
             }
+            if (objects != this.config.getManagerObjectsCacheSize()) {
+                this.objects = createObjectsCache();
+            }
+            if (budget != this.config.getManagerCacheBudget()) {
+                if (this.budget != null) {
+                    this.budget.close();
+                }
+                this.budget = createCacheBudget();
+                if (this.budget != null) {
+                    content.values().map(x -> getAdapter().asBaseModel(x.get()).getBase())
+                            .forEach(this.budget::register);
+                }
+            }
         } finally {
             getLock().writeLock().unlock();
         }
@@ -1058,6 +1180,7 @@ public class OntologyManagerImpl
      */
     @Override
     public Stream<OWLOntology> directImports(@Nonnull OWLOntology ontology) {
+        resolveLazyImports(ontology);
         getLock().readLock().lock();
         try {
             if (!contains(ontology)) {
@@ -1071,12 +1194,95 @@ public class OntologyManagerImpl
         }
     }
 
+    /**
+     * Turns the import placeholders, that are attached to the given ontology in the lazy imports mode,
+     * into the ontologies managed by this manager, so that they become a part of the OWL-API imports closure.
+     * Waits for the pending imports outside the lock, since the background loading may require it,
+     * then registers each named graph of the loaded closure as an ontology (with no transformations),
+     * and restores the import references.
+     * Does nothing if the ontology has no placeholders.
+     * Note: the registration requires the write lock,
+     * so the method must not be called while the current thread holds only the read lock.
+     *
+     * @param ontology {@link OWLOntology}
+     * @throws OntApiException.IllegalState if the current thread holds the read lock and there is something to register
+     * @see com.github.owlcs.ontapi.config.LoadSettings#isLoadImportsLazily()
+     */
+    protected void resolveLazyImports(OWLOntology ontology) {
+        UnionGraph graph = getUnionGraph(ontology);
+        if (graph == null || listLazyGraphs(graph).isEmpty()) {
+            return;
+        }
+        listLazyGraphs(graph).forEach(LazyGraph::get);
+        ReadWriteLock lock = getLock();
+        if (lock instanceof ReentrantReadWriteLock && ((ReentrantReadWriteLock) lock).getReadHoldCount() > 0
+                && !((ReentrantReadWriteLock) lock).isWriteLockedByCurrentThread()) {
+            throw new OntApiException.IllegalState("Unable to register the lazily loaded imports of " +
+                    ontology.getOntologyID() + ": the read lock is held by the current thread.");
+        }
+        lock.writeLock().lock();
+        try {
+            List<LazyGraph> placeholders = listLazyGraphs(graph);
+            if (placeholders.isEmpty() || !contains(ontology)) {
+                // has been resolved by another thread or removed
+                return;
+            }
+            placeholders.forEach(graph::removeGraph);
+            OntLoaderConfiguration conf = getOntologyLoaderConfiguration()
+                    .setPerformTransformation(false).setProcessImports(false);
+            placeholders.stream().map(LazyGraph::get).filter(UnionGraph.class::isInstance)
+                    .flatMap(x -> ((UnionGraph) x).listBaseGraphs().toList().stream())
+                    .forEach(g -> {
+                        String uri = Graphs.getURI(g);
+                        if (uri == null || importedOntology(IRI.create(uri)).isPresent()) {
+                            return;
+                        }
+                        addOntology(g, conf);
+                    });
+            syncImports();
+            // the rest (e.g. an import with unexpected ID) is attached as is, a missing import is skipped:
+            placeholders.stream()
+                    .filter(x -> !importedOntology(IRI.create(x.getName())).isPresent() && !x.get().isEmpty())
+                    .forEach(x -> graph.addGraph(x.get()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Answers the {@link UnionGraph} of the given ontology, bypassing any locking wrappers.
+     *
+     * @param ontology {@link OWLOntology}
+     * @return {@link UnionGraph} or {@code null}
+     */
+    protected static UnionGraph getUnionGraph(OWLOntology ontology) {
+        if (!(ontology instanceof BaseModel)) {
+            return null;
+        }
+        Graph graph = ((BaseModel) ontology).getBase().getGraph();
+        return graph instanceof UnionGraph ? (UnionGraph) graph : null;
+    }
+
+    /**
+     * Lists the import placeholders, that are attached to the top level of the given hierarchy.
+     *
+     * @param graph {@link UnionGraph}
+     * @return {@code List} of {@link LazyGraph}s
+     */
+    private static List<LazyGraph> listLazyGraphs(UnionGraph graph) {
+        return graph.getUnderlying().graphs()
+                .filter(x -> x instanceof LazyGraph)
+                .map(LazyGraph.class::cast)
+                .collect(Collectors.toList());
+    }
+
     /**
      * @param ontology {@link OWLOntology}
      * @return {@code Stream} of {@link OWLOntology}
      */
     @Override
     public Stream<OWLOntology> imports(@Nonnull OWLOntology ontology) {
+        resolveLazyImports(ontology);
         getLock().readLock().lock();
         try {
             return getImports(ontology, new LinkedHashSet<>()).stream();
@@ -1103,6 +1309,7 @@ public class OntologyManagerImpl
      */
     @Override
     public Stream<OWLOntology> importsClosure(@Nonnull OWLOntology ontology) {
+        resolveLazyImports(ontology);
         getLock().readLock().lock();
         try {
             Set<OWLOntology> res = new HashSet<>();
@@ -1128,6 +1335,7 @@ public class OntologyManagerImpl
      */
     @Override
     public List<OWLOntology> getSortedImportsClosure(@Nonnull OWLOntology ontology) {
+        resolveLazyImports(ontology);
         getLock().readLock().lock();
         try {
             return ontology.importsClosure().sorted().collect(Collectors.toList());
@@ -1459,6 +1667,108 @@ public class OntologyManagerImpl
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param source {@link OWLOntology}
+     * @return {@link Ontology}
+     */
+    @Override
+    public Ontology forkOntology(@Nonnull OWLOntology source) {
+        getLock().writeLock().lock();
+        try {
+            OntApiException.notNull(source, "Null source ontology.");
+            if (!(source instanceof Ontology)) {
+                throw new OntApiException.Unsupported("Not an ONT-API ontology: " + source.getOntologyID());
+            }
+            Graph parent = ((Ontology) source).asGraphModel().getBaseGraph();
+            // no transformations, no import processing: the data must be taken as is
+            Ontology res = addOntology(new DeltaGraph(parent),
+                    getOntologyLoaderConfiguration().setPerformTransformation(false).setProcessImports(false));
+            if (!res.isAnonymous()) {
+                // restore missed dependencies
+                OntModels.insert(this::models, res.asGraphModel(), false);
+            }
+            return res;
+        } finally {
+            getLock().writeLock().unlock();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param fork   {@link Ontology}
+     * @param target {@link Ontology}
+     */
+    @Override
+    public void mergeFork(@Nonnull Ontology fork, @Nonnull Ontology target) {
+        OntApiException.notNull(fork, "Null fork.");
+        OntApiException.notNull(target, "Null target ontology.");
+        OWLOntologyManager other = target.getOWLOntologyManager();
+        Lock first = getLock().writeLock();
+        Lock second = other instanceof OntologyManagerImpl && other != this ?
+                ((OntologyManagerImpl) other).getLock().writeLock() : null;
+        if (second != null) {
+            int h1 = System.identityHashCode(this);
+            int h2 = System.identityHashCode(other);
+            if (h1 == h2) {
+                // a hash collision: the global tie lock makes the order of the two locks irrelevant
+                synchronized (MERGE_TIE_LOCK) {
+                    mergeFork(fork, target, first, second);
+                }
+                return;
+            }
+            if (h2 < h1) {
+                // the same order for any pair of managers, to avoid deadlocks
+                Lock tmp = first;
+                first = second;
+                second = tmp;
+            }
+        }
+        mergeFork(fork, target, first, second);
+    }
+
+    /**
+     * Merges the fork into the target ontology under the given locks, which are acquired in the given order.
+     *
+     * @param fork   {@link Ontology}
+     * @param target {@link Ontology}
+     * @param first  {@link Lock} to acquire first, not {@code null}
+     * @param second {@link Lock} to acquire second, can be {@code null}
+     */
+    private static void mergeFork(Ontology fork, Ontology target, Lock first, Lock second) {
+        first.lock();
+        try {
+            if (second != null) {
+                second.lock();
+            }
+            try {
+                Graph graph = Graphs.getBase(fork.asGraphModel().getBaseGraph());
+                if (!(graph instanceof DeltaGraph)) {
+                    throw new OntApiException.IllegalArgument("Not a fork: " + fork.getOntologyID());
+                }
+                DeltaGraph delta = (DeltaGraph) graph;
+                if (!Graphs.isSameBase(delta.getParent(), target.asGraphModel().getBaseGraph())) {
+                    throw new OntApiException.IllegalArgument("The ontology " + fork.getOntologyID() +
+                            " is not a fork of " + target.getOntologyID());
+                }
+                if (delta.isStale()) {
+                    throw new OntApiException.IllegalState("The ontology " + target.getOntologyID() +
+                            " has been changed since the fork was created or last merged");
+                }
+                // write through the union graph to notify the target listeners
+                delta.merge(target.asGraphModel().getGraph());
+            } finally {
+                if (second != null) {
+                    second.unlock();
+                }
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
     /**
      * @param source {@link IRI}
      * @return {@link Ontology}
@@ -1680,12 +1990,49 @@ public class OntologyManagerImpl
     public void saveOntology(@Nonnull OWLOntology ontology,
                              @Nonnull OWLDocumentFormat ontologyFormat,
                              @Nonnull OWLOntologyDocumentTarget documentTarget) throws OWLOntologyStorageException {
+        OntFormat format = OntFormat.get(ontologyFormat);
+        Graph snapshot;
         getLock().readLock().lock();
         try {
-            write(ontology, ontologyFormat, documentTarget);
+            if (format == null || !format.isJena() || !isWriteSnapshot(ontology)) {
+                write(ontology, ontologyFormat, documentTarget);
+                return;
+            }
+            snapshot = snapshot(((Ontology) ontology).asGraphModel().getBaseGraph());
         } finally {
             getLock().readLock().unlock();
         }
+        write((Ontology) ontology, format, ontologyFormat, documentTarget, snapshot);
+    }
+
+    /**
+     * Answers {@code true} if the given ontology should be saved from an in-memory snapshot, without holding the lock.
+     *
+     * @param ontology {@link OWLOntology}
+     * @return boolean
+     * @see OntWriterConfiguration#isWriteSnapshot()
+     */
+    protected boolean isWriteSnapshot(OWLOntology ontology) {
+        if (!(ontology instanceof Ontology)) {
+            return false;
+        }
+        return content.get(ontology.getOntologyID())
+                .filter(x -> x.get() == ontology)
+                .map(x -> x.getModelConfig().getWriterConfig())
+                .orElseGet(this::getOntologyWriterConfiguration).isWriteSnapshot();
+    }
+
+    /**
+     * Makes an in-memory copy of the given graph, including its prefixes.
+     *
+     * @param graph {@link Graph}
+     * @return {@link Graph}
+     */
+    protected static Graph snapshot(Graph graph) {
+        Graph res = OntModelFactory.createDefaultGraph();
+        GraphUtil.addInto(res, graph);
+        res.getPrefixMapping().setNsPrefixes(graph.getPrefixMapping());
+        return res;
     }
 
     /**
@@ -1746,6 +2093,24 @@ public class OntologyManagerImpl
                 throw new OWLOntologyStorageIOException(e);
             }
         }
+        write(ont, format, doc, target, ont.asGraphModel().getBaseGraph());
+    }
+
+    /**
+     * Writes the given graph, which is the content of the specified ontology, in the specified Jena format.
+     *
+     * @param ont    {@link Ontology}, the source of the graph
+     * @param format {@link OntFormat}, must be Jena format
+     * @param doc    {@link OWLDocumentFormat}, to retrieve prefixes
+     * @param target {@link OWLOntologyDocumentTarget}
+     * @param graph  {@link Graph} to write
+     * @throws OWLOntologyStorageException if the ontology could not be saved
+     */
+    protected void write(Ontology ont,
+                         OntFormat format,
+                         OWLDocumentFormat doc,
+                         OWLOntologyDocumentTarget target,
+                         Graph graph) throws OWLOntologyStorageException {
         OutputStream os = null;
         if (target.getOutputStream().isPresent()) {
             os = target.getOutputStream().get();
@@ -1765,7 +2130,6 @@ public class OntologyManagerImpl
         if (os == null) {
             throw new OWLOntologyStorageException("Null output stream, format = " + doc);
         }
-        Graph graph = ont.asGraphModel().getBaseGraph();
         if (doc.isPrefixOWLDocumentFormat()) {
             PrefixMapping pm = OntGraphUtils.prefixMapping(doc.asPrefixOWLDocumentFormat());
             graph = new WrappedGraph(graph) {
@@ -1808,7 +2172,10 @@ public class OntologyManagerImpl
     @SuppressWarnings("JavadocReference")
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
         in.defaultReadObject();
+        this.nodes = createNodeDictionary();
         this.iris = createIRICache();
+        this.objects = createObjectsCache();
+        this.budget = createCacheBudget();
         this.content.values().forEach(info -> {
             ModelConfig conf = info.getModelConfig();
             BaseModel m = getAdapter().asBaseModel(info.get());
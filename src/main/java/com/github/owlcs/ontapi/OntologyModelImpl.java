@@ -20,6 +20,7 @@ import com.github.owlcs.ontapi.jena.impl.OntGraphModelImpl;
 import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.owlcs.ontapi.jena.utils.Graphs;
+import com.github.owlcs.ontapi.jena.utils.Iter;
 import org.apache.jena.graph.Graph;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.model.parameters.ChangeApplied;
@@ -64,6 +65,9 @@ public class OntologyModelImpl extends OntBaseModelImpl implements Ontology, OWL
 
     @Override
     public ChangeApplied applyDirectChange(OWLOntologyChange change) {
+        if (isFrozen()) {
+            throw new OntApiException.ModificationDenied("The ontology " + getOntologyID() + " is frozen");
+        }
         return change.accept(changer);
     }
 
@@ -81,6 +85,26 @@ public class OntologyModelImpl extends OntBaseModelImpl implements Ontology, OWL
         getBase().clearCache();
     }
 
+    @Override
+    public void freeze() {
+        getBase().freeze();
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return getBase().isFrozen();
+    }
+
+    @Override
+    public Page<OWLAxiom> axiomsPage(@Nullable String cursor, int limit) {
+        return getBase().pageOWLAxioms(cursor, limit);
+    }
+
+    @Override
+    public Page<OWLEntity> signaturePage(@Nullable String cursor, int limit) {
+        return getBase().pageOWLEntities(cursor, limit);
+    }
+
     /**
      * Returns the jena model shadow.
      *
@@ -251,6 +275,10 @@ public class OntologyModelImpl extends OntBaseModelImpl implements Ontology, OWL
     public static class Concurrent extends OWLOntologyWrapper implements Ontology, BaseModel {
 
         private static final long serialVersionUID = 5823394836022970162L;
+        // to avoid locking after the ontology is frozen
+        protected volatile boolean frozen;
+        // true if the whole imports closure is frozen
+        protected volatile boolean lockFree;
 
         protected Concurrent(OntologyModelImpl delegate, ReadWriteLock lock) {
             super(delegate, lock);
@@ -270,7 +298,7 @@ public class OntologyModelImpl extends OntBaseModelImpl implements Ontology, OWL
          */
         @Override
         public OntModel asGraphModel() {
-            lock.readLock().lock();
+            lockRead();
             try {
                 InternalModel base = getBase();
                 return asConcurrent(base.getGraph(), base.getOntPersonality(), lock);
@@ -285,7 +313,7 @@ public class OntologyModelImpl extends OntBaseModelImpl implements Ontology, OWL
          */
         @Override
         public void clearCache() {
-            lock.readLock().lock();
+            lockRead();
             try {
                 delegate().clearCache();
             } finally {
@@ -293,6 +321,77 @@ public class OntologyModelImpl extends OntBaseModelImpl implements Ontology, OWL
             }
         }
 
+        /**
+         * Freezes the ontology.
+         * It is performed in the write-locked section,
+         * after that all the read operations work without any lock,
+         * provided that all the imports are frozen too.
+         */
+        @Override
+        public void freeze() {
+            if (frozen) {
+                return;
+            }
+            lockWrite();
+            try {
+                delegate().freeze();
+                frozen = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        @Override
+        public boolean isFrozen() {
+            return frozen;
+        }
+
+        /**
+         * Answers {@code true} if the read lock is not needed.
+         * This is so if the ontology and all its imports are frozen,
+         * i.e. nothing in the graph hierarchy can be changed:
+         * reading the axioms of an ontology involves also its imports.
+         *
+         * @return boolean
+         * @see #lockRead()
+         */
+        @Override
+        protected boolean isReadLockFree() {
+            return lockFree;
+        }
+
+        /**
+         * Takes the read lock and, for a frozen ontology,
+         * checks whether the whole imports closure is frozen to avoid locking in future.
+         */
+        @Override
+        protected void lockRead() {
+            super.lockRead();
+            if (frozen && !lockFree) {
+                lockFree = Iter.allMatch(getBase().getGraph().listUnionGraphs(), UnionGraph::isReadOnly);
+            }
+        }
+
+        @Override
+        public Page<OWLAxiom> axiomsPage(@Nullable String cursor, int limit) {
+            lockRead();
+            try {
+                return delegate().axiomsPage(cursor, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public Page<OWLEntity> signaturePage(@Nullable String cursor, int limit) {
+            lockRead();
+            try {
+                return delegate().signaturePage(cursor, limit);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
         @Override
         public OntologyManager getOWLOntologyManager() {
             return (OntologyManager) super.getOWLOntologyManager();
@@ -413,6 +512,17 @@ public class OntologyModelImpl extends OntBaseModelImpl implements Ontology, OWL
                     this.from = from;
                 }
 
+                @Override
+                public boolean isReadOnly() {
+                    return from.isReadOnly();
+                }
+
+                @Override
+                public UnionGraph setReadOnly(boolean readOnly) {
+                    from.setReadOnly(readOnly);
+                    return this;
+                }
+
                 @Override
                 public UnionGraph addGraph(Graph graph) {
                     from.addGraph(graph);
@@ -0,0 +1,73 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A page of objects, that is a portion of some ordered ontology content (e.g. axioms),
+ * together with an opaque continuation token (cursor) to retrieve the next portion.
+ * The cursor remains valid as long as the ontology is not modified;
+ * an attempt to use a cursor after modification causes an {@link OntApiException.IllegalState}.
+ *
+ * @param <X> the type of page items
+ * @see Ontology#axiomsPage(String, int)
+ * @see Ontology#signaturePage(String, int)
+ * @since 2.1.1
+ */
+public class Page<X> {
+    private final List<X> items;
+    private final String next;
+
+    public Page(List<X> items, String next) {
+        this.items = Collections.unmodifiableList(Objects.requireNonNull(items));
+        this.next = next;
+    }
+
+    /**
+     * Returns the page content.
+     *
+     * @return unmodifiable {@code List} of {@link X}s
+     */
+    public List<X> getItems() {
+        return items;
+    }
+
+    /**
+     * Returns the cursor to retrieve the next page.
+     *
+     * @return {@code Optional} of {@code String}, empty if this page is the last one
+     */
+    public Optional<String> getNext() {
+        return Optional.ofNullable(next);
+    }
+
+    /**
+     * Answers {@code true} if there is a next page.
+     *
+     * @return boolean
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Page{size=%d, next=%s}", items.size(), next);
+    }
+}
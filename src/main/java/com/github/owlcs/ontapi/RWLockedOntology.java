@@ -102,6 +102,17 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
         return NoOpReadWriteLock.isConcurrent(lock);
     }
 
+    /**
+     * Answers {@code true} if the read operations do not require the lock anymore,
+     * e.g. if the ontology is {@link Ontology#freeze() frozen}.
+     *
+     * @return boolean
+     * @since 2.1.1
+     */
+    protected boolean isReadLockFree() {
+        return false;
+    }
+
     /**
      * Performs the given operation in the dedicated read-locked section returning its result.
      *
@@ -110,7 +121,10 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
      * @return {@link X}
      */
     protected <X> X withReadLockToObject(Supplier<X> op) {
-        lock.readLock().lock();
+        if (isReadLockFree()) {
+            return op.get();
+        }
+        lockRead();
         try {
             return op.get();
         } finally {
@@ -126,7 +140,11 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
      * @throws T in case something goes wrong while {@code op}
      */
     protected <T extends Throwable> void withReadLock(WithThrowable<T> op) throws T {
-        lock.readLock().lock();
+        if (isReadLockFree()) {
+            op.apply();
+            return;
+        }
+        lockRead();
         try {
             op.apply();
         } finally {
@@ -142,7 +160,7 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
      * @return {@link X}
      */
     protected <X> X withWriteLockToObject(Supplier<X> op) {
-        lock.writeLock().lock();
+        lockWrite();
         try {
             return op.get();
         } finally {
@@ -158,7 +176,7 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
      * @throws T in case something goes wrong while {@code op}
      */
     protected <T extends Throwable> void withWriteLock(WithThrowable<T> op) throws T {
-        lock.writeLock().lock();
+        lockWrite();
         try {
             op.apply();
         } finally {
@@ -166,6 +184,38 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
         }
     }
 
+    /**
+     * Acquires the read lock recording the waiting time if {@link OntMetrics metrics} are enabled.
+     */
+    protected void lockRead() {
+        long start = OntMetrics.start();
+        lock.readLock().lock();
+        OntMetrics.stop("lock.read.wait", start);
+    }
+
+    /**
+     * Acquires the write lock recording the waiting time if {@link OntMetrics metrics} are enabled.
+     */
+    protected void lockWrite() {
+        long start = OntMetrics.start();
+        lock.writeLock().lock();
+        OntMetrics.stop("lock.write.wait", start);
+    }
+
+    /**
+     * Resolves the lazily loaded imports of this ontology, if any.
+     * Must be called before entering a read-locked section,
+     * since the resolution registers the imports in the manager, which requires the write lock.
+     *
+     * @see OntologyManagerImpl#resolveLazyImports(OWLOntology)
+     */
+    protected void resolveImports() {
+        OWLOntologyManager manager = getOWLOntologyManager();
+        if (manager instanceof OntologyManagerImpl) {
+            ((OntologyManagerImpl) manager).resolveLazyImports(this);
+        }
+    }
+
     /**
      * Creates a {@code Set} from the given collection preserving the order.
      * The operation is performed into the dedicated read-locked section.
@@ -192,6 +242,9 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
      * @return {@code Stream} of {@link X}
      */
     protected <X> Stream<X> withImportsToStream(Imports imports, Function<OWLOntology, Stream<X>> map) {
+        if (Imports.INCLUDED.equals(imports)) {
+            resolveImports();
+        }
         return withReadLockToObject(() -> {
             if (Imports.EXCLUDED.equals(imports)) {
                 return map.apply(RWLockedOntology.this);
@@ -210,6 +263,9 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
      * @return long
      */
     protected long withImportsToLong(Imports imports, ToLongFunction<OWLOntology> map) {
+        if (Imports.INCLUDED.equals(imports)) {
+            resolveImports();
+        }
         return withReadLockToObject(() -> {
             if (Imports.EXCLUDED.equals(imports)) {
                 return map.applyAsLong(RWLockedOntology.this);
@@ -227,6 +283,9 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
      * @return boolean
      */
     protected boolean withImportsToBoolean(Imports imports, Predicate<OWLOntology> test) {
+        if (Imports.INCLUDED.equals(imports)) {
+            resolveImports();
+        }
         return withReadLockToObject(() -> {
             if (Imports.EXCLUDED.equals(imports)) {
                 return test.test(RWLockedOntology.this);
@@ -426,16 +485,19 @@ public abstract class RWLockedOntology implements OWLMutableOntology {
 
     @Override
     public Set<OWLOntology> getDirectImports() {
+        resolveImports();
         return toSet(this::directImports);
     }
 
     @Override
     public Set<OWLOntology> getImports() {
+        resolveImports();
         return toSet(this::imports);
     }
 
     @Override
     public Set<OWLOntology> getImportsClosure() {
+        resolveImports();
         return toSet(this::importsClosure);
     }
 
@@ -0,0 +1,249 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.owlcs.ontapi;
+
+import com.github.owlcs.ontapi.transforms.GraphTransformers;
+import com.github.owlcs.ontapi.transforms.Transform;
+import org.apache.jena.graph.Graph;
+import org.semanticweb.owlapi.model.IRI;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * A process-wide size-bounded cache of loaded and transformed {@link Graph graph}s,
+ * that are shared read-only across all {@link OntologyManager manager}s.
+ * Each manager gets its own {@link com.github.owlcs.ontapi.jena.DeltaGraph copy-on-write overlay}
+ * over the cached graph, so a cached graph is never modified after it has been put in the cache.
+ * The size of the cache is measured in triples, the least recently used graphs are evicted first;
+ * the limit can be specified by the system property {@link #SIZE_PROPERTY ont-api.shared.graphs.triples}.
+ * <p>
+ * Only documents from local resources ({@code file:} and {@code jar:} IRIs) are cached,
+ * since the key includes the hash of the document content, which is cheap to compute only for such resources;
+ * moreover, the hash is recalculated only if the modification time or the length of the document has been changed.
+ * Also, only graphs without {@code owl:imports} are cached:
+ * the transformations are performed over the whole imports closure,
+ * so their result for a graph with imports depends on the content of other documents.
+ *
+ * @see com.github.owlcs.ontapi.config.LoadSettings#isUseSharedGraphCache()
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class SharedGraphCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedGraphCache.class);
+    /**
+     * The system property to specify the max number of triples in the {@link #get() default} cache.
+     */
+    public static final String SIZE_PROPERTY = "ont-api.shared.graphs.triples";
+    private static final SharedGraphCache INSTANCE = new SharedGraphCache(Long.getLong(SIZE_PROPERTY, 10_000_000));
+    private static final Set<String> SCHEMES = new HashSet<>(Arrays.asList("file", "jar"));
+
+    // the document content hashes: document IRI + validator (modification time and length) -> hash
+    private static final Map<String, String> DIGESTS = Collections.synchronizedMap(
+            new LinkedHashMap<String, String>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > 1024;
+                }
+            });
+
+    protected final long maxTriples;
+    protected final Map<String, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+    protected long triples;
+
+    public SharedGraphCache(long maxTriples) {
+        if (maxTriples < 0) {
+            throw new OntApiException.IllegalArgument("Negative size: " + maxTriples);
+        }
+        this.maxTriples = maxTriples;
+    }
+
+    /**
+     * Returns the process-wide cache instance.
+     *
+     * @return {@link SharedGraphCache}
+     */
+    public static SharedGraphCache get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Calculates the cache key for the given document and transformations.
+     * The key includes the hash of the document content,
+     * which is calculated only if the document has been changed (according to its modification time and length)
+     * since the previous call, otherwise the memorized hash is used.
+     *
+     * @param document     {@link IRI} of the document, not {@code null}
+     * @param transformers {@link GraphTransformers} or {@code null} if no transformations are performed
+     * @return {@code Optional} of {@code String}, empty if the document is not supported or can not be read
+     */
+    public static Optional<String> key(IRI document, GraphTransformers transformers) {
+        if (!SCHEMES.contains(document.getScheme())) {
+            return Optional.empty();
+        }
+        String transforms = transformers == null ? "" : transformers.transforms()
+                .map(Transform::id).collect(Collectors.joining(","));
+        String iri = document.getIRIString();
+        try {
+            URLConnection connection = URI.create(iri).toURL().openConnection();
+            long modified = connection.getLastModified();
+            long length = connection.getContentLengthLong();
+            String validator = modified <= 0 || length < 0 ? null : modified + ":" + length;
+            String digest = validator == null ? null : DIGESTS.get(iri + "#" + validator);
+            if (digest == null) {
+                digest = digest(connection);
+                if (validator != null) {
+                    DIGESTS.put(iri + "#" + validator, digest);
+                }
+            } else {
+                // the content is not read:
+                closeQuietly(connection);
+            }
+            return Optional.of(iri + "#" + digest + "#" + transforms);
+        } catch (IOException | IllegalArgumentException | NoSuchAlgorithmException e) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Can't calculate the key for <{}>: {}", document, e.getMessage());
+            }
+            return Optional.empty();
+        }
+    }
+
+    private static String digest(URLConnection connection) throws IOException, NoSuchAlgorithmException {
+        try (InputStream in = connection.getInputStream()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+            return Base64.getEncoder().encodeToString(digest.digest());
+        }
+    }
+
+    private static void closeQuietly(URLConnection connection) {
+        // the connection to a local resource opens the stream to get the headers
+        try {
+            connection.getInputStream().close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * Answers the cached entry.
+     *
+     * @param key {@code String}, see {@link #key(IRI, GraphTransformers)}
+     * @return {@link Entry} or {@code null}
+     */
+    public synchronized Entry get(String key) {
+        return map.get(key);
+    }
+
+    /**
+     * Puts the graph into the cache.
+     * The graph must not be modified after this operation.
+     * A graph, which is larger than the whole cache, is not stored.
+     *
+     * @param key    {@code String}, see {@link #key(IRI, GraphTransformers)}
+     * @param graph  {@link Graph}, not {@code null}
+     * @param format {@link OntFormat}, not {@code null}
+     * @return {@code true} if the graph has been cached
+     */
+    public boolean put(String key, Graph graph, OntFormat format) {
+        Entry entry = new Entry(Objects.requireNonNull(graph), Objects.requireNonNull(format));
+        if (entry.size > maxTriples) {
+            return false;
+        }
+        synchronized (this) {
+            Entry prev = map.put(Objects.requireNonNull(key), entry);
+            if (prev != null) {
+                triples -= prev.size;
+            }
+            triples += entry.size;
+            Iterator<Entry> it = map.values().iterator();
+            while (triples > maxTriples && it.hasNext()) {
+                Entry e = it.next();
+                if (e == entry) {
+                    continue;
+                }
+                triples -= e.size;
+                it.remove();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Discards all cached graphs.
+     */
+    public synchronized void clear() {
+        map.clear();
+        triples = 0;
+    }
+
+    /**
+     * Answers the number of cached graphs.
+     *
+     * @return int
+     */
+    public synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * Answers the total number of triples in all cached graphs.
+     *
+     * @return long
+     */
+    public synchronized long getTriples() {
+        return triples;
+    }
+
+    public long getMaxTriples() {
+        return maxTriples;
+    }
+
+    /**
+     * A cache entry: an immutable (by contract) graph with its format.
+     */
+    public static class Entry {
+        protected final Graph graph;
+        protected final OntFormat format;
+        protected final int size;
+
+        protected Entry(Graph graph, OntFormat format) {
+            this.graph = graph;
+            this.format = format;
+            this.size = graph.size();
+        }
+
+        public Graph getGraph() {
+            return graph;
+        }
+
+        public OntFormat getFormat() {
+            return format;
+        }
+    }
+}
@@ -56,6 +56,8 @@ interface CacheControl<R> extends CacheSettings {
      *     <li>{@link CacheSettings#CACHE_COMPONENT}</li>
      *     <li>{@link CacheSettings#CACHE_CONTENT}</li>
      *     <li>{@link CacheSettings#CACHE_ALL}</li>
+     *     <li>{@link CacheSettings#CACHE_EXPRESSIONS} (not included in {@link CacheSettings#CACHE_ALL})</li>
+     *     <li>{@link CacheSettings#CACHE_PREFETCH} (not included in {@link CacheSettings#CACHE_ALL})</li>
      * </ul>
      *
      * @param level int, a non-negative number, preferably power of {@code 2}
@@ -79,6 +81,8 @@ interface CacheControl<R> extends CacheSettings {
      * @see CacheSettings#CACHE_COMPONENT
      * @see CacheSettings#CACHE_ITERATOR
      * @see CacheSettings#CACHE_ALL
+     * @see CacheSettings#CACHE_EXPRESSIONS
+     * @see CacheSettings#CACHE_PREFETCH
      */
     default R setModelCacheLevel(int constant, boolean b) {
         int current = getModelCacheLevel();
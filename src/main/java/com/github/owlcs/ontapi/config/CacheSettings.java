@@ -24,7 +24,9 @@ import com.github.owlcs.ontapi.Ontology;
  * <li>objects cache, that is encapsulated in {@link com.github.owlcs.ontapi.internal.CacheObjectFactory},
  * and is used to reduce memory memory footprint when constructing OWL content</li>
  * <li>model cache, that has several levels:
- * {@link #CACHE_ALL}, {@link #CACHE_CONTENT}, {@link #CACHE_COMPONENT}, {@link #CACHE_ITERATOR}</li>
+ * {@link #CACHE_ALL}, {@link #CACHE_CONTENT}, {@link #CACHE_COMPONENT}, {@link #CACHE_ITERATOR},
+ * and also the optional {@link #CACHE_EXPRESSIONS} and {@link #CACHE_PREFETCH} levels,
+ * which are not a part of {@link #CACHE_ALL}</li>
  * </ul>
  * Note: since ONT-API is an evolving system, all these settings may be changed in the future releases.
  * <p>
@@ -55,6 +57,31 @@ public interface CacheSettings {
      * @see org.semanticweb.owlapi.model.OWLAnnotation
      */
     int CACHE_CONTENT = 16;
+    /**
+     * A constant value signifying that the expressions table is enabled.
+     * This is a per-model table, that maps the structurally equal content of simple anonymous expressions
+     * (i.e. expressions, which have no nested anonymous components, e.g. {@code ObjectSomeValuesFrom(P C)})
+     * to a single canonical array.
+     * It reduces the memory footprint in case of ontologies with many repeated restrictions,
+     * and also makes {@code equals} of such expressions faster.
+     * Unlike other levels, it is opt-in and is not included in {@link #CACHE_ALL}.
+     *
+     * @see com.github.owlcs.ontapi.internal.ModelObjectFactory#intern(Object[])
+     * @since 2.1.1
+     */
+    int CACHE_EXPRESSIONS = 32;
+    /**
+     * A constant value signifying that anonymous class expressions and data ranges are read in the prefetch mode:
+     * the whole blank-node closure of a top-level expression is fetched from the graph in one traversal
+     * and buffered while the expression is being read.
+     * It reduces the number of graph lookups for deeply nested expressions, which makes sense for slow graphs
+     * (e.g. a database), but for an ordinary in-memory graph the buffering is just an extra work.
+     * Unlike other levels, it is opt-in and is not included in {@link #CACHE_ALL}.
+     *
+     * @see com.github.owlcs.ontapi.internal.Prefetcher
+     * @since 2.1.1
+     */
+    int CACHE_PREFETCH = 64;
     /**
      * A constant value signifying that all model's caches are enabled.
      * It is default value.
@@ -112,6 +139,9 @@ public interface CacheSettings {
      * <li>{@link #CACHE_COMPONENT} - use cache-optimization to optimize iteration over components found in a graph</li>
      * <li>{@link #CACHE_CONTENT} - use cache-optimization to optimize iteration over content and its modification</li>
      * <li>{@link #CACHE_ALL} - all possible cache-optimizations</li>
+     * <li>{@link #CACHE_EXPRESSIONS} - use the table of canonical content for anonymous expressions
+     * (opt-in, since 2.1.1)</li>
+     * <li>{@link #CACHE_PREFETCH} - read anonymous expressions in the prefetch mode (opt-in, since 2.1.1)</li>
      * </ul>
      * Note: the list above may be changed in the ONT-API evolution.
      *
@@ -189,6 +219,32 @@ public interface CacheSettings {
         return (getModelCacheLevel() & CACHE_ITERATOR) == CACHE_ITERATOR;
     }
 
+    /**
+     * Answers {@code true} iff the table of canonical expressions content is enabled.
+     * It is {@code false} by default.
+     *
+     * @return boolean
+     * @see #CACHE_EXPRESSIONS
+     * @see CacheControl#setModelCacheLevel(int, boolean)
+     * @since 2.1.1
+     */
+    default boolean useExpressionsCache() {
+        return (getModelCacheLevel() & CACHE_EXPRESSIONS) == CACHE_EXPRESSIONS;
+    }
+
+    /**
+     * Answers {@code true} iff anonymous expressions are read in the prefetch mode.
+     * It is {@code false} by default.
+     *
+     * @return boolean
+     * @see #CACHE_PREFETCH
+     * @see CacheControl#setModelCacheLevel(int, boolean)
+     * @since 2.1.1
+     */
+    default boolean usePrefetchCache() {
+        return (getModelCacheLevel() & CACHE_PREFETCH) == CACHE_PREFETCH;
+    }
+
     /**
      * Answers {@code true} if the nodes cache is enabled.
      * This cache is located in the search model, that is used as optimization while read operations.
@@ -14,6 +14,8 @@
 
 package com.github.owlcs.ontapi.config;
 
+import com.github.owlcs.ontapi.internal.OWLComponentType;
+import com.github.owlcs.ontapi.internal.OWLTopObjectType;
 import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
 import com.github.owlcs.ontapi.transforms.GraphTransformers;
 
@@ -72,6 +74,47 @@ interface LoadControl<R> extends LoadSettings {
      */
     R setProcessImports(boolean b);
 
+    /**
+     * Enables or disables the lazy loading of imports.
+     *
+     * @param b boolean
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#isLoadImportsLazily()
+     * @since 2.1.1
+     */
+    R setLoadImportsLazily(boolean b);
+
+    /**
+     * Enables or disables the usage of the process-wide graph cache.
+     *
+     * @param b boolean
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#isUseSharedGraphCache()
+     * @since 2.1.1
+     */
+    R setUseSharedGraphCache(boolean b);
+
+    /**
+     * Sets the types of axioms (and the ontology header) whose content caches
+     * are to be built right after the ontology is loaded.
+     *
+     * @param types {@code List} of {@link OWLTopObjectType}s, possibly empty, not {@code null}
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#getWarmUpContent()
+     * @since 2.1.1
+     */
+    R setWarmUpContent(List<OWLTopObjectType> types);
+
+    /**
+     * Sets the types of OWL objects whose component caches are to be built right after the ontology is loaded.
+     *
+     * @param types {@code List} of {@link OWLComponentType}s, possibly empty, not {@code null}
+     * @return {@link R} (this or copied instance)
+     * @see LoadSettings#getWarmUpComponents()
+     * @since 2.1.1
+     */
+    R setWarmUpComponents(List<OWLComponentType> types);
+
     /**
      * Changes the preferable way to load a {@code Graph}.
      * If {@code true} specified, the OWL-API native parsers will be used.
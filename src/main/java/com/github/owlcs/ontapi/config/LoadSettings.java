@@ -15,6 +15,8 @@
 package com.github.owlcs.ontapi.config;
 
 import com.github.owlcs.ontapi.*;
+import com.github.owlcs.ontapi.internal.OWLComponentType;
+import com.github.owlcs.ontapi.internal.OWLTopObjectType;
 import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.owlcs.ontapi.transforms.GraphFilter;
@@ -115,6 +117,86 @@ public interface LoadSettings {
      */
     boolean isProcessImports();
 
+    /**
+     * Answers {@code true} if the imports must be loaded lazily.
+     * Makes sense only if the {@link #isProcessImports() processing imports} is enabled.
+     * In this mode only the root document is loaded synchronously,
+     * each of its missing imports is fetched (and transformed) in background,
+     * and the import's graph is attached to the root {@link com.github.owlcs.ontapi.jena.UnionGraph UnionGraph}
+     * as a {@link com.github.owlcs.ontapi.jena.LazyGraph placeholder},
+     * which blocks on the first read operation until the import is ready.
+     * So the loading returns as soon as the root is ready, and the imports are parsed concurrently.
+     * Note that even reading the root's own axioms requires the imports
+     * (e.g. to recognise entity declarations), and therefore also waits for them.
+     * Note: the {@link #isPerformTransformation() transformations} require the whole imports closure,
+     * so if the root graph with imports is to be transformed, this setting is ignored
+     * and the imports are loaded eagerly, as usual.
+     * Also note: the lazily loaded imports are not registered in the manager until they are requested
+     * through the OWL-API imports closure (including the methods with {@code Imports.INCLUDED} parameter):
+     * the first such request waits for the pending imports and turns the placeholders into managed ontologies;
+     * loading such an import explicitly replaces the placeholder with the real ontology graph as well.
+     * Errors while fetching an import are reported on the first access to the placeholder.
+     *
+     * @return boolean, ({@code false} by default)
+     * @see LoadControl#setLoadImportsLazily(boolean)
+     * @see OntSettings#ONT_API_LOAD_CONF_LAZY_IMPORTS
+     * @since 2.1.1
+     */
+    boolean isLoadImportsLazily();
+
+    /**
+     * Answers {@code true} if the process-wide {@link com.github.owlcs.ontapi.SharedGraphCache cache}
+     * of loaded and transformed graphs must be used.
+     * In this case a document, which is loaded from a local resource ({@code file:} or {@code jar:} IRI),
+     * is parsed and transformed only once per process, all subsequent loads of the same content
+     * (possibly in different managers) get a {@link com.github.owlcs.ontapi.jena.DeltaGraph copy-on-write overlay}
+     * over the cached graph instead of a fresh graph.
+     * The cache key includes the document IRI, the hash of the content and the list of transformations.
+     * Documents with {@code owl:imports} are not cached, since their transformations depend on the imports.
+     *
+     * @return boolean, ({@code false} by default)
+     * @see LoadControl#setUseSharedGraphCache(boolean)
+     * @see OntSettings#ONT_API_LOAD_CONF_USE_SHARED_GRAPH_CACHE
+     * @since 2.1.1
+     */
+    boolean isUseSharedGraphCache();
+
+    /**
+     * Returns the types of axioms (and the ontology header) whose content caches
+     * are to be built right after the ontology is loaded.
+     * The warm-up is performed in background, on a low-priority daemon thread,
+     * so the first query does not pay the cost of reading the graph.
+     * A query that arrives during the warm-up waits for the in-flight loading of the same cache
+     * instead of starting a new one.
+     * For a non-concurrent ontology (i.e. without R/W lock) the warm-up is performed synchronously,
+     * before the load method returns, since such an ontology is not thread-safe.
+     * Note: the setting takes effect only if the content cache is enabled,
+     * see {@link CacheSettings#useContentCache()}.
+     *
+     * @return unmodifiable {@code List} of {@link com.github.owlcs.ontapi.internal.OWLTopObjectType}s,
+     * empty by default
+     * @see LoadControl#setWarmUpContent(List)
+     * @see OntSettings#ONT_API_LOAD_CONF_WARM_UP_CONTENT
+     * @since 2.1.1
+     */
+    List<OWLTopObjectType> getWarmUpContent();
+
+    /**
+     * Returns the types of OWL objects whose component (signature) caches
+     * are to be built right after the ontology is loaded.
+     * The component caches are built after the {@link #getWarmUpContent() content caches};
+     * note that if some content cache is already loaded, a component cache is collected from the whole content,
+     * and, therefore, this may cause loading of all other content caches.
+     * Works in the same way as {@link #getWarmUpContent()}.
+     *
+     * @return unmodifiable {@code List} of {@link com.github.owlcs.ontapi.internal.OWLComponentType}s,
+     * empty by default
+     * @see LoadControl#setWarmUpComponents(List)
+     * @see OntSettings#ONT_API_LOAD_CONF_WARM_UP_COMPONENTS
+     * @since 2.1.1
+     */
+    List<OWLComponentType> getWarmUpComponents();
+
     /**
      * Answers {@code true} if the native OWL-API parsers must be preferred while loading ontology,
      * which is strongly not recommended (and the method returns {@code false} by default).
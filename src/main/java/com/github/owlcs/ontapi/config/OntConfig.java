@@ -16,6 +16,8 @@ package com.github.owlcs.ontapi.config;
 
 import com.github.owlcs.ontapi.NoOpReadWriteLock;
 import com.github.owlcs.ontapi.OntApiException;
+import com.github.owlcs.ontapi.internal.OWLComponentType;
+import com.github.owlcs.ontapi.internal.OWLTopObjectType;
 import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
 import com.github.owlcs.ontapi.transforms.GraphTransformers;
 import org.semanticweb.owlapi.model.*;
@@ -39,6 +41,9 @@ import java.util.stream.Stream;
  * Additional (new) ONT-API methods:
  * <ul>
  * <li>{@link #getManagerIRIsCacheSize()} (<b>since 1.4.0</b>)</li>
+ * <li>{@link #isManagerInternNodes()} (<b>since 2.1.1</b>)</li>
+ * <li>{@link #getManagerObjectsCacheSize()} (<b>since 2.1.1</b>)</li>
+ * <li>{@link #getManagerCacheBudget()} (<b>since 2.1.1</b>)</li>
  * <li>{@link #getLoadNodesCacheSize()} and {@link #setLoadNodesCacheSize(int)} (<b>since 1.4.0</b>)</li>
  * <li>{@link #getLoadObjectsCacheSize()} and {@link #setLoadObjectsCacheSize(int)} (<b>since 1.4.0</b>)</li>
  * <li>{@link #setModelCacheLevel(int, boolean)} (<b>since 1.4.2</b>), {@link #setModelCacheLevel(int)} (<b>since 1.4.0</b>)</li>
@@ -47,6 +52,10 @@ import java.util.stream.Stream;
  * <li>{@link #getGraphTransformers()} amd {@link #setGraphTransformers(GraphTransformers)}</li>
  * <li>{@link #isPerformTransformation()} and {@link #setPerformTransformation(boolean)}</li>
  * <li>{@link #isProcessImports()} and {@link #setProcessImports(boolean)} (<b>since 1.4.1</b>)</li>
+ * <li>{@link #isLoadImportsLazily()} and {@link #setLoadImportsLazily(boolean)} (<b>since 2.1.1</b>)</li>
+ * <li>{@link #isUseSharedGraphCache()} and {@link #setUseSharedGraphCache(boolean)} (<b>since 2.1.1</b>)</li>
+ * <li>{@link #getWarmUpContent()} and {@link #setWarmUpContent(List)} (<b>since 2.1.1</b>)</li>
+ * <li>{@link #getWarmUpComponents()} and {@link #setWarmUpComponents(List)} (<b>since 2.1.1</b>)</li>
  * <li>{@link #getSupportedSchemes()} and {@link #setSupportedSchemes(List)}</li>
  * <li>{@link #disableWebAccess()} (<b>since 1.1.0</b>)</li>
  * <li>{@link #isAllowReadDeclarations()} and {@link #setAllowReadDeclarations(boolean)}</li>
@@ -54,6 +63,7 @@ import java.util.stream.Stream;
  * <li>{@link #isIgnoreAnnotationAxiomOverlaps()} and {@link #setIgnoreAnnotationAxiomOverlaps(boolean)}</li>
  * <li>{@link #isUseOWLParsersToLoad()} and {@link #setUseOWLParsersToLoad(boolean)}</li>
  * <li>{@link #isControlImports()} and {@link #setControlImports(boolean)} </li>
+ * <li>{@link #isWriteSnapshot()} and {@link #setWriteSnapshot(boolean)} (<b>since 2.1.1</b>)</li>
  * <li>{@link #isIgnoreAxiomsReadErrors()} and {@link #setIgnoreAxiomsReadErrors(boolean)} (<b>since 1.1.0</b>)</li>
  * <li>{@link #isSplitAxiomAnnotations()} and {@link #setSplitAxiomAnnotations(boolean)} (<b>since 1.3.0</b>)</li>
  * </ul>
@@ -326,6 +336,100 @@ public class OntConfig extends OntologyConfigurator
         return put(OntSettings.ONT_API_MANAGER_CACHE_IRIS, size);
     }
 
+    /**
+     * An ONT-API manager's load config getter.
+     * Answers {@code true} if the manager must intern uri {@link org.apache.jena.graph.Node Node}s and {@link IRI}s,
+     * i.e. share the same instances between all its ontologies, that is {@code false} by default.
+     * If it is enabled, the parsers put canonical uri nodes into graphs
+     * and the IRIs cache is weak-valued and unbounded
+     * (the {@link #getManagerIRIsCacheSize() IRIs cache size} is not taken into account).
+     *
+     * @return boolean
+     * @see OntSettings#ONT_API_MANAGER_INTERN_NODES
+     * @see com.github.owlcs.ontapi.internal.NodeDictionary
+     * @since 2.1.1
+     */
+    public boolean isManagerInternNodes() {
+        return get(OntSettings.ONT_API_MANAGER_INTERN_NODES);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * Turns on/off the manager's nodes dictionary.
+     * Protected, since this is a manager's initialization setting,
+     * that must not be changed during manager's lifetime.
+     *
+     * @param b boolean
+     * @return this instance
+     * @since 2.1.1
+     */
+    protected OntConfig setManagerInternNodes(boolean b) {
+        return put(OntSettings.ONT_API_MANAGER_INTERN_NODES, b);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * Returns the size of the manager-wide cache of model-free OWL objects
+     * (named entities, datatypes and short literals), that is shared by all ontologies of the manager.
+     * The default size is {@code 0}, which means that the shared cache is disabled.
+     * The cache works only with the default data factory and covers only plain OWL-API objects,
+     * the per-model ONT objects are not shared.
+     *
+     * @return int, possible non-positive number to disable the shared cache
+     * @see OntSettings#ONT_API_MANAGER_CACHE_OBJECTS
+     * @see com.github.owlcs.ontapi.CacheDataFactory
+     * @since 2.1.1
+     */
+    public int getManagerObjectsCacheSize() {
+        return get(OntSettings.ONT_API_MANAGER_CACHE_OBJECTS);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * Sets a new size for the manager-wide objects cache.
+     * Protected, since this is a manager's initialization setting,
+     * that must not be changed during manager's lifetime.
+     *
+     * @param size int, possible non-positive
+     * @return this instance
+     * @since 2.1.1
+     */
+    protected OntConfig setManagerObjectsCacheSize(int size) {
+        return put(OntSettings.ONT_API_MANAGER_CACHE_OBJECTS, size);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * Returns the manager-wide budget for the ontology caches (i.e. {@code content} and {@code components}),
+     * measured in the estimated number of cached OWL objects (axioms, entities, etc.) of all ontologies.
+     * When the budget is exceeded, the caches of the least recently used ontologies are evicted
+     * (by the ontologies themselves, on their next access);
+     * the graphs are untouched, so the evicted caches are reloaded on demand.
+     * The default value is {@code 0}, which means that there is no limit.
+     *
+     * @return int, possible non-positive number to disable the budget
+     * @see OntSettings#ONT_API_MANAGER_CACHE_BUDGET
+     * @see com.github.owlcs.ontapi.internal.CacheBudget
+     * @since 2.1.1
+     */
+    public int getManagerCacheBudget() {
+        return get(OntSettings.ONT_API_MANAGER_CACHE_BUDGET);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * Sets a new manager-wide budget for the ontology caches.
+     * Protected, since this is a manager's initialization setting,
+     * that must not be changed during manager's lifetime.
+     *
+     * @param size int, possible non-positive
+     * @return this instance
+     * @since 2.1.1
+     */
+    protected OntConfig setManagerCacheBudget(int size) {
+        return put(OntSettings.ONT_API_MANAGER_CACHE_BUDGET, size);
+    }
+
     /**
      * An ONT-API manager's load config getter.
      * {@inheritDoc}
@@ -474,6 +578,78 @@ public class OntConfig extends OntologyConfigurator
         return put(OntSettings.ONT_API_LOAD_CONF_PROCESS_IMPORTS, b);
     }
 
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isLoadImportsLazily() {
+        return get(OntSettings.ONT_API_LOAD_CONF_LAZY_IMPORTS);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntConfig setLoadImportsLazily(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_LAZY_IMPORTS, b);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isUseSharedGraphCache() {
+        return get(OntSettings.ONT_API_LOAD_CONF_USE_SHARED_GRAPH_CACHE);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntConfig setUseSharedGraphCache(boolean b) {
+        return put(OntSettings.ONT_API_LOAD_CONF_USE_SHARED_GRAPH_CACHE, b);
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public List<OWLTopObjectType> getWarmUpContent() {
+        return get(OntSettings.ONT_API_LOAD_CONF_WARM_UP_CONTENT);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntConfig setWarmUpContent(List<OWLTopObjectType> types) {
+        return put(OntSettings.ONT_API_LOAD_CONF_WARM_UP_CONTENT, Collections.unmodifiableList(types));
+    }
+
+    /**
+     * An ONT-API manager's load config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public List<OWLComponentType> getWarmUpComponents() {
+        return get(OntSettings.ONT_API_LOAD_CONF_WARM_UP_COMPONENTS);
+    }
+
+    /**
+     * An ONT-API manager's load config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntConfig setWarmUpComponents(List<OWLComponentType> types) {
+        return put(OntSettings.ONT_API_LOAD_CONF_WARM_UP_COMPONENTS, Collections.unmodifiableList(types));
+    }
+
     /**
      * An ONT-API manager's load config getter.
      * {@inheritDoc}
@@ -642,6 +818,29 @@ public class OntConfig extends OntologyConfigurator
         return put(OntSettings.ONT_API_WRITE_CONF_CONTROL_IMPORTS, b);
     }
 
+    /**
+     * An ONT-API manager's write config getter.
+     *
+     * @return boolean
+     * @see OntWriterConfiguration#isWriteSnapshot()
+     * @since 2.1.1
+     */
+    public boolean isWriteSnapshot() {
+        return get(OntSettings.ONT_API_WRITE_CONF_SNAPSHOT);
+    }
+
+    /**
+     * An ONT-API manager's write config setter.
+     *
+     * @param b boolean to enable/disable this config parameter
+     * @return this instance
+     * @see OntWriterConfiguration#setWriteSnapshot(boolean)
+     * @since 2.1.1
+     */
+    public OntConfig setWriteSnapshot(boolean b) {
+        return put(OntSettings.ONT_API_WRITE_CONF_SNAPSHOT, b);
+    }
+
     /**
      * The same as {@link #isLoadAnnotationAxioms()}
      *
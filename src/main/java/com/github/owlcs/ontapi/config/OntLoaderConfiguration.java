@@ -15,6 +15,8 @@
 package com.github.owlcs.ontapi.config;
 
 import com.github.owlcs.ontapi.OntApiException;
+import com.github.owlcs.ontapi.internal.OWLComponentType;
+import com.github.owlcs.ontapi.internal.OWLTopObjectType;
 import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
 import com.github.owlcs.ontapi.transforms.GraphTransformers;
 import org.semanticweb.owlapi.model.*;
@@ -198,6 +200,78 @@ public class OntLoaderConfiguration extends OWLOntologyLoaderConfiguration imple
         return set(OntSettings.ONT_API_LOAD_CONF_PROCESS_IMPORTS, b);
     }
 
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isLoadImportsLazily() {
+        return get(OntSettings.ONT_API_LOAD_CONF_LAZY_IMPORTS);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntLoaderConfiguration setLoadImportsLazily(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_LAZY_IMPORTS, b);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isUseSharedGraphCache() {
+        return get(OntSettings.ONT_API_LOAD_CONF_USE_SHARED_GRAPH_CACHE);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntLoaderConfiguration setUseSharedGraphCache(boolean b) {
+        return set(OntSettings.ONT_API_LOAD_CONF_USE_SHARED_GRAPH_CACHE, b);
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public List<OWLTopObjectType> getWarmUpContent() {
+        return get(OntSettings.ONT_API_LOAD_CONF_WARM_UP_CONTENT);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntLoaderConfiguration setWarmUpContent(List<OWLTopObjectType> types) {
+        return set(OntSettings.ONT_API_LOAD_CONF_WARM_UP_CONTENT, Collections.unmodifiableList(types));
+    }
+
+    /**
+     * An ONT-API config getter.
+     * {@inheritDoc}
+     */
+    @Override
+    public List<OWLComponentType> getWarmUpComponents() {
+        return get(OntSettings.ONT_API_LOAD_CONF_WARM_UP_COMPONENTS);
+    }
+
+    /**
+     * An ONT-API config setter.
+     * {@inheritDoc}
+     */
+    @Override
+    public OntLoaderConfiguration setWarmUpComponents(List<OWLComponentType> types) {
+        return set(OntSettings.ONT_API_LOAD_CONF_WARM_UP_COMPONENTS, Collections.unmodifiableList(types));
+    }
+
     /**
      * An ONT-API config setter.
      * {@inheritDoc}
@@ -76,6 +76,21 @@ public enum OntSettings {
 
     // since 1.4.1
     ONT_API_LOAD_CONF_PROCESS_IMPORTS(true),
+    // since 2.1.1
+    ONT_API_LOAD_CONF_LAZY_IMPORTS(false),
+    // since 2.1.1
+    ONT_API_LOAD_CONF_USE_SHARED_GRAPH_CACHE(false),
+    // since 2.1.1
+    ONT_API_LOAD_CONF_WARM_UP_CONTENT(),
+    // since 2.1.1
+    ONT_API_LOAD_CONF_WARM_UP_COMPONENTS(),
+
+    // since 2.1.1
+    ONT_API_MANAGER_INTERN_NODES(false),
+    // since 2.1.1
+    ONT_API_MANAGER_CACHE_OBJECTS(0),
+    // since 2.1.1
+    ONT_API_MANAGER_CACHE_BUDGET(0),
 
     OWL_API_LOAD_CONF_ACCEPT_HTTP_COMPRESSION(true),
     OWL_API_LOAD_CONF_CONNECTION_TIMEOUT(20_000),
@@ -93,6 +108,8 @@ public enum OntSettings {
     OWL_API_AUTHORIZATION_VALUE(""),
 
     ONT_API_WRITE_CONF_CONTROL_IMPORTS(false),
+    // since 2.1.1
+    ONT_API_WRITE_CONF_SNAPSHOT(false),
 
     OWL_API_WRITE_CONF_SAVE_IDS(false),
     OWL_API_WRITE_CONF_REMAP_IDS(true),
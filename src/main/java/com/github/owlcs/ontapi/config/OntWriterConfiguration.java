@@ -108,6 +108,38 @@ public class OntWriterConfiguration extends OWLOntologyWriterConfiguration {
         return set(OntSettings.ONT_API_WRITE_CONF_CONTROL_IMPORTS, b);
     }
 
+    /**
+     * ONT-API getter.
+     * By default it is {@code false}.
+     *
+     * @return true if an ontology is saved from a snapshot
+     * @see #setWriteSnapshot(boolean)
+     * @since 2.1.1
+     */
+    public boolean isWriteSnapshot() {
+        return get(OntSettings.ONT_API_WRITE_CONF_SNAPSHOT);
+    }
+
+    /**
+     * ONT-API config setter to change the snapshot write option.
+     * If it is true, then, while saving an ontology in a Jena format (see {@link com.github.owlcs.ontapi.OntFormat#isJena()}),
+     * the manager takes an in-memory copy of the ontology base graph under the read lock,
+     * releases the lock and only then serializes the copy into the target.
+     * So the lock is held only for the time of copying, which is much less than the time of writing to a slow target,
+     * and other threads can modify the ontology while it is being written.
+     * The price is additional memory for the copy.
+     * If it is false (the default), the ontology graph is written directly, under the lock.
+     * The option does not affect OWL-API formats.
+     *
+     * @param b boolean
+     * @return {@link OntWriterConfiguration} new instance
+     * @see #isWriteSnapshot()
+     * @since 2.1.1
+     */
+    public OntWriterConfiguration setWriteSnapshot(boolean b) {
+        return set(OntSettings.ONT_API_WRITE_CONF_SNAPSHOT, b);
+    }
+
     /**
      * @see OWLOntologyWriterConfiguration#shouldUseBanners()
      */
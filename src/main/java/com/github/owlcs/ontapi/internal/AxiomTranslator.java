@@ -241,7 +241,11 @@ public abstract class AxiomTranslator<Axiom extends OWLAxiom> extends BaseSearch
      */
     protected ExtendedIterator<OntStatement> listSearchStatements(Axiom key, OntModel model, AxiomsSettings config) {
         Collection<Triple> search = getSearchTriples(key);
-        return search.isEmpty() ? listStatements(model, config) : listSearchStatements(model, search);
+        if (search.isEmpty()) {
+            return listStatements(model, config);
+        }
+        // the candidates must be valid axiom statements (e.g. some declaration may be missed)
+        return listSearchStatements(model, search).filterKeep(s -> testStatement(s, config));
     }
 
     /**
@@ -0,0 +1,253 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.owlcs.ontapi.internal;
+
+import com.github.owlcs.ontapi.OntMetrics;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A manager-wide budget for the {@link InternalReadModel} caches (i.e. {@code content} and {@code components}).
+ * The budget is measured in the estimated number of cached OWL objects,
+ * which is the sum of sizes of all loaded {@link ObjectMap}s of all registered models.
+ * When some model is going to load a new cache while the budget is exceeded,
+ * the least recently used models are marked as over budget,
+ * until the total size (without the marked models) is within the limit again.
+ * A marked model {@link InternalReadModel#evictCache() evicts} its caches by itself,
+ * on its next access, so a model is never cleared from the thread that reads some other model.
+ * Only caches are evicted, the graphs are untouched, so an evicted model is just reloaded on the next access;
+ * the eviction is not a modification, so it does not invalidate {@link com.github.owlcs.ontapi.Page page} cursors.
+ * Models with manually added (i.e. not yet reflected in the graph form) axioms
+ * and {@link InternalModel#freeze() frozen} models are never evicted.
+ * <p>
+ * The LRU order is approximate: the model access stamp is a value of a logical clock,
+ * which is advanced on every cache loading and on every access to a model, that is not the most recently used one,
+ * so repeated reads of the same model cost just a volatile read; the stamp itself is written without synchronization.
+ * The models are held by weak references, so the budget does not prevent them from being garbage collected.
+ * <p>
+ * Concurrency: an eviction is performed by the model itself, at the beginning of its access,
+ * that is, in a concurrent manager, under the manager's read (or write) lock,
+ * which is the same as {@code Ontology#clearCache()} does.
+ * The budget check does not block the loadings:
+ * if some other thread is already checking the budget, the check is just skipped.
+ *
+ * @see com.github.owlcs.ontapi.config.OntConfig#getManagerCacheBudget()
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class CacheBudget {
+    protected final long limit;
+    protected final List<WeakReference<InternalReadModel>> models = new ArrayList<>();
+    protected final LongAdder evictions = new LongAdder();
+    protected final LongAdder reloads = new LongAdder();
+    // the logical clock, which is advanced on each cache loading and on each access to a not-the-latest model
+    protected final AtomicLong clock = new AtomicLong();
+    // true while some thread is checking the budget
+    protected final AtomicBoolean checking = new AtomicBoolean();
+
+    /**
+     * Creates a budget instance.
+     *
+     * @param limit long, the maximum estimated number of cached objects, positive
+     */
+    public CacheBudget(long limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Wrong limit: " + limit);
+        }
+        this.limit = limit;
+    }
+
+    /**
+     * Puts the given model under the control of this budget.
+     *
+     * @param model {@link InternalModel}, not {@code null}
+     */
+    public synchronized void register(InternalModel model) {
+        if (!(model instanceof InternalReadModel)) {
+            return;
+        }
+        InternalReadModel m = (InternalReadModel) model;
+        m.stamp = clock.get();
+        m.budget = this;
+        models.add(new WeakReference<>(m));
+    }
+
+    /**
+     * Releases all registered models from the control of this budget.
+     */
+    public synchronized void close() {
+        for (InternalReadModel m : liveModels()) {
+            if (m.budget == this) {
+                m.budget = null;
+                m.evicted = false;
+                m.overBudget.set(false);
+            }
+        }
+        models.clear();
+    }
+
+    /**
+     * Answers the maximum estimated number of cached objects.
+     *
+     * @return long
+     */
+    public long getLimit() {
+        return limit;
+    }
+
+    /**
+     * Answers the number of cache evictions made by this budget since its creation.
+     *
+     * @return long
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Answers the number of evicted models, which have loaded their caches again.
+     *
+     * @return long
+     */
+    public long getReloadCount() {
+        return reloads.sum();
+    }
+
+    /**
+     * Calculates the current estimated number of cached objects for all registered models.
+     *
+     * @return long
+     */
+    public synchronized long getEstimatedSize() {
+        long res = 0;
+        for (InternalReadModel m : liveModels()) {
+            res += m.estimateCacheSize();
+        }
+        return res;
+    }
+
+    /**
+     * Marks the given model as the most recently used, advancing the logical clock if needed.
+     *
+     * @param model {@link InternalReadModel}, not {@code null}
+     */
+    void touch(InternalReadModel model) {
+        if (model.stamp != clock.get()) {
+            model.stamp = clock.incrementAndGet();
+        }
+    }
+
+    /**
+     * Is called by the model just before some of its caches is loaded.
+     * Marks the least recently used models as over budget if the budget is exceeded.
+     *
+     * @param model {@link InternalReadModel}, the model that is loading, not {@code null}
+     */
+    void onLoad(InternalReadModel model) {
+        model.stamp = clock.incrementAndGet();
+        if (model.evicted) {
+            model.evicted = false;
+            reloads.increment();
+            OntMetrics.count("cache.budget.reload");
+        }
+        if (!checking.compareAndSet(false, true)) {
+            // some other thread is checking the budget right now
+            return;
+        }
+        try {
+            check(model);
+        } finally {
+            checking.set(false);
+        }
+    }
+
+    /**
+     * Calculates the total size and marks the least recently used models as over budget if the limit is exceeded.
+     * The models, that are already marked, are not counted, since they are going to be evicted.
+     *
+     * @param model {@link InternalReadModel}, the model that is loading, not {@code null}
+     */
+    protected synchronized void check(InternalReadModel model) {
+        long total = 0;
+        List<InternalReadModel> candidates = new ArrayList<>();
+        for (InternalReadModel m : liveModels()) {
+            if (m.overBudget.get()) {
+                continue;
+            }
+            long size = m.estimateCacheSize();
+            total += size;
+            if (m != model && size > 0) {
+                candidates.add(m);
+            }
+        }
+        if (total <= limit) {
+            return;
+        }
+        candidates.sort(Comparator.comparingLong(x -> x.stamp));
+        for (InternalReadModel m : candidates) {
+            if (total <= limit) {
+                return;
+            }
+            if (!m.canEvictCache()) {
+                continue;
+            }
+            total -= m.estimateCacheSize();
+            m.overBudget.set(true);
+        }
+    }
+
+    /**
+     * Evicts the caches of the given model if it has been marked as over budget.
+     * Is called by the model itself at the beginning of its access.
+     *
+     * @param model {@link InternalReadModel}, not {@code null}
+     */
+    void evict(InternalReadModel model) {
+        if (!model.overBudget.compareAndSet(true, false) || !model.canEvictCache()) {
+            return;
+        }
+        model.evictCache();
+        model.evicted = true;
+        evictions.increment();
+        OntMetrics.count("cache.budget.eviction");
+    }
+
+    /**
+     * Lists all registered models that are still alive, removing the collected ones.
+     *
+     * @return {@code List} of {@link InternalReadModel}s
+     */
+    protected List<InternalReadModel> liveModels() {
+        List<InternalReadModel> res = new ArrayList<>(models.size());
+        Iterator<WeakReference<InternalReadModel>> it = models.iterator();
+        while (it.hasNext()) {
+            InternalReadModel m = it.next().get();
+            if (m == null) {
+                it.remove();
+                continue;
+            }
+            res.add(m);
+        }
+        return res;
+    }
+}
@@ -87,7 +87,28 @@ public class CacheObjectFactory extends InternalObjectFactory {
                                  Supplier<OntModel> model,
                                  Map<Class<? extends OWLPrimitive>, InternalCache<?, ?>> external,
                                  Supplier<InternalCache<?, ?>> cacheFactory) {
-        super(dataFactory, model);
+        this(dataFactory, model, external, cacheFactory, false, false);
+    }
+
+    /**
+     * Provides an instance, that contain both shared (outer) and fresh (inner) caches,
+     * and, optionally, the table of canonical expressions content.
+     *
+     * @param dataFactory  {@link DataFactory}, not {@code null}
+     * @param model        a facility (as {@code Supplier}) to provide nonnull {@link OntModel} instance, not {@code null}
+     * @param external     a {@code Map} containing existing outer caches, not {@code null}
+     * @param cacheFactory a facility ({@code Supplier}) to produce new cache instances, not {@code null}
+     * @param expressions  if {@code true} the table of canonical expressions content is enabled
+     * @param prefetch     if {@code true} the anonymous expressions are read in the prefetch mode
+     * @since 2.1.1
+     */
+    protected CacheObjectFactory(DataFactory dataFactory,
+                                 Supplier<OntModel> model,
+                                 Map<Class<? extends OWLPrimitive>, InternalCache<?, ?>> external,
+                                 Supplier<InternalCache<?, ?>> cacheFactory,
+                                 boolean expressions,
+                                 boolean prefetch) {
+        super(dataFactory, model, expressions, prefetch);
         this.caches = new HashSet<>();
         this.iris = fetchCache(external, caches, cacheFactory, org.semanticweb.owlapi.model.IRI.class).asLoading(super::toIRI);
         this.classes = fetchCache(external, caches, cacheFactory, OWLClass.class).asLoading(super::getClass);
@@ -190,6 +190,25 @@ public class CacheObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
         return getMap().asMap().keySet().stream();
     }
 
+    /**
+     * Returns a view of the key-list portion, the cost is {@code O(limit)}
+     * (plus {@code O(n)} once, if the list of keys is not cached yet).
+     *
+     * @param offset long, the number of objects to skip, non-negative
+     * @param limit  int, the maximum number of objects to return, non-negative
+     * @return {@code List} of {@link X}s
+     */
+    @Override
+    public List<X> keys(long offset, int limit) {
+        List<X> keys = getMap().getKeys();
+        int size = keys.size();
+        if (offset >= size) {
+            return Collections.emptyList();
+        }
+        int from = (int) offset;
+        return new ArrayList<>(keys.subList(from, (int) Math.min(size, from + (long) limit)));
+    }
+
     @Override
     public Stream<ONTObject<X>> values() {
         return getMap().asMap().values().stream();
@@ -0,0 +1,213 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.owlcs.ontapi.internal;
+
+import com.github.owlcs.ontapi.OntApiException;
+import org.semanticweb.owlapi.model.OWLAxiom;
+import org.semanticweb.owlapi.model.OWLObject;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * An immutable {@link ObjectMap}, that is a compact snapshot of some other (loaded) map.
+ * It holds the values in a single array, the keys are not stored separately (they are taken from the values),
+ * the search by key is performed through an open-addressing table of the value positions (just {@code int}s),
+ * so the map is considerably smaller than a {@code HashMap} of the same content.
+ * There is no soft references, no loading and no synchronization,
+ * so it is safe and cheap to read this map from many threads.
+ * Any attempt to modify the map causes {@link OntApiException.ModificationDenied}.
+ * It is used by a {@link InternalModel#freeze() frozen} model.
+ *
+ * @param <X> any subtype of {@link OWLObject}
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class FrozenObjectMapImpl<X extends OWLObject> implements ObjectMap<X> {
+    protected final ONTObject<X>[] values;
+    // the positions of the values (plus one, zero means an empty slot), the length is a power of two
+    protected final int[] index;
+    protected final boolean hasAnnotatedAxioms;
+
+    /**
+     * Creates an immutable map, the iteration order is the order of the given {@code Collection}.
+     * The values with the same key are skipped, except the first one.
+     *
+     * @param values {@code Collection} of {@link ONTObject}s, not {@code null}
+     */
+    protected FrozenObjectMapImpl(Collection<ONTObject<X>> values) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ONTObject<X>[] array = new ONTObject[values.size()];
+        this.index = new int[tableSize(array.length)];
+        int size = 0;
+        boolean hasAnnotatedAxioms = false;
+        for (ONTObject<X> v : values) {
+            X k = v.getOWLObject();
+            int i = slot(index, array, k);
+            if (i < 0) {
+                continue;
+            }
+            array[size] = v;
+            index[i] = ++size;
+            if (!hasAnnotatedAxioms && k.isAxiom() && ((OWLAxiom) k).isAnnotated()) {
+                hasAnnotatedAxioms = true;
+            }
+        }
+        this.values = size == array.length ? array : Arrays.copyOf(array, size);
+        this.hasAnnotatedAxioms = hasAnnotatedAxioms;
+    }
+
+    /**
+     * Makes an immutable snapshot of the given map, which is loaded if needed.
+     * The order of keys is preserved.
+     *
+     * @param from {@link ObjectMap}, not {@code null}
+     * @param <X>  subtype of {@link OWLObject}
+     * @return {@link FrozenObjectMapImpl}
+     */
+    public static <X extends OWLObject> FrozenObjectMapImpl<X> copy(ObjectMap<X> from) {
+        if (from instanceof FrozenObjectMapImpl) {
+            return (FrozenObjectMapImpl<X>) from;
+        }
+        List<ONTObject<X>> res = new ArrayList<>();
+        from.values().forEach(res::add);
+        return new FrozenObjectMapImpl<>(res);
+    }
+
+    /**
+     * Calculates the length of the index table for the given number of values,
+     * which is a power of two with the load factor not greater than {@code 0.5}.
+     *
+     * @param size int
+     * @return int
+     */
+    private static int tableSize(int size) {
+        int res = 2;
+        while (res < 2L * size) {
+            res <<= 1;
+        }
+        return res;
+    }
+
+    /**
+     * Finds the slot in the index table for the given key.
+     *
+     * @param index  the table of positions
+     * @param values the array of values
+     * @param key    {@code Object}
+     * @return a non-negative number of an empty slot or
+     * a negative number ({@code -1 - slot}) of the slot that refers to the value with the same key
+     */
+    private static int slot(int[] index, ONTObject<?>[] values, Object key) {
+        int mask = index.length - 1;
+        int h = key.hashCode();
+        int i = (h ^ (h >>> 16)) & mask;
+        while (true) {
+            int pos = index[i];
+            if (pos == 0) {
+                return i;
+            }
+            if (key.equals(values[pos - 1].getOWLObject())) {
+                return -1 - i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    /**
+     * Answers {@code true} iff this map consists only of plain {@link OWLAxiom Axiom}s (or has no axioms at all).
+     *
+     * @return {@code boolean}
+     * @see CacheObjectMapImpl#definitelyHasNoAnnotatedAxioms()
+     */
+    public boolean definitelyHasNoAnnotatedAxioms() {
+        return !hasAnnotatedAxioms;
+    }
+
+    @Override
+    public boolean hasNew() {
+        return false;
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return true;
+    }
+
+    @Override
+    public void load() {
+        // nothing
+    }
+
+    @Override
+    public ONTObject<X> get(X key) {
+        int i = slot(index, values, key);
+        return i < 0 ? values[index[-1 - i] - 1] : null;
+    }
+
+    @Override
+    public boolean contains(X key) {
+        return slot(index, values, key) < 0;
+    }
+
+    @Override
+    public Stream<X> keys() {
+        return values().map(ONTObject::getOWLObject);
+    }
+
+    @Override
+    public List<X> keys(long offset, int limit) {
+        if (offset >= values.length) {
+            return Collections.emptyList();
+        }
+        int from = (int) offset;
+        int to = (int) Math.min(values.length, from + (long) limit);
+        List<X> res = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            res.add(values[i].getOWLObject());
+        }
+        return res;
+    }
+
+    @Override
+    public Stream<ONTObject<X>> values() {
+        return Arrays.stream(values);
+    }
+
+    @Override
+    public long count() {
+        return values.length;
+    }
+
+    @Override
+    public void add(ONTObject<X> value) {
+        throw modificationDenied();
+    }
+
+    @Override
+    public void remove(X key) {
+        throw modificationDenied();
+    }
+
+    @Override
+    public void clear() {
+        throw modificationDenied();
+    }
+
+    protected OntApiException modificationDenied() {
+        return new OntApiException.ModificationDenied("The map is frozen");
+    }
+}
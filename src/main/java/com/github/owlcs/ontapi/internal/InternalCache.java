@@ -276,6 +276,23 @@ public interface InternalCache<K, V> {
         return res.asLoading(loader);
     }
 
+    /**
+     * Creates an unbounded concurrent loading cache with weak reference values,
+     * that wraps {@link Cache Caffeine}.
+     * An entry is kept in the cache as long as its value is strongly reachable from somewhere else,
+     * so the returned cache is suitable to intern (canonicalize) immutable objects.
+     *
+     * @param loader a {@link Function}-loaded to obtain a value if it absence in the cache
+     * @param <K>    the type of keys maintained by the return cache
+     * @param <V>    the type of mapped values
+     * @return {@link Loading}
+     * @since 2.1.1
+     */
+    static <K, V> Loading<K, V> createWeak(Function<? super K, ? extends V> loader) {
+        return new CaffeineWrapper<K, V>(Caffeine.newBuilder().weakValues().build(loader::apply), loader)
+                .asLoading(loader);
+    }
+
     /**
      * Creates a {@link Loading Loading cache} that contains only one value, derived by the specified {@code loader}.
      * Can be used as a value-wrapper with configurable state.
@@ -15,12 +15,14 @@
 package com.github.owlcs.ontapi.internal;
 
 import com.github.owlcs.ontapi.ID;
+import com.github.owlcs.ontapi.Page;
 import com.github.owlcs.ontapi.jena.UnionGraph;
 import com.github.owlcs.ontapi.jena.impl.PersonalityModel;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import org.apache.jena.rdf.model.Model;
 import org.semanticweb.owlapi.model.*;
 
+import java.util.Collection;
 import java.util.stream.Stream;
 
 /**
@@ -253,6 +255,59 @@ public interface InternalModel extends OntModel, PersonalityModel, HasOntologyID
      */
     <A extends OWLAxiom> Stream<A> listOWLAxioms(Class<A> type, OWLObject object);
 
+    /**
+     * Returns a page of axioms, starting from the position, that is encoded in the given cursor.
+     * Axioms are in the same order as {@link #listOWLAxioms()} returns them.
+     * If the content cache is enabled, the cost of a page does not depend on its position.
+     *
+     * @param cursor String, the continuation token from the previous page, or {@code null} for the first page
+     * @param limit  int, the maximum page size, positive
+     * @return {@link Page} of {@link OWLAxiom}s
+     * @throws com.github.owlcs.ontapi.OntApiException.IllegalArgument if the cursor is wrong
+     * @throws com.github.owlcs.ontapi.OntApiException.IllegalState    if the model has been modified
+     *                                                                 since the cursor was issued
+     * @since 2.1.1
+     */
+    Page<OWLAxiom> pageOWLAxioms(String cursor, int limit);
+
+    /**
+     * Returns a page of entities (the signature),
+     * starting from the position, that is encoded in the given cursor.
+     * Entities are ordered by type (classes, object properties, data properties, named individuals,
+     * datatypes, annotation properties) and then in the order of the internal cache.
+     *
+     * @param cursor String, the continuation token from the previous page, or {@code null} for the first page
+     * @param limit  int, the maximum page size, positive
+     * @return {@link Page} of {@link OWLEntity}s
+     * @throws com.github.owlcs.ontapi.OntApiException.IllegalArgument if the cursor is wrong
+     * @throws com.github.owlcs.ontapi.OntApiException.IllegalState    if the model has been modified
+     *                                                                 since the cursor was issued
+     * @since 2.1.1
+     */
+    Page<OWLEntity> pageOWLEntities(String cursor, int limit);
+
+    /**
+     * Returns the number of axioms of the given type.
+     * If the content cache is not loaded yet and each axiom of the type corresponds to exactly one statement
+     * (e.g. declarations or annotation assertions), then the method counts root statements in the graph
+     * without building any OWL-API objects.
+     *
+     * @param type {@link AxiomType}, not {@code null}
+     * @return {@code long}, the count
+     * @since 2.1.1
+     */
+    long getOWLAxiomCount(AxiomType<?> type);
+
+    /**
+     * Answers {@code true} if there is at least one axiom of the given type.
+     * If the content cache is not loaded yet, then the method just checks for a root statement in the graph.
+     *
+     * @param type {@link AxiomType}, not {@code null}
+     * @return boolean
+     * @since 2.1.1
+     */
+    boolean containsOWLAxioms(AxiomType<?> type);
+
     /**
      * Returns the number of axioms in this ontology.
      *
@@ -346,6 +401,35 @@ public interface InternalModel extends OntModel, PersonalityModel, HasOntologyID
      */
     void forceLoad();
 
+    /**
+     * Loads the content caches for the given axiom types and the component caches for the given object types.
+     * The caches that are already loaded are not touched.
+     * If some cache is being loaded by another thread, the method waits for that loading to complete.
+     *
+     * @param content    {@code Collection} of {@link OWLTopObjectType}s, not {@code null}
+     * @param components {@code Collection} of {@link OWLComponentType}s, not {@code null}
+     * @since 2.1.1
+     */
+    void forceLoad(Collection<OWLTopObjectType> content, Collection<OWLComponentType> components);
+
+    /**
+     * Makes the model read-only: loads all the content and component caches,
+     * replaces them with {@link FrozenObjectMapImpl immutable snapshots}, stops listening the graph
+     * and makes the {@link UnionGraph} {@link UnionGraph#setReadOnly(boolean) read-only}.
+     * No-op if the model is already frozen.
+     *
+     * @since 2.1.1
+     */
+    void freeze();
+
+    /**
+     * Answers {@code true} if the model is {@link #freeze() frozen}.
+     *
+     * @return boolean
+     * @since 2.1.1
+     */
+    boolean isFrozen();
+
     /**
      * Invalidates the cache if needed.
      * <p>
@@ -34,6 +34,7 @@ import org.apache.jena.sparql.util.graph.GraphListenerBase;
 import org.semanticweb.owlapi.model.*;
 
 import javax.annotation.Nonnull;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
@@ -74,6 +75,12 @@ public class InternalModelImpl extends InternalReadModel implements InternalMode
      * The direct listener, it monitors changes that occur through the main (Jena) interface.
      */
     protected final DirectListener directListener;
+    /**
+     * If {@code true} the model is read-only, and all its caches are immutable.
+     *
+     * @see #freeze()
+     */
+    protected volatile boolean frozen;
 
     /**
      * Constructs a model instance.
@@ -99,6 +106,7 @@ public class InternalModelImpl extends InternalReadModel implements InternalMode
 
     @Override
     public void setOntologyID(OWLOntologyID id) throws IllegalArgumentException {
+        checkNotFrozen();
         this.cachedID = null;
         try {
             disableDirectListening();
@@ -183,6 +191,7 @@ public class InternalModelImpl extends InternalReadModel implements InternalMode
      * @throws OntApiException in case the object cannot be added into model
      */
     protected boolean add(OWLTopObjectType key, OWLObject container) throws OntApiException {
+        checkNotFrozen();
         OWLTriples.Listener listener = OWLTriples.createListener();
         GraphEventManager evm = getGraph().getEventManager();
         ObjectMap<OWLObject> map = getContentCache(key);
@@ -206,6 +215,8 @@ public class InternalModelImpl extends InternalReadModel implements InternalMode
             return false;
         }
         map.add(value);
+        modifications++;
+        counts.clear();
         // put new components into objects cache
         cacheComponents(container);
         // clear search model and object factory
@@ -227,6 +238,7 @@ public class InternalModelImpl extends InternalReadModel implements InternalMode
      * @see #clearComponentsCaches()
      */
     protected boolean remove(OWLTopObjectType key, OWLObject container) {
+        checkNotFrozen();
         try {
             disableDirectListening();
             ObjectMap<OWLObject> map = getContentCache(key);
@@ -237,6 +249,8 @@ public class InternalModelImpl extends InternalReadModel implements InternalMode
                 return false;
             }
             map.remove(container);
+            modifications++;
+            counts.clear();
             container = value.getOWLObject();
             OntModel m = toModel(value);
             // triples that are used by other content objects:
@@ -388,6 +402,7 @@ public class InternalModelImpl extends InternalReadModel implements InternalMode
      */
     @Override
     public InternalModelImpl removeAll() {
+        checkNotFrozen();
         clearCache();
         getNodeCache().clear();
         super.removeAll();
@@ -404,6 +419,20 @@ public class InternalModelImpl extends InternalReadModel implements InternalMode
 
     @Override
     public void clearCache() {
+        if (frozen) {
+            // the frozen caches are the only source of data
+            return;
+        }
+        modifications++;
+        evictCache();
+    }
+
+    @Override
+    protected void evictCache() {
+        if (frozen) {
+            return;
+        }
+        counts.clear();
         cachedID = null;
         content.clear();
         config.clear();
@@ -475,6 +504,50 @@ public class InternalModelImpl extends InternalReadModel implements InternalMode
         contentCaches().forEach(ObjectMap::load);
     }
 
+    @Override
+    public void forceLoad(Collection<OWLTopObjectType> content, Collection<OWLComponentType> components) {
+        content.forEach(k -> getContentCache(k).load());
+        components.forEach(k -> getComponentCache(k).load());
+    }
+
+    @Override
+    public void freeze() {
+        if (frozen) {
+            return;
+        }
+        Map<OWLTopObjectType, ObjectMap<? extends OWLObject>> content = createMapStore(OWLTopObjectType.class,
+                OWLTopObjectType.all(), k -> FrozenObjectMapImpl.copy(getContentCache(k)));
+        this.content.put(this, content);
+        // components are collected from the frozen content
+        Map<OWLComponentType, ObjectMap<OWLObject>> components = createMapStore(OWLComponentType.class,
+                OWLComponentType.keys(), k -> FrozenObjectMapImpl.copy(getComponentCache(k)));
+        this.components.put(this, components);
+        disableDirectListening();
+        getGraph().setReadOnly(true);
+        frozen = true;
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    @Override
+    protected boolean canEvictCache() {
+        return !frozen && super.canEvictCache();
+    }
+
+    /**
+     * Checks that the model is not {@link #freeze() frozen}.
+     *
+     * @throws OntApiException.ModificationDenied if the model is frozen
+     */
+    protected void checkNotFrozen() {
+        if (frozen) {
+            throw new OntApiException.ModificationDenied("The ontology " + getID() + " is frozen");
+        }
+    }
+
     /**
      * The direct listener to synchronize caches while working through OWL-API and jena at the same time.
      *
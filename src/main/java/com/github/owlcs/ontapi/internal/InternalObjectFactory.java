@@ -22,6 +22,8 @@ import org.apache.jena.graph.BlankNodeId;
 import org.apache.jena.graph.impl.LiteralLabel;
 import org.semanticweb.owlapi.model.*;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Supplier;
 
@@ -38,10 +40,80 @@ import java.util.function.Supplier;
 public class InternalObjectFactory implements ModelObjectFactory {
     protected final Supplier<OntModel> model;
     protected final DataFactory factory;
+    /**
+     * The maximum number of canonical arrays in the {@link #expressions} table.
+     *
+     * @since 2.1.1
+     */
+    public static final int EXPRESSIONS_TABLE_SIZE = 50_000;
+
+    // canonical content arrays of simple anonymous expressions (a bounded LRU table), can be null;
+    // it lives as long as the factory, i.e. it is dropped together with the model content caches
+    protected final InternalCache<List<Object>, Object[]> expressions;
+    // if true the anonymous expressions are read in the prefetch mode
+    protected final boolean prefetch;
+    // to read anonymous expressions in the prefetch mode, created on demand
+    protected volatile Prefetcher prefetcher;
 
     public InternalObjectFactory(DataFactory factory, Supplier<OntModel> model) {
+        this(factory, model, false, false);
+    }
+
+    /**
+     * Creates a factory instance.
+     *
+     * @param factory     {@link DataFactory}, not {@code null}
+     * @param model       a facility (as {@code Supplier}) to provide nonnull {@link OntModel} instance, not {@code null}
+     * @param expressions if {@code true} the table of canonical expressions content is enabled
+     * @param prefetch    if {@code true} the anonymous expressions are read in the prefetch mode
+     * @see com.github.owlcs.ontapi.config.CacheSettings#CACHE_EXPRESSIONS
+     * @see com.github.owlcs.ontapi.config.CacheSettings#CACHE_PREFETCH
+     * @since 2.1.1
+     */
+    public InternalObjectFactory(DataFactory factory, Supplier<OntModel> model, boolean expressions, boolean prefetch) {
         this.factory = Objects.requireNonNull(factory);
         this.model = Objects.requireNonNull(model);
+        this.expressions = expressions ? InternalCache.createBounded(true, EXPRESSIONS_TABLE_SIZE) : null;
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * Answers {@code true} if the array contains only simple items,
+     * i.e. URIs ({@code String}), numbers ({@code Integer}), literals ({@link LiteralLabel})
+     * or anonymous individuals ({@link BlankNodeId}),
+     * that do not depend on the blank node of the expression, which owns the array.
+     *
+     * @param content {@code Array} of {@code Object}s
+     * @return boolean
+     */
+    protected static boolean isSimpleContent(Object[] content) {
+        for (Object item : content) {
+            if (item instanceof String || item instanceof Integer
+                    || item instanceof LiteralLabel || item instanceof BlankNodeId) {
+                continue;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Answers the number of canonical arrays in the expressions table.
+     *
+     * @return long, or {@code -1} if the table is disabled
+     * @since 2.1.1
+     */
+    public long expressionsTableSize() {
+        return expressions == null ? -1 : expressions.size();
+    }
+
+    @Override
+    public Object[] intern(Object[] content) {
+        if (expressions == null || content.length == 0 || !isSimpleContent(content)) {
+            return content;
+        }
+        // nested objects are never interned: an ONTObject is bound to its own blank node and triples
+        return expressions.get(Arrays.asList(content), k -> content);
     }
 
     /**
@@ -59,6 +131,25 @@ public class InternalObjectFactory implements ModelObjectFactory {
         return factory.getClass(OntApiException.mustNotBeNull(model.getOntClass(uri)));
     }
 
+    /**
+     * Answers the {@link Prefetcher} to read the anonymous expressions of the model.
+     * The expressions are read in the prefetch mode, but the produced {@link ONTObject}s are bound to the model.
+     *
+     * @return {@link Prefetcher}
+     * @since 2.1.1
+     */
+    protected Prefetcher prefetcher() {
+        Prefetcher res = prefetcher;
+        if (res == null) {
+            synchronized (this) {
+                if ((res = prefetcher) == null) {
+                    prefetcher = res = new Prefetcher(model.get());
+                }
+            }
+        }
+        return res;
+    }
+
     @Override
     public Supplier<OntModel> model() {
         return model;
@@ -89,7 +180,10 @@ public class InternalObjectFactory implements ModelObjectFactory {
     public ONTObject<? extends OWLClassExpression> getClass(OntClass ce) {
         if (ce.isURIResource())
             return getClass((OntClass.Named) ce);
-        return (ONTObject<? extends OWLClassExpression>) ONTAnonymousClassExpressionImpl.create(ce, this, model);
+        if (!prefetch)
+            return (ONTObject<? extends OWLClassExpression>) ONTAnonymousClassExpressionImpl.create(ce, this, model);
+        return prefetcher().apply(ce, OntClass.class,
+                x -> (ONTObject<? extends OWLClassExpression>) ONTAnonymousClassExpressionImpl.create(x, this, model));
     }
 
     @SuppressWarnings("unchecked")
@@ -97,7 +191,10 @@ public class InternalObjectFactory implements ModelObjectFactory {
     public ONTObject<? extends OWLDataRange> getDatatype(OntDataRange dr) {
         if (dr.isURIResource())
             return getDatatype((OntDataRange.Named) dr);
-        return (ONTObject<? extends OWLDataRange>) ONTAnonymousDataRangeImpl.create(dr, this, model);
+        if (!prefetch)
+            return (ONTObject<? extends OWLDataRange>) ONTAnonymousDataRangeImpl.create(dr, this, model);
+        return prefetcher().apply(dr, OntDataRange.class,
+                x -> (ONTObject<? extends OWLDataRange>) ONTAnonymousDataRangeImpl.create(x, this, model));
     }
 
     @Override
@@ -17,6 +17,8 @@ package com.github.owlcs.ontapi.internal;
 import com.github.owlcs.ontapi.DataFactory;
 import com.github.owlcs.ontapi.ID;
 import com.github.owlcs.ontapi.OntApiException;
+import com.github.owlcs.ontapi.OntMetrics;
+import com.github.owlcs.ontapi.Page;
 import com.github.owlcs.ontapi.internal.axioms.AbstractNaryTranslator;
 import com.github.owlcs.ontapi.internal.searchers.axioms.*;
 import com.github.owlcs.ontapi.internal.searchers.objects.*;
@@ -25,6 +27,7 @@ import com.github.owlcs.ontapi.jena.RWLockedGraph;
 import com.github.owlcs.ontapi.jena.impl.OntGraphModelImpl;
 import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
 import com.github.owlcs.ontapi.jena.model.*;
+import com.github.owlcs.ontapi.jena.utils.Iter;
 import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import com.github.owlcs.ontapi.jena.vocabulary.RDF;
 import org.apache.commons.lang3.StringUtils;
@@ -40,13 +43,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -110,6 +117,30 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
      * @see ObjectMap
      */
     protected final InternalCache.Loading<InternalReadModel, Map<OWLComponentType, ObjectMap<OWLObject>>> components;
+    /**
+     * The modification counter, which is used to check that a {@link Page page} cursor is still valid.
+     * It is incremented on any change of the content (including the cache reset).
+     */
+    protected volatile long modifications;
+    /**
+     * The numbers of axioms per type, that are calculated directly from the graph, without loading the content cache.
+     * An entry is reset on any change of the corresponding content.
+     *
+     * @see #getOWLAxiomCount(AxiomType)
+     */
+    protected final Map<OWLTopObjectType, Long> counts = new ConcurrentHashMap<>();
+    /**
+     * The manager-wide cache budget, or {@code null} if there is no limit.
+     *
+     * @see CacheBudget#register(InternalModel)
+     */
+    protected volatile CacheBudget budget;
+    // the last access time in terms of the budget logical clock, racy by design: it is an LRU approximation
+    protected long stamp;
+    // true if the caches have been evicted by the budget and have not been loaded since
+    protected volatile boolean evicted;
+    // true if the budget is exceeded and the caches must be evicted on the next access
+    protected final AtomicBoolean overBudget = new AtomicBoolean();
 
     // Helpers to provide searching axioms by some objects (referencing by primitives).
     protected final ByObjectSearcher<OWLAxiom, OWLClass> byClass = new ByClass();
@@ -208,18 +239,23 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
      * @param external a {@code Map} with shared outer caches, not {@code null}
      * @return {@link ModelObjectFactory}
      * @see com.github.owlcs.ontapi.config.CacheSettings#getLoadObjectsCacheSize()
+     * @see com.github.owlcs.ontapi.config.CacheSettings#useExpressionsCache()
+     * @see com.github.owlcs.ontapi.config.CacheSettings#usePrefetchCache()
      */
     protected ModelObjectFactory createObjectFactory(DataFactory df,
                                                      Map<Class<? extends OWLPrimitive>, InternalCache<?, ?>> external) {
         InternalConfig conf = getConfig();
         Supplier<OntModel> model = this::getSearchModel;
+        boolean expressions = conf.useExpressionsCache();
+        boolean prefetch = conf.usePrefetchCache();
         if (!conf.useLoadObjectsCache()) {
-            return new InternalObjectFactory(df, model);
+            return new InternalObjectFactory(df, model, expressions, prefetch);
         }
         long size = conf.getLoadObjectsCacheSize();
         boolean parallel = conf.parallel();
         Map<Class<? extends OWLPrimitive>, InternalCache<?, ?>> map = external == null ? Collections.emptyMap() : external;
-        return new CacheObjectFactory(df, model, map, () -> InternalCache.createBounded(parallel, size));
+        return new CacheObjectFactory(df, model, map, () -> InternalCache.createBounded(parallel, size),
+                expressions, prefetch);
     }
 
     /**
@@ -337,7 +373,10 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
         if (!components.isEmpty()) {
             return false;
         }
-        return !Stream.concat(listOWLAnnotations(), listOWLAxioms()).findFirst().isPresent();
+        if (listOWLAnnotations().findFirst().isPresent()) {
+            return false;
+        }
+        return OWLTopObjectType.axioms().noneMatch(x -> containsOWLAxioms(x.getAxiomType()));
     }
 
     public Stream<OWLEntity> listOWLEntities(IRI iri) {
@@ -601,8 +640,11 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
                                                                                 Class<A> type,
                                                                                 K parameter,
                                                                                 InternalConfig config) {
-        ExtendedIterator<A> res = searcher.listONTAxioms(parameter, getSearchModel(), getObjectFactory(), config)
-                .mapWith(ONTObject::getOWLObject);
+        ExtendedIterator<ONTObject<A>> found = searcher.listONTAxioms(parameter, getSearchModel(), getObjectFactory(), config);
+        if (OntMetrics.isEnabled()) {
+            found = OntMetrics.timed("searcher." + searcher.getClass().getSimpleName(), found);
+        }
+        ExtendedIterator<A> res = found.mapWith(ONTObject::getOWLObject);
         OWLTopObjectType key = OWLTopObjectType.get(type);
         if (key.isDistinct()) {
             return ModelIterators.reduce(res, config);
@@ -638,6 +680,9 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
             } else {
                 throw new OntApiException.IllegalArgument("Wrong type: " + filter);
             }
+            if (OntMetrics.isEnabled()) {
+                res = OntMetrics.timed("searcher.referencing." + filter, res);
+            }
             return ModelIterators.reduceDistinct(res.mapWith(ONTObject::getOWLObject), config);
         }
         // the default way:
@@ -751,6 +796,137 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
         return listOWLAxioms(OWLTopObjectType.get(type));
     }
 
+    public Page<OWLAxiom> pageOWLAxioms(String cursor, int limit) {
+        return page('A', filteredAxiomsCaches(OWLTopObjectType.axioms()), cursor, limit);
+    }
+
+    public Page<OWLEntity> pageOWLEntities(String cursor, int limit) {
+        return page('E', Stream.of(OWLComponentType.CLASS,
+                OWLComponentType.NAMED_OBJECT_PROPERTY,
+                OWLComponentType.DATATYPE_PROPERTY,
+                OWLComponentType.NAMED_INDIVIDUAL,
+                OWLComponentType.DATATYPE,
+                OWLComponentType.ANNOTATION_PROPERTY).map(this::getComponentCache), cursor, limit);
+    }
+
+    /**
+     * Collects a page from the given sequence of {@link ObjectMap}s.
+     * The cursor is an encoded tuple {@code (kind, model, modifications, section, offset)}.
+     *
+     * @param kind     char, to distinguish cursors of different listings
+     * @param sections {@code Stream} of {@link ObjectMap}s
+     * @param cursor   String or {@code null}
+     * @param limit    int
+     * @param <X>      the type of page items
+     * @return {@link Page}
+     */
+    @SuppressWarnings("unchecked")
+    protected <X extends OWLObject> Page<X> page(char kind,
+                                                 Stream<? extends ObjectMap<? extends X>> sections,
+                                                 String cursor,
+                                                 int limit) {
+        if (limit <= 0) {
+            throw new OntApiException.IllegalArgument("Wrong limit: " + limit);
+        }
+        List<ObjectMap<X>> maps = (List<ObjectMap<X>>) (List<?>) sections.collect(Collectors.toList());
+        long[] position = cursor == null ? new long[]{0, 0} : parseCursor(kind, cursor);
+        int section = (int) position[0];
+        long offset = position[1];
+        List<X> res = new ArrayList<>(Math.min(limit, 1024));
+        while (section < maps.size()) {
+            ObjectMap<X> map = maps.get(section);
+            if (res.size() < limit) {
+                List<X> items = map.keys(offset, limit - res.size());
+                res.addAll(items);
+                offset += items.size();
+            }
+            if (offset < map.count()) {
+                break;
+            }
+            section++;
+            offset = 0;
+        }
+        String next = section < maps.size() ? printCursor(kind, section, offset) : null;
+        return new Page<>(res, next);
+    }
+
+    private String printCursor(char kind, int section, long offset) {
+        String res = kind + ":" + Integer.toHexString(System.identityHashCode(this)) + ":" +
+                Long.toHexString(modifications) + ":" + section + ":" + offset;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(res.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long[] parseCursor(char kind, String cursor) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException e) {
+            throw new OntApiException.IllegalArgument("Malformed cursor: " + cursor);
+        }
+        if (parts.length != 5 || !String.valueOf(kind).equals(parts[0])
+                || !Integer.toHexString(System.identityHashCode(this)).equals(parts[1])) {
+            throw new OntApiException.IllegalArgument("Wrong cursor: " + cursor);
+        }
+        if (!Long.toHexString(modifications).equals(parts[2])) {
+            throw new OntApiException.IllegalState("The cursor " + cursor + " is out of date: the model has been modified");
+        }
+        try {
+            return new long[]{Integer.parseInt(parts[3]), Long.parseLong(parts[4])};
+        } catch (NumberFormatException e) {
+            throw new OntApiException.IllegalArgument("Malformed cursor: " + cursor);
+        }
+    }
+
+    public long getOWLAxiomCount(AxiomType<?> type) {
+        OWLTopObjectType key = OWLTopObjectType.get(type);
+        ObjectMap<OWLAxiom> map = getAxiomsCache(key);
+        if (map.isLoaded() || !canCountStatements(key)) {
+            return map.count();
+        }
+        return counts.computeIfAbsent(key, k -> Iter.count(listRootStatements(k)));
+    }
+
+    public boolean containsOWLAxioms(AxiomType<?> type) {
+        OWLTopObjectType key = OWLTopObjectType.get(type);
+        ObjectMap<OWLAxiom> map = getAxiomsCache(key);
+        if (map.isLoaded()) {
+            return map.count() != 0;
+        }
+        Long res = counts.get(key);
+        if (res != null) {
+            return res != 0;
+        }
+        ExtendedIterator<OntStatement> it = listRootStatements(key);
+        try {
+            return it.hasNext();
+        } finally {
+            it.close();
+        }
+    }
+
+    /**
+     * Answers {@code true} if the number of axioms of the given type
+     * is equal to the number of the translator's root statements.
+     * This is so for {@link OWLTopObjectType#isDistinct() distinct} types,
+     * unless axioms with several annotations are split.
+     *
+     * @param key {@link OWLTopObjectType}
+     * @return boolean
+     */
+    protected boolean canCountStatements(OWLTopObjectType key) {
+        return key.isDistinct() && !getConfig().isSplitAxiomAnnotations();
+    }
+
+    /**
+     * Lists all root statements for the given axiom type, no {@link ONTObject}s are created.
+     *
+     * @param key {@link OWLTopObjectType}
+     * @return {@link ExtendedIterator} of {@link OntStatement}s
+     */
+    protected ExtendedIterator<OntStatement> listRootStatements(OWLTopObjectType key) {
+        return key.getTranslator().listStatements(getSearchModel(), getConfig());
+    }
+
     public long getOWLAxiomCount() {
         return getContentStore().entrySet().stream()
                 .filter(x -> x.getKey().isAxiom())
@@ -758,7 +934,13 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
     }
 
     public boolean contains(OWLAxiom a) {
-        return getAxiomsCache(OWLTopObjectType.get(a.getAxiomType())).contains(a);
+        OWLTopObjectType key = OWLTopObjectType.get(a.getAxiomType());
+        ObjectMap<OWLAxiom> map = getAxiomsCache(key);
+        if (map instanceof CacheObjectMapImpl && !map.isLoaded() && key.isDistinct()) {
+            // a single statement corresponds to a single axiom, no need to load the whole cache
+            return key.getTranslator().containsONTObject(a, getSearchModel(), getObjectFactory(), getConfig());
+        }
+        return map.contains(a);
     }
 
     public boolean contains(OWLAnnotation a) {
@@ -782,6 +964,9 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
      * @return {@code boolean}
      */
     protected boolean containsNoAnnotations(ObjectMap<? extends OWLAxiom> map) {
+        if (map instanceof FrozenObjectMapImpl) {
+            return ((FrozenObjectMapImpl<?>) map).definitelyHasNoAnnotatedAxioms();
+        }
         return map instanceof CacheObjectMapImpl && ((CacheObjectMapImpl<?>) map).definitelyHasNoAnnotatedAxioms();
     }
 
@@ -873,6 +1058,7 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
      */
     @SuppressWarnings("unchecked")
     protected <O extends OWLObject> ObjectMap<O> getComponentCache(OWLComponentType type) {
+        touch();
         return (ObjectMap<O>) Objects.requireNonNull(components.get(this).get(type), "Nothing found. Type: " + type);
     }
 
@@ -886,7 +1072,8 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
      */
     protected ObjectMap<OWLObject> createComponentObjectMap(OWLComponentType type) {
         InternalConfig conf = getConfig();
-        Supplier<Iterator<ONTObject<OWLObject>>> loader = () -> InternalReadModel.this.listOWLObjects(type, conf);
+        Supplier<Iterator<ONTObject<OWLObject>>> loader = withMetrics("component.load.", type,
+                () -> InternalReadModel.this.listOWLObjects(type, conf));
         if (!conf.useComponentCache()) {
             ObjectsSearcher<OWLObject> searcher = getEntitySearcher(type);
             if (searcher == null) {
@@ -896,7 +1083,7 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
         }
         boolean parallel = conf.parallel();
         boolean fastIterator = conf.useIteratorCache();
-        return new CacheObjectMapImpl<>(loader, false, parallel, fastIterator);
+        return new CacheObjectMapImpl<>(withBudget(loader), false, parallel, fastIterator);
     }
 
     /**
@@ -1068,6 +1255,7 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
      * @return {@link Map}
      */
     protected Map<OWLTopObjectType, ObjectMap<? extends OWLObject>> getContentStore() {
+        touch();
         return content.get(this);
     }
 
@@ -1098,17 +1286,19 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
     protected ObjectMap<OWLObject> createContentObjectMap(OWLTopObjectType key) {
         ObjectsSearcher<OWLObject> searcher = key.getSearcher();
         InternalConfig conf = getConfig();
+        Supplier<Iterator<ONTObject<OWLObject>>> loader = withMetrics("content.load.", key, toLoader(searcher));
         if (!conf.useContentCache()) {
-            return new DirectObjectMapImpl<>(toLoader(searcher), toFinder(searcher), toTester(searcher));
+            return new DirectObjectMapImpl<>(loader, toFinder(searcher), toTester(searcher));
         }
+        loader = withBudget(loader);
         boolean parallel = conf.parallel();
         boolean fastIterator = conf.useIteratorCache();
         boolean withMerge = !key.isDistinct();
         if (!LOGGER.isDebugEnabled()) {
-            return new CacheObjectMapImpl<>(toLoader(searcher), withMerge, parallel, fastIterator);
+            return new CacheObjectMapImpl<>(loader, withMerge, parallel, fastIterator);
         }
         OntID id = getID();
-        return new CacheObjectMapImpl<OWLObject>(toLoader(searcher), withMerge, parallel, fastIterator) {
+        return new CacheObjectMapImpl<OWLObject>(loader, withMerge, parallel, fastIterator) {
             @Override
             protected CachedMap<OWLObject, ONTObject<OWLObject>> loadMap() {
                 Instant start = Instant.now();
@@ -1125,6 +1315,104 @@ abstract class InternalReadModel extends OntGraphModelImpl implements ListAxioms
         };
     }
 
+    /**
+     * Wraps the loader so that the loading time is recorded if {@link OntMetrics metrics} are enabled.
+     *
+     * @param prefix {@code String}, the metric name prefix
+     * @param key    the type of objects, the metric name suffix
+     * @param loader {@code Supplier} of {@code Iterator}s
+     * @param <X>    anything
+     * @return {@code Supplier} of {@code Iterator}s
+     */
+    private static <X> Supplier<Iterator<X>> withMetrics(String prefix, Enum<?> key, Supplier<Iterator<X>> loader) {
+        return () -> OntMetrics.isEnabled() ? OntMetrics.timed(prefix + key, loader.get()) : loader.get();
+    }
+
+    /**
+     * Wraps the cache loader so that the {@link #budget} is notified before loading.
+     *
+     * @param loader {@code Supplier} of {@code Iterator}s
+     * @param <X>    anything
+     * @return {@code Supplier} of {@code Iterator}s
+     */
+    private <X> Supplier<Iterator<X>> withBudget(Supplier<Iterator<X>> loader) {
+        return () -> {
+            CacheBudget b = budget;
+            if (b != null) {
+                b.onLoad(this);
+            }
+            return loader.get();
+        };
+    }
+
+    /**
+     * Marks this model as recently used for the {@link #budget}.
+     * If the model is over budget, its caches are evicted first.
+     */
+    protected void touch() {
+        CacheBudget b = budget;
+        if (b == null) {
+            return;
+        }
+        if (overBudget.get()) {
+            b.evict(this);
+        }
+        b.touch(this);
+    }
+
+    /**
+     * Estimates the size of this model caches as the total number of objects in all loaded {@link ObjectMap}s.
+     * No cache is loaded by this method.
+     *
+     * @return long
+     * @see CacheBudget
+     */
+    protected long estimateCacheSize() {
+        long res = 0;
+        if (!content.isEmpty()) {
+            res += estimateSize(content.get(this).values());
+        }
+        if (!components.isEmpty()) {
+            res += estimateSize(components.get(this).values());
+        }
+        return res;
+    }
+
+    private static long estimateSize(Collection<? extends ObjectMap<?>> maps) {
+        long res = 0;
+        for (ObjectMap<?> m : maps) {
+            if (m.isLoaded()) {
+                res += m.count();
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Answers {@code true} if the caches can be safely evicted by the {@link #budget},
+     * i.e. the content cache does not contain manually added axioms.
+     *
+     * @return boolean
+     */
+    protected boolean canEvictCache() {
+        return content.isEmpty() || content.get(this).values().stream().noneMatch(ObjectMap::hasNew);
+    }
+
+    /**
+     * Invalidates all caches.
+     */
+    public abstract void clearCache();
+
+    /**
+     * Drops all caches to free memory.
+     * Unlike {@link #clearCache()}, it is not considered as a modification:
+     * the content is unchanged and will be reloaded in the same form from the same graph,
+     * so the {@link #modifications counter} is not incremented and the {@link Page page} cursors remain valid.
+     *
+     * @see CacheBudget
+     */
+    protected abstract void evictCache();
+
     private <X extends OWLObject> Supplier<Iterator<ONTObject<X>>> toLoader(ObjectsSearcher<X> searcher) {
         return () -> searcher.listONTObjects(getSearchModel(), getObjectFactory(), getConfig());
     }
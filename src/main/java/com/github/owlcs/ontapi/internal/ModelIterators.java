@@ -110,7 +110,7 @@ class ModelIterators {
         // make the result to be distinct:
         if (conf.parallel()) {
             // no calculations should go beyond this method in case of parallel usage
-            return Iter.addAll(stream, new LinkedHashSet<>()).stream();
+            return Iter.addAll(Iter.distinct(stream), new ArrayList<>()).stream();
         }
         // lazy distinct
         return Iter.asStream(Iter.distinct(stream), Spliterator.NONNULL | Spliterator.DISTINCT);
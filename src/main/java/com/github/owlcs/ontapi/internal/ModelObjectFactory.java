@@ -69,6 +69,22 @@ public interface ModelObjectFactory extends ONTObjectFactory {
         return model().get();
     }
 
+    /**
+     * Answers the canonical instance for the given content array of some anonymous expression.
+     * If the expressions table is enabled,
+     * the structurally equal arrays, that consist of only simple items (URIs, literals, numbers, blank node ids),
+     * are mapped to the same instance, otherwise the method returns the given array as is.
+     * The returned array must not be modified.
+     *
+     * @param content {@code Array} of {@code Object}s, not {@code null}
+     * @return {@code Array} of {@code Object}s
+     * @see com.github.owlcs.ontapi.config.CacheSettings#CACHE_EXPRESSIONS
+     * @since 2.1.1
+     */
+    default Object[] intern(Object[] content) {
+        return content;
+    }
+
     @Override
     default ONTObject<OWLAnonymousIndividual> getIndividual(OntIndividual.Anonymous i) {
         return getAnonymousIndividual(i.asNode().getBlankNodeId());
@@ -0,0 +1,146 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.system.FactoryRDF;
+import org.apache.jena.riot.system.FactoryRDFStd;
+import org.apache.jena.riot.system.RiotLib;
+import org.semanticweb.owlapi.model.IRI;
+
+import java.util.Objects;
+
+/**
+ * A dictionary to intern uri {@link Node}s and {@link IRI}s.
+ * It is intended to be shared between all ontologies of a manager,
+ * so that the same uri (e.g. {@code rdf:type}, {@code owl:Class} or any common vocabulary term)
+ * is represented by a single instance across all graphs and all OWL-API object caches.
+ * This saves heap and allows {@code equals} to short-circuit on reference comparison.
+ * <p>
+ * Both tables are concurrent and hold their values through weak references:
+ * an entry lives in the dictionary only while its value is in use somewhere else.
+ *
+ * @see InternalCache#createWeak(java.util.function.Function)
+ * @see com.github.owlcs.ontapi.config.OntConfig#isManagerInternNodes()
+ * @since 2.1.1
+ */
+public class NodeDictionary {
+    protected final InternalCache.Loading<String, Node> uris;
+    protected final InternalCache.Loading<String, IRI> iris;
+
+    public NodeDictionary() {
+        this.uris = InternalCache.createWeak(NodeFactory::createURI);
+        this.iris = InternalCache.createWeak(IRI::create);
+    }
+
+    /**
+     * Returns the canonical uri {@code Node} for the given string.
+     *
+     * @param uri String, not {@code null}
+     * @return {@link Node}
+     */
+    public Node getURI(String uri) {
+        return uris.get(Objects.requireNonNull(uri, "Null uri"));
+    }
+
+    /**
+     * Returns the canonical {@link IRI} for the given string.
+     *
+     * @param iri String, not {@code null}
+     * @return {@link IRI}
+     */
+    public IRI getIRI(String iri) {
+        return iris.get(Objects.requireNonNull(iri, "Null iri"));
+    }
+
+    /**
+     * Returns the canonical version of the given {@code node}.
+     * If the node is uri and the dictionary does not contain an equal node yet, the node itself is registered.
+     * Blank nodes and literals are returned as is.
+     *
+     * @param node {@link Node}, not {@code null}
+     * @return {@link Node}
+     */
+    public Node intern(Node node) {
+        if (!node.isURI()) {
+            return node;
+        }
+        return uris.asCache().get(node.getURI(), x -> node);
+    }
+
+    /**
+     * Returns the triple with interned uri nodes.
+     * If all the triple's components are already canonical, the same triple is returned.
+     *
+     * @param triple {@link Triple}, not {@code null}
+     * @return {@link Triple}
+     */
+    public Triple intern(Triple triple) {
+        Node s = intern(triple.getSubject());
+        Node p = intern(triple.getPredicate());
+        Node o = intern(triple.getObject());
+        if (s == triple.getSubject() && p == triple.getPredicate() && o == triple.getObject()) {
+            return triple;
+        }
+        return Triple.create(s, p, o);
+    }
+
+    /**
+     * Answers the {@link IRI} cache, which is backed by this dictionary.
+     *
+     * @return {@link InternalCache.Loading}
+     */
+    public InternalCache.Loading<String, IRI> getIRIs() {
+        return iris;
+    }
+
+    /**
+     * Creates a fresh {@link FactoryRDF} to be used by a parser,
+     * all uri nodes produced by the returned factory are taken from this dictionary.
+     * A factory is stateful (it holds blank node labels), so a new instance is required for each parse.
+     *
+     * @return {@link FactoryRDF}
+     */
+    public FactoryRDF createFactoryRDF() {
+        return new FactoryRDFStd() {
+            @Override
+            public Node createURI(String uri) {
+                if (RiotLib.isBNodeIRI(uri)) {
+                    return super.createURI(uri);
+                }
+                return getURI(uri);
+            }
+        };
+    }
+
+    /**
+     * Answers the approximate number of uri nodes in this dictionary.
+     *
+     * @return long
+     */
+    public long size() {
+        return uris.asCache().size();
+    }
+
+    /**
+     * Discards all entries.
+     */
+    public void clear() {
+        uris.clear();
+        iris.clear();
+    }
+}
@@ -16,6 +16,8 @@ package com.github.owlcs.ontapi.internal;
 
 import org.semanticweb.owlapi.model.OWLObject;
 
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -69,6 +71,20 @@ public interface ObjectMap<X extends OWLObject> {
      */
     Stream<X> keys();
 
+    /**
+     * Lists a portion of {@code OWLObjects}s encapsulated by this map,
+     * in the same order as the method {@link #keys()} does.
+     * The default implementation skips the first {@code offset} elements, which costs {@code O(offset)}.
+     *
+     * @param offset long, the number of objects to skip, non-negative
+     * @param limit  int, the maximum number of objects to return, non-negative
+     * @return {@code List} of {@link X}s
+     * @since 2.1.1
+     */
+    default List<X> keys(long offset, int limit) {
+        return keys().skip(offset).limit(limit).collect(Collectors.toList());
+    }
+
     /**
      * Lists all {@code ONTObject}s encapsulated by this map.
      * @return {@code Stream} of {@link ONTObject} that wrap {@link X}s
@@ -0,0 +1,184 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.owlcs.ontapi.internal;
+
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.impl.PersonalityModel;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.OntObject;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.WrappedIterator;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * A helper to read anonymous expressions (class expressions and data ranges) in the prefetch mode:
+ * the whole blank-node closure of a top-level expression
+ * (i.e. all the triples of its nested anonymous expressions, []-lists and restrictions)
+ * is fetched from the graph in a single traversal into a thread-local buffer,
+ * and then the expression is read through a view-model, whose graph answers the subject lookups from that buffer,
+ * instead of making a lot of small graph lookups for each nested component.
+ * This is useful for deeply nested expressions (e.g. {@code owl:intersectionOf} trees in EL-ontologies)
+ * over a graph with expensive {@code find} operations.
+ * All other lookups (e.g. declarations of named entities) are delegated to the original graph.
+ * <p>
+ * The view-model is created once per prefetcher, the buffer lives only while the top-level expression is read.
+ * The produced {@link ONTObject}s must not refer to the view-model:
+ * they are expected to be bound to the original model (as in case of {@link InternalObjectFactory}).
+ * The prefetch mode is opt-in, see {@link com.github.owlcs.ontapi.config.CacheSettings#CACHE_PREFETCH}.
+ *
+ * @since 2.1.1
+ */
+public class Prefetcher {
+    protected final ClosureGraph graph;
+    protected final PersonalityModel model;
+
+    /**
+     * Creates a prefetcher for the given model.
+     *
+     * @param model {@link OntModel}, not {@code null}
+     */
+    public Prefetcher(OntModel model) {
+        this.graph = new ClosureGraph(model.getGraph());
+        this.model = (PersonalityModel) OntModelFactory.createModel(graph,
+                PersonalityModel.asPersonalityModel(model).getOntPersonality());
+    }
+
+    /**
+     * Performs the calculation for the given root over the view-model,
+     * whose graph contains the prefetched closure of the root.
+     * If the root already belongs to the view-model (i.e. it is a nested call),
+     * or if it is not from the original graph, the calculation is performed as is.
+     *
+     * @param root {@link OntObject}, anonymous
+     * @param type {@code Class}-type of the root
+     * @param calc {@link Function} to perform calculation
+     * @param <X>  subtype of {@link OntObject}
+     * @param <R>  anything
+     * @return {@link R}
+     */
+    public <X extends OntObject, R> R apply(X root, Class<X> type, Function<X, R> calc) {
+        if (root.getModel() == model || root.getModel().getGraph() != graph.base || graph.isLoaded()) {
+            return calc.apply(root);
+        }
+        graph.load(root.asNode());
+        try {
+            return calc.apply(model.getNodeAs(root.asNode(), type));
+        } finally {
+            graph.release();
+        }
+    }
+
+    /**
+     * A read-only graph, that answers the subject lookups for the nodes of some blank-node closure
+     * from a thread-local buffer, and delegates all other queries to the underlying graph.
+     * The closure contains all triples, whose subjects are the root or
+     * the blank nodes, that are reachable from the root through the objects of triples.
+     */
+    protected static class ClosureGraph extends GraphBase {
+        protected final Graph base;
+        protected final ThreadLocal<Map<Node, List<Triple>>> buffer = new ThreadLocal<>();
+
+        protected ClosureGraph(Graph base) {
+            this.base = Objects.requireNonNull(base);
+        }
+
+        /**
+         * Collects the closure of the given root in a single traversal.
+         *
+         * @param root {@link Node}, blank
+         */
+        protected void load(Node root) {
+            Map<Node, List<Triple>> res = new HashMap<>();
+            Deque<Node> queue = new ArrayDeque<>();
+            queue.add(root);
+            while (!queue.isEmpty()) {
+                Node s = queue.removeFirst();
+                if (res.containsKey(s)) {
+                    continue;
+                }
+                List<Triple> triples = base.find(s, Node.ANY, Node.ANY).toList();
+                res.put(s, triples);
+                for (Triple t : triples) {
+                    Node o = t.getObject();
+                    if (o.isBlank() && !res.containsKey(o)) {
+                        queue.add(o);
+                    }
+                }
+            }
+            buffer.set(res);
+        }
+
+        /**
+         * Answers {@code true} if the buffer is in use by the current thread.
+         *
+         * @return boolean
+         */
+        protected boolean isLoaded() {
+            return buffer.get() != null;
+        }
+
+        /**
+         * Discards the buffer of the current thread.
+         */
+        protected void release() {
+            buffer.remove();
+        }
+
+        private List<Triple> buffered(Triple m) {
+            Node s = m.getMatchSubject();
+            if (s == null) {
+                return null;
+            }
+            Map<Node, List<Triple>> res = buffer.get();
+            return res == null ? null : res.get(s);
+        }
+
+        @Override
+        protected ExtendedIterator<Triple> graphBaseFind(Triple m) {
+            List<Triple> res = buffered(m);
+            if (res == null) {
+                return base.find(m);
+            }
+            return WrappedIterator.create(res.iterator()).filterKeep(m::matches);
+        }
+
+        @Override
+        protected boolean graphBaseContains(Triple t) {
+            List<Triple> res = buffered(t);
+            if (res == null) {
+                return base.contains(t);
+            }
+            return res.stream().anyMatch(t::matches);
+        }
+
+        @Override
+        protected int graphBaseSize() {
+            return base.size();
+        }
+
+        @Override
+        protected PrefixMapping createPrefixMapping() {
+            return base.getPrefixMapping();
+        }
+    }
+}
@@ -14,6 +14,8 @@
 
 package com.github.owlcs.ontapi.internal;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.owlcs.ontapi.OntApiException;
 import com.github.owlcs.ontapi.jena.OntJenaException;
 import com.github.owlcs.ontapi.jena.impl.OntGraphModelImpl;
@@ -25,12 +27,14 @@ import com.github.owlcs.ontapi.jena.impl.conf.PersonalityBuilder;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.owlcs.ontapi.jena.model.OntObject;
 import com.github.owlcs.ontapi.jena.model.OntSWRL;
+import com.github.owlcs.ontapi.jena.utils.Iter;
 import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import com.github.owlcs.ontapi.jena.vocabulary.RDF;
 import org.apache.jena.enhanced.EnhGraph;
 import org.apache.jena.enhanced.EnhNode;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
 import org.apache.jena.rdf.model.Resource;
@@ -41,6 +45,8 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nonnull;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -65,6 +71,8 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
     // optimization flags for annotations:
     private Boolean hasAnnotations;
     private Boolean hasSubAnnotations;
+    // (source, property, target) -> bulk annotation b-nodes
+    private volatile Map<Triple, List<Node>> annotations;
     // all URIs
     private Set<String> systemURIs;
     /**
@@ -103,6 +111,7 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
      * Creates a {@link OntPersonality} with nodes cache inside.
      * Each cached {@link Node} can be either URI or blank,
      * and never literal, since size of literals is unpredictable.
+     * All caches share the same {@link CacheBudget}, which moves the room to the most useful caches.
      *
      * @param from {@link OntPersonality} to inherit all settings
      * @param conf {@link InternalConfig} to get all control options
@@ -114,11 +123,13 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
         }
         int size = conf.getLoadNodesCacheSize();
         PersonalityBuilder res = PersonalityBuilder.from(from);
-        from.types(OntObject.class)
+        List<Class<? extends OntObject>> types = from.types(OntObject.class)
                 // do not cache SWRL.DArg (and, therefore, SWRL.Arg) since an instance of this type
                 // can be Literal with unpredictable length
                 .filter(x -> x != OntSWRL.DArg.class && x != OntSWRL.Arg.class)
-                .forEach(x -> CachedFactory.cache(res, from, x, size));
+                .collect(Collectors.toList());
+        CacheBudget budget = CacheBudget.create(size, types.size());
+        types.forEach(x -> CachedFactory.cache(res, from, x, size, budget));
         return res.build();
     }
 
@@ -190,13 +201,65 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
                 hasSubAnnotations;
     }
 
+    /**
+     * Lists all (bulk) annotation anonymous resources for the given {@code rdf:type} and SPO.
+     * Unlike the base method, this one uses the {@link #getAnnotationsIndex() index}
+     * instead of the joining of {@code owl:annotatedSource}, {@code owl:annotatedProperty}
+     * and {@code owl:annotatedTarget} triples for each request.
+     *
+     * @param t {@link Resource} either {@link OWL#Axiom owl:Axiom} or {@link OWL#Annotation owl:Annotation}
+     * @param s {@link Resource} subject
+     * @param p {@link Property} predicate
+     * @param o {@link RDFNode} object
+     * @return {@link ExtendedIterator} of annotation {@link Resource resource}s
+     */
     @Override
     public ExtendedIterator<Resource> listAnnotations(Resource t, Resource s, Property p, RDFNode o) {
         if (!hasAnnotations()) return NullIterator.instance();
         if (OWL.Annotation == t && !hasSubAnnotations()) {
             return NullIterator.instance();
         }
-        return super.listAnnotations(t, s, p, o);
+        List<Node> res = getAnnotationsIndex().get(Triple.create(s.asNode(), p.asNode(), o.asNode()));
+        if (res == null) {
+            return NullIterator.instance();
+        }
+        Node type = t.asNode();
+        Graph g = getGraph();
+        return Iter.create(res).filterKeep(x -> g.contains(x, RDF.Nodes.type, type)).mapWith(this::wrapAsResource);
+    }
+
+    /**
+     * Returns the index of all bulk annotations of the graph (both {@code owl:Axiom} and {@code owl:Annotation}).
+     * The map key is the annotated triple, i.e. the triple
+     * {@code (owl:annotatedSource, owl:annotatedProperty, owl:annotatedTarget)},
+     * and the map value is a list of annotation b-nodes.
+     * The index is built once per this model, in a single pass through all {@code owl:annotatedSource} triples,
+     * it is never updated, since the model graph must not be changed while the model is in use.
+     *
+     * @return {@code Map}
+     */
+    protected Map<Triple, List<Node>> getAnnotationsIndex() {
+        Map<Triple, List<Node>> res = annotations;
+        if (res != null) {
+            return res;
+        }
+        res = new HashMap<>();
+        Graph g = getGraph();
+        ExtendedIterator<Triple> sources = g.find(Node.ANY, OWL.annotatedSource.asNode(), Node.ANY);
+        try {
+            while (sources.hasNext()) {
+                Triple t = sources.next();
+                Node x = t.getSubject();
+                for (Node p : g.find(x, OWL.annotatedProperty.asNode(), Node.ANY).mapWith(Triple::getObject).toList()) {
+                    for (Node o : g.find(x, OWL.annotatedTarget.asNode(), Node.ANY).mapWith(Triple::getObject).toList()) {
+                        res.computeIfAbsent(Triple.create(t.getObject(), p, o), k -> new ArrayList<>(1)).add(x);
+                    }
+                }
+            }
+        } finally {
+            sources.close();
+        }
+        return annotations = res;
     }
 
     @Override
@@ -208,37 +271,321 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
         }
     }
 
+    /**
+     * Returns the nodes cache statistics for each cached {@link OntObject} type.
+     *
+     * @return a {@code Map} with {@link OntObject} class-types as keys and {@link CacheStats}s as values
+     * @since 2.1.1
+     */
+    public Map<Class<? extends OntObject>, CacheStats> getNodesCacheStats() {
+        Map<Class<? extends OntObject>, CacheStats> res = new LinkedHashMap<>();
+        OntPersonality p = getOntPersonality();
+        p.types(OntObject.class).forEach(t -> {
+            ObjectFactory f = p.getObjectFactory(t);
+            if (f instanceof CachedFactory) {
+                res.put(t, ((CachedFactory) f).stats());
+            }
+        });
+        return res;
+    }
+
+    /**
+     * An immutable snapshot of a {@link CachedFactory}'s nodes cache statistics.
+     *
+     * @since 2.1.1
+     */
+    public static class CacheStats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long size;
+        private final long limit;
+
+        protected CacheStats(long hits, long misses, long evictions, long size, long limit) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.size = size;
+            this.limit = limit;
+        }
+
+        public long hitCount() {
+            return hits;
+        }
+
+        public long missCount() {
+            return misses;
+        }
+
+        public long evictionCount() {
+            return evictions;
+        }
+
+        public long size() {
+            return size;
+        }
+
+        /**
+         * Returns the current limit of the cache, that may be changed by the {@link CacheBudget}.
+         *
+         * @return long
+         */
+        public long limit() {
+            return limit;
+        }
+
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 1.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CacheStats{hits=%d, misses=%d, evictions=%d, size=%d, limit=%d}",
+                    hits, misses, evictions, size, limit);
+        }
+    }
+
+    /**
+     * A nodes cache budget that is shared by all {@link CachedFactory}s of a personality.
+     * Only a few factories have many nodes in their caches (see {@link com.github.owlcs.ontapi.config.CacheSettings#getLoadNodesCacheSize()}),
+     * so the budget periodically redistributes the total limit between factories:
+     * the unused room of quiet caches goes to the caches with evictions,
+     * in proportion to their hits and evictions in the last period,
+     * i.e. to the caches that actually save {@code canWrap} work or suffer from the lack of space.
+     * A factory never gets less than the {@link #floor} and more than the {@link #ceiling} limit.
+     *
+     * @since 2.1.1
+     */
+    public static class CacheBudget {
+        private final List<CachedFactory> factories = new ArrayList<>();
+        private final AtomicLong ticks = new AtomicLong();
+        private final long total;
+        private final long floor;
+        private final long ceiling;
+        private final long period;
+
+        /**
+         * Creates a budget.
+         *
+         * @param total   long, the total number of nodes to be shared, positive
+         * @param floor   long, the minimum limit of a single cache, positive
+         * @param ceiling long, the maximum limit of a single cache, positive
+         * @param period  long, the number of cache lookups between two redistributions, positive
+         */
+        public CacheBudget(long total, long floor, long ceiling, long period) {
+            if (floor <= 0 || period <= 0 || floor > ceiling || ceiling > total) {
+                throw new IllegalArgumentException(String.format("Wrong budget: " +
+                        "total=%d, floor=%d, ceiling=%d, period=%d", total, floor, ceiling, period));
+            }
+            this.total = total;
+            this.floor = floor;
+            this.ceiling = ceiling;
+            this.period = period;
+        }
+
+        /**
+         * Creates a budget for the given nodes cache size and number of caches.
+         * The total budget is the same as the sum of all caches limits without redistribution,
+         * but a single cache can be shrunk down to {@code 1/16} of the limit
+         * or be extended up to the doubled limit.
+         *
+         * @param limit  int, positive
+         * @param caches int, the number of caches, positive
+         * @return {@link CacheBudget}
+         */
+        public static CacheBudget create(int limit, int caches) {
+            return new CacheBudget((long) limit * Math.max(2, caches),
+                    Math.max(1, limit / 16), 2L * limit, Math.max(limit, 1024));
+        }
+
+        synchronized void register(CachedFactory factory) {
+            factories.add(factory);
+        }
+
+        void tick() {
+            if (ticks.incrementAndGet() % period == 0) {
+                redistribute();
+            }
+        }
+
+        /**
+         * Redistributes the total limit between all registered factories.
+         * A cache without evictions in the last period is shrunk (at most by half) to twice its size,
+         * the remaining budget is shared between the caches with evictions
+         * in proportion to their hits and evictions.
+         */
+        public synchronized void redistribute() {
+            int n = factories.size();
+            long[] scores = new long[n];
+            long rest = total;
+            long sum = 0;
+            for (int i = 0; i < n; i++) {
+                CachedFactory f = factories.get(i);
+                CacheStats stats = f.stats();
+                long evictions = stats.evictionCount() - f.prevEvictions;
+                long hits = stats.hitCount() - f.prevHits;
+                f.prevEvictions = stats.evictionCount();
+                f.prevHits = stats.hitCount();
+                if (evictions == 0) {
+                    // the cache fits,
+                    // it does not need more room, shrink gradually, at most by half per period
+                    long room = Math.max(floor, Math.min(stats.limit(), Math.max(2 * stats.size(), stats.limit() / 2)));
+                    f.resize(room);
+                    rest -= room;
+                    scores[i] = -1;
+                    continue;
+                }
+                sum += scores[i] = hits + evictions;
+            }
+            if (sum == 0) {
+                return;
+            }
+            rest = Math.max(rest, 0);
+            for (int i = 0; i < n; i++) {
+                if (scores[i] < 0) continue;
+                long limit = (long) (rest * ((double) scores[i] / sum));
+                factories.get(i).resize(Math.max(floor, Math.min(ceiling, limit)));
+            }
+        }
+
+        public long getTotal() {
+            return total;
+        }
+    }
+
     /**
      * A {@link ObjectFactory} impl with nodes cache.
+     * Since 2.1.1 it has statistics and its cache can be resized by a {@link CacheBudget}.
      */
     public static class CachedFactory extends BaseFactoryImpl {
         private final ObjectFactory from;
         private final Class<? extends OntObject> type;
         private final InternalCache<Node, Boolean> canWrapCache;
+        private final CacheBudget budget;
+        private final Map<Node, Boolean> map;
+        // the caffeine cache (if any) records its own statistics, otherwise the evictions are counted by the map
+        private final Cache<Node, Boolean> caffeine;
+        private volatile long limit;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+        // hits and evictions at the moment of the last redistribution, guarded by the budget:
+        private long prevHits;
+        private long prevEvictions;
 
         public CachedFactory(Class<? extends OntObject> type, ObjectFactory from, int limit, boolean parallel) {
             this.type = Objects.requireNonNull(type);
             this.from = Objects.requireNonNull(from);
-            this.canWrapCache = InternalCache.createBounded(parallel, limit);
+            this.limit = limit;
+            this.budget = null;
+            if (parallel) {
+                this.map = null;
+                this.caffeine = Caffeine.newBuilder().maximumSize(limit).recordStats().build();
+                this.canWrapCache = new InternalCache.CaffeineWrapper<>(caffeine);
+            } else {
+                this.map = createMap();
+                this.caffeine = null;
+                this.canWrapCache = InternalCache.fromMap(map);
+            }
+        }
+
+        /**
+         * Creates a factory with a LHM based cache, whose limit is controlled by the given budget.
+         *
+         * @param type   {@link OntObject} class-type, not {@code null}
+         * @param from   {@link ObjectFactory} to delegate, not {@code null}
+         * @param limit  int, initial limit
+         * @param budget {@link CacheBudget}, not {@code null}
+         */
+        protected CachedFactory(Class<? extends OntObject> type, ObjectFactory from, int limit, CacheBudget budget) {
+            this.type = Objects.requireNonNull(type);
+            this.from = Objects.requireNonNull(from);
+            this.budget = Objects.requireNonNull(budget);
+            this.limit = limit;
+            this.map = createMap();
+            this.caffeine = null;
+            this.canWrapCache = InternalCache.fromMap(map);
+            budget.register(this);
+        }
+
+        /**
+         * Creates a LRU {@link LinkedHashMap} bounded by the current {@link #limit}, that counts its evictions.
+         *
+         * @return {@link Map}
+         */
+        private Map<Node, Boolean> createMap() {
+            return new LinkedHashMap<Node, Boolean>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Node, Boolean> eldest) {
+                    long limit = CachedFactory.this.limit;
+                    if (size() <= limit) {
+                        return false;
+                    }
+                    // the limit could be decreased by the budget, remove all extra entries at once
+                    Iterator<Node> it = keySet().iterator();
+                    while (size() > limit && it.hasNext()) {
+                        it.next();
+                        it.remove();
+                        evictions.increment();
+                    }
+                    return false;
+                }
+            };
         }
 
         private static CachedFactory create(Class<? extends OntObject> type,
                                             ObjectFactory from,
-                                            int limit) {
+                                            int limit,
+                                            CacheBudget budget) {
 
             // Do not use caffeine due to danger of LiveLock
             // See issue #71 (https://github.com/avicomp/ont-api/issues/71)
             return new CachedFactory(type,
                     from instanceof CachedFactory ? ((CachedFactory) from).from : from,
                     limit,
-                    false);
+                    budget);
         }
 
         static void cache(PersonalityBuilder res,
                           OntPersonality from,
                           Class<? extends OntObject> type,
-                          int limit) {
-            res.add(type, create(type, from.getObjectFactory(type), limit));
+                          int limit,
+                          CacheBudget budget) {
+            res.add(type, create(type, from.getObjectFactory(type), limit, budget));
+        }
+
+        /**
+         * Returns the current statistics.
+         *
+         * @return {@link CacheStats}
+         * @since 2.1.1
+         */
+        public CacheStats stats() {
+            long evictions;
+            if (caffeine != null) {
+                // perform the pending maintenance to get the actual eviction count
+                caffeine.cleanUp();
+                evictions = caffeine.stats().evictionCount();
+            } else {
+                evictions = this.evictions.sum();
+            }
+            return new CacheStats(hits.sum(), misses.sum(), evictions, canWrapCache.size(), limit);
+        }
+
+        /**
+         * Sets a new limit.
+         * The extra entries (if any) are evicted on the next cache insertion,
+         * so this method does not acquire the cache lock
+         * (it is called by the budget, which can be triggered inside another cache computation).
+         *
+         * @param limit long, positive
+         */
+        void resize(long limit) {
+            if (map == null) {
+                return;
+            }
+            this.limit = limit;
         }
 
         @Override
@@ -249,7 +596,18 @@ public abstract class SearchModel extends OntGraphModelImpl implements HasObject
         @Override
         public boolean canWrap(Node node, EnhGraph eg) {
             if (node.isLiteral()) return from.canWrap(node, eg);
-            return canWrapCache.get(node, n -> from.canWrap(n, eg));
+            // get-then-put: no allocations on the hot path; a concurrent miss just computes the same value twice
+            Boolean res = canWrapCache.get(node);
+            if (res != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                canWrapCache.put(node, res = from.canWrap(node, eg));
+            }
+            if (budget != null) {
+                budget.tick();
+            }
+            return res;
         }
 
         @Override
@@ -102,7 +102,8 @@ public abstract class AbstractTwoWayNaryTranslator<Axiom extends OWLAxiom & OWLN
         if (search.isEmpty()) {
             return listStatements(model, config);
         }
-        return listSearchStatements(model, search).andThen(listDisjointStatements(model));
+        return listSearchStatements(model, search).andThen(listDisjointStatements(model))
+                .filterKeep(s -> testStatement(s, config));
     }
 
     ONTObject<Axiom> makeAxiom(OntStatement statement,
@@ -231,7 +231,7 @@ public class DataPropertyDomainTranslator extends AbstractPropertyDomainTranslat
                 if (!sameSubject(other)) {
                     return false;
                 }
-                return sameContent(other);
+                return compareContent(other);
             }
 
             @Override
@@ -243,7 +243,7 @@ public class DataPropertyRangeTranslator extends AbstractPropertyRangeTranslator
                 if (!sameSubject(other)) {
                     return false;
                 }
-                return sameContent(other);
+                return compareContent(other);
             }
 
             @Override
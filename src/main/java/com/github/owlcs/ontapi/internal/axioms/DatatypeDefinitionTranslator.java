@@ -274,7 +274,7 @@ public class DatatypeDefinitionTranslator extends AbstractSimpleTranslator<OWLDa
                 if (!sameSubject(other)) {
                     return false;
                 }
-                return sameContent(other);
+                return compareContent(other);
             }
 
             @Override
@@ -294,7 +294,7 @@ public class SubClassOfTranslator extends AxiomTranslator<OWLSubClassOfAxiom> {
                     return false;
                 }
                 // no #sameTriple(), since it can contain b-nodes
-                return sameContent(other);
+                return compareContent(other);
             }
 
             @Override
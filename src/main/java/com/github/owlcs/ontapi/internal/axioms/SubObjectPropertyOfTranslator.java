@@ -200,7 +200,7 @@ public class SubObjectPropertyOfTranslator extends AbstractSubPropertyTranslator
                     return false;
                 }
                 // no #sameTriple(), since it can contain b-nodes
-                return sameContent(other);
+                return compareContent(other);
             }
 
             @Override
@@ -77,7 +77,7 @@ public abstract class ONTAnonymousClassExpressionImpl<ONT extends OntClass, OWL
         // since we have already type information
         // we can forcibly load the cache to reduce graph traversal operations
         // (otherwise this type information will be collected again on demand, which means double-work):
-        res.putContent(res.initContent(ce, factory));
+        res.putContent(intern(res.initContent(ce, factory), factory));
         return res;
     }
 
@@ -195,9 +195,26 @@ public abstract class ONTExpressionImpl<R extends OntObject> extends ONTResource
         return Stream.concat(super.triples(), objects().flatMap(ONTObject::triples));
     }
 
+    /**
+     * Returns the canonical instance for the content array, if the given factory supports this.
+     * For internal usage only.
+     *
+     * @param content {@code Array} of {@code Object}s (content items), not {@code null}
+     * @param factory {@link ONTObjectFactory}, not {@code null}
+     * @return {@code Array} of {@code Object}s, either the same or structurally equal
+     * @see ModelObjectFactory#intern(Object[])
+     */
+    protected static Object[] intern(Object[] content, ONTObjectFactory factory) {
+        if (factory instanceof ModelObjectFactory) {
+            return ((ModelObjectFactory) factory).intern(content);
+        }
+        return content;
+    }
+
     @Override
     public final Object[] collectContent() {
-        return collectContent(asRDFNode(), getObjectFactory());
+        ModelObjectFactory factory = getObjectFactory();
+        return factory.intern(collectContent(asRDFNode(), factory));
     }
 
     @Override
@@ -22,7 +22,9 @@ import org.apache.jena.graph.*;
 import org.apache.jena.graph.impl.LiteralLabel;
 import org.apache.jena.rdf.model.RDFNode;
 import org.semanticweb.owlapi.model.HasComponents;
+import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAnnotation;
+import org.semanticweb.owlapi.model.OWLEntity;
 import org.semanticweb.owlapi.model.OWLObject;
 
 import javax.annotation.Nullable;
@@ -47,6 +49,8 @@ public abstract class ONTStatementImpl extends ONTObjectImpl implements WithAnno
     protected final Object subject; // b-node-id or string
     protected final String predicate;
     protected final Object object; // b-node-id or string or literal-label
+    // structural 64-bit hash, 0 if not yet calculated
+    protected volatile long fingerprint;
 
     /**
      * Constructs the base object-triple.
@@ -255,6 +259,157 @@ public abstract class ONTStatementImpl extends ONTObjectImpl implements WithAnno
         return equalStreams(components(), other.components());
     }
 
+    /**
+     * Answers the structural 64-bit fingerprint of this object.
+     * Equal (in OWL-API terms) objects always have equal fingerprints,
+     * while different objects, that have the same {@link #hashCode()}, as a rule have different fingerprints.
+     * The value is calculated once, on demand, and then is stored inside the object.
+     * Note that the calculation walks through the {@link #components() components},
+     * and, therefore, may require loading the content.
+     *
+     * @return long, never {@code 0}
+     * @see #differentFingerprints(ONTStatementImpl)
+     */
+    public final long fingerprint() {
+        long res = fingerprint;
+        if (res == 0) {
+            fingerprint = res = initFingerprint();
+        }
+        return res;
+    }
+
+    /**
+     * Calculates the fingerprint, which is the 64-bit analogue of {@link #initHashCode()}.
+     *
+     * @return long, never {@code 0}
+     */
+    protected long initFingerprint() {
+        long res = mixFingerprint(hashIndex());
+        Iterator<?> it = components().iterator();
+        while (it.hasNext()) {
+            res = fingerprintIteration(res, fingerprint(it.next()));
+        }
+        return res == 0 ? 1 : res;
+    }
+
+    /**
+     * Calculates the fingerprint for the given component.
+     * IRIs (including the entity IRIs) are hashed with the full 64-bit precision,
+     * nested axioms and annotations use their own fingerprints,
+     * other nested {@link OWLObject}s and collections are processed element by element,
+     * for all other components the {@code hashCode} is used.
+     *
+     * @param component {@code Object} - a component of some {@link OWLObject}, not {@code null}
+     * @return long
+     */
+    protected static long fingerprint(Object component) {
+        if (component instanceof ONTStatementImpl) {
+            return ((ONTStatementImpl) component).fingerprint();
+        }
+        if (component instanceof OWLEntity) {
+            return fingerprint(ONTEntityImpl.getURI((OWLEntity) component));
+        }
+        if (component instanceof IRI) {
+            return fingerprint(((IRI) component).getIRIString());
+        }
+        if (component instanceof String) {
+            return fingerprint((String) component);
+        }
+        if (component instanceof OWLObject) {
+            // e.g. a nested class expression, whose hashCode may collide as well
+            OWLObject object = (OWLObject) component;
+            long res = mixFingerprint(object.typeIndex());
+            Iterator<?> it = object.components().iterator();
+            while (it.hasNext()) {
+                res = fingerprintIteration(res, fingerprint(it.next()));
+            }
+            return res;
+        }
+        if (component instanceof Collection) {
+            long res = 1;
+            for (Object c : (Collection<?>) component) {
+                res = fingerprintIteration(res, fingerprint(c));
+            }
+            return res;
+        }
+        return mixFingerprint(component.hashCode());
+    }
+
+    /**
+     * Calculates the 64-bit FNV-1a hash for the given string.
+     *
+     * @param str {@code String}, not {@code null}
+     * @return long
+     */
+    protected static long fingerprint(String str) {
+        long res = 0xCBF29CE484222325L;
+        for (int i = 0; i < str.length(); i++) {
+            res = (res ^ str.charAt(i)) * 0x100000001B3L;
+        }
+        return res;
+    }
+
+    /**
+     * Spreads the bits of the given {@code int} over the {@code long}.
+     *
+     * @param hash int
+     * @return long
+     */
+    protected static long mixFingerprint(int hash) {
+        long res = (hash ^ 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+        return res ^ (res >>> 31);
+    }
+
+    /**
+     * A helper method that performs an iteration for fingerprints.
+     *
+     * @param a long, previous value
+     * @param b long, value to add
+     * @return long, new fingerprint
+     */
+    protected static long fingerprintIteration(long a, long b) {
+        return a * 0x9E3779B97F4A7C15L + b;
+    }
+
+    /**
+     * Answers {@code true} if both objects have already calculated fingerprints and these fingerprints are different.
+     * This is a fast rejection test, that never calculates anything:
+     * objects with different fingerprints are definitely not equal.
+     *
+     * @param other {@link ONTStatementImpl}, not {@code null}
+     * @return boolean
+     */
+    protected boolean differentFingerprints(ONTStatementImpl other) {
+        long left = fingerprint;
+        long right = other.fingerprint;
+        return left != 0 && right != 0 && left != right;
+    }
+
+    /**
+     * Compares the content of this object and the given one,
+     * the method must be called after all the cheap checks (such as {@link #notSame(com.github.owlcs.ontapi.owlapi.OWLObjectImpl)}).
+     * First, the already known fingerprints are compared, then the {@link #sameContent(ONTStatementImpl) content}.
+     * If the objects turn out to be different in spite of equal hash-codes (i.e. in case of a hash collision),
+     * their fingerprints are calculated and stored,
+     * so the next comparisons of these objects (e.g. in a hash table) will not need the content any more.
+     *
+     * @param other {@link ONTStatementImpl}, not {@code null}
+     * @return boolean
+     */
+    protected boolean compareContent(ONTStatementImpl other) {
+        if (differentFingerprints(other)) {
+            return false;
+        }
+        if (sameContent(other)) {
+            return true;
+        }
+        if (hashCode != 0 && hashCode == other.hashCode) {
+            fingerprint();
+            other.fingerprint();
+        }
+        return false;
+    }
+
     /**
      * Answers {@code true} if this object and the given are equal as {@link OWLObject} (i.e. in OWL-API terms).
      *
@@ -275,7 +430,7 @@ public abstract class ONTStatementImpl extends ONTObjectImpl implements WithAnno
             // definitely equal
             return true;
         }
-        return sameContent(other);
+        return compareContent(other);
     }
 
     @Override
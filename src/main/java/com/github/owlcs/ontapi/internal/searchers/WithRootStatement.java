@@ -20,6 +20,7 @@ import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.owlcs.ontapi.jena.model.OntObject;
 import com.github.owlcs.ontapi.jena.model.OntStatement;
 import com.github.owlcs.ontapi.jena.utils.Iter;
+import com.github.owlcs.ontapi.jena.utils.OpenHashSet;
 import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.rdf.model.Statement;
 import org.apache.jena.util.iterator.ExtendedIterator;
@@ -58,7 +59,7 @@ public class WithRootStatement extends BaseSearcher {
      */
     protected Set<OntStatement> getRootStatements(OntModel model, OntStatement statement) {
         Set<OntStatement> roots = new HashSet<>();
-        Set<Resource> seen = new HashSet<>();
+        Set<Resource> seen = new OpenHashSet<>();
         Set<OntStatement> candidates = new LinkedHashSet<>();
         candidates.add(statement);
         while (!candidates.isEmpty()) {
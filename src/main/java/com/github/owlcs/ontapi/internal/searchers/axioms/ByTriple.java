@@ -0,0 +1,131 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.internal.searchers.axioms;
+
+import com.github.owlcs.ontapi.config.AxiomsSettings;
+import com.github.owlcs.ontapi.internal.AxiomTranslator;
+import com.github.owlcs.ontapi.internal.ONTObject;
+import com.github.owlcs.ontapi.internal.ONTObjectFactory;
+import com.github.owlcs.ontapi.internal.searchers.WithRootStatement;
+import com.github.owlcs.ontapi.jena.model.OntAnnotation;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.OntObject;
+import com.github.owlcs.ontapi.jena.model.OntStatement;
+import com.github.owlcs.ontapi.jena.utils.Iter;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.semanticweb.owlapi.model.OWLAxiom;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A helper to find all axioms, that are affected by the given triples.
+ * Each triple is mapped to its root statements (see {@link WithRootStatement#getRootStatements(OntModel, OntStatement)}),
+ * which are then translated to axioms.
+ * Reification resources ({@code owl:Axiom} and {@code owl:Annotation}) are mapped to the annotated base statement.
+ * Used to calculate the difference between two ontologies in time, that is proportional to the change size.
+ *
+ * @see com.github.owlcs.ontapi.OntologyDiff
+ * @since 2.1.1
+ */
+public class ByTriple extends WithRootStatement {
+
+    /**
+     * All translators.
+     */
+    private static final Set<AxiomTranslator<OWLAxiom>> TRANSLATORS = selectTranslators(null);
+
+    /**
+     * Collects all root statements for the given triples.
+     * Triples, that are absent in the base graph of the {@code model}, are skipped.
+     *
+     * @param model   {@link OntModel}, not {@code null}
+     * @param triples a {@code Collection} of {@link Triple}s, not {@code null}
+     * @return a {@code Set} of {@link OntStatement}s
+     */
+    public Set<OntStatement> getRootStatements(OntModel model, Collection<Triple> triples) {
+        Graph base = model.getBaseGraph();
+        Set<OntStatement> res = new HashSet<>();
+        for (Triple t : triples) {
+            if (!base.contains(t)) {
+                continue;
+            }
+            listRootStatements(model, model.asStatement(t)).forEachRemaining(s -> res.addAll(resolve(model, s)));
+        }
+        return res;
+    }
+
+    /**
+     * Lists all axioms, which are defined by the given root triples.
+     * Triples, that are absent in the base graph of the {@code model}, are skipped.
+     *
+     * @param model   {@link OntModel}, not {@code null}
+     * @param roots   a {@code Collection} of root {@link Triple}s, not {@code null}
+     * @param factory {@link ONTObjectFactory}, not {@code null}
+     * @param config  {@link AxiomsSettings}, not {@code null}
+     * @return an {@link ExtendedIterator} of {@link OWLAxiom}s wrapped with {@link ONTObject}
+     */
+    public ExtendedIterator<ONTObject<OWLAxiom>> listONTAxioms(OntModel model,
+                                                               Collection<Triple> roots,
+                                                               ONTObjectFactory factory,
+                                                               AxiomsSettings config) {
+        Graph base = model.getBaseGraph();
+        ExtendedIterator<OntStatement> res = Iter.create(roots).filterKeep(base::contains).mapWith(model::asStatement);
+        if (config.isSplitAxiomAnnotations()) {
+            return Iter.flatMap(res,
+                    s -> Iter.flatMap(listTranslators(s, config), t -> split(t, s, factory, config)));
+        }
+        return Iter.flatMap(res, s -> listTranslators(s, config).mapWith(t -> toAxiom(t, s, factory, config)));
+    }
+
+    /**
+     * Lists translators.
+     *
+     * @param statement {@link OntStatement}
+     * @param conf      {@link AxiomsSettings}
+     * @return an {@link ExtendedIterator} of {@link AxiomTranslator}s
+     */
+    protected ExtendedIterator<AxiomTranslator<OWLAxiom>> listTranslators(OntStatement statement,
+                                                                          AxiomsSettings conf) {
+        return Iter.create(TRANSLATORS).filterKeep(t -> t.testStatement(statement, conf));
+    }
+
+    /**
+     * Replaces the statement of a reification resource ({@code owl:Axiom} or {@code owl:Annotation})
+     * with the roots of the annotated statement.
+     *
+     * @param model     {@link OntModel}
+     * @param statement {@link OntStatement} - a root statement
+     * @return a {@code Set} of {@link OntStatement}s
+     */
+    protected Set<OntStatement> resolve(OntModel model, OntStatement statement) {
+        OntObject subject = statement.getSubject();
+        OntAnnotation a = subject.isAnon() ? subject.getAs(OntAnnotation.class) : null;
+        if (a == null) {
+            return Collections.singleton(statement);
+        }
+        OntStatement base = ByPrimitive.getRoot(a).getBase();
+        if (base == null) {
+            return Collections.singleton(statement);
+        }
+        Set<OntStatement> res = new HashSet<>();
+        listRootStatements(model, base).forEachRemaining(res::add);
+        return res;
+    }
+}
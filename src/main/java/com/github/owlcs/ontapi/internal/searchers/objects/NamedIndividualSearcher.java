@@ -23,6 +23,7 @@ import com.github.owlcs.ontapi.jena.model.OntIndividual;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.owlcs.ontapi.jena.utils.Iter;
 import com.github.owlcs.ontapi.jena.utils.OntModels;
+import com.github.owlcs.ontapi.jena.utils.OpenHashSet;
 import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import com.github.owlcs.ontapi.jena.vocabulary.RDF;
 import org.apache.jena.graph.Node;
@@ -32,7 +33,6 @@ import org.apache.jena.util.iterator.ExtendedIterator;
 import org.semanticweb.owlapi.model.OWLAxiom;
 import org.semanticweb.owlapi.model.OWLNamedIndividual;
 
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -97,7 +97,7 @@ public class NamedIndividualSearcher extends EntitySearcher<OWLNamedIndividual>
      * @see com.github.owlcs.ontapi.jena.impl.OntGraphModelImpl#listIndividuals(OntModel, Set, ExtendedIterator)
      */
     protected ExtendedIterator<String> listIndividuals(OntModel model) {
-        Set<Triple> seen = new HashSet<>();
+        Set<Triple> seen = new OpenHashSet<>();
         PersonalityModel p = asPersonalityModel(model);
         Set<Node> system = getSystemResources(model);
         return model.getBaseGraph().find(Node.ANY, RDF.Nodes.type, Node.ANY).mapWith(t -> {
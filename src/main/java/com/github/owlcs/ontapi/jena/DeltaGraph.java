@@ -0,0 +1,306 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.jena;
+
+import com.github.owlcs.ontapi.jena.utils.Graphs;
+import com.github.owlcs.ontapi.jena.utils.Iter;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.mem.GraphMem;
+import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.shared.impl.PrefixMappingImpl;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.lang.ref.WeakReference;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A copy-on-write {@code Graph}: a delta overlay on top of a {@link #parent} graph.
+ * The parent is used only for reading, all modifications are recorded in
+ * two small in-memory graphs: {@link #additions} and {@link #deletions}.
+ * So the creation of this graph costs nothing,
+ * and the memory consumption grows only with the number of changes.
+ * The delta can be {@link #merge(Graph) merged} into some graph (usually into the parent itself)
+ * or {@link #reset() thrown away}.
+ * <p>
+ * The invariants are: the {@link #additions} graph contains only triples that are absent in the parent,
+ * and the {@link #deletions} graph contains only triples that are present in the parent.
+ * This makes the {@link #size()} cheap and the {@link #find(Triple)} distinct.
+ * <p>
+ * The parent is versioned: each its modification is counted by a listener,
+ * that is attached to the parent's event manager (and that does not prevent this graph from being collected).
+ * If the parent has been changed since this graph was created or last merged, the delta is {@link #isStale() stale}:
+ * the invariants no longer hold, so the reading operations switch to a slower mode,
+ * in which the content is still the current parent content plus the recorded changes, without duplicates,
+ * but a stale delta cannot be {@link #merge(Graph) merged}, since it is based on an outdated parent state.
+ * Note that the parent changes are not visible for any caches built over this graph.
+ * If the parent is known to be never changed (except through the {@link #merge(Graph) merge} of this delta),
+ * the tracking can be turned off, then nothing is attached to the parent,
+ * which is important for a long-lived parent that is shared between many deltas.
+ * <p>
+ * The {@link PrefixMapping} of this graph is a copy of the parent's one, that is made at the time of creation.
+ *
+ * @see org.apache.jena.graph.compose.Delta
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class DeltaGraph extends GraphBase {
+    protected final Graph parent;
+    protected final Graph additions;
+    protected final Graph deletions;
+    protected final AtomicLong parentVersion = new AtomicLong();
+    protected final ParentListener listener;
+    protected volatile long baseVersion;
+
+    /**
+     * Creates a fresh copy-on-write graph for the given parent.
+     *
+     * @param parent {@link Graph}, not {@code null}
+     */
+    public DeltaGraph(Graph parent) {
+        this(parent, true);
+    }
+
+    /**
+     * Creates a fresh copy-on-write graph for the given parent.
+     *
+     * @param parent       {@link Graph}, not {@code null}
+     * @param trackChanges if {@code false} the parent modifications are not tracked,
+     *                     this is for a parent that is never changed by anyone else
+     */
+    public DeltaGraph(Graph parent, boolean trackChanges) {
+        this(parent, new GraphMem(), new GraphMem(), trackChanges);
+    }
+
+    protected DeltaGraph(Graph parent, Graph additions, Graph deletions, boolean trackChanges) {
+        this.parent = Objects.requireNonNull(parent, "Null parent graph");
+        this.additions = Objects.requireNonNull(additions);
+        this.deletions = Objects.requireNonNull(deletions);
+        if (trackChanges) {
+            this.listener = new ParentListener(this);
+            // wrappers (e.g. RWLockedGraph) may not fire events, so listen to the innermost graph
+            Graphs.getBase(parent).getEventManager().register(listener);
+        } else {
+            this.listener = null;
+        }
+    }
+
+    /**
+     * Answers the parent (read-only for this graph) {@code Graph}.
+     *
+     * @return {@link Graph}
+     */
+    public Graph getParent() {
+        return parent;
+    }
+
+    /**
+     * Answers the {@code Graph}, that contains all the triples, added by this delta.
+     *
+     * @return {@link Graph}
+     */
+    public Graph getAdditions() {
+        return additions;
+    }
+
+    /**
+     * Answers the {@code Graph}, that contains all the parent triples, deleted by this delta.
+     *
+     * @return {@link Graph}
+     */
+    public Graph getDeletions() {
+        return deletions;
+    }
+
+    /**
+     * Answers {@code true} if this graph has no changes relative to the parent.
+     *
+     * @return boolean
+     */
+    public boolean hasNoChanges() {
+        return additions.isEmpty() && deletions.isEmpty();
+    }
+
+    /**
+     * Answers the number of the parent modifications since this graph has been created.
+     * Always {@code 0} if the changes are not tracked.
+     *
+     * @return long
+     */
+    public long getParentVersion() {
+        return parentVersion.get();
+    }
+
+    /**
+     * Answers {@code true} if the parent has been modified
+     * since this graph was created or last {@link #merge(Graph) merged} or {@link #reset() reset}.
+     *
+     * @return boolean
+     */
+    public boolean isStale() {
+        return baseVersion != parentVersion.get();
+    }
+
+    /**
+     * Applies all recorded changes to the given graph and then {@link #reset() resets} this delta.
+     * If the target is the parent (or a graph, that writes into the parent, e.g. a {@link UnionGraph}),
+     * then the content of this graph stays the same.
+     * Note that the target modification is performed through the {@link Graph} interface,
+     * and, therefore, all its listeners will be notified.
+     *
+     * @param target {@link Graph}, not {@code null}
+     * @throws OntJenaException.IllegalState if this delta is {@link #isStale() stale}
+     */
+    public void merge(Graph target) {
+        Objects.requireNonNull(target, "Null target graph");
+        checkOpen();
+        if (isStale()) {
+            throw new OntJenaException.IllegalState("The parent graph has been changed since the delta was started");
+        }
+        GraphUtil.deleteFrom(target, deletions);
+        GraphUtil.addInto(target, additions);
+        reset();
+    }
+
+    /**
+     * Discards all changes, after this operation the graph content is the same as the parent content,
+     * and the delta is no longer {@link #isStale() stale}.
+     * Note: no events are fired.
+     */
+    public void reset() {
+        additions.clear();
+        deletions.clear();
+        baseVersion = parentVersion.get();
+    }
+
+    @Override
+    public void performAdd(Triple t) {
+        if (deletions.contains(t)) {
+            deletions.delete(t);
+            if (!isStale() || parent.contains(t)) {
+                return;
+            }
+        }
+        if (!parent.contains(t)) {
+            additions.add(t);
+        }
+    }
+
+    @Override
+    public void performDelete(Triple t) {
+        if (additions.contains(t)) {
+            additions.delete(t);
+            if (!isStale() || !parent.contains(t)) {
+                return;
+            }
+        }
+        if (parent.contains(t)) {
+            deletions.add(t);
+        }
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple t) {
+        ExtendedIterator<Triple> res = parent.find(t);
+        if (!deletions.isEmpty()) {
+            res = res.filterDrop(deletions::contains);
+        }
+        if (additions.isEmpty()) {
+            return res;
+        }
+        // a stale delta may contain the triples that have been added to the parent later
+        return res.andThen(isStale() ? additions.find(t).filterDrop(parent::contains) : additions.find(t));
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        if (!t.isConcrete()) {
+            return super.graphBaseContains(t);
+        }
+        if (additions.contains(t)) {
+            return true;
+        }
+        return !deletions.contains(t) && parent.contains(t);
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        if (isStale()) {
+            return parent.size() - (int) Iter.count(deletions.find().filterKeep(parent::contains))
+                    + (int) Iter.count(additions.find().filterDrop(parent::contains));
+        }
+        return parent.size() - deletions.size() + additions.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return additions.isEmpty() && (deletions.isEmpty() ? parent.isEmpty() : size() == 0);
+    }
+
+    @Override
+    protected PrefixMapping createPrefixMapping() {
+        return new PrefixMappingImpl().setNsPrefixes(parent.getPrefixMapping());
+    }
+
+    @Override
+    public void close() {
+        if (listener != null) {
+            Graphs.getBase(parent).getEventManager().unregister(listener);
+        }
+        additions.close();
+        deletions.close();
+        super.close();
+    }
+
+    /**
+     * A listener to count the parent modifications.
+     * It holds only a weak reference to the delta, and unregisters itself when the delta is collected.
+     */
+    protected static class ParentListener extends GraphListenerBase {
+        private final WeakReference<DeltaGraph> delta;
+
+        protected ParentListener(DeltaGraph delta) {
+            this.delta = new WeakReference<>(delta);
+        }
+
+        protected void increment(Graph source) {
+            DeltaGraph res = delta.get();
+            if (res != null) {
+                res.parentVersion.incrementAndGet();
+            } else if (source != null) {
+                source.getEventManager().unregister(this);
+            }
+        }
+
+        @Override
+        protected void addEvent(Triple t) {
+            increment(null);
+        }
+
+        @Override
+        protected void deleteEvent(Triple t) {
+            increment(null);
+        }
+
+        @Override
+        public void notifyEvent(Graph source, Object value) {
+            increment(source);
+        }
+    }
+}
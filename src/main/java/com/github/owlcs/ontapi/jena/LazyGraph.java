@@ -0,0 +1,142 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.owlcs.ontapi.jena;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.util.Objects;
+import java.util.concurrent.*;
+
+/**
+ * A read-only placeholder {@code Graph}, whose content is being loaded asynchronously.
+ * All read operations are delegated to the loaded graph,
+ * the first of them waits until the loading is complete.
+ * The graph is intended to be used as a sub-graph of the {@link UnionGraph},
+ * in order to postpone the import's document parsing while the root document is being processed,
+ * see {@link com.github.owlcs.ontapi.config.LoadSettings#isLoadImportsLazily()}.
+ *
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class LazyGraph extends GraphBase {
+    protected final String name;
+    protected final Future<Graph> future;
+    protected volatile Graph graph;
+
+    /**
+     * Creates a placeholder.
+     *
+     * @param name   {@code String}, the name of graph, usually the ontology IRI, not {@code null}
+     * @param future {@link Future} to get the graph, not {@code null}
+     */
+    public LazyGraph(String name, Future<Graph> future) {
+        this.name = Objects.requireNonNull(name);
+        this.future = Objects.requireNonNull(future);
+    }
+
+    /**
+     * Creates a placeholder submitting the loading task into the given executor.
+     *
+     * @param name     {@code String}, the name of graph, usually the ontology IRI, not {@code null}
+     * @param loader   {@link Callable} to load the graph, not {@code null}
+     * @param executor {@link ExecutorService}, not {@code null}
+     * @return {@link LazyGraph}
+     */
+    public static LazyGraph submit(String name, Callable<Graph> loader, ExecutorService executor) {
+        return new LazyGraph(name, executor.submit(loader));
+    }
+
+    /**
+     * Answers the name of this placeholder.
+     *
+     * @return {@code String}
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Answers {@code true} if the loading is complete (either normally or exceptionally).
+     *
+     * @return boolean
+     */
+    public boolean isLoaded() {
+        return graph != null || future.isDone();
+    }
+
+    /**
+     * Returns the loaded graph, waiting if necessary.
+     *
+     * @return {@link Graph}
+     * @throws OntJenaException if the loading failed or has been interrupted
+     */
+    public Graph get() {
+        Graph res = graph;
+        if (res != null) {
+            return res;
+        }
+        try {
+            return graph = Objects.requireNonNull(future.get(), "Null graph");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OntJenaException("Interrupted while loading <" + name + ">", e);
+        } catch (ExecutionException | CancellationException e) {
+            throw new OntJenaException("Unable to load <" + name + ">", e.getCause() == null ? e : e.getCause());
+        }
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple t) {
+        return get().find(t);
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        return get().contains(t);
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return get().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return get().isEmpty();
+    }
+
+    @Override
+    public void close() {
+        if (!future.isDone()) {
+            future.cancel(true);
+        } else if (!future.isCancelled()) {
+            try {
+                get().close();
+            } catch (OntJenaException e) {
+                // the graph has not been loaded, nothing to close
+            }
+        }
+        super.close();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LazyGraph{%s, %s}", name, isLoaded() ? "loaded" : "loading");
+    }
+}
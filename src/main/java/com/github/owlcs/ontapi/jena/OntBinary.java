@@ -0,0 +1,539 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.jena;
+
+import org.apache.jena.atlas.web.ContentType;
+import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.rdf.model.impl.Util;
+import org.apache.jena.riot.*;
+import org.apache.jena.riot.system.FactoryRDF;
+import org.apache.jena.riot.system.ParserProfile;
+import org.apache.jena.riot.system.PrefixMap;
+import org.apache.jena.riot.system.StreamRDF;
+import org.apache.jena.sparql.util.Context;
+import org.apache.jena.sys.JenaSystem;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A compact binary RDF syntax ({@code ONT-BINARY}), that is registered as a Jena {@link Lang}.
+ * <p>
+ * The stream consists of a header (a magic number, a version and prefixes) and a sequence of self-contained chunks.
+ * Each chunk holds up to {@link #CHUNK_SIZE} triples: a namespace dictionary, a term dictionary,
+ * where uris are encoded as a pair {@code (namespace index, local name)},
+ * and the triples themselves, as triples of term indexes.
+ * All integers are written as unsigned var-ints, all strings are UTF-8.
+ * Since the chunks are independent, they are encoded in parallel (using the {@link ForkJoinPool#commonPool()}),
+ * while the underlying graph is iterated only once and the chunks are written in the order of the iteration.
+ * The reader decodes chunks sequentially and passes the triples directly to the {@link StreamRDF},
+ * bypassing the IRI resolution, since all uris in the stream are expected to be absolute.
+ *
+ * @see com.github.owlcs.ontapi.OntFormat#ONT_BINARY
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class OntBinary {
+    public static final Lang LANG = LangBuilder.create("ONT-BINARY", "application/x-ont-binary")
+            .addFileExtensions("ontb").build();
+    public static final RDFFormat FORMAT = new RDFFormat(LANG);
+
+    /**
+     * The max number of triples in a chunk.
+     */
+    public static final int CHUNK_SIZE = 1 << 16;
+    protected static final byte[] MAGIC = new byte[]{'O', 'N', 'T', 'B'};
+    protected static final int VERSION = 1;
+    private static final int STRING_BUFFER_SIZE = 1 << 13;
+
+    protected static final int TERM_URI = 0;
+    protected static final int TERM_BLANK = 1;
+    protected static final int TERM_STRING = 2;
+    protected static final int TERM_LANG = 3;
+    protected static final int TERM_TYPED = 4;
+
+    static {
+        JenaSystem.init();
+        RDFLanguages.register(LANG);
+        RDFParserRegistry.registerLangTriples(LANG, (lang, profile) -> new Reader(profile));
+        RDFWriterRegistry.register(LANG, FORMAT);
+        RDFWriterRegistry.register(FORMAT, (WriterGraphRIOTFactory) f -> new Writer(ForkJoinPool.commonPool()));
+    }
+
+    /**
+     * Ensures the language is registered in the Jena system.
+     */
+    public static void init() {
+        // see the static block
+    }
+
+    /**
+     * Writes the graph into the output stream using the given executor to encode chunks.
+     *
+     * @param out      {@link OutputStream}, not {@code null}
+     * @param graph    {@link Graph}, not {@code null}
+     * @param prefixes {@code Map} of prefixes
+     * @param executor {@link Executor} to encode chunks
+     * @throws IOException if an I/O error occurs
+     */
+    public static void write(OutputStream out,
+                             Graph graph,
+                             Map<String, String> prefixes,
+                             Executor executor) throws IOException {
+        DataOutputStream res = new DataOutputStream(out instanceof BufferedOutputStream ? out : new BufferedOutputStream(out));
+        res.write(MAGIC);
+        res.writeByte(VERSION);
+        writeInt(res, prefixes.size());
+        for (Map.Entry<String, String> e : prefixes.entrySet()) {
+            writeString(res, e.getKey());
+            writeString(res, e.getValue());
+        }
+        int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism() : 1;
+        Deque<CompletableFuture<byte[]>> queue = new ArrayDeque<>();
+        ExtendedIterator<Triple> it = graph.find();
+        try {
+            while (it.hasNext()) {
+                Triple[] chunk = nextChunk(it);
+                if (parallelism <= 1) {
+                    res.write(encode(chunk));
+                    continue;
+                }
+                queue.add(CompletableFuture.supplyAsync(() -> encode(chunk), executor));
+                // the number of chunks in work is limited to save memory
+                while (queue.size() > 2 * parallelism) {
+                    res.write(join(queue.removeFirst()));
+                }
+            }
+            while (!queue.isEmpty()) {
+                res.write(join(queue.removeFirst()));
+            }
+        } finally {
+            it.close();
+        }
+        writeInt(res, 0);
+        res.flush();
+    }
+
+    /**
+     * Reads the stream and sends all triples to the {@code output}.
+     *
+     * @param in      {@link InputStream}, not {@code null}
+     * @param factory {@link FactoryRDF} to produce nodes
+     * @param output  {@link StreamRDF} to receive prefixes and triples
+     * @throws IOException   if an I/O error occurs
+     * @throws RiotException if the stream is not a valid {@code ONT-BINARY}
+     */
+    public static void read(InputStream in, FactoryRDF factory, StreamRDF output) throws IOException {
+        DataInputStream data = new DataInputStream(in instanceof BufferedInputStream ? in : new BufferedInputStream(in));
+        byte[] magic = new byte[MAGIC.length];
+        data.readFully(magic);
+        if (!Arrays.equals(MAGIC, magic)) {
+            throw new RiotException("Not an " + LANG.getLabel() + " stream");
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new RiotException("Unsupported " + LANG.getLabel() + " version: " + version);
+        }
+        for (int i = readInt(data); i > 0; i--) {
+            output.prefix(readString(data), readString(data));
+        }
+        int size;
+        while ((size = readInt(data)) != 0) {
+            if (size < 0 || size > CHUNK_SIZE) {
+                throw new RiotException("Wrong number of triples in a chunk: " + size);
+            }
+            decode(data, size, factory, output);
+        }
+    }
+
+    private static Triple[] nextChunk(Iterator<Triple> it) {
+        List<Triple> res = new ArrayList<>();
+        while (it.hasNext() && res.size() < CHUNK_SIZE) {
+            res.add(it.next());
+        }
+        return res.toArray(new Triple[0]);
+    }
+
+    private static byte[] join(CompletableFuture<byte[]> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Encodes the chunk: the number of triples, the size of the body in bytes, and the body itself.
+     *
+     * @param triples array of {@link Triple}s
+     * @return {@code byte[]}
+     */
+    protected static byte[] encode(Triple[] triples) {
+        Map<String, Integer> namespaces = new LinkedHashMap<>();
+        Map<Node, Integer> terms = new LinkedHashMap<>();
+        int[] ids = new int[triples.length * 3];
+        for (int i = 0; i < triples.length; i++) {
+            Triple t = triples[i];
+            ids[3 * i] = id(terms, namespaces, t.getSubject());
+            ids[3 * i + 1] = id(terms, namespaces, t.getPredicate());
+            ids[3 * i + 2] = id(terms, namespaces, t.getObject());
+        }
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(body);
+            writeInt(out, namespaces.size());
+            for (String ns : namespaces.keySet()) {
+                writeString(out, ns);
+            }
+            writeInt(out, terms.size());
+            for (Node n : terms.keySet()) {
+                writeTerm(out, namespaces, n);
+            }
+            for (int id : ids) {
+                writeInt(out, id);
+            }
+            out.flush();
+            ByteArrayOutputStream res = new ByteArrayOutputStream(body.size() + 10);
+            DataOutputStream header = new DataOutputStream(res);
+            writeInt(header, triples.length);
+            writeInt(header, body.size());
+            header.flush();
+            body.writeTo(res);
+            return res.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int id(Map<Node, Integer> terms, Map<String, Integer> namespaces, Node node) {
+        Integer res = terms.get(node);
+        if (res != null) {
+            return res;
+        }
+        if (node.isURI()) {
+            namespaces.computeIfAbsent(namespace(node.getURI()), k -> namespaces.size());
+        } else if (node.isLiteral() && isTyped(node)) {
+            namespaces.computeIfAbsent(namespace(node.getLiteralDatatypeURI()), k -> namespaces.size());
+        } else if (!node.isLiteral() && !node.isBlank()) {
+            throw new RiotException("Unsupported node: " + node);
+        }
+        res = terms.size();
+        terms.put(node, res);
+        return res;
+    }
+
+    private static boolean isTyped(Node literal) {
+        return literal.getLiteralLanguage().isEmpty()
+                && !XSDDatatype.XSDstring.getURI().equals(literal.getLiteralDatatypeURI());
+    }
+
+    private static String namespace(String uri) {
+        return uri.substring(0, Util.splitNamespaceXML(uri));
+    }
+
+    private static void writeTerm(DataOutputStream out, Map<String, Integer> namespaces, Node n) throws IOException {
+        if (n.isURI()) {
+            out.writeByte(TERM_URI);
+            writeURI(out, namespaces, n.getURI());
+            return;
+        }
+        if (n.isBlank()) {
+            out.writeByte(TERM_BLANK);
+            writeString(out, n.getBlankNodeLabel());
+            return;
+        }
+        String lang = n.getLiteralLanguage();
+        if (!lang.isEmpty()) {
+            out.writeByte(TERM_LANG);
+            writeString(out, n.getLiteralLexicalForm());
+            writeString(out, lang);
+            return;
+        }
+        if (isTyped(n)) {
+            out.writeByte(TERM_TYPED);
+            writeString(out, n.getLiteralLexicalForm());
+            writeURI(out, namespaces, n.getLiteralDatatypeURI());
+            return;
+        }
+        out.writeByte(TERM_STRING);
+        writeString(out, n.getLiteralLexicalForm());
+    }
+
+    private static void writeURI(DataOutputStream out, Map<String, Integer> namespaces, String uri) throws IOException {
+        String ns = namespace(uri);
+        writeInt(out, namespaces.get(ns));
+        writeString(out, uri.substring(ns.length()));
+    }
+
+    /**
+     * Decodes a chunk.
+     *
+     * @param in      {@link DataInputStream}
+     * @param size    int, the number of triples, positive, not greater than {@link #CHUNK_SIZE}
+     * @param factory {@link FactoryRDF}
+     * @param output  {@link StreamRDF}
+     * @throws IOException   if an I/O error occurs
+     * @throws RiotException if the chunk is corrupted
+     */
+    protected static void decode(DataInputStream in, int size, FactoryRDF factory, StreamRDF output) throws IOException {
+        // the body size allows to skip or split chunks without decoding, here it is used to validate the chunk
+        int length = readInt(in);
+        if (length < 0) {
+            throw new RiotException("Wrong chunk body size: " + length);
+        }
+        BoundedInputStream bounded = new BoundedInputStream(in, length);
+        DataInputStream body = new DataInputStream(bounded);
+        try {
+            // each term and each namespace is used at least once in the chunk
+            String[] namespaces = new String[readCount(body, 3 * size, "namespaces")];
+            for (int i = 0; i < namespaces.length; i++) {
+                namespaces[i] = readString(body);
+            }
+            Node[] terms = new Node[readCount(body, 3 * size, "terms")];
+            for (int i = 0; i < terms.length; i++) {
+                terms[i] = readTerm(body, namespaces, factory);
+            }
+            for (int i = 0; i < size; i++) {
+                Node s = get(terms, readInt(body));
+                Node p = get(terms, readInt(body));
+                Node o = get(terms, readInt(body));
+                output.triple(factory.createTriple(s, p, o));
+            }
+        } catch (EOFException e) {
+            if (bounded.remaining == 0) {
+                throw new RiotException("The chunk data exceeds the body size " + length, e);
+            }
+            throw e;
+        }
+        if (bounded.remaining != 0) {
+            throw new RiotException("The chunk data does not match the body size " + length);
+        }
+    }
+
+    private static int readCount(DataInputStream in, int max, String what) throws IOException {
+        int res = readInt(in);
+        if (res < 0 || res > max) {
+            throw new RiotException("Wrong number of " + what + " in a chunk: " + res);
+        }
+        return res;
+    }
+
+    private static <X> X get(X[] array, int index) {
+        if (index < 0 || index >= array.length) {
+            throw new RiotException("Wrong index " + index + ", the chunk table size is " + array.length);
+        }
+        return array[index];
+    }
+
+    private static Node readTerm(DataInputStream in, String[] namespaces, FactoryRDF factory) throws IOException {
+        int kind = in.readUnsignedByte();
+        switch (kind) {
+            case TERM_URI:
+                return factory.createURI(get(namespaces, readInt(in)) + readString(in));
+            case TERM_BLANK:
+                return factory.createBlankNode(readString(in));
+            case TERM_STRING:
+                return factory.createStringLiteral(readString(in));
+            case TERM_LANG:
+                return factory.createLangLiteral(readString(in), readString(in));
+            case TERM_TYPED:
+                String lex = readString(in);
+                String dt = get(namespaces, readInt(in)) + readString(in);
+                return factory.createTypedLiteral(lex, TypeMapper.getInstance().getSafeTypeByName(dt));
+            default:
+                throw new RiotException("Unknown term kind: " + kind);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = readInt(in);
+        if (length < 0) {
+            throw new RiotException("Wrong string length: " + length);
+        }
+        if (length <= STRING_BUFFER_SIZE) {
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        // a long string is read piece by piece, so a corrupted length does not cause a huge allocation
+        ByteArrayOutputStream res = new ByteArrayOutputStream(STRING_BUFFER_SIZE);
+        byte[] buffer = new byte[STRING_BUFFER_SIZE];
+        for (int rest = length; rest > 0; rest -= buffer.length) {
+            int n = Math.min(rest, buffer.length);
+            in.readFully(buffer, 0, n);
+            res.write(buffer, 0, n);
+        }
+        return new String(res.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void writeInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readInt(DataInputStream in) throws IOException {
+        int res = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            res |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return res;
+            }
+        }
+        throw new RiotException("Malformed var-int");
+    }
+
+    /**
+     * The {@link ReaderRIOT} implementation.
+     */
+    public static class Reader implements ReaderRIOT {
+        private ParserProfile profile;
+
+        public Reader(ParserProfile profile) {
+            this.profile = profile;
+        }
+
+        @Override
+        public void read(InputStream in, String baseURI, ContentType ct, StreamRDF output, Context context) {
+            output.start();
+            try {
+                OntBinary.read(in, profile.getFactorRDF(), output);
+            } catch (EOFException e) {
+                throw new RiotException("Unexpected end of " + LANG.getLabel() + " stream", e);
+            } catch (IOException e) {
+                throw new RiotException(e);
+            } finally {
+                output.finish();
+            }
+        }
+
+        @Override
+        public void read(java.io.Reader reader, String baseURI, ContentType ct, StreamRDF output, Context context) {
+            throw new RiotException(LANG.getLabel() + " is a binary syntax, can't read from a java.io.Reader");
+        }
+
+        @SuppressWarnings("deprecation")
+        @Override
+        public ParserProfile getParserProfile() {
+            return profile;
+        }
+
+        @SuppressWarnings("deprecation")
+        @Override
+        public void setParserProfile(ParserProfile profile) {
+            this.profile = profile;
+        }
+    }
+
+    /**
+     * An {@link InputStream}, that allows to read no more than the given number of bytes (i.e. a chunk body).
+     */
+    private static class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        private BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int res = super.read();
+            if (res >= 0) {
+                remaining--;
+            }
+            return res;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int res = super.read(b, off, (int) Math.min(len, remaining));
+            if (res > 0) {
+                remaining -= res;
+            }
+            return res;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long res = super.skip(Math.min(n, remaining));
+            remaining -= res;
+            return res;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+    }
+
+    /**
+     * The {@link WriterGraphRIOT} implementation.
+     */
+    public static class Writer implements WriterGraphRIOT {
+        private final Executor executor;
+
+        public Writer(Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+        }
+
+        @Override
+        public void write(OutputStream out, Graph graph, PrefixMap prefixMap, String baseURI, Context context) {
+            try {
+                OntBinary.write(out, graph, prefixMap == null ? Collections.emptyMap() : prefixMap.getMapping(), executor);
+            } catch (IOException e) {
+                throw new RiotException(e);
+            }
+        }
+
+        @Override
+        public void write(java.io.Writer out, Graph graph, PrefixMap prefixMap, String baseURI, Context context) {
+            throw new RiotException(LANG.getLabel() + " is a binary syntax, can't write to a java.io.Writer");
+        }
+
+        @Override
+        public Lang getLang() {
+            return LANG;
+        }
+    }
+}
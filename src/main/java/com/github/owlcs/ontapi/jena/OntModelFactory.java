@@ -15,6 +15,7 @@
 package com.github.owlcs.ontapi.jena;
 
 import com.github.owlcs.ontapi.jena.impl.OntGraphModelImpl;
+import com.github.owlcs.ontapi.jena.impl.conf.CanWrapMemo;
 import com.github.owlcs.ontapi.jena.impl.conf.OntModelConfig;
 import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
 import com.github.owlcs.ontapi.jena.model.OntModel;
@@ -109,4 +110,26 @@ public class OntModelFactory {
         return new OntGraphModelImpl(graph, personality);
     }
 
+    /**
+     * Creates an Ontology RDF Model wrapper around the given graph with given personalities,
+     * optionally with a {@link CanWrapMemo memo table} of node-view decisions.
+     * The memo speeds up repeated checks of the same nodes (e.g. class expressions),
+     * it is invalidated by graph listener when the model changes.
+     *
+     * @param graph       {@link Graph}
+     * @param personality {@link OntPersonality}
+     * @param memo        boolean, if {@code true} the model will memoize {@code canWrap} decisions
+     * @return {@link OntModel}
+     * @since 2.1.1
+     */
+    public static OntModel createModel(Graph graph, OntPersonality personality, boolean memo) {
+        if (!memo) {
+            return createModel(graph, personality);
+        }
+        CanWrapMemo res = new CanWrapMemo();
+        OntGraphModelImpl m = new OntGraphModelImpl(graph, res.wrap(personality));
+        res.attach(m);
+        return m;
+    }
+
 }
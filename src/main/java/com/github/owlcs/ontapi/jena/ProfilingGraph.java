@@ -0,0 +1,352 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.owlcs.ontapi.jena;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.WrappedGraph;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * A {@code Graph} wrapper that profiles all read operations ({@code find} and {@code contains}).
+ * For each pattern (i.e. which of S/P/O are bound, plus the predicate IRI if it is bound)
+ * it counts the number of calls, the number of returned triples and the elapsed time.
+ * Optionally, the calls are attributed to the calling component
+ * (by default a {@link com.github.owlcs.ontapi.jena.impl.conf.ObjectFactory} or an ONT-API searcher/translator),
+ * that is found by the stack walking.
+ * This is a diagnostic tool, it is slow (especially with the attribution) and should not be used in production.
+ * <p>
+ * To profile an {@link com.github.owlcs.ontapi.jena.model.OntModel} just pass the wrapper
+ * into the {@link OntModelFactory#createModel(Graph)} method,
+ * to profile an {@link com.github.owlcs.ontapi.Ontology}
+ * override the {@link com.github.owlcs.ontapi.OntologyCreator#createGraph()} method.
+ * The iterators returned by the {@code find} method add the time spent in their methods,
+ * the time is recorded when an iterator is exhausted or closed.
+ *
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class ProfilingGraph extends WrappedGraph {
+    /**
+     * The default filter to select the calling component by its class name.
+     */
+    public static final Predicate<String> DEFAULT_CALLERS = x -> x.startsWith("com.github.owlcs.ontapi.")
+            && !x.startsWith(ProfilingGraph.class.getName())
+            && (x.contains(".searchers.") || x.contains(".impl.conf.")
+            || x.contains("Factory") || x.contains("Translator"));
+    protected static final String UNKNOWN_CALLER = "<other>";
+
+    protected final Map<Key, Entry> profile = new ConcurrentHashMap<>();
+    protected final Predicate<String> callers;
+
+    /**
+     * Creates a profiling graph with the calls attribution.
+     *
+     * @param base {@link Graph} to wrap, not {@code null}
+     */
+    public ProfilingGraph(Graph base) {
+        this(base, DEFAULT_CALLERS);
+    }
+
+    /**
+     * Creates a profiling graph.
+     *
+     * @param base    {@link Graph} to wrap, not {@code null}
+     * @param callers {@link Predicate} to select the calling component by its class name from the stack;
+     *                {@code null} to disable attribution
+     */
+    public ProfilingGraph(Graph base, Predicate<String> callers) {
+        super(Objects.requireNonNull(base, "Null graph"));
+        this.callers = callers;
+    }
+
+    @Override
+    public ExtendedIterator<Triple> find(Triple t) {
+        return find(t.getSubject(), t.getPredicate(), t.getObject());
+    }
+
+    @Override
+    public ExtendedIterator<Triple> find(Node s, Node p, Node o) {
+        Entry entry = entry("find", s, p, o);
+        long start = System.nanoTime();
+        ExtendedIterator<Triple> res = super.find(s, p, o);
+        entry.nanos.add(System.nanoTime() - start);
+        return new ProfilingIterator(res, entry);
+    }
+
+    @Override
+    public boolean contains(Triple t) {
+        return contains(t.getSubject(), t.getPredicate(), t.getObject());
+    }
+
+    @Override
+    public boolean contains(Node s, Node p, Node o) {
+        Entry entry = entry("contains", s, p, o);
+        long start = System.nanoTime();
+        boolean res = super.contains(s, p, o);
+        entry.nanos.add(System.nanoTime() - start);
+        if (res) {
+            entry.results.increment();
+        }
+        return res;
+    }
+
+    protected Entry entry(String operation, Node s, Node p, Node o) {
+        Entry res = profile.computeIfAbsent(new Key(operation, pattern(s, p, o), caller()), Entry::new);
+        res.calls.increment();
+        return res;
+    }
+
+    /**
+     * Answers the pattern string, e.g. {@code S <http://www.w3.org/1999/02/22-rdf-syntax-ns#type> ?},
+     * where {@code S} and {@code O} mean a concrete subject and object, {@code ?} means a wildcard.
+     *
+     * @param s {@link Node}
+     * @param p {@link Node}
+     * @param o {@link Node}
+     * @return {@code String}
+     */
+    public static String pattern(Node s, Node p, Node o) {
+        return (isAny(s) ? "?" : "S") + " " +
+                (isAny(p) ? "?" : p.isURI() ? "<" + p.getURI() + ">" : "P") + " " +
+                (isAny(o) ? "?" : o.isLiteral() ? "L" : "O");
+    }
+
+    private static boolean isAny(Node n) {
+        return n == null || Node.ANY.equals(n) || n.isVariable();
+    }
+
+    /**
+     * Finds the calling component in the current stack.
+     *
+     * @return {@code String}, the class name
+     */
+    protected String caller() {
+        if (callers == null) {
+            return UNKNOWN_CALLER;
+        }
+        for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
+            String res = e.getClassName();
+            if (callers.test(res)) {
+                int i = res.indexOf('$');
+                return i > 0 ? res.substring(0, i) : res;
+            }
+        }
+        return UNKNOWN_CALLER;
+    }
+
+    /**
+     * Returns the collected profile sorted by the number of calls in the descending order.
+     *
+     * @return {@code List} of {@link Entry}s
+     */
+    public List<Entry> getProfile() {
+        return profile.values().stream()
+                .sorted(Comparator.comparingLong(Entry::getCalls).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the profile aggregated by patterns (i.e. without attribution to callers),
+     * sorted by the number of calls in the descending order.
+     *
+     * @return {@code Map} with the operation and the pattern as a key and the total number of calls as a value
+     */
+    public Map<String, Long> getPatterns() {
+        Map<String, Long> res = profile.values().stream()
+                .collect(Collectors.groupingBy(x -> x.key.operation + " " + x.key.pattern,
+                        Collectors.summingLong(Entry::getCalls)));
+        return res.entrySet().stream().sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * Discards all collected data.
+     */
+    public void reset() {
+        profile.clear();
+    }
+
+    /**
+     * Returns the human-readable report: one line per entry.
+     *
+     * @return {@code String}
+     */
+    public String report() {
+        return getProfile().stream().map(Entry::toString).collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * A profile key: operation + pattern + caller.
+     */
+    protected static class Key {
+        protected final String operation;
+        protected final String pattern;
+        protected final String caller;
+
+        protected Key(String operation, String pattern, String caller) {
+            this.operation = operation;
+            this.pattern = pattern;
+            this.caller = caller;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return operation.equals(key.operation) && pattern.equals(key.pattern) && caller.equals(key.caller);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, pattern, caller);
+        }
+    }
+
+    /**
+     * A profile entry.
+     */
+    public static class Entry {
+        protected final Key key;
+        protected final LongAdder calls = new LongAdder();
+        protected final LongAdder results = new LongAdder();
+        protected final LongAdder nanos = new LongAdder();
+
+        protected Entry(Key key) {
+            this.key = key;
+        }
+
+        /**
+         * Answers the operation name: either {@code find} or {@code contains}.
+         *
+         * @return {@code String}
+         */
+        public String getOperation() {
+            return key.operation;
+        }
+
+        /**
+         * Answers the pattern.
+         *
+         * @return {@code String}
+         * @see #pattern(Node, Node, Node)
+         */
+        public String getPattern() {
+            return key.pattern;
+        }
+
+        /**
+         * Answers the class name of the calling component.
+         *
+         * @return {@code String}
+         */
+        public String getCaller() {
+            return key.caller;
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        /**
+         * Answers the total number of found triples (for {@code contains} - the number of positive answers).
+         *
+         * @return long
+         */
+        public long getResults() {
+            return results.sum();
+        }
+
+        public long getNanos() {
+            return nanos.sum();
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ENGLISH, "%-8s %-70s calls=%-8d results=%-8d time=%.3fms %s",
+                    getOperation(), getPattern(), getCalls(), getResults(), getNanos() / 1_000_000.0, getCaller());
+        }
+    }
+
+    /**
+     * An iterator that counts the returned triples and accumulates the time spent in its methods.
+     */
+    protected static class ProfilingIterator extends NiceIterator<Triple> {
+        protected final ExtendedIterator<Triple> base;
+        protected final Entry entry;
+        protected long nanos;
+        protected boolean done;
+
+        protected ProfilingIterator(ExtendedIterator<Triple> base, Entry entry) {
+            this.base = base;
+            this.entry = entry;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (done) {
+                return false;
+            }
+            long start = System.nanoTime();
+            boolean res = base.hasNext();
+            nanos += System.nanoTime() - start;
+            if (!res) {
+                finish();
+            }
+            return res;
+        }
+
+        @Override
+        public Triple next() {
+            long start = System.nanoTime();
+            try {
+                Triple res = base.next();
+                entry.results.increment();
+                return res;
+            } finally {
+                nanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public void remove() {
+            base.remove();
+        }
+
+        @Override
+        public void close() {
+            base.close();
+            finish();
+        }
+
+        protected void finish() {
+            if (done) {
+                return;
+            }
+            done = true;
+            entry.nanos.add(nanos);
+        }
+    }
+}
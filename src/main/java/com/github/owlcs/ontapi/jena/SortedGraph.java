@@ -0,0 +1,454 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.jena;
+
+import com.github.owlcs.ontapi.jena.utils.Iter;
+import org.apache.jena.graph.Capabilities;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.graph.impl.AllCapabilities;
+import org.apache.jena.graph.impl.GraphBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.util.iterator.NiceIterator;
+
+import java.util.*;
+
+/**
+ * An in-memory {@code Graph} with ordered indexes.
+ * Unlike the {@link org.apache.jena.mem.GraphMem}, which has only hash indexes,
+ * this graph keeps three sorted indexes ({@code SPO}, {@code POS} and {@code OSP}),
+ * each of them is a tree of tree-maps ordered by {@link #NODE_COMPARATOR}.
+ * So the iteration is always deterministic, and range and prefix scans require no additional sorting:
+ * <ul>
+ * <li>{@link #find(Triple)} returns triples in the order of the index used to answer the pattern:
+ * {@code SPO} if the subject is concrete or the pattern is {@code ANY ANY ANY},
+ * {@code POS} if the subject is {@code ANY} and the predicate is concrete,
+ * {@code OSP} if only the object is concrete</li>
+ * <li>{@link #listSubjects(String)} lists URI subjects with the given prefix</li>
+ * <li>{@link #findRange(Node, Node)} lists all triples within the range of subjects</li>
+ * <li>{@link #findAfter(Triple)} lists all triples that follow the given one in {@code SPO} order,
+ * which allows stable cursor-based paging without a full sort</li>
+ * </ul>
+ * The add, delete and contains operations are {@code O(log n)}, which is slower than {@code GraphMem} hashing,
+ * and each triple is referenced three times.
+ * Literals are compared as terms (i.e. {@code "1"^^xsd:int} and {@code "01"^^xsd:int} are different objects),
+ * which is the same as the RDF 1.1 term equality.
+ * Like the {@code GraphMem}, this graph is not thread-safe,
+ * for concurrent access it should be wrapped, e.g. with the {@link RWLockedGraph}.
+ * <p>
+ * To use this graph as a storage for {@link com.github.owlcs.ontapi.Ontology ontologies},
+ * the method {@link com.github.owlcs.ontapi.OntologyCreator#createGraph()} should be overridden.
+ *
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class SortedGraph extends GraphBase {
+    /**
+     * The total order of RDF terms:
+     * URIs first, then blank nodes, then literals, then everything else (e.g. variables);
+     * URIs are compared as strings, blank nodes by their labels,
+     * literals by lexical form, then by datatype URI, then by language tag.
+     */
+    public static final Comparator<Node> NODE_COMPARATOR = SortedGraph::compare;
+    /**
+     * The {@code SPO} order of triples.
+     */
+    public static final Comparator<Triple> TRIPLE_COMPARATOR = Comparator.comparing(Triple::getSubject, NODE_COMPARATOR)
+            .thenComparing(Triple::getPredicate, NODE_COMPARATOR)
+            .thenComparing(Triple::getObject, NODE_COMPARATOR);
+
+    protected final Index spo = new Index(Order.SPO);
+    protected final Index pos = new Index(Order.POS);
+    protected final Index osp = new Index(Order.OSP);
+    protected int size;
+
+    /**
+     * Compares two nodes.
+     *
+     * @param left  {@link Node}
+     * @param right {@link Node}
+     * @return int
+     * @see #NODE_COMPARATOR
+     */
+    public static int compare(Node left, Node right) {
+        if (left == right) return 0;
+        int res = Integer.compare(kind(left), kind(right));
+        if (res != 0) return res;
+        if (left.isURI()) {
+            return left.getURI().compareTo(right.getURI());
+        }
+        if (left.isBlank()) {
+            return left.getBlankNodeLabel().compareTo(right.getBlankNodeLabel());
+        }
+        if (left.isLiteral()) {
+            res = left.getLiteralLexicalForm().compareTo(right.getLiteralLexicalForm());
+            if (res != 0) return res;
+            res = left.getLiteralDatatypeURI().compareTo(right.getLiteralDatatypeURI());
+            if (res != 0) return res;
+            return left.getLiteralLanguage().compareTo(right.getLiteralLanguage());
+        }
+        return left.toString().compareTo(right.toString());
+    }
+
+    private static int kind(Node n) {
+        if (n.isURI()) return 0;
+        if (n.isBlank()) return 1;
+        if (n.isLiteral()) return 2;
+        return 3;
+    }
+
+    @Override
+    public void performAdd(Triple t) {
+        if (!spo.add(t)) return;
+        pos.add(t);
+        osp.add(t);
+        size++;
+    }
+
+    @Override
+    public void performDelete(Triple t) {
+        if (!spo.delete(t)) return;
+        pos.delete(t);
+        osp.delete(t);
+        size--;
+    }
+
+    @Override
+    protected ExtendedIterator<Triple> graphBaseFind(Triple t) {
+        Node s = t.getSubject();
+        Node p = t.getPredicate();
+        Node o = t.getObject();
+        if (s.isConcrete()) {
+            if (!p.isConcrete() && o.isConcrete()) {
+                return osp.find(o, s, p);
+            }
+            return spo.find(s, p, o);
+        }
+        if (p.isConcrete()) {
+            return pos.find(p, o, s);
+        }
+        if (o.isConcrete()) {
+            return osp.find(o, s, p);
+        }
+        return spo.find(s, p, o);
+    }
+
+    @Override
+    protected boolean graphBaseContains(Triple t) {
+        if (!t.isConcrete()) {
+            return super.graphBaseContains(t);
+        }
+        return spo.contains(t);
+    }
+
+    @Override
+    protected int graphBaseSize() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear() {
+        checkOpen();
+        spo.clear();
+        pos.clear();
+        osp.clear();
+        size = 0;
+        getEventManager().notifyEvent(this, GraphEvents.removeAll);
+    }
+
+    @Override
+    public Capabilities getCapabilities() {
+        if (capabilities == null) {
+            capabilities = new AllCapabilities() {
+                @Override
+                public boolean iteratorRemoveAllowed() {
+                    return false;
+                }
+
+                @Override
+                public boolean handlesLiteralTyping() {
+                    return false;
+                }
+            };
+        }
+        return capabilities;
+    }
+
+    /**
+     * Lists all subjects in the natural ({@link #NODE_COMPARATOR}) order.
+     *
+     * @return {@link ExtendedIterator} of subject {@link Node}s
+     */
+    public ExtendedIterator<Node> listSubjects() {
+        checkOpen();
+        return Iter.create(spo.map.keySet().iterator());
+    }
+
+    /**
+     * Lists all URI subjects, which start with the given prefix, in the natural order.
+     * This is a range scan, it does not touch the other subjects.
+     *
+     * @param prefix String, not {@code null}
+     * @return {@link ExtendedIterator} of URI {@link Node}s
+     */
+    public ExtendedIterator<Node> listSubjects(String prefix) {
+        checkOpen();
+        Objects.requireNonNull(prefix);
+        Iterator<Node> it = spo.map.tailMap(NodeFactory.createURI(prefix), true)
+                .keySet().iterator();
+        return new NiceIterator<Node>() {
+            private Node next;
+
+            @Override
+            public boolean hasNext() {
+                if (next != null) return true;
+                if (!it.hasNext()) return false;
+                Node n = it.next();
+                if (!n.isURI() || !n.getURI().startsWith(prefix)) return false;
+                next = n;
+                return true;
+            }
+
+            @Override
+            public Node next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                Node res = next;
+                next = null;
+                return res;
+            }
+        };
+    }
+
+    /**
+     * Lists all triples whose subjects are in the given range, in {@code SPO} order.
+     *
+     * @param from {@link Node} the lower subject bound (inclusive), or {@code null} for unbounded
+     * @param to   {@link Node} the upper subject bound (exclusive), or {@code null} for unbounded
+     * @return {@link ExtendedIterator} of {@link Triple}s
+     */
+    public ExtendedIterator<Triple> findRange(Node from, Node to) {
+        checkOpen();
+        NavigableMap<Node, NavigableMap<Node, NavigableSet<Node>>> res = spo.map;
+        if (from != null) {
+            res = res.tailMap(from, true);
+        }
+        if (to != null) {
+            res = res.headMap(to, false);
+        }
+        return spo.list(res);
+    }
+
+    /**
+     * Lists all triples that are strictly greater than the given one in {@code SPO} order.
+     * The given triple may be absent in the graph.
+     * This allows paging with a cursor: the last triple of the previous page is the cursor for the next.
+     *
+     * @param cursor {@link Triple} concrete triple, or {@code null} to start from the beginning
+     * @return {@link ExtendedIterator} of {@link Triple}s
+     * @see #TRIPLE_COMPARATOR
+     */
+    public ExtendedIterator<Triple> findAfter(Triple cursor) {
+        checkOpen();
+        if (cursor == null) {
+            return spo.list(spo.map);
+        }
+        Node s = cursor.getSubject();
+        Node p = cursor.getPredicate();
+        Node o = cursor.getObject();
+        ExtendedIterator<Triple> res = NiceIterator.emptyIterator();
+        NavigableMap<Node, NavigableSet<Node>> predicates = spo.map.get(s);
+        if (predicates != null) {
+            NavigableSet<Node> objects = predicates.get(p);
+            if (objects != null) {
+                res = Iter.create(objects.tailSet(o, false).iterator()).mapWith(x -> Triple.create(s, p, x));
+            }
+            res = res.andThen(Iter.flatMap(Iter.create(predicates.tailMap(p, false).entrySet().iterator()),
+                    e -> Iter.create(e.getValue().iterator()).mapWith(x -> Triple.create(s, e.getKey(), x))));
+        }
+        return res.andThen(spo.list(spo.map.tailMap(s, false)));
+    }
+
+    /**
+     * The order of the triple components in an index.
+     */
+    protected enum Order {
+        SPO {
+            @Override
+            Node a(Triple t) {
+                return t.getSubject();
+            }
+
+            @Override
+            Node b(Triple t) {
+                return t.getPredicate();
+            }
+
+            @Override
+            Node c(Triple t) {
+                return t.getObject();
+            }
+
+            @Override
+            Triple triple(Node a, Node b, Node c) {
+                return Triple.create(a, b, c);
+            }
+        },
+        POS {
+            @Override
+            Node a(Triple t) {
+                return t.getPredicate();
+            }
+
+            @Override
+            Node b(Triple t) {
+                return t.getObject();
+            }
+
+            @Override
+            Node c(Triple t) {
+                return t.getSubject();
+            }
+
+            @Override
+            Triple triple(Node a, Node b, Node c) {
+                return Triple.create(c, a, b);
+            }
+        },
+        OSP {
+            @Override
+            Node a(Triple t) {
+                return t.getObject();
+            }
+
+            @Override
+            Node b(Triple t) {
+                return t.getSubject();
+            }
+
+            @Override
+            Node c(Triple t) {
+                return t.getPredicate();
+            }
+
+            @Override
+            Triple triple(Node a, Node b, Node c) {
+                return Triple.create(b, c, a);
+            }
+        },
+        ;
+
+        abstract Node a(Triple t);
+
+        abstract Node b(Triple t);
+
+        abstract Node c(Triple t);
+
+        abstract Triple triple(Node a, Node b, Node c);
+    }
+
+    /**
+     * A sorted three-level index: {@code a -> b -> {c}}.
+     */
+    protected static class Index {
+        protected final Order order;
+        protected final NavigableMap<Node, NavigableMap<Node, NavigableSet<Node>>> map = new TreeMap<>(NODE_COMPARATOR);
+
+        protected Index(Order order) {
+            this.order = order;
+        }
+
+        protected boolean add(Triple t) {
+            return map.computeIfAbsent(order.a(t), x -> new TreeMap<>(NODE_COMPARATOR))
+                    .computeIfAbsent(order.b(t), x -> new TreeSet<>(NODE_COMPARATOR))
+                    .add(order.c(t));
+        }
+
+        protected boolean delete(Triple t) {
+            Node a = order.a(t);
+            NavigableMap<Node, NavigableSet<Node>> second = map.get(a);
+            if (second == null) return false;
+            Node b = order.b(t);
+            NavigableSet<Node> third = second.get(b);
+            if (third == null || !third.remove(order.c(t))) return false;
+            if (third.isEmpty()) {
+                second.remove(b);
+                if (second.isEmpty()) {
+                    map.remove(a);
+                }
+            }
+            return true;
+        }
+
+        protected boolean contains(Triple t) {
+            NavigableMap<Node, NavigableSet<Node>> second = map.get(order.a(t));
+            if (second == null) return false;
+            NavigableSet<Node> third = second.get(order.b(t));
+            return third != null && third.contains(order.c(t));
+        }
+
+        protected void clear() {
+            map.clear();
+        }
+
+        /**
+         * Finds triples by the pattern, given in the index order.
+         * If {@code b} is not concrete, then {@code c} must be also not concrete.
+         *
+         * @param a {@link Node}, concrete or {@code ANY}
+         * @param b {@link Node}, concrete or {@code ANY}
+         * @param c {@link Node}, concrete or {@code ANY}
+         * @return {@link ExtendedIterator}
+         */
+        protected ExtendedIterator<Triple> find(Node a, Node b, Node c) {
+            if (!a.isConcrete()) {
+                return list(map);
+            }
+            NavigableMap<Node, NavigableSet<Node>> second = map.get(a);
+            if (second == null) {
+                return NiceIterator.emptyIterator();
+            }
+            if (!b.isConcrete()) {
+                return list(a, second);
+            }
+            NavigableSet<Node> third = second.get(b);
+            if (third == null) {
+                return NiceIterator.emptyIterator();
+            }
+            if (!c.isConcrete()) {
+                return list(a, b, third);
+            }
+            return third.contains(c) ? Iter.of(order.triple(a, b, c)) : NiceIterator.emptyIterator();
+        }
+
+        protected ExtendedIterator<Triple> list(NavigableMap<Node, NavigableMap<Node, NavigableSet<Node>>> map) {
+            return Iter.flatMap(Iter.create(map.entrySet().iterator()), e -> list(e.getKey(), e.getValue()));
+        }
+
+        protected ExtendedIterator<Triple> list(Node a, NavigableMap<Node, NavigableSet<Node>> second) {
+            return Iter.flatMap(Iter.create(second.entrySet().iterator()), e -> list(a, e.getKey(), e.getValue()));
+        }
+
+        protected ExtendedIterator<Triple> list(Node a, Node b, NavigableSet<Node> third) {
+            return Iter.create(third.iterator()).mapWith(c -> order.triple(a, b, c));
+        }
+    }
+}
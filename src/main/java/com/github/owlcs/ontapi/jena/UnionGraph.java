@@ -19,11 +19,13 @@ import org.apache.jena.graph.GraphListener;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.compose.CompositionBase;
 import org.apache.jena.graph.impl.SimpleEventManager;
+import org.apache.jena.shared.AddDeniedException;
+import org.apache.jena.shared.DeleteDeniedException;
 import org.apache.jena.shared.PrefixMapping;
-import org.apache.jena.util.CollectionFactory;
 import org.apache.jena.util.iterator.ExtendedIterator;
 import com.github.owlcs.ontapi.jena.utils.Graphs;
 import com.github.owlcs.ontapi.jena.utils.Iter;
+import com.github.owlcs.ontapi.jena.utils.OpenHashSet;
 
 import java.util.*;
 import java.util.stream.Stream;
@@ -54,13 +56,23 @@ public class UnionGraph extends CompositionBase {
      * A set of parents, used to control {@link #graphs cache}.
      * Items of this {@code Set} are removed automatically by GC
      * if there are no more strong references (a graph/model is removed, i.e. there is no its usage anymore).
+     * The set is synchronized, since a {@link #isReadOnly() read-only} graph can be read (and therefore
+     * attached to some other temporary union) from several threads without any external lock.
      */
-    protected Set<UnionGraph> parents = Collections.newSetFromMap(new WeakHashMap<>());
+    protected Set<UnionGraph> parents = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
     /**
      * Internal cache to hold all base graphs, used while {@link Graph#find(Triple) #find(..)}.
      * This {@code Set} cannot contain {@link UnionGraph}s.
+     * It is never modified once assigned.
      */
-    protected Set<Graph> graphs;
+    protected volatile Set<Graph> graphs;
+    /**
+     * If {@code true}, then any attempt to add or delete a triple is rejected,
+     * as well as any changes in the hierarchy (i.e. {@link #addGraph(Graph)} and {@link #removeGraph(Graph)}).
+     *
+     * @since 2.1.1
+     */
+    protected volatile boolean readOnly;
 
     /**
      * Creates an instance with default settings.
@@ -155,14 +167,45 @@ public class UnionGraph extends CompositionBase {
         return sub;
     }
 
+    /**
+     * Answers {@code true} if the graph content cannot be changed.
+     *
+     * @return boolean
+     * @since 2.1.1
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Turns the read-only mode on or off.
+     * In the read-only mode the methods {@link #add(Triple)} and {@link #delete(Triple)}
+     * throw {@link AddDeniedException} and {@link DeleteDeniedException} respectively,
+     * and the methods {@link #addGraph(Graph)} and {@link #removeGraph(Graph)}
+     * throw {@link OntJenaException.Unsupported}.
+     * Note that the base graph itself is not protected and still can be modified directly.
+     *
+     * @param readOnly boolean
+     * @return this instance
+     * @since 2.1.1
+     */
+    public UnionGraph setReadOnly(boolean readOnly) {
+        this.readOnly = readOnly;
+        return this;
+    }
+
     @Override
     public void performAdd(Triple t) {
+        if (isReadOnly())
+            throw new AddDeniedException("The graph is read-only", t);
         if (!sub.contains(t))
             base.add(t);
     }
 
     @Override
     public void performDelete(Triple t) {
+        if (isReadOnly())
+            throw new DeleteDeniedException("The graph is read-only", t);
         base.delete(t);
     }
 
@@ -173,9 +216,11 @@ public class UnionGraph extends CompositionBase {
      *
      * @param graph {@link Graph}, not {@code null}
      * @return this instance
+     * @throws OntJenaException.Unsupported if the graph is {@link #isReadOnly() read-only}
      */
     public UnionGraph addGraph(Graph graph) {
         checkOpen();
+        checkHierarchyChangeAllowed();
         getUnderlying().add(graph);
         addParent(graph);
         resetGraphsCache();
@@ -194,9 +239,11 @@ public class UnionGraph extends CompositionBase {
      *
      * @param graph {@link Graph}, not {@code null}
      * @return this instance
+     * @throws OntJenaException.Unsupported if the graph is {@link #isReadOnly() read-only}
      */
     public UnionGraph removeGraph(Graph graph) {
         checkOpen();
+        checkHierarchyChangeAllowed();
         getUnderlying().remove(graph);
         removeParent(graph);
         resetGraphsCache();
@@ -210,11 +257,25 @@ public class UnionGraph extends CompositionBase {
         ((UnionGraph) graph).parents.remove(this);
     }
 
+    /**
+     * Checks that the hierarchy can be changed.
+     *
+     * @throws OntJenaException.Unsupported if the graph is {@link #isReadOnly() read-only}
+     */
+    protected void checkHierarchyChangeAllowed() {
+        if (isReadOnly())
+            throw new OntJenaException.Unsupported("The graph is read-only, its hierarchy cannot be changed");
+    }
+
     /**
      * Clears the {@link #graphs cache}.
+     * Only this graph and its parents are affected, the cache of the sub-graphs remains valid.
      */
     protected void resetGraphsCache() {
-        collectAllUnionGraphs().forEach(x -> x.graphs = null);
+        Set<UnionGraph> res = new HashSet<>();
+        res.add(this);
+        collectParents(res);
+        res.forEach(x -> x.graphs = null);
     }
 
     /**
@@ -226,7 +287,11 @@ public class UnionGraph extends CompositionBase {
      * @see UnionGraph#getBaseGraph()
      */
     public ExtendedIterator<Graph> listBaseGraphs() {
-        return Iter.create(graphs == null ? graphs = collectBaseGraphs() : graphs);
+        Set<Graph> res = graphs;
+        if (res == null) {
+            graphs = res = collectBaseGraphs();
+        }
+        return Iter.create(res);
     }
 
     /**
@@ -315,11 +380,12 @@ public class UnionGraph extends CompositionBase {
      * The returned set may contain a huge number of items.
      * And that's why this method has protected access -
      * implementations are allowed to override it for better performance.
+     * By default, it is a compact {@link OpenHashSet}, which has no per-triple entry objects.
      *
      * @return Set of {@link Triple}s
      */
     protected Set<Triple> createSet() {
-        return CollectionFactory.createHashedSet();
+        return new OpenHashSet<>();
     }
 
     /**
@@ -420,6 +486,10 @@ public class UnionGraph extends CompositionBase {
      * @param res {@code Set} of {@link UnionGraph}s
      */
     private void collectParents(Set<UnionGraph> res) {
+        List<UnionGraph> parents;
+        synchronized (this.parents) {
+            parents = new ArrayList<>(this.parents);
+        }
         parents.stream()
                 .filter(res::add)
                 .forEach(u -> u.collectParents(res));
@@ -20,6 +20,7 @@ import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
 import com.github.owlcs.ontapi.jena.model.*;
 import com.github.owlcs.ontapi.jena.utils.Graphs;
 import com.github.owlcs.ontapi.jena.utils.Iter;
+import com.github.owlcs.ontapi.jena.utils.OpenHashSet;
 import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import com.github.owlcs.ontapi.jena.vocabulary.RDF;
 import org.apache.jena.datatypes.RDFDatatype;
@@ -57,6 +58,8 @@ public class OntGraphModelImpl extends UnionModel implements OntModel, Personali
 
     // the model's types mapper
     protected final Map<String, RDFDatatype> dtTypes = new HashMap<>();
+    // the optional []-list index
+    protected volatile OntListIndex lists;
 
     /**
      * @param graph       {@link Graph}
@@ -136,7 +139,7 @@ public class OntGraphModelImpl extends UnionModel implements OntModel, Personali
     public static <M extends OntModel & PersonalityModel> ExtendedIterator<OntIndividual> listIndividuals(M model,
                                                                                                           Set<Node> system,
                                                                                                           ExtendedIterator<Triple> assertions) {
-        Set<Triple> seen = new HashSet<>();
+        Set<Triple> seen = new OpenHashSet<>();
         return assertions
                 .mapWith(t -> {
                     // to speedup the process,
@@ -229,6 +232,44 @@ public class OntGraphModelImpl extends UnionModel implements OntModel, Personali
         return o == null;
     }
 
+    /**
+     * Answers the []-list structure index, if it is enabled.
+     *
+     * @return {@link OntListIndex} or {@code null}
+     * @see #setListIndexEnabled(boolean)
+     * @since 2.1.1
+     */
+    public OntListIndex getListIndex() {
+        return lists;
+    }
+
+    /**
+     * Enables or disables the []-list structure index,
+     * that speeds up the random access and the modification of the list tail for long {@link OntListImpl OntList}s
+     * (e.g. {@code owl:oneOf}, {@code owl:unionOf} or SWRL atom lists with thousands of members).
+     * The index is disabled by default.
+     *
+     * @param enable boolean
+     * @return this model
+     * @see OntListIndex
+     * @since 2.1.1
+     */
+    public synchronized OntGraphModelImpl setListIndexEnabled(boolean enable) {
+        OntListIndex res = lists;
+        if (enable == (res != null)) {
+            return this;
+        }
+        if (enable) {
+            res = new OntListIndex(getGraph());
+            getGraph().getEventManager().register(res);
+            lists = res;
+        } else {
+            getGraph().getEventManager().unregister(res);
+            lists = null;
+        }
+        return this;
+    }
+
     @Override
     public OntPersonality getOntPersonality() {
         return (OntPersonality) super.getPersonality();
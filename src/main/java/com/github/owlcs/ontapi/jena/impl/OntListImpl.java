@@ -39,6 +39,7 @@ import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 /**
@@ -398,6 +399,12 @@ public abstract class OntListImpl<E extends RDFNode> extends ResourceImpl implem
         return isNil() || !Iter.findFirst(listMembers()).isPresent();
     }
 
+    @Override
+    public long size() {
+        OntListIndex.Entry entry = getIndexEntry();
+        return entry != null ? entry.size() : OntList.super.size();
+    }
+
     @Override
     public boolean isNil() {
         return isNil(getRDFList());
@@ -405,6 +412,12 @@ public abstract class OntListImpl<E extends RDFNode> extends ResourceImpl implem
 
     @Override
     public Stream<E> members() {
+        OntListIndex.Entry entry = getIndexEntry();
+        if (entry != null) {
+            // the array-based stream is sized and, therefore, can be split efficiently
+            OntGraphModelImpl m = getModel();
+            return Arrays.stream(entry.members()).map(m::asRDFNode).filter(this::isValid).map(this::cast);
+        }
         return Iter.asStream(listMembers(), Spliterator.NONNULL | Spliterator.ORDERED);
     }
 
@@ -415,6 +428,14 @@ public abstract class OntListImpl<E extends RDFNode> extends ResourceImpl implem
      * @return {@link ExtendedIterator} of {@link E}-elements
      */
     public ExtendedIterator<E> listMembers() {
+        OntListIndex.Entry entry = getIndexEntry();
+        if (entry != null) {
+            OntGraphModelImpl m = getModel();
+            return Iter.create(Arrays.asList(entry.members()))
+                    .mapWith(m::asRDFNode)
+                    .filterKeep(this::isValid)
+                    .mapWith(this::cast);
+        }
         Iterator<List<Triple>> it = createRDFListIterator();
         if (it == null) return NullIterator.instance();
         OntGraphModelImpl m = getModel();
@@ -439,6 +460,10 @@ public abstract class OntListImpl<E extends RDFNode> extends ResourceImpl implem
     public boolean contains(E item) {
         RDFList list = getRDFList();
         if (isNil(list)) return false;
+        OntListIndex.Entry entry = getIndexEntry();
+        if (entry != null) {
+            return entry.contains(item.asNode());
+        }
         return Iter.anyMatch(getModel().getGraph().find(Node.ANY, RDF.first.asNode(), item.asNode()),
                 t -> Iter.anyMatch(createSafeRDFListIterator(list.asNode()), x -> x.contains(t)));
     }
@@ -481,6 +506,29 @@ public abstract class OntListImpl<E extends RDFNode> extends ResourceImpl implem
         return Iter.of(createRDFFirst(m, triples), createRDFRest(m, triples));
     }
 
+    /**
+     * Answers the index entry for this list.
+     *
+     * @return {@link OntListIndex.Entry} or {@code null} if the index is disabled, or the list is nil or broken
+     * @see OntGraphModelImpl#setListIndexEnabled(boolean)
+     */
+    protected OntListIndex.Entry getIndexEntry() {
+        OntListIndex index = getModel().getListIndex();
+        return index == null ? null : index.get(getRDFList().asNode());
+    }
+
+    /**
+     * Answers the {@link RDF#rest rdf:rest} statement for the cell with the given index.
+     *
+     * @param entry {@link OntListIndex.Entry}, not {@code null}
+     * @param index int
+     * @return {@link Statement}
+     */
+    protected Statement getRestStatement(OntListIndex.Entry entry, int index) {
+        Node next = index == entry.size() - 1 ? RDF.nil.asNode() : entry.getCell(index + 1);
+        return getModel().asStatement(Triple.create(entry.getCell(index), RDF.rest.asNode(), next));
+    }
+
     /**
      * Answers {@code true} if the given {@link RDFNode RDF-Node} is valid to be a typed element of this list.
      *
@@ -499,19 +547,40 @@ public abstract class OntListImpl<E extends RDFNode> extends ResourceImpl implem
 
     @Override
     public OntList<E> addLast(E e) {
+        OntListIndex index = getModel().getListIndex();
+        OntListIndex.Entry entry = index == null ? null : getIndexEntry();
+        if (entry != null) {
+            // the head remains the same, the index entry is updated in place
+            return setRDFList(list -> {
+                Resource r = index.modify(entry, () -> addLast(getRestStatement(entry, entry.size() - 1), e));
+                index.addLast(entry, r.asNode(), e.asNode());
+                return list;
+            });
+        }
         return setRDFList(list -> {
             Statement last = getLastRestStatement();
-            Statement s = last == null ? getMainStatement() : last;
-            Model m = getModel();
-            Resource r = m.createResource();
-            if (listType != null) {
-                m.add(r, RDF.type, listType);
-            }
-            m.add(s.getSubject(), s.getPredicate(), r).add(r, RDF.first, e).add(r, RDF.rest, RDF.nil).remove(s);
+            Resource r = addLast(last == null ? getMainStatement() : last, e);
             return last == null ? r.as(RDFList.class) : list;
         });
     }
 
+    /**
+     * Creates a new []-list cell for the given element and inserts it instead the object of the given statement.
+     *
+     * @param s {@link Statement} whose object is {@code rdf:nil}
+     * @param e {@link E}
+     * @return {@link Resource} the new cell
+     */
+    private Resource addLast(Statement s, E e) {
+        Model m = getModel();
+        Resource r = m.createResource();
+        if (listType != null) {
+            m.add(r, RDF.type, listType);
+        }
+        m.add(s.getSubject(), s.getPredicate(), r).add(r, RDF.first, e).add(r, RDF.rest, RDF.nil).remove(s);
+        return r;
+    }
+
     @Override
     public OntList<E> addFirst(E e) throws PropertyNotFoundException {
         return setRDFList(list -> {
@@ -532,6 +601,21 @@ public abstract class OntListImpl<E extends RDFNode> extends ResourceImpl implem
 
     @Override
     public OntList<E> removeLast() {
+        OntListIndex index = getModel().getListIndex();
+        OntListIndex.Entry entry = index == null ? null : getIndexEntry();
+        if (entry != null && entry.size() > 1) {
+            // the head remains the same, the index entry is updated in place
+            return setRDFList(list -> {
+                index.modify(entry, () -> {
+                    Statement prev = getRestStatement(entry, entry.size() - 2);
+                    Resource last = prev.getResource();
+                    return getModel().add(prev.getSubject(), prev.getPredicate(), RDF.nil)
+                            .removeAll(last, null, null).remove(prev);
+                });
+                index.removeLast(entry);
+                return list;
+            });
+        }
         return setRDFList(list -> {
             List<Statement> stmps = getLastTwoRestStatements();
             if (stmps == null) return list;
@@ -594,6 +678,10 @@ public abstract class OntListImpl<E extends RDFNode> extends ResourceImpl implem
      * @return {@link Statement} or {@code null} in case of nil-list
      */
     public Statement getLastRestStatement() {
+        OntListIndex.Entry entry = getIndexEntry();
+        if (entry != null) {
+            return getRestStatement(entry, entry.size() - 1);
+        }
         Iterator<List<Triple>> it = createRDFListIterator();
         if (it == null) return null;
         if (!it.hasNext()) throw new OntJenaException.IllegalState("Can't find any []-list batch in the list " + this);
@@ -627,6 +715,11 @@ public abstract class OntListImpl<E extends RDFNode> extends ResourceImpl implem
      * @return {@link List} that contains two or one {@link Statement}s or {@code null} in case of nil-list
      */
     public List<Statement> getLastTwoRestStatements() {
+        OntListIndex.Entry entry = getIndexEntry();
+        if (entry != null) {
+            return IntStream.range(Math.max(0, entry.size() - 2), entry.size())
+                    .mapToObj(i -> getRestStatement(entry, i)).collect(Collectors.toList());
+        }
         Iterator<List<Triple>> it = createRDFListIterator();
         if (it == null) return null;
         List<Triple> prev = null;
@@ -650,35 +743,54 @@ public abstract class OntListImpl<E extends RDFNode> extends ResourceImpl implem
     public OntList<E> get(int index) throws PropertyNotFoundException, OntJenaException.IllegalArgument {
         if (index < 0) throw new OntJenaException.IllegalArgument("Negative index: " + index);
         if (index == 0) return this;
+        OntListIndex.Entry entry = getIndexEntry();
+        if (entry != null) {
+            if (index > entry.size()) {
+                throw new OntJenaException.IllegalArgument("Index out of bounds: " + index);
+            }
+            Statement rest = getRestStatement(entry, index - 1);
+            return createSubList(rest.getSubject(), rest.getPredicate(), rest.getObject().as(RDFList.class));
+        }
         RDFList list = getRDFList();
         int i = 0;
-        OntGraphModelImpl m = getModel();
         while (!isNil(list)) {
             Statement rest = list.getRequiredProperty(RDF.rest);
             list = rest.getObject().as(RDFList.class);
             if (++i != index) {
                 continue;
             }
-            return new OntListImpl<E>(rest.getSubject(), rest.getPredicate(), list, listType, m, elementType) {
-                @Override
-                public OntStatement getMainStatement() {
-                    return OntStatementImpl.createNotAnnotatedOntStatementImpl(subject, predicate, getRDFList(), getModel());
-                }
-
-                @Override
-                public boolean isValid(RDFNode n) {
-                    return OntListImpl.this.isValid(n);
-                }
-
-                @Override
-                public E cast(RDFNode n) {
-                    return OntListImpl.this.cast(n);
-                }
-            };
+            return createSubList(rest.getSubject(), rest.getPredicate(), list);
         }
         throw new OntJenaException.IllegalArgument("Index out of bounds: " + index);
     }
 
+    /**
+     * Creates a sub-list, which shares the element type and the validation rules with this list.
+     *
+     * @param subject   {@link Resource} the previous cell
+     * @param predicate {@link Property}, {@code rdf:rest}
+     * @param list      {@link RDFList} the head of the sub-list
+     * @return {@link OntListImpl}
+     */
+    protected OntListImpl<E> createSubList(Resource subject, Property predicate, RDFList list) {
+        return new OntListImpl<E>(subject, predicate, list, listType, getModel(), elementType) {
+            @Override
+            public OntStatement getMainStatement() {
+                return OntStatementImpl.createNotAnnotatedOntStatementImpl(subject, predicate, getRDFList(), getModel());
+            }
+
+            @Override
+            public boolean isValid(RDFNode n) {
+                return OntListImpl.this.isValid(n);
+            }
+
+            @Override
+            public E cast(RDFNode n) {
+                return OntListImpl.this.cast(n);
+            }
+        };
+    }
+
     /**
      * An extended {@link RDFListIterator} whose {@link Iterator#next()} method does not throw {@link NoSuchElementException}
      * in case no element found, but returns {@code null} instead.
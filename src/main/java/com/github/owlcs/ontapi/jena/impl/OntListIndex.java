@@ -0,0 +1,473 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.jena.impl;
+
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphEvents;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * A per-model index of {@link org.apache.jena.rdf.model.RDFList []-list} structures.
+ * For each indexed list it holds the array of cells ({@code rdf:List} nodes) and the array of members
+ * ({@code rdf:first} objects), so the random access, the access to the tail and the list length are {@code O(1)}.
+ * An entry is built lazily, on the first access, by walking the {@code rdf:rest} chain once,
+ * and it is invalidated by the graph events, whose subjects are cells of the list.
+ * A sub-list, whose head is a cell of an already indexed list, is not indexed separately:
+ * a {@link Tail view} of the enclosing entry is returned instead,
+ * so the index does not grow with the number of sub-lists, which are accessed.
+ * The {@link OntListImpl} updates the entry in place when appending or removing the last element,
+ * so building a long list by consecutive {@link OntListImpl#addLast(org.apache.jena.rdf.model.RDFNode)} calls
+ * takes a linear time.
+ * <p>
+ * The index is opt-in, see {@link OntGraphModelImpl#setListIndexEnabled(boolean)}.
+ * Only changes that made through the model graph (i.e. a {@link com.github.owlcs.ontapi.jena.UnionGraph})
+ * are tracked.
+ *
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class OntListIndex extends GraphListenerBase {
+    protected static final Node FIRST = RDF.first.asNode();
+    protected static final Node REST = RDF.rest.asNode();
+    protected static final Node NIL = RDF.nil.asNode();
+
+    protected final Graph graph;
+    // head -> entry
+    protected final Map<Node, Entry> lists = new HashMap<>();
+    // cell -> heads of the indexed lists that contain the cell
+    protected final Map<Node, Set<Node>> owners = new HashMap<>();
+    // the head of the list, that is being modified by the current thread and which will be updated in place
+    protected final ThreadLocal<Node> modifying = new ThreadLocal<>();
+
+    /**
+     * Creates an empty index for the given graph.
+     *
+     * @param graph {@link Graph}, the model graph, not {@code null}
+     */
+    public OntListIndex(Graph graph) {
+        this.graph = Objects.requireNonNull(graph);
+    }
+
+    /**
+     * Returns the entry for the list with the given head, building it if necessary.
+     * If the head is a cell of an already indexed list, then a view of that list entry is returned.
+     *
+     * @param head {@link Node}, not {@code null}
+     * @return {@link Entry} or {@code null} if the list is nil or is broken
+     */
+    public synchronized Entry get(Node head) {
+        if (NIL.equals(head)) {
+            return null;
+        }
+        Entry res = lists.get(head);
+        if (res != null) {
+            return res;
+        }
+        res = tail(head);
+        if (res != null) {
+            return res;
+        }
+        res = build(head);
+        if (res != null) {
+            put(res);
+        }
+        return res;
+    }
+
+    /**
+     * Finds an indexed list that contains the given cell and answers the view of its tail.
+     *
+     * @param cell {@link Node}
+     * @return {@link Tail} or {@code null} if there is no indexed list with the cell
+     */
+    protected Entry tail(Node cell) {
+        Set<Node> heads = owners.get(cell);
+        if (heads == null) {
+            return null;
+        }
+        for (Node head : heads) {
+            Entry entry = lists.get(head);
+            int index = entry.indexOf(cell);
+            if (index > 0) {
+                return new Tail(entry, index);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Walks the {@code rdf:rest} chain starting from the given head.
+     *
+     * @param head {@link Node}
+     * @return {@link Entry} or {@code null} if the list is broken (no {@code rdf:first}, no {@code rdf:rest} or a cycle)
+     */
+    protected Entry build(Node head) {
+        Entry res = new Entry(head);
+        Set<Node> seen = new HashSet<>();
+        Node cell = head;
+        while (!NIL.equals(cell)) {
+            if (!seen.add(cell)) {
+                return null;
+            }
+            Node first = null;
+            Node rest = null;
+            ExtendedIterator<Triple> it = graph.find(cell, Node.ANY, Node.ANY);
+            try {
+                while (it.hasNext()) {
+                    Triple t = it.next();
+                    if (FIRST.equals(t.getPredicate())) {
+                        first = t.getObject();
+                    } else if (REST.equals(t.getPredicate())) {
+                        rest = t.getObject();
+                    }
+                }
+            } finally {
+                it.close();
+            }
+            if (first == null || rest == null) {
+                return null;
+            }
+            res.add(cell, first);
+            cell = rest;
+        }
+        return res;
+    }
+
+    protected void put(Entry entry) {
+        lists.put(entry.head, entry);
+        for (int i = 0; i < entry.size; i++) {
+            owners.computeIfAbsent(entry.cells[i], x -> new HashSet<>(1)).add(entry.head);
+        }
+    }
+
+    /**
+     * Performs the modification of the list, which is described by the given entry,
+     * with no invalidation of that entry: the caller is responsible to keep it in actual state.
+     * All other entries that share cells with the list are invalidated as usual.
+     *
+     * @param entry  {@link Entry}, not {@code null}
+     * @param action {@link Supplier} to perform the modification
+     * @param <X>    anything
+     * @return the result of action
+     */
+    public <X> X modify(Entry entry, Supplier<X> action) {
+        Node prev = modifying.get();
+        modifying.set(entry.head);
+        try {
+            return action.get();
+        } finally {
+            if (prev == null) {
+                modifying.remove();
+            } else {
+                modifying.set(prev);
+            }
+        }
+    }
+
+    /**
+     * Appends the cell to the end of the indexed list.
+     *
+     * @param entry  {@link Entry}
+     * @param cell   {@link Node}
+     * @param member {@link Node}
+     */
+    public synchronized void addLast(Entry entry, Node cell, Node member) {
+        if (lists.get(entry.head) != entry) {
+            return;
+        }
+        entry.add(cell, member);
+        owners.computeIfAbsent(cell, x -> new HashSet<>(1)).add(entry.head);
+    }
+
+    /**
+     * Removes the last cell from the indexed list.
+     *
+     * @param entry {@link Entry}
+     */
+    public synchronized void removeLast(Entry entry) {
+        if (lists.get(entry.head) != entry) {
+            return;
+        }
+        Node cell = entry.removeLast();
+        if (entry.size == 0) {
+            remove(entry.head);
+        }
+        Set<Node> heads = owners.get(cell);
+        if (heads != null && heads.remove(entry.head) && heads.isEmpty()) {
+            owners.remove(cell);
+        }
+    }
+
+    /**
+     * Discards all entries for the lists that contain the given cell.
+     *
+     * @param cell {@link Node}
+     */
+    public synchronized void invalidate(Node cell) {
+        Set<Node> heads = owners.get(cell);
+        if (heads == null) {
+            return;
+        }
+        Node skip = modifying.get();
+        new ArrayList<>(heads).stream().filter(x -> !x.equals(skip)).forEach(this::remove);
+    }
+
+    protected void remove(Node head) {
+        Entry entry = lists.remove(head);
+        if (entry == null) {
+            return;
+        }
+        for (int i = 0; i < entry.size; i++) {
+            Set<Node> heads = owners.get(entry.cells[i]);
+            if (heads != null && heads.remove(head) && heads.isEmpty()) {
+                owners.remove(entry.cells[i]);
+            }
+        }
+    }
+
+    /**
+     * Discards all entries.
+     */
+    public synchronized void clear() {
+        lists.clear();
+        owners.clear();
+    }
+
+    /**
+     * Answers the number of indexed lists.
+     *
+     * @return int
+     */
+    public synchronized int size() {
+        return lists.size();
+    }
+
+    @Override
+    protected void addEvent(Triple t) {
+        invalidate(t.getSubject());
+    }
+
+    @Override
+    protected void deleteEvent(Triple t) {
+        invalidate(t.getSubject());
+    }
+
+    @Override
+    public void notifyAddGraph(Graph g, Graph other) {
+        clear();
+    }
+
+    @Override
+    public void notifyDeleteGraph(Graph g, Graph other) {
+        clear();
+    }
+
+    @Override
+    public void notifyEvent(Graph source, Object value) {
+        if (value instanceof GraphEvents && "remove".equals(((GraphEvents) value).getTitle())) {
+            // Graph#remove(s, p, o): all deleted triples are also reported one by one
+            return;
+        }
+        clear();
+    }
+
+    /**
+     * An indexed []-list: a growable array of cells and the array of the corresponding members.
+     */
+    public static class Entry {
+        protected final Node head;
+        protected Node[] cells = new Node[8];
+        protected Node[] members = new Node[8];
+        protected int size;
+        protected Set<Node> values;
+        protected Map<Node, Integer> positions;
+
+        protected Entry(Node head) {
+            this.head = head;
+        }
+
+        protected void add(Node cell, Node member) {
+            if (size == cells.length) {
+                int length = size + (size >> 1);
+                cells = Arrays.copyOf(cells, length);
+                members = Arrays.copyOf(members, length);
+            }
+            cells[size] = cell;
+            members[size] = member;
+            if (positions != null) {
+                positions.put(cell, size);
+            }
+            size++;
+            if (values != null) {
+                values.add(member);
+            }
+        }
+
+        protected Node removeLast() {
+            Node res = cells[--size];
+            cells[size] = null;
+            members[size] = null;
+            values = null;
+            if (positions != null) {
+                positions.remove(res);
+            }
+            return res;
+        }
+
+        /**
+         * Answers the index of the given cell.
+         *
+         * @param cell {@link Node}
+         * @return int, or {@code -1} if there is no such cell
+         */
+        protected int indexOf(Node cell) {
+            Map<Node, Integer> res = positions;
+            if (res == null) {
+                res = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    res.put(cells[i], i);
+                }
+                positions = res;
+            }
+            return res.getOrDefault(cell, -1);
+        }
+
+        protected int checkIndex(int index) {
+            int size = size();
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+            }
+            return index;
+        }
+
+        public Node getHead() {
+            return head;
+        }
+
+        /**
+         * Answers the list length.
+         *
+         * @return int
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Answers the list cell ({@code rdf:List} node) by its index.
+         *
+         * @param index int
+         * @return {@link Node}
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        public Node getCell(int index) {
+            return cells[checkIndex(index)];
+        }
+
+        /**
+         * Answers the list member ({@code rdf:first} object) by its index.
+         *
+         * @param index int
+         * @return {@link Node}
+         * @throws IndexOutOfBoundsException if the index is out of range
+         */
+        public Node getMember(int index) {
+            return members[checkIndex(index)];
+        }
+
+        /**
+         * Answers a snapshot of all members.
+         *
+         * @return array of {@link Node}s
+         */
+        public Node[] members() {
+            return Arrays.copyOf(members, size);
+        }
+
+        /**
+         * Answers {@code true} if the list has the given member.
+         *
+         * @param member {@link Node}
+         * @return boolean
+         */
+        public boolean contains(Node member) {
+            Set<Node> res = values;
+            if (res == null) {
+                values = res = new HashSet<>(Arrays.asList(members).subList(0, size));
+            }
+            return res.contains(member);
+        }
+    }
+
+    /**
+     * A view of the tail of an indexed list, that starts with the given cell.
+     * It is not stored in the index and is not updated in place:
+     * a modification through the tail invalidates the enclosing list entry.
+     */
+    public static class Tail extends Entry {
+        protected final Entry list;
+        protected final int offset;
+
+        protected Tail(Entry list, int offset) {
+            super(list.cells[offset]);
+            this.list = list;
+            this.offset = offset;
+        }
+
+        @Override
+        public int size() {
+            return Math.max(list.size - offset, 0);
+        }
+
+        @Override
+        public Node getCell(int index) {
+            return list.cells[offset + checkIndex(index)];
+        }
+
+        @Override
+        public Node getMember(int index) {
+            return list.members[offset + checkIndex(index)];
+        }
+
+        @Override
+        public Node[] members() {
+            return Arrays.copyOfRange(list.members, offset, offset + size());
+        }
+
+        @Override
+        public boolean contains(Node member) {
+            Node[] members = list.members;
+            for (int i = offset; i < offset + size(); i++) {
+                if (member.equals(members[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        protected int indexOf(Node cell) {
+            int res = list.indexOf(cell);
+            return res < offset ? -1 : res - offset;
+        }
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.jena.impl.conf;
+
+import com.github.owlcs.ontapi.jena.OntJenaException;
+import com.github.owlcs.ontapi.jena.impl.OntObjectImpl;
+import com.github.owlcs.ontapi.jena.model.OntObject;
+import org.apache.jena.enhanced.EnhGraph;
+import org.apache.jena.enhanced.EnhNode;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.util.graph.GraphListenerBase;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * A per-model memo table of {@link ObjectFactory#canWrap(Node, EnhGraph)} decisions,
+ * that are keyed by the pair {@code (node, view type)}.
+ * The memo is attached to a model through the {@link #wrap(OntPersonality) personality},
+ * whose every {@link ObjectFactory} is replaced by a memoizing decorator,
+ * and it listens the model graph to invalidate the decisions related to changed triples.
+ * <p>
+ * The invalidation is performed precisely for the nodes that changed:
+ * for the subject, predicate and object of the added or deleted triple;
+ * for the nodes whose decisions were computed using the decisions for the changed nodes
+ * (this dependency is recorded while the nested {@code canWrap} checks);
+ * for the nodes that refer to the changed subject (e.g. an individual, that refers to its class);
+ * and, since a blank node is always a part of some structure (e.g. an RDF list of a class expression),
+ * for the nodes that refer to any changed blank node, recursively.
+ * Notice that only changes made through the model graph (i.e. through the {@link com.github.owlcs.ontapi.jena.UnionGraph})
+ * are tracked, a direct modification of a sub-graph will not be noticed.
+ * The graph events only collect the changed nodes (and nothing is collected while the memo is empty),
+ * the invalidation itself is performed in a batch on the next decision lookup,
+ * so a bulk modification does not cost a graph search per triple.
+ * <p>
+ * Both tables are bounded LRU maps (see {@link #DEFAULT_LIMIT}), so the memo does not grow with every node ever tested.
+ * When a dependency record is evicted, the decisions of its dependents are discarded as well,
+ * since they could not be invalidated precisely anymore.
+ *
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class CanWrapMemo extends GraphListenerBase {
+    /**
+     * The default maximum number of nodes in each of the memo tables.
+     */
+    public static final int DEFAULT_LIMIT = 50_000;
+
+    private final Map<Node, Map<Class<? extends OntObject>, Boolean>> decisions;
+    // node -> the nodes whose decisions depend on the node decisions
+    private final Map<Node, Set<Node>> dependents;
+    // the changed nodes, that are waiting for invalidation: node -> true to process its referrers as well
+    private final Map<Node, Boolean> pending = new ConcurrentHashMap<>();
+    // the nodes whose decisions are being computed right now
+    private final ThreadLocal<Deque<Node>> computing = ThreadLocal.withInitial(ArrayDeque::new);
+    private volatile EnhGraph owner;
+
+    public CanWrapMemo() {
+        this(DEFAULT_LIMIT);
+    }
+
+    /**
+     * Creates a memo with the given limit.
+     *
+     * @param limit int, the maximum number of nodes in each table, positive
+     */
+    public CanWrapMemo(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Wrong limit: " + limit);
+        }
+        this.decisions = createLRUMap(limit, null);
+        this.dependents = createLRUMap(limit, e -> e.getValue().forEach(decisions::remove));
+    }
+
+    private static <V> Map<Node, V> createLRUMap(int limit, Consumer<Map.Entry<Node, V>> onEvict) {
+        return Collections.synchronizedMap(new LinkedHashMap<Node, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Node, V> eldest) {
+                if (size() <= limit) {
+                    return false;
+                }
+                if (onEvict != null) {
+                    onEvict.accept(eldest);
+                }
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Creates a new personality, that uses this memo.
+     *
+     * @param from {@link OntPersonality} to inherit all settings, not {@code null}
+     * @return {@link OntPersonality}
+     */
+    public OntPersonality wrap(OntPersonality from) {
+        PersonalityBuilder res = PersonalityBuilder.from(from);
+        from.types(OntObject.class).forEach(type -> {
+            ObjectFactory f = from.getObjectFactory(type);
+            res.add(type, new MemoFactory(type, f instanceof MemoFactory ? ((MemoFactory) f).from : f, this));
+        });
+        return res.build();
+    }
+
+    /**
+     * Binds this memo to the given model and starts listening the model graph.
+     * The memo can be attached only once.
+     *
+     * @param model {@link EnhGraph}, the model that uses the {@link #wrap(OntPersonality) memo personality},
+     *              not {@code null}
+     * @throws OntJenaException.IllegalState if the memo is already in use
+     */
+    public void attach(EnhGraph model) throws OntJenaException.IllegalState {
+        Objects.requireNonNull(model);
+        synchronized (this) {
+            if (owner != null) {
+                throw new OntJenaException.IllegalState("The memo is already attached to " + owner);
+            }
+            owner = model;
+        }
+        model.asGraph().getEventManager().register(this);
+    }
+
+    /**
+     * Unbinds this memo from its model and discards all decisions.
+     */
+    public void detach() {
+        EnhGraph model;
+        synchronized (this) {
+            model = owner;
+            owner = null;
+        }
+        if (model != null) {
+            model.asGraph().getEventManager().unregister(this);
+        }
+        clear();
+    }
+
+    /**
+     * Answers {@code true} if the memo must be used for the given graph.
+     * A personality may be shared between several models (e.g. sub-models for imports),
+     * but the decisions are valid only for the owner.
+     *
+     * @param eg {@link EnhGraph}
+     * @return boolean
+     */
+    protected boolean isOwner(EnhGraph eg) {
+        return eg != null && eg == owner;
+    }
+
+    /**
+     * Returns the memoized decision or computes and remembers a new one.
+     *
+     * @param node     {@link Node}, not literal
+     * @param type     {@link OntObject} class-type
+     * @param function to compute the decision
+     * @return boolean
+     */
+    protected boolean canWrap(Node node, Class<? extends OntObject> type, BooleanSupplier function) {
+        Deque<Node> stack = computing.get();
+        Node parent = stack.peek();
+        if (parent == null) {
+            flush();
+        }
+        if (parent != null && !parent.equals(node)) {
+            dependents.computeIfAbsent(node, x -> ConcurrentHashMap.newKeySet()).add(parent);
+        }
+        Map<Class<? extends OntObject>, Boolean> views = decisions.get(node);
+        Boolean res = views == null ? null : views.get(type);
+        if (res != null) {
+            return res;
+        }
+        // no Map#computeIfAbsent here: the function may call this method recursively
+        stack.push(node);
+        try {
+            res = function.getAsBoolean();
+        } finally {
+            stack.pop();
+        }
+        put(node, type, res);
+        return res;
+    }
+
+    protected void put(Node node, Class<? extends OntObject> type, boolean decision) {
+        decisions.computeIfAbsent(node, x -> new ConcurrentHashMap<>()).put(type, decision);
+    }
+
+    /**
+     * Discards all decisions related to the given node.
+     *
+     * @param node {@link Node}, not {@code null}
+     */
+    public void invalidate(Node node) {
+        invalidate(node, true, new HashSet<>());
+    }
+
+    /**
+     * Discards the decisions for the node, for all its dependents and, optionally, for all its referrers.
+     * The referrers of a blank node are always processed,
+     * since a blank node is a part of some structure, whose owner must be re-checked.
+     *
+     * @param node      {@link Node}
+     * @param referrers boolean, if {@code true} the subjects of the triples with the given node as object
+     *                  are also processed
+     * @param seen      a {@code Set} of already processed {@link Node}s
+     */
+    protected void invalidate(Node node, boolean referrers, Set<Node> seen) {
+        if (node.isLiteral() || !seen.add(node)) {
+            return;
+        }
+        decisions.remove(node);
+        Set<Node> nodes = dependents.remove(node);
+        if (nodes != null) {
+            nodes.forEach(x -> invalidate(x, false, seen));
+        }
+        EnhGraph model = owner;
+        if (model == null || !(referrers || node.isBlank())) {
+            return;
+        }
+        model.asGraph().find(Node.ANY, Node.ANY, node).mapWith(Triple::getSubject).toList()
+                .forEach(x -> invalidate(x, false, seen));
+    }
+
+    /**
+     * Invalidates all the nodes collected from the graph events so far.
+     */
+    protected void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Set<Node> seen = new HashSet<>();
+        Iterator<Map.Entry<Node, Boolean>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Node, Boolean> e = it.next();
+            it.remove();
+            invalidate(e.getKey(), e.getValue(), seen);
+        }
+    }
+
+    /**
+     * Discards all decisions.
+     */
+    public void clear() {
+        pending.clear();
+        decisions.clear();
+        dependents.clear();
+    }
+
+    /**
+     * Answers the number of nodes with memoized decisions.
+     *
+     * @return int
+     */
+    public int size() {
+        flush();
+        return decisions.size();
+    }
+
+    @Override
+    protected void addEvent(Triple t) {
+        invalidate(t);
+    }
+
+    @Override
+    protected void deleteEvent(Triple t) {
+        invalidate(t);
+    }
+
+    /**
+     * Schedules invalidation of the decisions related to the given changed triple.
+     *
+     * @param t {@link Triple}
+     * @see #flush()
+     */
+    protected void invalidate(Triple t) {
+        if (decisions.isEmpty() && dependents.isEmpty()) {
+            return;
+        }
+        pending.put(t.getSubject(), Boolean.TRUE);
+        pending.putIfAbsent(t.getPredicate(), Boolean.FALSE);
+        if (!t.getObject().isLiteral()) {
+            pending.putIfAbsent(t.getObject(), Boolean.FALSE);
+        }
+    }
+
+    @Override
+    public void notifyAddGraph(Graph g, Graph other) {
+        clear();
+    }
+
+    @Override
+    public void notifyDeleteGraph(Graph g, Graph other) {
+        clear();
+    }
+
+    @Override
+    public void notifyEvent(Graph source, Object value) {
+        // e.g. GraphEvents.removeAll or a sub-graph (import) has been added/removed
+        clear();
+    }
+
+    /**
+     * A {@link ObjectFactory} decorator, that memoizes {@code canWrap} decisions for the owner model.
+     */
+    public static class MemoFactory extends BaseFactoryImpl {
+        private final Class<? extends OntObject> type;
+        private final ObjectFactory from;
+        private final CanWrapMemo memo;
+
+        public MemoFactory(Class<? extends OntObject> type, ObjectFactory from, CanWrapMemo memo) {
+            this.type = Objects.requireNonNull(type);
+            this.from = Objects.requireNonNull(from);
+            this.memo = Objects.requireNonNull(memo);
+        }
+
+        @Override
+        public ExtendedIterator<EnhNode> iterator(EnhGraph eg) {
+            // do not remember the listed nodes: the dependencies of their decisions are unknown
+            return from.iterator(eg);
+        }
+
+        @Override
+        public boolean canWrap(Node node, EnhGraph eg) {
+            if (node.isLiteral() || !memo.isOwner(eg)) {
+                return from.canWrap(node, eg);
+            }
+            return memo.canWrap(node, type, () -> from.canWrap(node, eg));
+        }
+
+        @Override
+        public EnhNode createInstance(Node node, EnhGraph eg) {
+            return from.createInstance(node, eg);
+        }
+
+        @Override
+        public EnhNode createInGraph(Node node, EnhGraph eg) {
+            return from.createInGraph(node, eg);
+        }
+
+        @Override
+        public boolean canCreateInGraph(Node node, EnhGraph eg) {
+            return from.canCreateInGraph(node, eg);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("MemoFactory[%s]", OntObjectImpl.viewAsString(type));
+        }
+    }
+}
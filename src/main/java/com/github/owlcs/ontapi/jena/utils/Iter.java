@@ -15,7 +15,6 @@
 package com.github.owlcs.ontapi.jena.utils;
 
 import com.github.owlcs.ontapi.jena.OntJenaException;
-import org.apache.jena.atlas.iterator.FilterUnique;
 import org.apache.jena.graph.FrontsNode;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
@@ -298,7 +297,7 @@ public class Iter {
      * @return new {@link ExtendedIterator} of type {@link X} without duplicates
      */
     public static <X> ExtendedIterator<X> distinct(ExtendedIterator<X> base) {
-        return base.filterKeep(new FilterUnique<>());
+        return base.filterKeep(new OpenHashSet<X>()::add);
     }
 
     /**
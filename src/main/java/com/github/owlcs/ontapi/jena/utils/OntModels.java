@@ -14,6 +14,7 @@
 
 package com.github.owlcs.ontapi.jena.utils;
 
+import com.github.owlcs.ontapi.jena.LazyGraph;
 import com.github.owlcs.ontapi.jena.OntJenaException;
 import com.github.owlcs.ontapi.jena.UnionGraph;
 import com.github.owlcs.ontapi.jena.impl.*;
@@ -29,6 +30,7 @@ import org.apache.jena.util.iterator.ExtendedIterator;
 
 import java.util.Objects;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -78,6 +80,7 @@ public class OntModels {
      * provided as {@code Supplier} (the {@code manager} parameter).
      * Can be used to fix missed graph links or
      * to replace existing dependency with the new one in case {@code replace} is {@code true}.
+     * The ontologies with a read-only graph are skipped, since their hierarchy cannot be changed.
      *
      * @param manager the collection of other ontologies in form of {@link Supplier} that answers a {@code Stream}
      * @param ont     {@link OntModel} the ontology to insert, must be named
@@ -87,10 +90,12 @@ public class OntModels {
      *                otherwise the graph will be inserted only if
      *                there is a declaration {@code owl:import} without any graph associated
      * @see OntID#getImportsIRI()
+     * @see UnionGraph#isReadOnly()
      */
     public static void insert(Supplier<Stream<OntModel>> manager, OntModel ont, boolean replace) {
         String uri = Objects.requireNonNull(ont.getID().getImportsIRI(), "Must be named ontology");
         manager.get()
+                .filter(m -> !((UnionGraph) m.getGraph()).isReadOnly())
                 .filter(m -> {
                     // select only those, that have the uri in owl:imports:
                     try (Stream<String> uris = m.getID().imports()) {
@@ -106,7 +111,24 @@ public class OntModels {
                             .ifPresent(i -> ((UnionGraph) m.getGraph()).removeGraph(i.getGraph()));
                 })
                 .filter(m -> m.imports().map(OntModel::getID).map(OntID::getImportsIRI).noneMatch(uri::equals))
-                .forEach(m -> m.addImport(ont));
+                .forEach(m -> {
+                    removeLazyGraphs((UnionGraph) m.getGraph(), uri);
+                    m.addImport(ont);
+                });
+    }
+
+    /**
+     * Removes the {@link LazyGraph placeholders} with the given name from the top level of the hierarchy.
+     *
+     * @param graph {@link UnionGraph}
+     * @param uri   {@code String}, the ontology IRI
+     * @see com.github.owlcs.ontapi.config.LoadSettings#isLoadImportsLazily()
+     */
+    private static void removeLazyGraphs(UnionGraph graph, String uri) {
+        graph.getUnderlying().graphs()
+                .filter(x -> x instanceof LazyGraph && uri.equals(((LazyGraph) x).getName()))
+                .collect(Collectors.toList())
+                .forEach(graph::removeGraph);
     }
 
     /**
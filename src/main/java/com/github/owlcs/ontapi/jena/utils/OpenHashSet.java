@@ -0,0 +1,247 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.owlcs.ontapi.jena.utils;
+
+import java.util.*;
+
+/**
+ * A {@code Set} based on the open addressing hash table with the linear probing.
+ * It is intended for dedup and visited sets in the hot paths (e.g. {@code Triple}s while union graph find,
+ * {@code Node}s while graph traversal),
+ * which may hold millions of elements during a single scan and are thrown away right after it.
+ * In contrast to {@link HashSet}, there are no per-element entry objects:
+ * the set consists of two parallel arrays - elements and their hash codes (primitive {@code int}s),
+ * so it takes about half of memory and produces almost no garbage.
+ * The stored hash codes also save {@code equals} calls and rehashing while growing.
+ * <p>
+ * The set does not permit {@code null}s and is not thread-safe.
+ * The iterator is fail-fast and does not support removal.
+ *
+ * @param <E> the type of elements
+ * @since 2.1.1
+ */
+@SuppressWarnings("WeakerAccess")
+public class OpenHashSet<E> extends AbstractSet<E> {
+    protected static final int MIN_CAPACITY = 16;
+    // 2^32 / golden ratio
+    protected static final int PHI = 0x9E3779B9;
+
+    protected Object[] keys;
+    protected int[] hashes;
+    protected int shift;
+    protected int size;
+    protected int threshold;
+    protected int modCount;
+
+    public OpenHashSet() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * Creates an empty set with enough capacity to hold the given number of elements without resizing.
+     *
+     * @param expectedSize int, non-negative
+     */
+    public OpenHashSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Negative size: " + expectedSize);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity * 2L / 3 < expectedSize && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        init(capacity);
+    }
+
+    protected void init(int capacity) {
+        keys = new Object[capacity];
+        hashes = new int[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        threshold = (int) (capacity * 2L / 3);
+    }
+
+    /**
+     * Calculates the ideal slot for the given hash code.
+     * The Fibonacci hashing is used to spread bad (e.g. sequential) hash codes.
+     *
+     * @param hash int
+     * @return int, the index
+     */
+    protected int index(int hash) {
+        return (hash * PHI) >>> shift;
+    }
+
+    /**
+     * Finds the slot with the given key.
+     *
+     * @param key  not {@code null}
+     * @param hash int, the key hash code
+     * @return the index of the slot or {@code -1} if there is no such key
+     */
+    protected int find(Object key, int hash) {
+        int mask = keys.length - 1;
+        for (int i = index(hash); ; i = (i + 1) & mask) {
+            Object k = keys[i];
+            if (k == null) {
+                return -1;
+            }
+            if (hashes[i] == hash && (k == key || k.equals(key))) {
+                return i;
+            }
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o != null && find(o, o.hashCode()) >= 0;
+    }
+
+    @Override
+    public boolean add(E e) {
+        int hash = Objects.requireNonNull(e, "Null element").hashCode();
+        int mask = keys.length - 1;
+        int i = index(hash);
+        for (Object k; (k = keys[i]) != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && (k == e || k.equals(e))) {
+                return false;
+            }
+        }
+        keys[i] = e;
+        hashes[i] = hash;
+        modCount++;
+        if (++size > threshold) {
+            resize();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        int i = find(o, o.hashCode());
+        if (i < 0) {
+            return false;
+        }
+        delete(i);
+        size--;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Deletes the slot, shifting back the following elements of the same cluster,
+     * so that there are no tombstones and the search is always terminated by an empty slot.
+     *
+     * @param i int, the index of the slot to delete
+     */
+    protected void delete(int i) {
+        int mask = keys.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            Object k = keys[j];
+            if (k == null) {
+                break;
+            }
+            int ideal = index(hashes[j]);
+            // the element can be moved to the free slot only if its ideal slot is not cyclically within (i, j]
+            if (j > i ? (ideal <= i || ideal > j) : (ideal <= i && ideal > j)) {
+                keys[i] = k;
+                hashes[i] = hashes[j];
+                i = j;
+            }
+        }
+        keys[i] = null;
+        hashes[i] = 0;
+    }
+
+    protected void resize() {
+        Object[] keys = this.keys;
+        int[] hashes = this.hashes;
+        init(keys.length << 1);
+        int mask = this.keys.length - 1;
+        for (int j = 0; j < keys.length; j++) {
+            Object k = keys[j];
+            if (k == null) {
+                continue;
+            }
+            int i = index(hashes[j]);
+            while (this.keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            this.keys[i] = k;
+            this.hashes[i] = hashes[j];
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        Arrays.fill(keys, null);
+        Arrays.fill(hashes, 0);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private final Object[] table = keys;
+            private final int expectedModCount = modCount;
+            private int next = seek(0);
+
+            private int seek(int from) {
+                while (from < table.length && table[from] == null) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < table.length;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public E next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next >= table.length) {
+                    throw new NoSuchElementException();
+                }
+                E res = (E) table[next];
+                next = seek(next + 1);
+                return res;
+            }
+        };
+    }
+}
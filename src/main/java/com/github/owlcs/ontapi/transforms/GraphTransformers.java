@@ -15,6 +15,7 @@
 package com.github.owlcs.ontapi.transforms;
 
 import com.github.owlcs.ontapi.OntApiException;
+import com.github.owlcs.ontapi.OntMetrics;
 import com.github.owlcs.ontapi.jena.UnionGraph;
 import com.github.owlcs.ontapi.jena.utils.Graphs;
 import org.apache.jena.graph.*;
@@ -318,6 +319,7 @@ public class GraphTransformers implements Serializable {
                     GraphEventManager events = base.getEventManager();
                     TransformListener listener = createTrackListener();
                     Set<Triple> uncertainTriples;
+                    long start = OntMetrics.start();
                     try {
                         events.register(listener);
                         uncertainTriples = x.apply(graph).collect(Collectors.toSet());
@@ -325,6 +327,9 @@ public class GraphTransformers implements Serializable {
                         throw new StoreException(x, e);
                     } finally {
                         events.unregister(listener);
+                        if (start != 0) {
+                            OntMetrics.stop("transform." + x.id(), start);
+                        }
                     }
                     res.putTriples(x,
                             listener.getAdded(),
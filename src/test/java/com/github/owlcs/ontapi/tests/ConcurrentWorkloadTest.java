@@ -0,0 +1,277 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests;
+
+import com.github.owlcs.ontapi.OntFormat;
+import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.RWLockedGraph;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.utils.ReadWriteUtils;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A multithreaded workload harness for the concurrent {@link Ontology} (i.e. {@code OntologyModelImpl.Concurrent})
+ * and for the {@link RWLockedGraph}.
+ * Each worker thread performs randomly chosen operations,
+ * the choice depends on the operation weight and the read/write ratio.
+ * At the end the throughput (ops/sec) and the latencies (p50/p99/p999) are reported for each operation,
+ * so that the changes in the locking can be judged on numbers.
+ * <p>
+ * By default the run is a short smoke test (to be part of the ordinary build, with no warm-up),
+ * which only checks that there are no errors and that some operations have been performed.
+ * For the real measurement the following system properties can be used:
+ * <ul>
+ * <li>{@code ont-api.workload.threads} - the number of worker threads, default {@code 4}</li>
+ * <li>{@code ont-api.workload.duration} - the duration of the measurement in ms, default {@code 200}</li>
+ * <li>{@code ont-api.workload.warmup} - the duration of the warm-up in ms, default {@code 0}</li>
+ * <li>{@code ont-api.workload.writes} - the fraction of write operations, from {@code 0} to {@code 1}, default {@code 0.1}</li>
+ * </ul>
+ *
+ * @see RaceTest
+ */
+public class ConcurrentWorkloadTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentWorkloadTest.class);
+
+    private static final int THREADS = Integer.getInteger("ont-api.workload.threads", 4);
+    private static final long DURATION = Long.getLong("ont-api.workload.duration", 200); // ms
+    private static final long WARMUP = Long.getLong("ont-api.workload.warmup", 0); // ms
+    private static final double WRITES = Double.parseDouble(System.getProperty("ont-api.workload.writes", "0.1"));
+
+    private static Ontology loadPizza(OntologyManager manager) throws OWLOntologyCreationException {
+        return manager.loadOntologyFromOntologyDocument(ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+    }
+
+    @Test
+    public void testConcurrentOntology() throws Exception {
+        Ontology o = loadPizza(OntManagers.createConcurrentManager());
+        OWLDataFactory df = o.getOWLOntologyManager().getOWLDataFactory();
+        List<OWLAxiom> axioms = o.axioms().collect(Collectors.toList());
+        List<OWLClass> classes = o.classesInSignature().collect(Collectors.toList());
+        String ns = o.getOntologyID().getOntologyIRI().map(IRI::getIRIString).orElseThrow(AssertionError::new) + "#";
+
+        Workload w = new Workload()
+                .read("axioms", r -> o.axioms().count())
+                .read("referencingAxioms", r -> o.referencingAxioms(classes.get(r.nextInt(classes.size()))).count())
+                .read("containsAxiom", r -> Assertions.assertTrue(o.containsAxiom(axioms.get(r.nextInt(axioms.size())))))
+                .write("addAxiom", r -> {
+                    OWLClass c = df.getOWLClass(IRI.create(ns, "C" + r.nextInt(1000)));
+                    OWLAxiom a = df.getOWLSubClassOfAxiom(c, classes.get(r.nextInt(classes.size())));
+                    if (r.nextBoolean()) {
+                        o.add(a);
+                    } else {
+                        o.remove(a);
+                    }
+                })
+                .write("modelEdit", r -> {
+                    OntModel m = o.asGraphModel();
+                    OntClass c = m.createOntClass(ns + "M" + r.nextInt(1000));
+                    if (r.nextBoolean()) {
+                        c.addSuperClass(m.getOWLThing());
+                    } else {
+                        m.removeOntObject(c);
+                    }
+                });
+        assertProgress(w.run());
+    }
+
+    @Test
+    public void testRWLockedGraph() throws Exception {
+        Graph base = ReadWriteUtils.loadResourceTTLFile("/ontapi/pizza.ttl").getGraph();
+        OntModel m = OntModelFactory.createModel(new RWLockedGraph(base, new ReentrantReadWriteLock()));
+        List<Node> subjects = m.getGraph().find().mapWith(Triple::getSubject).filterKeep(Node::isURI).toSet()
+                .stream().collect(Collectors.toList());
+        String ns = m.getID().getURI() + "#";
+
+        Workload w = new Workload()
+                .read("find", r -> m.getGraph().find().toList().size())
+                .read("findBySubject", r -> m.getGraph().find(subjects.get(r.nextInt(subjects.size())), Node.ANY, Node.ANY)
+                        .toList())
+                .read("classes", r -> m.classes().count())
+                .write("modelEdit", r -> {
+                    OntClass c = m.createOntClass(ns + "M" + r.nextInt(1000));
+                    if (r.nextBoolean()) {
+                        c.addSuperClass(m.getOWLThing());
+                    } else {
+                        m.removeOntObject(c);
+                    }
+                });
+        assertProgress(w.run());
+    }
+
+    private static void assertProgress(Map<String, Stats> res) {
+        // the operation mix is random, so a short run guarantees nothing for a particular operation
+        Assertions.assertTrue(res.values().stream().mapToLong(Stats::count).sum() > 0, "No operations: " + res.keySet());
+    }
+
+    /**
+     * A set of read and write operations to run concurrently.
+     */
+    public static class Workload {
+        private final List<Operation> reads = new ArrayList<>();
+        private final List<Operation> writes = new ArrayList<>();
+
+        public Workload read(String name, Consumer<Random> op) {
+            reads.add(new Operation(name, op));
+            return this;
+        }
+
+        public Workload write(String name, Consumer<Random> op) {
+            writes.add(new Operation(name, op));
+            return this;
+        }
+
+        /**
+         * Runs the workload: warm-up, then measurement, then reports.
+         *
+         * @return a {@code Map} of operation names to the collected {@link Stats}
+         * @throws Exception if any operation fails
+         */
+        public Map<String, Stats> run() throws Exception {
+            if (WARMUP > 0) {
+                run(WARMUP);
+            }
+            Map<String, Stats> res = run(DURATION);
+            report(res, DURATION);
+            return res;
+        }
+
+        protected Map<String, Stats> run(long duration) throws Exception {
+            AtomicBoolean process = new AtomicBoolean(true);
+            ExecutorService service = Executors.newFixedThreadPool(THREADS);
+            List<Future<Map<String, Stats>>> futures = new ArrayList<>();
+            try {
+                for (int i = 0; i < THREADS; i++) {
+                    futures.add(service.submit(() -> work(process)));
+                }
+                Thread.sleep(duration);
+            } finally {
+                process.set(false);
+                service.shutdown();
+            }
+            Map<String, Stats> res = new TreeMap<>();
+            for (Future<Map<String, Stats>> f : futures) {
+                f.get(duration + 60_000, TimeUnit.MILLISECONDS)
+                        .forEach((k, v) -> res.merge(k, v, Stats::merge));
+            }
+            return res;
+        }
+
+        protected Map<String, Stats> work(AtomicBoolean process) {
+            Random r = ThreadLocalRandom.current();
+            Map<String, Stats> res = new HashMap<>();
+            Stream.concat(reads.stream(), writes.stream()).forEach(x -> res.put(x.name, new Stats(x.name)));
+            while (process.get()) {
+                List<Operation> ops = writes.isEmpty() || (!reads.isEmpty() && r.nextDouble() >= WRITES) ? reads : writes;
+                Operation op = ops.get(r.nextInt(ops.size()));
+                long start = System.nanoTime();
+                op.action.accept(r);
+                res.get(op.name).add(System.nanoTime() - start);
+            }
+            return res;
+        }
+
+        protected void report(Map<String, Stats> res, long duration) {
+            LOGGER.info("Workload: threads={}, duration={}ms, writes={}", THREADS, duration, WRITES);
+            res.values().forEach(x -> LOGGER.info("{}", x.toString(duration)));
+        }
+    }
+
+    /**
+     * A named action.
+     */
+    private static class Operation {
+        private final String name;
+        private final Consumer<Random> action;
+
+        private Operation(String name, Consumer<Random> action) {
+            this.name = name;
+            this.action = action;
+        }
+    }
+
+    /**
+     * Latencies (in nanoseconds) of some operation.
+     */
+    public static class Stats {
+        private final String name;
+        private long[] latencies = new long[1024];
+        private int size;
+
+        private Stats(String name) {
+            this.name = name;
+        }
+
+        private void add(long nanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+        }
+
+        private Stats merge(Stats other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.latencies[i]);
+            }
+            return this;
+        }
+
+        public int count() {
+            return size;
+        }
+
+        /**
+         * Returns the latency percentiles in microseconds.
+         *
+         * @param ps doubles, each from {@code 0} to {@code 1}
+         * @return array of doubles
+         */
+        public double[] percentiles(double... ps) {
+            long[] sorted = Arrays.copyOf(latencies, size);
+            Arrays.sort(sorted);
+            double[] res = new double[ps.length];
+            for (int i = 0; i < ps.length; i++) {
+                int index = (int) Math.ceil(ps[i] * size) - 1;
+                res[i] = size == 0 ? Double.NaN : sorted[Math.max(0, Math.min(size - 1, index))] / 1000.0;
+            }
+            return res;
+        }
+
+        public String toString(long duration) {
+            double[] p = percentiles(0.5, 0.99, 0.999);
+            return String.format(Locale.ENGLISH, "%-20s ops=%-8d ops/sec=%-10.1f p50=%.1fus p99=%.1fus p999=%.1fus",
+                    name, size, size * 1000.0 / duration, p[0], p[1], p[2]);
+        }
+    }
+}
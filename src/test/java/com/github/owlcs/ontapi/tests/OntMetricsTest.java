@@ -0,0 +1,105 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.owlcs.ontapi.tests;
+
+import com.github.owlcs.ontapi.OntFormat;
+import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.OntMetrics;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.utils.ReadWriteUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.AxiomType;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+/**
+ * To test {@link OntMetrics}.
+ */
+public class OntMetricsTest {
+
+    @AfterEach
+    public void after() {
+        OntMetrics.disable();
+    }
+
+    private static Ontology load(OntologyManager m) throws OWLOntologyCreationException {
+        return m.loadOntologyFromOntologyDocument(ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        Assertions.assertFalse(OntMetrics.isEnabled());
+        Assertions.assertNull(OntMetrics.getRegistry());
+        Assertions.assertEquals(0, OntMetrics.start());
+        Ontology o = load(OntManagers.createManager());
+        Assertions.assertEquals(945, o.getAxiomCount());
+        Assertions.assertNull(OntMetrics.getRegistry());
+    }
+
+    @Test
+    public void testCollectMetrics() throws Exception {
+        OntMetrics.MapRegistry registry = new OntMetrics.MapRegistry();
+        OntMetrics.setRegistry(registry);
+        Assertions.assertTrue(OntMetrics.isEnabled());
+
+        Ontology o = load(OntManagers.createConcurrentManager());
+        o.axioms(AxiomType.SUBCLASS_OF).count();
+        o.signature().count();
+        o.getOWLOntologyManager().getOWLDataFactory();
+        o.referencingAxioms(o.classesInSignature().findFirst().orElseThrow(AssertionError::new)).count();
+
+        Map<String, OntMetrics.Metric> metrics = registry.getMetrics();
+        Assertions.assertEquals(1, metrics.get("loader.read.jena").getCount());
+        Assertions.assertEquals(1, metrics.get("loader.transform").getCount());
+        Assertions.assertTrue(metrics.keySet().stream().anyMatch(x -> x.startsWith("transform.")));
+        Assertions.assertEquals(1, metrics.get("content.load.SUBCLASS_OF").getCount());
+        Assertions.assertTrue(metrics.keySet().stream().anyMatch(x -> x.startsWith("component.load.")));
+        Assertions.assertTrue(metrics.get("lock.read.wait").getCount() > 0);
+        metrics.values().forEach(x -> Assertions.assertTrue(x.getTotalNanos() >= x.getMaxNanos()));
+
+        registry.reset();
+        Assertions.assertTrue(registry.getMetrics().isEmpty());
+    }
+
+    @Test
+    public void testJMXRegistry() throws Exception {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OntMetrics.JMXRegistry.OBJECT_NAME);
+        Assertions.assertFalse(server.isRegistered(name));
+
+        OntMetrics.enable();
+        Assertions.assertTrue(server.isRegistered(name));
+        Ontology o = load(OntManagers.createManager());
+        o.axioms(AxiomType.DECLARATION).count();
+        Assertions.assertEquals(1L, server.getAttribute(name, "content.load.DECLARATION.count"));
+        Assertions.assertTrue((Double) server.getAttribute(name, "content.load.DECLARATION.totalMs") >= 0);
+        Assertions.assertTrue(server.getMBeanInfo(name).getAttributes().length >= 3);
+
+        server.invoke(name, "reset", new Object[0], new String[0]);
+        Assertions.assertEquals(0, server.getMBeanInfo(name).getAttributes().length);
+
+        OntMetrics.disable();
+        Assertions.assertFalse(server.isRegistered(name));
+    }
+}
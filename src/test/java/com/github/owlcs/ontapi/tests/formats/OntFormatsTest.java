@@ -17,17 +17,30 @@ package com.github.owlcs.ontapi.tests.formats;
 import com.github.owlcs.TempDirectory;
 import com.github.owlcs.ontapi.OntFormat;
 import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.jena.OntBinary;
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.utils.ReadWriteUtils;
 import com.github.owlcs.ontapi.utils.StringInputStreamDocumentSource;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RiotException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.semanticweb.owlapi.io.IRIDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
+import org.semanticweb.owlapi.io.StreamDocumentSource;
 import org.semanticweb.owlapi.io.UnparsableOntologyException;
 import org.semanticweb.owlapi.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -38,6 +51,7 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
@@ -155,6 +169,79 @@ public class OntFormatsTest {
         }
     }
 
+    @Test
+    public void testOntBinaryFormat() throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        m.getOntologyConfigurator().setWriteSnapshot(true);
+        Ontology src = m.loadOntologyFromOntologyDocument(ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        Assertions.assertTrue(m.getOntologyWriterConfiguration().isWriteSnapshot());
+        Assertions.assertTrue(OntFormat.ONT_BINARY.isSupported());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        m.saveOntology(src, OntFormat.ONT_BINARY.createOwlFormat(), out);
+        byte[] bytes = out.toByteArray();
+        LOGGER.debug("Binary size: {}", bytes.length);
+
+        Ontology res = OntManagers.createManager().loadOntologyFromOntologyDocument(
+                new StreamDocumentSource(new ByteArrayInputStream(bytes), IRI.create("http://test.org/pizza"),
+                        OntFormat.ONT_BINARY.createOwlFormat(), null));
+        Assertions.assertTrue(src.asGraphModel().getBaseGraph().isIsomorphicWith(res.asGraphModel().getBaseGraph()));
+        Assertions.assertEquals(src.axioms().count(), res.axioms().count());
+    }
+
+    @Test
+    public void testOntBinaryChunks() throws Exception {
+        // more than two chunks, with blank nodes and different kinds of literals
+        Graph g = OntModelFactory.createDefaultGraph();
+        for (int i = 0; i < OntBinary.CHUNK_SIZE * 2 + 42; i++) {
+            g.add(Triple.create(NodeFactory.createURI("http://test.org/ns#s" + i % 1000),
+                    NodeFactory.createURI("http://test.org/p" + i % 7),
+                    i % 3 == 0 ? NodeFactory.createBlankNode("b" + i % 10) :
+                            i % 3 == 1 ? NodeFactory.createLiteral("v" + i, "en") :
+                                    NodeFactory.createLiteral(String.valueOf(i), XSDDatatype.XSDint)));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OntBinary.write(out, g, g.getPrefixMapping().getNsPrefixMap(), ForkJoinPool.commonPool());
+
+        Graph res = OntModelFactory.createDefaultGraph();
+        RDFDataMgr.read(res, new ByteArrayInputStream(out.toByteArray()), OntBinary.LANG);
+        Assertions.assertEquals(g.size(), res.size());
+        Assertions.assertTrue(g.isIsomorphicWith(res));
+    }
+
+    @Test
+    public void testOntBinaryBrokenInput() throws Exception {
+        Graph g = OntModelFactory.createDefaultGraph();
+        g.getPrefixMapping().setNsPrefix("t", "http://test.org/ns#");
+        g.add(Triple.create(NodeFactory.createURI("http://test.org/ns#s"), NodeFactory.createURI("http://test.org/ns#p"),
+                NodeFactory.createLiteral("v", "en")));
+        g.add(Triple.create(NodeFactory.createBlankNode("b"), NodeFactory.createURI("http://test.org/ns#p"),
+                NodeFactory.createLiteral("42", XSDDatatype.XSDint)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OntBinary.write(out, g, g.getPrefixMapping().getNsPrefixMap(), ForkJoinPool.commonPool());
+        byte[] bytes = out.toByteArray();
+
+        // truncated
+        for (int i = 0; i < bytes.length - 1; i++) {
+            byte[] data = Arrays.copyOf(bytes, i);
+            Assertions.assertThrows(RiotException.class, () -> RDFDataMgr.read(OntModelFactory.createDefaultGraph(),
+                    new ByteArrayInputStream(data), OntBinary.LANG), "Truncated at " + i);
+        }
+        // corrupted: either a valid graph or a RiotException, but nothing else
+        for (int i = 0; i < bytes.length; i++) {
+            for (int b : new int[]{0x00, 0x01, 0x7F, 0xFF}) {
+                byte[] data = bytes.clone();
+                data[i] = (byte) b;
+                try {
+                    RDFDataMgr.read(OntModelFactory.createDefaultGraph(), new ByteArrayInputStream(data), OntBinary.LANG);
+                } catch (RiotException e) {
+                    LOGGER.debug("Corrupted at {}: {}", i, e.getMessage());
+                }
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private static boolean checkAxiomsCount(OWLOntology expected, OWLOntology actual, AxiomType<? extends OWLAxiom>... types) {
         return Arrays.stream(types).allMatch(type -> actual.axioms(type).count() == expected.axioms(type).count());
@@ -23,7 +23,7 @@ import com.github.owlcs.ontapi.internal.ONTObject;
 import com.github.owlcs.ontapi.jena.OntModelFactory;
 import com.github.owlcs.ontapi.jena.impl.conf.OntModelConfig;
 import com.github.owlcs.ontapi.jena.impl.conf.OntPersonality;
-import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.*;
 import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import com.github.owlcs.ontapi.jena.vocabulary.RDF;
 import com.github.owlcs.ontapi.transforms.GraphTransformers;
@@ -94,6 +94,30 @@ public class InternalModelTest {
         Assertions.assertEquals(expected, actual, "Incorrect statements (actual=" + actual.size() + ", expected=" + expected.size() + ")");
     }
 
+    @Test
+    public void testReadBulkAnnotations() {
+        OntModel m = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD);
+        String ns = "http://x#";
+        OntClass a = m.createOntClass(ns + "A");
+        OntClass b = m.createOntClass(ns + "B");
+        OntObjectProperty.Named p = m.createObjectProperty(ns + "p");
+        OntIndividual i = a.createIndividual(ns + "i");
+        a.addSubClassOfStatement(b).addAnnotation(m.getRDFSComment(), "c1")
+                .addAnnotation(m.getRDFSLabel(), "sub-annotation");
+        i.addStatement(p, i).addAnnotation(m.getRDFSComment(), "c2");
+        a.addStatement(RDFS.comment, m.createLiteral("x")).addAnnotation(m.getRDFSLabel(), "c3");
+        b.getMainStatement().addAnnotation(m.getRDFSLabel(), "c4");
+        b.getMainStatement().addAnnotation(m.getRDFSLabel(), "c5");
+
+        // the plain model does not use the annotations index
+        Set<OWLAxiom> expected = AxiomType.AXIOM_TYPES.stream().map(AxiomTranslator::get)
+                .flatMap(x -> x.axioms(m)).map(ONTObject::getOWLObject).collect(Collectors.toSet());
+        Assertions.assertEquals(3, expected.stream().filter(OWLAxiom::isAnnotated).count());
+        Set<OWLAxiom> actual = OntManagers.createManager().addOntology(m.getGraph()).axioms()
+                .collect(Collectors.toSet());
+        Assertions.assertEquals(expected, actual);
+    }
+
     @Test
     public void testOntologyAnnotations() {
         OWLDataFactory factory = OntManagers.getDataFactory();
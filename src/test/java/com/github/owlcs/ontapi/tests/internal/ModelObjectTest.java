@@ -15,17 +15,36 @@
 package com.github.owlcs.ontapi.tests.internal;
 
 import com.github.owlcs.ontapi.OntManagers;
+import com.github.owlcs.ontapi.Ontology;
+import com.github.owlcs.ontapi.OntologyManager;
+import com.github.owlcs.ontapi.config.CacheSettings;
+import com.github.owlcs.ontapi.internal.ONTObject;
 import com.github.owlcs.ontapi.internal.objects.ModelObject;
+import com.github.owlcs.ontapi.internal.objects.ONTStatementImpl;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntDataProperty;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.OntObjectProperty;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.owlcs.ontapi.jena.vocabulary.XSD;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.vocab.OWL2Datatype;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * To test {@link ModelObject}
@@ -356,4 +375,120 @@ public class ModelObjectTest {
         OWLClassExpression c = res.asSomeValuesFrom();
         ObjectFactoryTestBase.testObjectHasNoModelReference(c);
     }
+
+    @Test
+    public void testAxiomFingerprints() {
+        OntologyManager m = OntManagers.createManager();
+        List<OWLSubClassOfAxiom> first = createSubClassOfAxioms(m);
+        List<OWLSubClassOfAxiom> second = createSubClassOfAxioms(m);
+        Assertions.assertEquals(3, first.size());
+        Assertions.assertEquals(first, second);
+        for (int i = 0; i < first.size(); i++) {
+            ONTStatementImpl a = (ONTStatementImpl) first.get(i);
+            ONTStatementImpl b = (ONTStatementImpl) second.get(i);
+            Assertions.assertNotSame(a, b);
+            Assertions.assertNotEquals(0, a.fingerprint());
+            Assertions.assertEquals(a.fingerprint(), b.fingerprint());
+            for (int j = 0; j < i; j++) {
+                Assertions.assertNotEquals(a.fingerprint(), ((ONTStatementImpl) first.get(j)).fingerprint());
+            }
+        }
+    }
+
+    @Test
+    public void testEqualsWithCollidingHashCodes() {
+        // "Aa" and "BB" have the same String#hashCode, so the axioms below have the same hashCode
+        OntologyManager m = OntManagers.createManager();
+        List<OWLSubClassOfAxiom> first = createCollidingAxioms(m);
+        List<OWLSubClassOfAxiom> second = createCollidingAxioms(m);
+        ONTStatementImpl a = (ONTStatementImpl) first.get(0);
+        ONTStatementImpl b = (ONTStatementImpl) first.get(1);
+        Assertions.assertEquals(a.hashCode(), b.hashCode());
+        Assertions.assertNotEquals(a, b);
+        Assertions.assertNotEquals(b, a);
+        // after the content comparison the fingerprints are known, and they are different
+        Assertions.assertNotEquals(a.fingerprint(), b.fingerprint());
+        Assertions.assertNotEquals(a, b);
+        Assertions.assertEquals(2, new HashSet<>(first).size());
+
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(new HashSet<>(first), new HashSet<>(second));
+        Assertions.assertNotEquals(second.get(0), first.get(1));
+        Assertions.assertNotEquals(first.get(0), second.get(1));
+    }
+
+    private static List<OWLSubClassOfAxiom> createCollidingAxioms(OntologyManager manager) {
+        Ontology o = manager.createOntology();
+        OntModel m = o.asGraphModel();
+        OntObjectProperty.Named p = m.createObjectProperty("urn:p");
+        m.createOntClass("urn:X").addSuperClass(m.createObjectSomeValuesFrom(p, m.createOntClass("urn:Aa")));
+        m.createOntClass("urn:X").addSuperClass(m.createObjectSomeValuesFrom(p, m.createOntClass("urn:BB")));
+        return o.axioms(AxiomType.SUBCLASS_OF).sorted().collect(Collectors.toList());
+    }
+
+    @Test
+    public void testPrefetchNestedClassExpressions() {
+        testNestedClassExpressions(true);
+    }
+
+    @Test
+    public void testReadNestedClassExpressions() {
+        testNestedClassExpressions(false);
+    }
+
+    private static void testNestedClassExpressions(boolean prefetch) {
+        OntologyManager man = OntManagers.createManager();
+        if (prefetch) {
+            man.getOntologyConfigurator().setModelCacheLevel(CacheSettings.CACHE_PREFETCH, true);
+        }
+        // the prefetch mode is off by default
+        Assertions.assertEquals(prefetch, man.getOntologyConfigurator().usePrefetchCache());
+        Ontology o = man.createOntology();
+        OntModel m = o.asGraphModel();
+        OntObjectProperty.Named p = m.createObjectProperty("p");
+        OntDataProperty d = m.createDataProperty("d");
+        OWLDataFactory df = man.getOWLDataFactory();
+        OWLObjectProperty op = df.getOWLObjectProperty("p");
+        OWLDataProperty dp = df.getOWLDataProperty("d");
+        OntClass c = m.createOntClass("C0");
+        OWLClassExpression expected = df.getOWLClass("C0");
+        for (int i = 1; i < 5; i++) {
+            c = m.createObjectIntersectionOf(Arrays.asList(c, m.createOntClass("C" + i),
+                    m.createDataSomeValuesFrom(d, m.createDataUnionOf(Arrays.asList(m.getDatatype(XSD.xstring),
+                            m.createDataOneOf(Collections.singletonList(m.createTypedLiteral(i))))))));
+            c = m.createObjectSomeValuesFrom(i % 2 == 0 ? p : p.createInverse(), c);
+            expected = df.getOWLObjectIntersectionOf(expected, df.getOWLClass("C" + i),
+                    df.getOWLDataSomeValuesFrom(dp, df.getOWLDataUnionOf(df.getStringOWLDatatype(),
+                            df.getOWLDataOneOf(df.getOWLLiteral(String.valueOf(i), OWL2Datatype.XSD_INT)))));
+            expected = df.getOWLObjectSomeValuesFrom(i % 2 == 0 ? op : df.getOWLObjectInverseOf(op), expected);
+        }
+        m.createOntClass("X").addSuperClass(c);
+
+        OWLSubClassOfAxiom actual = o.axioms(AxiomType.SUBCLASS_OF).findFirst().orElseThrow(AssertionError::new);
+        Assertions.assertEquals(df.getOWLSubClassOfAxiom(df.getOWLClass("X"), expected), actual);
+        Assertions.assertTrue(actual.getSuperClass() instanceof ModelObject);
+        ObjectFactoryTestBase.testObjectHasNoModelReference(actual.getSuperClass());
+        // the objects are bound to the ontology model, not to some temporary view
+        @SuppressWarnings("unchecked")
+        ONTObject<OWLClassExpression> ce = (ONTObject<OWLClassExpression>) actual.getSuperClass();
+        Node x = m.getOntClass("X").asNode();
+        Supplier<Set<Triple>> triples = () -> m.getBaseGraph().find()
+                .filterDrop(t -> x.equals(t.getSubject()) || OWL.Ontology.asNode().equals(t.getObject())).toSet();
+        Assertions.assertEquals(triples.get(), ce.triples().collect(Collectors.toSet()));
+        c.as(OntClass.ObjectSomeValuesFrom.class).getValue().as(OntClass.IntersectionOf.class).getList()
+                .addLast(m.getOWLNothing());
+        Assertions.assertEquals(triples.get(), ce.triples().collect(Collectors.toSet()));
+    }
+
+    private static List<OWLSubClassOfAxiom> createSubClassOfAxioms(OntologyManager manager) {
+        Ontology o = manager.createOntology();
+        OntModel m = o.asGraphModel();
+        OntObjectProperty.Named p = m.createObjectProperty("p");
+        OntClass b = m.createOntClass("B");
+        m.createOntClass("A").addSubClassOfStatement(m.createObjectSomeValuesFrom(p, b))
+                .addAnnotation(m.getRDFSComment(), "x");
+        m.createOntClass("A").addSuperClass(m.createObjectAllValuesFrom(p, b));
+        m.createOntClass("C").addSuperClass(b);
+        return o.axioms(AxiomType.SUBCLASS_OF).sorted().collect(Collectors.toList());
+    }
 }
@@ -19,6 +19,7 @@ import com.github.owlcs.ontapi.jena.model.*;
 import com.github.owlcs.ontapi.jena.utils.Iter;
 import com.github.owlcs.ontapi.jena.utils.Models;
 import com.github.owlcs.ontapi.jena.utils.OntModels;
+import com.github.owlcs.ontapi.jena.utils.OpenHashSet;
 import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import com.github.owlcs.ontapi.jena.vocabulary.RDF;
 import com.github.owlcs.ontapi.utils.ReadWriteUtils;
@@ -31,15 +32,12 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
- * To test {@link Models} and {@link OntModels} utilities.
+ * To test {@link Models}, {@link OntModels} and {@link OpenHashSet} utilities.
  * <p>
  * Created by @szuev on 25.04.2018.
  */
@@ -186,4 +184,39 @@ public class ModelUtilsTest {
         OntStatement s2 = OntModels.toOntStatement(t2, m);
         Assertions.assertEquals(1, s2.annotations().count());
     }
+
+    @Test
+    public void testOpenHashSet() {
+        Random r = new Random(42);
+        Set<Integer> expected = new HashSet<>();
+        Set<Integer> actual = new OpenHashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            // small range: many collisions, long clusters and removals inside them
+            Integer x = r.nextInt(5_000) * 1024;
+            if (r.nextInt(3) == 0) {
+                Assertions.assertEquals(expected.remove(x), actual.remove(x));
+            } else {
+                Assertions.assertEquals(expected.add(x), actual.add(x));
+            }
+            Assertions.assertEquals(expected.size(), actual.size());
+        }
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(actual, expected);
+        expected.forEach(x -> Assertions.assertTrue(actual.contains(x)));
+        Assertions.assertFalse(actual.contains(-1));
+        Assertions.assertFalse(actual.contains(null));
+        Assertions.assertThrows(NullPointerException.class, () -> actual.add(null));
+
+        Iterator<Integer> it = actual.iterator();
+        it.next();
+        actual.add(-1);
+        Assertions.assertThrows(ConcurrentModificationException.class, it::next);
+
+        actual.clear();
+        Assertions.assertTrue(actual.isEmpty());
+        Assertions.assertFalse(actual.iterator().hasNext());
+
+        List<String> data = Arrays.asList("a", "b", "a", "c", "b", "d");
+        Assertions.assertEquals(Arrays.asList("a", "b", "c", "d"), Iter.distinct(Iter.create(data)).toList());
+    }
 }
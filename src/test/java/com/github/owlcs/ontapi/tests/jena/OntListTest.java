@@ -609,4 +609,64 @@ public class OntListTest {
         Assertions.assertEquals(1, list.size());
         Assertions.assertEquals(0, list.members().count());
     }
+
+    @Test
+    public void testIndexedList() {
+        OntGraphModelImpl m1 = (OntGraphModelImpl) OntModelFactory.createModel();
+        OntGraphModelImpl m2 = ((OntGraphModelImpl) OntModelFactory.createModel()).setListIndexEnabled(true);
+        Assertions.assertNull(m1.getListIndex());
+        Assertions.assertNotNull(m2.getListIndex());
+        int size = 1000;
+        OntList<OntClass> list1 = m1.createObjectUnionOf(Collections.emptyList()).getList();
+        OntList<OntClass> list2 = m2.createObjectUnionOf(Collections.emptyList()).getList();
+        for (int i = 0; i < size; i++) {
+            list1.addLast(m1.createOntClass("C" + i));
+            list2.addLast(m2.createOntClass("C" + i));
+        }
+        Assertions.assertEquals(1, m2.getListIndex().size());
+        Assertions.assertTrue(m1.getBaseGraph().isIsomorphicWith(m2.getBaseGraph()));
+        Assertions.assertEquals(size, list2.size());
+        Assertions.assertEquals(list1.members().map(Resource::getURI).collect(Collectors.toList()),
+                list2.members().map(Resource::getURI).collect(Collectors.toList()));
+        Assertions.assertEquals(size, list2.members().parallel().count());
+        Assertions.assertEquals("C42", list2.get(42).first().map(Resource::getURI).orElseThrow(AssertionError::new));
+        Assertions.assertTrue(list2.get(size).isNil());
+        Assertions.assertThrows(OntJenaException.IllegalArgument.class, () -> list2.get(size + 1));
+        Assertions.assertTrue(list2.contains(m2.getOntClass("C7")));
+        Assertions.assertFalse(list2.contains(m2.createOntClass("X")));
+        Assertions.assertFalse(list1.contains(m1.createOntClass("X")));
+        // sub-lists are views of the indexed list
+        for (int i = 1; i < size; i += 100) {
+            OntList<OntClass> tail = list2.get(i);
+            Assertions.assertEquals(size - i, tail.size());
+            Assertions.assertTrue(tail.contains(m2.getOntClass("C" + i)));
+            Assertions.assertFalse(tail.contains(m2.getOntClass("C" + (i - 1))));
+            Assertions.assertEquals("C" + (i + 1), tail.get(1).first().map(Resource::getURI)
+                    .orElseThrow(AssertionError::new));
+        }
+        Assertions.assertEquals(1, m2.getListIndex().size());
+
+        OntList<OntClass> sub = list2.get(size - 10);
+        Assertions.assertEquals(10, sub.size());
+        list2.removeLast().removeLast();
+        list1.removeLast().removeLast();
+        Assertions.assertEquals(size - 2, list2.size());
+        Assertions.assertEquals(8, sub.size());
+        Assertions.assertEquals("C997", list2.last().map(Resource::getURI).orElseThrow(AssertionError::new));
+        Assertions.assertTrue(m1.getBaseGraph().isIsomorphicWith(m2.getBaseGraph()));
+
+        // direct graph modification
+        Resource cell = m2.statements(null, RDF.first, m2.getOntClass("C5")).map(Statement::getSubject)
+                .findFirst().orElseThrow(AssertionError::new);
+        m2.removeAll(cell, RDF.first, null).add(cell, RDF.first, m2.createOntClass("X"));
+        Assertions.assertEquals("X", list2.get(5).first().map(Resource::getURI).orElseThrow(AssertionError::new));
+        Assertions.assertTrue(list2.contains(m2.getOntClass("X")));
+        Assertions.assertFalse(list2.contains(m2.getOntClass("C5")));
+
+        Assertions.assertTrue(list2.clear().isNil());
+        Assertions.assertEquals(0, list2.size());
+        Assertions.assertEquals(0, m2.getListIndex().size());
+        m2.setListIndexEnabled(false);
+        Assertions.assertNull(m2.getListIndex());
+    }
 }
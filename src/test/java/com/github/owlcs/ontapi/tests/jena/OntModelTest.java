@@ -20,6 +20,7 @@ import com.github.owlcs.ontapi.jena.OntModelFactory;
 import com.github.owlcs.ontapi.jena.UnionGraph;
 import com.github.owlcs.ontapi.jena.impl.OntCEImpl;
 import com.github.owlcs.ontapi.jena.impl.OntGraphModelImpl;
+import com.github.owlcs.ontapi.jena.impl.conf.CanWrapMemo;
 import com.github.owlcs.ontapi.jena.impl.conf.OntModelConfig;
 import com.github.owlcs.ontapi.jena.model.*;
 import com.github.owlcs.ontapi.jena.utils.Graphs;
@@ -831,5 +832,40 @@ public class OntModelTest {
         Assertions.assertEquals(9, m.ontObjects(OntDataRange.class).count(), "Incorrect count of data ranges");
         Assertions.assertEquals(6, m.ontObjects(OntEntity.class).count(), "Incorrect count of entities");
     }
-}
 
+    @Test
+    public void testMemoizedCanWrap() {
+        Graph g = ReadWriteUtils.loadResourceTTLFile("ontapi/pizza.ttl").getGraph();
+        OntModel m1 = OntModelFactory.createModel(g);
+        OntModel m2 = OntModelFactory.createModel(g, OntModelConfig.getPersonality(), true);
+        Stream.of(OntClass.class, OntClass.ObjectSomeValuesFrom.class, OntIndividual.class, OntObjectProperty.class)
+                .forEach(t -> Assertions.assertEquals(m1.ontObjects(t).count(), m2.ontObjects(t).count(), "Wrong " + t));
+        // to fill the memo
+        Assertions.assertEquals(155, m2.ontObjects(OntClass.ObjectSomeValuesFrom.class).count());
+
+        OntClass.ObjectSomeValuesFrom r = m2.ontObjects(OntClass.ObjectSomeValuesFrom.class).findFirst()
+                .orElseThrow(AssertionError::new);
+        OntObjectProperty p = r.getProperty();
+        m2.statements(p, RDF.type, OWL.ObjectProperty).collect(Collectors.toList()).forEach(m2::remove);
+        long expected = m1.ontObjects(OntClass.ObjectSomeValuesFrom.class).count();
+        Assertions.assertTrue(expected < 155);
+        Assertions.assertEquals(expected, m2.ontObjects(OntClass.ObjectSomeValuesFrom.class).count());
+        Assertions.assertFalse(m2.ontObjects(OntClass.ObjectSomeValuesFrom.class).anyMatch(r::equals));
+
+        m2.createResource(p.getURI(), OWL.ObjectProperty);
+        Assertions.assertEquals(155, m2.ontObjects(OntClass.ObjectSomeValuesFrom.class).count());
+        Assertions.assertTrue(m2.ontObjects(OntClass.ObjectSomeValuesFrom.class).anyMatch(r::equals));
+    }
+
+    @Test
+    public void testCanWrapMemoIsBounded() {
+        Graph g = ReadWriteUtils.loadResourceTTLFile("ontapi/pizza.ttl").getGraph();
+        CanWrapMemo memo = new CanWrapMemo(10);
+        OntGraphModelImpl m = new OntGraphModelImpl(g, memo.wrap(OntModelConfig.getPersonality()));
+        memo.attach(m);
+        long expected = OntModelFactory.createModel(g).ontObjects(OntClass.class).count();
+        Assertions.assertEquals(expected, m.ontObjects(OntClass.class).count());
+        Assertions.assertTrue(memo.size() <= 10, "Memo is not bounded: " + memo.size());
+        Assertions.assertEquals(expected, m.ontObjects(OntClass.class).count());
+    }
+}
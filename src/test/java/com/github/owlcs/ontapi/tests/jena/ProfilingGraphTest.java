@@ -0,0 +1,97 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+
+package com.github.owlcs.ontapi.tests.jena;
+
+import com.github.owlcs.ontapi.*;
+import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.ProfilingGraph;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import com.github.owlcs.ontapi.utils.ReadWriteUtils;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.AxiomType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * To test {@link ProfilingGraph}.
+ */
+public class ProfilingGraphTest {
+
+    @Test
+    public void testPatterns() {
+        Node s = NodeFactory.createURI("s");
+        Node o = NodeFactory.createLiteral("o");
+        Assertions.assertEquals("? ? ?", ProfilingGraph.pattern(Node.ANY, Node.ANY, Node.ANY));
+        Assertions.assertEquals("S <" + RDF.type.getURI() + "> ?", ProfilingGraph.pattern(s, RDF.type.asNode(), null));
+        Assertions.assertEquals("? ? L", ProfilingGraph.pattern(Node.ANY, Node.ANY, o));
+        Assertions.assertEquals("S ? O", ProfilingGraph.pattern(s, Node.ANY, s));
+    }
+
+    @Test
+    public void testProfileOntModel() {
+        ProfilingGraph g = new ProfilingGraph(GraphFactory.createGraphMem());
+        OntModel m = OntModelFactory.createModel(g);
+        m.createOntClass("A").addSuperClass(m.createOntClass("B"));
+        g.reset();
+        Assertions.assertTrue(g.getProfile().isEmpty());
+
+        Assertions.assertEquals(2, m.ontObjects(OntClass.Named.class).count());
+        List<ProfilingGraph.Entry> profile = g.getProfile();
+        Assertions.assertFalse(profile.isEmpty());
+        ProfilingGraph.Entry types = profile.stream()
+                .filter(x -> "find".equals(x.getOperation()))
+                .filter(x -> ("? <" + RDF.type.getURI() + "> <" + OWL.Class.getURI() + ">").equals(x.getPattern())
+                        || ("? <" + RDF.type.getURI() + "> O").equals(x.getPattern()))
+                .findFirst().orElseThrow(AssertionError::new);
+        Assertions.assertTrue(types.getResults() >= 2);
+        Assertions.assertTrue(profile.stream().anyMatch(x -> x.getCaller().contains(".impl.conf.")), g.report());
+        long calls = profile.stream().mapToLong(ProfilingGraph.Entry::getCalls).sum();
+        Assertions.assertEquals(calls, g.getPatterns().values().stream().mapToLong(x -> x).sum());
+    }
+
+    @Test
+    public void testProfileOntology() throws Exception {
+        OntologyManager manager = OntManagers.createManager();
+        manager.getOntologyFactories().clear();
+        OntologyFactory.Builder builder = new OntologyBuilderImpl() {
+            @Override
+            public Graph createGraph() {
+                return new ProfilingGraph(super.createGraph(), null);
+            }
+        };
+        manager.getOntologyFactories().add(new OntManagers.ONTAPIProfile().createOntologyFactory(builder));
+        Ontology o = manager.loadOntologyFromOntologyDocument(ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        ProfilingGraph g = (ProfilingGraph) o.asGraphModel().getBaseGraph();
+        g.reset();
+        Assertions.assertEquals(259, o.axioms(AxiomType.SUBCLASS_OF).count());
+        Map<String, Long> patterns = g.getPatterns();
+        Assertions.assertFalse(patterns.isEmpty());
+        Assertions.assertTrue(patterns.containsKey("find ? <" + RDFS.subClassOf.getURI() + "> ?"),
+                String.valueOf(patterns));
+        g.getProfile().forEach(x -> Assertions.assertEquals("<other>", x.getCaller()));
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests.jena;
+
+import com.github.owlcs.ontapi.*;
+import com.github.owlcs.ontapi.jena.SortedGraph;
+import com.github.owlcs.ontapi.jena.utils.Iter;
+import com.github.owlcs.ontapi.utils.ReadWriteUtils;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.OWLOntologyCreationException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * To test {@link SortedGraph}.
+ */
+public class SortedGraphTest {
+
+    private static Graph loadPizza() {
+        return ReadWriteUtils.loadResourceTTLFile("/ontapi/pizza.ttl").getGraph();
+    }
+
+    private static SortedGraph copy(Graph g) {
+        SortedGraph res = new SortedGraph();
+        g.find().forEachRemaining(res::add);
+        return res;
+    }
+
+    private static void assertSorted(List<Triple> triples) {
+        for (int i = 1; i < triples.size(); i++) {
+            Assertions.assertTrue(SortedGraph.TRIPLE_COMPARATOR.compare(triples.get(i - 1), triples.get(i)) < 0,
+                    "Wrong order: " + triples.get(i - 1) + " and " + triples.get(i));
+        }
+    }
+
+    @Test
+    public void testFindIsSameAsGraphMem() {
+        Graph mem = loadPizza();
+        SortedGraph sorted = copy(mem);
+        Assertions.assertEquals(mem.size(), sorted.size());
+        Assertions.assertEquals(mem.find().toSet(), sorted.find().toSet());
+        assertSorted(sorted.find().toList());
+        List<Triple> patterns = new ArrayList<>();
+        mem.find().toList().stream().limit(100).forEach(t -> {
+            patterns.add(Triple.create(t.getSubject(), Node.ANY, Node.ANY));
+            patterns.add(Triple.create(Node.ANY, t.getPredicate(), Node.ANY));
+            patterns.add(Triple.create(Node.ANY, Node.ANY, t.getObject()));
+            patterns.add(Triple.create(t.getSubject(), t.getPredicate(), Node.ANY));
+            patterns.add(Triple.create(t.getSubject(), Node.ANY, t.getObject()));
+            patterns.add(Triple.create(Node.ANY, t.getPredicate(), t.getObject()));
+            patterns.add(t);
+        });
+        patterns.forEach(p -> {
+            Assertions.assertEquals(mem.find(p).toSet(), sorted.find(p).toSet(), "Wrong find for " + p);
+            Assertions.assertEquals(mem.contains(p), sorted.contains(p));
+        });
+
+        Triple t = mem.find().next();
+        sorted.delete(t);
+        Assertions.assertFalse(sorted.contains(t));
+        Assertions.assertEquals(mem.size() - 1, sorted.size());
+        sorted.remove(t.getSubject(), Node.ANY, Node.ANY);
+        Assertions.assertFalse(sorted.find(t.getSubject(), Node.ANY, Node.ANY).hasNext());
+        Assertions.assertEquals(mem.size() - mem.find(t.getSubject(), Node.ANY, Node.ANY).toList().size(), sorted.size());
+        sorted.clear();
+        Assertions.assertTrue(sorted.isEmpty());
+        Assertions.assertFalse(sorted.find().hasNext());
+    }
+
+    @Test
+    public void testRangeAndPrefixScans() {
+        Graph mem = loadPizza();
+        SortedGraph g = copy(mem);
+        String ns = "http://www.co-ode.org/ontologies/pizza/pizza.owl#";
+        Set<Node> expected = mem.find().mapWith(Triple::getSubject)
+                .filterKeep(x -> x.isURI() && x.getURI().startsWith(ns + "P")).toSet();
+        List<Node> actual = g.listSubjects(ns + "P").toList();
+        Assertions.assertFalse(actual.isEmpty());
+        Assertions.assertEquals(expected, new HashSet<>(actual));
+        Assertions.assertEquals(expected.size(), actual.size());
+
+        Node from = NodeFactory.createURI(ns + "P");
+        Node to = NodeFactory.createURI(ns + "Q");
+        List<Triple> range = g.findRange(from, to).toList();
+        assertSorted(range);
+        Assertions.assertEquals(mem.find().filterKeep(x -> expected.contains(x.getSubject())).toSet(),
+                new HashSet<>(range));
+    }
+
+    @Test
+    public void testCursorPaging() {
+        SortedGraph g = copy(loadPizza());
+        List<Triple> all = g.find().toList();
+        List<Triple> paged = new ArrayList<>();
+        Triple cursor = null;
+        while (true) {
+            List<Triple> page = Iter.asStream(g.findAfter(cursor)).limit(37).collect(Collectors.toList());
+            if (page.isEmpty()) break;
+            paged.addAll(page);
+            cursor = page.get(page.size() - 1);
+        }
+        Assertions.assertEquals(all, paged);
+        // absent cursor:
+        Triple t = all.get(all.size() / 2);
+        g.delete(t);
+        Assertions.assertEquals(all.subList(all.size() / 2 + 1, all.size()), g.findAfter(t).toList());
+    }
+
+    @Test
+    public void testAsOntologyStorage() throws OWLOntologyCreationException {
+        OntologyManager manager = OntManagers.createManager();
+        manager.getOntologyFactories().clear();
+        OntologyFactory.Builder builder = new OntologyBuilderImpl() {
+            @Override
+            public Graph createGraph() {
+                return new SortedGraph();
+            }
+        };
+        manager.getOntologyFactories().add(new OntManagers.ONTAPIProfile().createOntologyFactory(builder));
+        Ontology o = manager.loadOntologyFromOntologyDocument(ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        Assertions.assertTrue(o.asGraphModel().getBaseGraph() instanceof SortedGraph);
+        Ontology expected = OntManagers.createManager().addOntology(GraphFactory.createGraphMem());
+        loadPizza().find().forEachRemaining(expected.asGraphModel().getBaseGraph()::add);
+        Assertions.assertEquals(expected.axioms().collect(Collectors.toSet()), o.axioms().collect(Collectors.toSet()));
+    }
+}
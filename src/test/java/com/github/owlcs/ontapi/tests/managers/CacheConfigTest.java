@@ -14,30 +14,52 @@
 
 package com.github.owlcs.ontapi.tests.managers;
 
+import com.github.owlcs.TempDirectory;
 import com.github.owlcs.ontapi.*;
 import com.github.owlcs.ontapi.config.CacheSettings;
 import com.github.owlcs.ontapi.config.OntConfig;
 import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
 import com.github.owlcs.ontapi.config.OntSettings;
 import com.github.owlcs.ontapi.internal.*;
+import com.github.owlcs.ontapi.internal.objects.ONTObjectImpl;
+import com.github.owlcs.ontapi.internal.objects.WithContent;
+import com.github.owlcs.ontapi.jena.DeltaGraph;
+import com.github.owlcs.ontapi.jena.OntModelFactory;
 import com.github.owlcs.ontapi.jena.impl.OntGraphModelImpl;
+import com.github.owlcs.ontapi.jena.impl.conf.OntModelConfig;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.OntObject;
+import com.github.owlcs.ontapi.jena.model.OntObjectProperty;
+import com.github.owlcs.ontapi.jena.utils.Graphs;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
 import com.github.owlcs.ontapi.utils.ReadWriteUtils;
 import org.apache.jena.graph.Graph;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.impl.WrappedGraph;
 import org.apache.jena.util.iterator.ExtendedIterator;
+import org.apache.jena.vocabulary.RDFS;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.io.FileDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.OutputStream;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * Created by @ssz on 04.03.2019.
@@ -302,6 +324,52 @@ public class CacheConfigTest {
         });
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @Test
+    public void testCountAxiomsWithNoContentLoading() throws Exception {
+        OWLOntologyDocumentSource src = ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE);
+        Ontology expected = OntManagers.createManager().loadOntologyFromOntologyDocument(src);
+        Map<AxiomType<?>, Integer> counts = new HashMap<>();
+        AxiomType.AXIOM_TYPES.forEach(t -> counts.put(t, (int) expected.axioms(t).count()));
+
+        Ontology o = OntManagers.createManager().loadOntologyFromOntologyDocument(src);
+        InternalModelImpl im = getBase(o);
+        InternalCache.Loading cache = getInternalCache(im, OWLTopObjectType.class);
+        Map map = (Map) cache.get(im);
+        Assertions.assertFalse(o.isEmpty());
+        AxiomType.AXIOM_TYPES.forEach(t -> {
+            Assertions.assertEquals(counts.get(t) != 0, im.containsOWLAxioms(t), "Wrong existence for " + t);
+            Assertions.assertEquals((int) counts.get(t), o.getAxiomCount(t), "Wrong count for " + t);
+        });
+        OWLAxiom declaration = expected.axioms(AxiomType.DECLARATION).findFirst().orElseThrow(AssertionError::new);
+        OWLAxiom assertion = expected.axioms(AxiomType.ANNOTATION_ASSERTION).findFirst().orElseThrow(AssertionError::new);
+        Assertions.assertTrue(o.containsAxiom(declaration));
+        Assertions.assertTrue(o.containsAxiom(assertion));
+        Assertions.assertFalse(o.containsAxiom(o.getOWLOntologyManager().getOWLDataFactory()
+                .getOWLDeclarationAxiom(o.getOWLOntologyManager().getOWLDataFactory().getOWLClass("X"))));
+        OWLTopObjectType.all().filter(OWLTopObjectType::isDistinct).forEach(k ->
+                Assertions.assertFalse(((ObjectMap) map.get(k)).isLoaded(), "Loaded: " + k));
+
+        // counters are reset on change:
+        o.remove(declaration);
+        Assertions.assertEquals(counts.get(AxiomType.DECLARATION) - 1, o.getAxiomCount(AxiomType.DECLARATION));
+        o.add(declaration);
+        o.clearCache();
+        Assertions.assertEquals((int) counts.get(AxiomType.DECLARATION), o.getAxiomCount(AxiomType.DECLARATION));
+        o.asGraphModel().createOntClass("http://x#Y");
+        Assertions.assertEquals(counts.get(AxiomType.DECLARATION) + 1, o.getAxiomCount(AxiomType.DECLARATION));
+
+        // an axiom of one type may change the counts of other types:
+        o.clearCache();
+        Assertions.assertEquals(counts.get(AxiomType.DECLARATION) + 1, o.getAxiomCount(AxiomType.DECLARATION));
+        OWLDataFactory df = o.getOWLOntologyManager().getOWLDataFactory();
+        o.add(df.getOWLSubClassOfAxiom(df.getOWLClass("http://x#A"), df.getOWLClass("http://x#B")));
+        Assertions.assertEquals(o.axioms(AxiomType.DECLARATION).count(), o.getAxiomCount(AxiomType.DECLARATION));
+        o.clearCache();
+        Assertions.assertEquals(counts.get(AxiomType.DECLARATION) + 3, o.getAxiomCount(AxiomType.DECLARATION));
+        Assertions.assertEquals(o.axioms(AxiomType.DECLARATION).count(), o.getAxiomCount(AxiomType.DECLARATION));
+    }
+
     @Test
     public void testComponentCacheOption() {
         Graph g = ReadWriteUtils.loadResourceTTLFile("/ontapi/pizza.ttl").getGraph();
@@ -505,8 +573,484 @@ public class CacheConfigTest {
         Assertions.assertEquals(16, o.axioms().peek(x -> LOGGER.debug("{}", x)).count());
     }
 
+    @Test
+    public void testInternNodesAcrossOntologies() throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        // opt-in
+        Assertions.assertFalse(m.getOntologyConfigurator().isManagerInternNodes());
+        Assertions.assertNull(((OntologyManagerImpl) m).getNodeDictionary());
+        m.setOntologyConfigurator(new OntConfig() {
+            @Override
+            protected OntConfig setManagerInternNodes(boolean b) {
+                return super.setManagerInternNodes(b);
+            }
+        }.setManagerInternNodes(true));
+        Assertions.assertTrue(m.getOntologyConfigurator().isManagerInternNodes());
+        NodeDictionary dictionary = ((OntologyManagerImpl) m).getNodeDictionary();
+        Assertions.assertNotNull(dictionary);
+
+        String ns = "http://x#";
+        String txt1 = "<" + ns + "o1> a <http://www.w3.org/2002/07/owl#Ontology> .\n" +
+                "<" + ns + "A> a <http://www.w3.org/2002/07/owl#Class> .";
+        String txt2 = "<" + ns + "o2> a <http://www.w3.org/2002/07/owl#Ontology> .\n" +
+                "<" + ns + "A> a <http://www.w3.org/2002/07/owl#Class> .";
+        Ontology o1 = m.loadOntologyFromOntologyDocument(ReadWriteUtils.getStringDocumentSource(txt1, OntFormat.TURTLE));
+        Ontology o2 = m.loadOntologyFromOntologyDocument(ReadWriteUtils.getStringDocumentSource(txt2, OntFormat.TURTLE));
+
+        Node a1 = o1.asGraphModel().getBaseGraph().find(Node.ANY, RDF.Nodes.type, OWL.Class.asNode())
+                .mapWith(Triple::getSubject).toList().get(0);
+        Node a2 = o2.asGraphModel().getBaseGraph().find(Node.ANY, RDF.Nodes.type, OWL.Class.asNode())
+                .mapWith(Triple::getSubject).toList().get(0);
+        Assertions.assertEquals(a1, a2);
+        Assertions.assertSame(a1, a2);
+        Assertions.assertSame(a1, dictionary.getURI(ns + "A"));
+
+        IRI i1 = o1.classesInSignature().findFirst().orElseThrow(AssertionError::new).getIRI();
+        IRI i2 = o2.classesInSignature().findFirst().orElseThrow(AssertionError::new).getIRI();
+        Assertions.assertSame(i1, i2);
+
+        m.setOntologyConfigurator(new OntConfig() {
+            @Override
+            protected OntConfig setManagerInternNodes(boolean b) {
+                return super.setManagerInternNodes(b);
+            }
+        }.setManagerInternNodes(false));
+        Assertions.assertNull(((OntologyManagerImpl) m).getNodeDictionary());
+    }
+
+    @Test
+    public void testSharedObjectsCache() throws Exception {
+        Assertions.assertEquals(Prop.MANAGER_OBJECTS_CACHE_SIZE.getInt(),
+                new OntConfig().getManagerObjectsCacheSize());
+        OntologyManagerImpl m1 = (OntologyManagerImpl) OntManagers.createManager();
+        Assertions.assertSame(m1.getOWLDataFactory(), m1.getModelDataFactory());
+
+        OntologyManagerImpl m2 = (OntologyManagerImpl) OntManagers.createManager();
+        m2.setOntologyConfigurator(new OntConfig() {
+            @Override
+            protected OntConfig setManagerObjectsCacheSize(int size) {
+                return super.setManagerObjectsCacheSize(size);
+            }
+        }.setManagerObjectsCacheSize(100));
+        Assertions.assertEquals(100, m2.getOntologyConfigurator().getManagerObjectsCacheSize());
+        Assertions.assertTrue(m2.getModelDataFactory() instanceof CacheDataFactory);
+
+        String ns = "http://x#";
+        String txt = "<%s> a <http://www.w3.org/2002/07/owl#Ontology> .\n" +
+                "<" + ns + "A> a <http://www.w3.org/2002/07/owl#Class> ; <" + ns + "p> 'x' .\n" +
+                "<" + ns + "p> a <http://www.w3.org/2002/07/owl#AnnotationProperty> .";
+        Ontology o1 = m2.loadOntologyFromOntologyDocument(ReadWriteUtils.getStringDocumentSource(
+                String.format(txt, ns + "o1"), OntFormat.TURTLE));
+        Ontology o2 = m2.loadOntologyFromOntologyDocument(ReadWriteUtils.getStringDocumentSource(
+                String.format(txt, ns + "o2"), OntFormat.TURTLE));
+
+        OWLAnnotationAssertionAxiom a1 = o1.axioms(AxiomType.ANNOTATION_ASSERTION).findFirst()
+                .orElseThrow(AssertionError::new);
+        OWLAnnotationAssertionAxiom a2 = o2.axioms(AxiomType.ANNOTATION_ASSERTION).findFirst()
+                .orElseThrow(AssertionError::new);
+        Assertions.assertEquals(a1, a2);
+        Assertions.assertNotSame(a1.getProperty(), a2.getProperty());
+        Assertions.assertSame(ONTObjectImpl.eraseModel(a1.getProperty()), ONTObjectImpl.eraseModel(a2.getProperty()));
+        Assertions.assertSame(ONTObjectImpl.eraseModel(a1.getValue()), ONTObjectImpl.eraseModel(a2.getValue()));
+        Assertions.assertEquals(2, ((CacheDataFactory) m2.getModelDataFactory()).size());
+    }
+
+    @Test
+    public void testNodesCacheStats() throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        m.getOntologyConfigurator().setLoadNodesCacheSize(100);
+        Ontology o = m.loadOntologyFromOntologyDocument(ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+        Assertions.assertEquals(945, o.axioms().count());
+
+        SearchModel sm = (SearchModel) getBase(o).getSearchModel();
+        Map<Class<? extends OntObject>, SearchModel.CacheStats> stats = sm.getNodesCacheStats();
+        Assertions.assertFalse(stats.isEmpty());
+        stats.forEach((k, v) -> LOGGER.debug("{} => {}", k.getSimpleName(), v));
+        Assertions.assertTrue(stats.values().stream().mapToLong(SearchModel.CacheStats::hitCount).sum() > 0);
+        Assertions.assertTrue(stats.values().stream().mapToLong(SearchModel.CacheStats::missCount).sum() > 0);
+        Assertions.assertTrue(stats.values().stream().mapToLong(SearchModel.CacheStats::evictionCount).sum() > 0);
+        stats.values().forEach(x -> {
+            Assertions.assertTrue(x.limit() >= 6 && x.limit() <= 200, "Wrong limit: " + x);
+            Assertions.assertEquals(x.missCount(), x.size() + x.evictionCount(), "Wrong stats: " + x);
+        });
+    }
+
+    @Test
+    public void testNodesCacheCountsEvictions() {
+        OntModel om = OntModelFactory.createModel();
+        List<Node> nodes = IntStream.range(0, 10).mapToObj(i -> om.createOntClass("C" + i).asNode())
+                .collect(Collectors.toList());
+        for (boolean parallel : new boolean[]{true, false}) {
+            SearchModel.CachedFactory f = new SearchModel.CachedFactory(OntClass.Named.class,
+                    OntModelConfig.getPersonality().getObjectFactory(OntClass.Named.class), 3, parallel);
+            for (int i = 0; i < 2; i++) {
+                nodes.forEach(n -> Assertions.assertTrue(f.canWrap(n, (OntGraphModelImpl) om)));
+            }
+            SearchModel.CacheStats x = f.stats();
+            LOGGER.debug("parallel={} => {}", parallel, x);
+            Assertions.assertEquals(20, x.hitCount() + x.missCount(), "Wrong stats: " + x);
+            Assertions.assertTrue(x.size() <= 3, "Wrong stats: " + x);
+            Assertions.assertTrue(x.evictionCount() > 0, "Wrong stats: " + x);
+            Assertions.assertEquals(x.missCount(), x.size() + x.evictionCount(), "Wrong stats: " + x);
+        }
+    }
+
+    @Test
+    public void testExpressionsTable() {
+        OntologyManager m = OntManagers.createManager();
+        Assertions.assertFalse(m.getOntologyConfigurator().useExpressionsCache());
+        Assertions.assertEquals(-1, getObjectFactory(createExpressionsOntology(m)).expressionsTableSize());
+
+        m.getOntologyConfigurator().setModelCacheLevel(CacheSettings.CACHE_EXPRESSIONS, true);
+        Assertions.assertTrue(m.getOntologyConfigurator().useExpressionsCache());
+        Assertions.assertTrue(m.getOntologyConfigurator().useContentCache());
+        Ontology o = createExpressionsOntology(m);
+        InternalObjectFactory of = getObjectFactory(o);
+        // [p, B] is shared by the two restrictions, [p, <nested>] is never interned:
+        Assertions.assertEquals(1, of.expressionsTableSize());
+
+        // the table is dropped together with the content caches
+        o.asGraphModel().createOntClass("E");
+        Assertions.assertEquals(0, getObjectFactory(o).expressionsTableSize());
+        Assertions.assertEquals(3, o.axioms(AxiomType.SUBCLASS_OF).count());
+        Assertions.assertEquals(1, getObjectFactory(o).expressionsTableSize());
+    }
+
+    private static InternalObjectFactory getObjectFactory(Ontology o) {
+        return (InternalObjectFactory) getBase(o).getObjectFactory();
+    }
+
+    private static Ontology createExpressionsOntology(OntologyManager m) {
+        Ontology o = m.createOntology();
+        OntModel g = o.asGraphModel();
+        OntObjectProperty.Named p = g.createObjectProperty("p");
+        OntClass b = g.createOntClass("B");
+        g.createOntClass("A").addSuperClass(g.createObjectSomeValuesFrom(p, b));
+        g.createOntClass("C").addSuperClass(g.createObjectSomeValuesFrom(p, b));
+        g.createOntClass("D").addSuperClass(g.createObjectSomeValuesFrom(p, g.createObjectAllValuesFrom(p, b)));
+
+        List<OWLClassExpression> supers = o.axioms(AxiomType.SUBCLASS_OF)
+                .map(OWLSubClassOfAxiom::getSuperClass).collect(Collectors.toList());
+        Assertions.assertEquals(3, supers.size());
+        List<Object[]> contents = supers.stream()
+                .filter(x -> x.getClassExpressionType() == ClassExpressionType.OBJECT_SOME_VALUES_FROM)
+                .filter(x -> ((OWLObjectSomeValuesFrom) x).getFiller().isOWLClass())
+                .map(x -> ((WithContent<?>) x).getContent()).collect(Collectors.toList());
+        Assertions.assertEquals(2, contents.size());
+        Assertions.assertArrayEquals(contents.get(0), contents.get(1));
+        Assertions.assertEquals(getObjectFactory(o).expressionsTableSize() > 0, contents.get(0) == contents.get(1));
+        return o;
+    }
+
+    @Test
+    public void testSharedGraphCache() throws Exception {
+        SharedGraphCache cache = SharedGraphCache.get();
+        cache.clear();
+        OWLOntologyDocumentSource source = ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE);
+
+        OntologyManager m1 = OntManagers.createManager();
+        Assertions.assertFalse(m1.getOntologyLoaderConfiguration().isUseSharedGraphCache());
+        m1.getOntologyConfigurator().setUseSharedGraphCache(true);
+        Ontology o1 = m1.loadOntologyFromOntologyDocument(source);
+        Assertions.assertEquals(1, cache.size());
+        Graph g1 = o1.asGraphModel().getBaseGraph();
+        Assertions.assertEquals(g1.size(), cache.getTriples());
+
+        OntologyManager m2 = OntManagers.createConcurrentManager();
+        Ontology o2 = m2.loadOntologyFromOntologyDocument(source,
+                m2.getOntologyLoaderConfiguration().setUseSharedGraphCache(true));
+        Assertions.assertEquals(1, cache.size());
+        Graph g2 = Graphs.getBase(o2.asGraphModel().getBaseGraph());
+        Assertions.assertTrue(g2 instanceof DeltaGraph);
+        Assertions.assertTrue(((DeltaGraph) g2).hasNoChanges());
+        Assertions.assertSame(((DeltaGraph) Graphs.getBase(g1)).getParent(), ((DeltaGraph) g2).getParent());
+        Assertions.assertEquals(945, o2.getAxiomCount());
+        Assertions.assertEquals(o1.axioms().collect(Collectors.toSet()), o2.axioms().collect(Collectors.toSet()));
+
+        // the cached graph is never changed:
+        long triples = cache.getTriples();
+        OWLDataFactory df = m2.getOWLDataFactory();
+        o2.add(df.getOWLDeclarationAxiom(df.getOWLClass("http://X")));
+        o1.remove(o1.axioms(AxiomType.SUBCLASS_OF).findFirst().orElseThrow(AssertionError::new));
+        Assertions.assertEquals(triples, cache.getTriples());
+        Assertions.assertEquals(triples, ((DeltaGraph) g2).getParent().size());
+        Assertions.assertEquals(946, o2.getAxiomCount());
+        Assertions.assertEquals(944, o1.getAxiomCount());
+
+        // a manager without the option loads its own copy:
+        Ontology o3 = OntManagers.createManager().loadOntologyFromOntologyDocument(source);
+        Assertions.assertFalse(Graphs.getBase(o3.asGraphModel().getBaseGraph()) instanceof DeltaGraph);
+        cache.clear();
+        Assertions.assertEquals(0, cache.getTriples());
+    }
+
+    @Test
+    public void testSharedGraphCacheAttachesNoListeners() throws Exception {
+        SharedGraphCache cache = SharedGraphCache.get();
+        cache.clear();
+        OWLOntologyDocumentSource source = ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE);
+        List<Ontology> res = new ArrayList<>();
+        Graph parent = null;
+        for (int i = 0; i < 5; i++) {
+            OntologyManager m = OntManagers.createManager();
+            m.getOntologyConfigurator().setUseSharedGraphCache(true);
+            Ontology o = m.loadOntologyFromOntologyDocument(source);
+            res.add(o);
+            Graph g = ((DeltaGraph) Graphs.getBase(o.asGraphModel().getBaseGraph())).getParent();
+            if (parent != null) {
+                Assertions.assertSame(parent, g);
+            }
+            parent = g;
+            Assertions.assertFalse(parent.getEventManager().listening());
+        }
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertEquals(5, res.size());
+        cache.clear();
+    }
+
+    @Test
+    public void testSharedGraphCacheKey() throws Exception {
+        Path file = TempDirectory.createFile("shared-cache-key.", ".ttl");
+        Files.write(file, "<urn:a> a <urn:b> .".getBytes(StandardCharsets.UTF_8));
+        IRI document = IRI.create(file.toUri());
+        String k1 = SharedGraphCache.key(document, null).orElseThrow(AssertionError::new);
+        Assertions.assertEquals(k1, SharedGraphCache.key(document, null).orElseThrow(AssertionError::new));
+        Files.write(file, "<urn:a> a <urn:c>, <urn:d> .".getBytes(StandardCharsets.UTF_8));
+        String k2 = SharedGraphCache.key(document, null).orElseThrow(AssertionError::new);
+        Assertions.assertNotEquals(k1, k2);
+        Assertions.assertFalse(SharedGraphCache.key(IRI.create("http://x"), null).isPresent());
+    }
+
+    @Test
+    public void testSharedGraphCacheSkipsGraphsWithImports() throws Exception {
+        SharedGraphCache cache = SharedGraphCache.get();
+        cache.clear();
+        IRI b = IRI.create("http://b");
+        OntModel root = OntModelFactory.createModel().setNsPrefixes(OntModelFactory.STANDARD);
+        root.setID("http://a").addImport(b.getIRIString());
+        // the class <urn:C> is not declared in the root graph:
+        root.createOntClass("urn:A").addProperty(RDFS.subClassOf, root.createResource("urn:C"));
+        Path file = TempDirectory.createFile("shared-cache-imports.", ".ttl");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            root.write(out, OntFormat.TURTLE.getID());
+        }
+        OWLOntologyDocumentSource source = new FileDocumentSource(file.toFile(), OntFormat.TURTLE.createOwlFormat());
+
+        OntModel b1 = OntModelFactory.createModel();
+        b1.setID(b.getIRIString());
+        b1.createOntClass("urn:C");
+        OntModel b2 = OntModelFactory.createModel();
+        b2.setID(b.getIRIString());
+
+        OntologyManager m1 = OntManagers.createManager();
+        m1.getOntologyConfigurator().setUseSharedGraphCache(true);
+        m1.getDocumentSourceMappers()
+                .add(id -> id.matchOntology(b) ? OntGraphDocumentSource.wrap(b1.getBaseGraph()) : null);
+        Ontology o1 = m1.loadOntologyFromOntologyDocument(source);
+        Assertions.assertEquals(2, o1.getAxiomCount());
+        Assertions.assertEquals(0, cache.size());
+
+        // the same root, but the import does not declare <urn:C>, so the root gets its own declaration:
+        OntologyManager m2 = OntManagers.createManager();
+        m2.getOntologyConfigurator().setUseSharedGraphCache(true);
+        m2.getDocumentSourceMappers()
+                .add(id -> id.matchOntology(b) ? OntGraphDocumentSource.wrap(b2.getBaseGraph()) : null);
+        Ontology o2 = m2.loadOntologyFromOntologyDocument(source);
+        Assertions.assertEquals(3, o2.getAxiomCount());
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testSharedGraphCacheEviction() {
+        SharedGraphCache cache = new SharedGraphCache(5);
+        Graph a = OntModelFactory.createModel().setID("a").getModel().getBaseGraph();
+        Graph b = OntModelFactory.createModel().setID("b").getModel().getBaseGraph();
+        Graph c = OntModelFactory.createDefaultGraph();
+        for (int i = 0; i < 6; i++) {
+            c.add(Triple.create(NodeFactory.createURI("s" + i), RDF.type.asNode(), OWL.Class.asNode()));
+        }
+        Assertions.assertTrue(cache.put("a", a, OntFormat.TURTLE));
+        Assertions.assertTrue(cache.put("b", b, OntFormat.TURTLE));
+        Assertions.assertEquals(2, cache.getTriples());
+        Assertions.assertFalse(cache.put("c", c, OntFormat.TURTLE));
+        Assertions.assertNotNull(cache.get("a"));
+        c.clear();
+        c.add(Triple.create(NodeFactory.createURI("s"), RDF.type.asNode(), OWL.Class.asNode()));
+        c.add(Triple.create(NodeFactory.createURI("s"), RDF.type.asNode(), OWL.Thing.asNode()));
+        c.add(Triple.create(NodeFactory.createURI("s"), RDF.type.asNode(), OWL.Nothing.asNode()));
+        c.add(Triple.create(NodeFactory.createURI("s"), RDF.type.asNode(), OWL.NamedIndividual.asNode()));
+        Assertions.assertTrue(cache.put("c", c, OntFormat.TURTLE));
+        // "b" is the least recently used:
+        Assertions.assertNull(cache.get("b"));
+        Assertions.assertNotNull(cache.get("a"));
+        Assertions.assertEquals(5, cache.getTriples());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testWarmUpCaches() throws Exception {
+        OWLOntologyDocumentSource source = ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE);
+        OntMetrics.MapRegistry registry = new OntMetrics.MapRegistry();
+        OntMetrics.setRegistry(registry);
+        try {
+            OntologyManager m1 = OntManagers.createManager();
+            Assertions.assertTrue(m1.getOntologyLoaderConfiguration().getWarmUpContent().isEmpty());
+            Assertions.assertTrue(m1.getOntologyLoaderConfiguration().getWarmUpComponents().isEmpty());
+            m1.getOntologyConfigurator()
+                    .setWarmUpContent(Arrays.asList(OWLTopObjectType.DECLARATION, OWLTopObjectType.SUBCLASS_OF))
+                    .setWarmUpComponents(Collections.singletonList(OWLComponentType.CLASS));
+            Ontology o1 = m1.loadOntologyFromOntologyDocument(source);
+            // non-concurrent ontology: the caches are built before the method returns
+            Assertions.assertEquals(1, registry.getMetrics().get("content.load.DECLARATION").getCount());
+            Assertions.assertEquals(1, registry.getMetrics().get("content.load.SUBCLASS_OF").getCount());
+            Assertions.assertEquals(1, registry.getMetrics().get("component.load.CLASS").getCount());
+            Assertions.assertEquals(259, o1.axioms(AxiomType.SUBCLASS_OF).count());
+            Assertions.assertEquals(100, o1.classesInSignature().count());
+            Assertions.assertEquals(1, registry.getMetrics().get("content.load.SUBCLASS_OF").getCount());
+            Assertions.assertEquals(1, registry.getMetrics().get("component.load.CLASS").getCount());
+            registry.reset();
+
+            OntologyManager m2 = OntManagers.createConcurrentManager();
+            OntLoaderConfiguration conf = m2.getOntologyLoaderConfiguration()
+                    .setWarmUpContent(Collections.singletonList(OWLTopObjectType.SUBCLASS_OF))
+                    .setWarmUpComponents(Collections.singletonList(OWLComponentType.CLASS));
+            Ontology o2 = m2.loadOntologyFromOntologyDocument(source, conf);
+            // a query during warm-up must not start a new loading
+            Assertions.assertEquals(259, o2.axioms(AxiomType.SUBCLASS_OF).count());
+            long till = System.currentTimeMillis() + 30_000;
+            while (!registry.getMetrics().containsKey("loader.warm-up") && System.currentTimeMillis() < till) {
+                Thread.sleep(10);
+            }
+            Assertions.assertEquals(1, registry.getMetrics().get("loader.warm-up").getCount());
+            Assertions.assertEquals(1, registry.getMetrics().get("content.load.SUBCLASS_OF").getCount());
+            Assertions.assertEquals(1, registry.getMetrics().get("component.load.CLASS").getCount());
+            Assertions.assertEquals(100, o2.classesInSignature().count());
+            Assertions.assertEquals(1, registry.getMetrics().get("component.load.CLASS").getCount());
+        } finally {
+            OntMetrics.disable();
+        }
+    }
+
+    @Test
+    public void testCacheBudget() throws Exception {
+        Assertions.assertEquals(Prop.MANAGER_CACHE_BUDGET.getInt(), new OntConfig().getManagerCacheBudget());
+        OntologyManagerImpl m = (OntologyManagerImpl) OntManagers.createManager();
+        Assertions.assertNull(m.getCacheBudget());
+        m.setOntologyConfigurator(new OntConfig() {
+            @Override
+            protected OntConfig setManagerCacheBudget(int size) {
+                return super.setManagerCacheBudget(size);
+            }
+        }.setManagerCacheBudget(120));
+        CacheBudget budget = m.getCacheBudget();
+        Assertions.assertNotNull(budget);
+        Assertions.assertEquals(120, budget.getLimit());
+
+        List<Ontology> ontologies = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            StringBuilder txt = new StringBuilder("<http://x" + i + "> a <" + OWL.Ontology.getURI() + "> .\n");
+            for (int j = 0; j < 50; j++) {
+                txt.append("<http://x").append(i).append("#C").append(j).append("> a <")
+                        .append(OWL.Class.getURI()).append("> .\n");
+            }
+            ontologies.add(m.loadOntologyFromOntologyDocument(
+                    ReadWriteUtils.getStringDocumentSource(txt.toString(), OntFormat.TURTLE)));
+        }
+        Ontology o1 = ontologies.get(0);
+        Ontology o2 = ontologies.get(1);
+        Ontology o3 = ontologies.get(2);
+
+        // 50 declarations + 50 classes
+        Assertions.assertEquals(50, o1.axioms().count());
+        Assertions.assertEquals(50, o1.classesInSignature().count());
+        Assertions.assertEquals(100, budget.getEstimatedSize());
+        Assertions.assertEquals(0, budget.getEvictionCount());
+        // over budget (the check is performed before each ObjectMap loading): o1 is the least recently used,
+        // it is marked, but keeps its caches until its next access
+        Assertions.assertEquals(50, o2.axioms().count());
+        Assertions.assertEquals(50, o2.classesInSignature().count());
+        Assertions.assertEquals(0, budget.getEvictionCount());
+        Assertions.assertEquals(200, budget.getEstimatedSize());
+        Assertions.assertEquals(0, budget.getReloadCount());
+
+        // o2 has manually added axioms and therefore can not be evicted, o1 is already marked
+        o2.add(m.getOWLDataFactory().getOWLDeclarationAxiom(m.getOWLDataFactory().getOWLClass("http://x1#X")));
+        Assertions.assertEquals(50, o3.axioms().count());
+        Assertions.assertEquals(0, budget.getEvictionCount());
+        Assertions.assertEquals(252, budget.getEstimatedSize());
+
+        // o1 evicts its caches and reloads them, o3 is marked
+        Assertions.assertEquals(50, o1.axioms().count());
+        Assertions.assertEquals(1, budget.getEvictionCount());
+        Assertions.assertEquals(1, budget.getReloadCount());
+        Assertions.assertEquals(202, budget.getEstimatedSize());
+        // o3 evicts its caches and reloads them, o1 is marked
+        Assertions.assertEquals(50, o3.classesInSignature().count());
+        Assertions.assertEquals(2, budget.getReloadCount());
+        Assertions.assertEquals(2, budget.getEvictionCount());
+        Assertions.assertEquals(202, budget.getEstimatedSize());
+        Assertions.assertEquals(51, o2.axioms().count());
+        Assertions.assertEquals(51, o2.classesInSignature().count());
+
+        // disable
+        m.setOntologyConfigurator(new OntConfig());
+        Assertions.assertNull(m.getCacheBudget());
+        long evictions = budget.getEvictionCount();
+        Assertions.assertEquals(Arrays.asList(50L, 51L, 50L), ontologies.stream()
+                .peek(Ontology::clearCache).map(o -> o.classesInSignature().count()).collect(Collectors.toList()));
+        Assertions.assertEquals(evictions, budget.getEvictionCount());
+    }
+
+    @Test
+    public void testCacheBudgetEvictsByAccessAndKeepsCursors() throws Exception {
+        OntologyManagerImpl m = (OntologyManagerImpl) OntManagers.createManager();
+        m.setOntologyConfigurator(new OntConfig() {
+            @Override
+            protected OntConfig setManagerCacheBudget(int size) {
+                return super.setManagerCacheBudget(size);
+            }
+        }.setManagerCacheBudget(120));
+        CacheBudget budget = m.getCacheBudget();
+        List<Ontology> ontologies = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OntModel g = OntModelFactory.createModel();
+            g.setID("http://x" + i);
+            for (int j = 0; j < 50; j++) {
+                g.createOntClass("http://x" + i + "#C" + j);
+            }
+            ontologies.add(m.addOntology(g.getGraph()));
+        }
+        Ontology o1 = ontologies.get(0);
+        Ontology o2 = ontologies.get(1);
+        Ontology o3 = ontologies.get(2);
+
+        Assertions.assertEquals(50, o1.axioms().count());
+        Assertions.assertEquals(50, o2.axioms().count());
+        Page<OWLAxiom> page = o2.axiomsPage(null, 10);
+        List<OWLAxiom> expected = o2.axioms().skip(10).limit(10).collect(Collectors.toList());
+        // o1 is accessed after o2, without loading, so o2 becomes the least recently used
+        Assertions.assertEquals(50, o1.axioms().count());
+        Assertions.assertEquals(0, budget.getEvictionCount());
+
+        // o2 is marked, but it is evicted only on its own next access
+        Assertions.assertEquals(50, o3.axioms().count());
+        Assertions.assertEquals(50, o3.classesInSignature().count());
+        Assertions.assertEquals(0, budget.getEvictionCount());
+        Assertions.assertEquals(50, o1.axioms().count());
+        Assertions.assertEquals(0, budget.getReloadCount());
+
+        // the eviction is not a modification: the cursor is still valid
+        String cursor = page.getNext().orElseThrow(AssertionError::new);
+        Assertions.assertEquals(expected, o2.axiomsPage(cursor, 10).getItems());
+        Assertions.assertEquals(1, budget.getEvictionCount());
+        Assertions.assertEquals(1, budget.getReloadCount());
+    }
+
     enum Prop {
         IRI_CACHE_SIZE(OntSettings.ONT_API_MANAGER_CACHE_IRIS.key() + ".integer"),
+        MANAGER_OBJECTS_CACHE_SIZE(OntSettings.ONT_API_MANAGER_CACHE_OBJECTS.key() + ".integer"),
+        MANAGER_CACHE_BUDGET(OntSettings.ONT_API_MANAGER_CACHE_BUDGET.key() + ".integer"),
         NODES_CACHE_SIZE(OntSettings.ONT_API_LOAD_CONF_CACHE_NODES.key() + ".integer"),
         OBJECTS_CACHE_SIZE(OntSettings.ONT_API_LOAD_CONF_CACHE_OBJECTS.key() + ".integer"),
         CONTENT_CACHE_LEVEL(OntSettings.ONT_API_LOAD_CONF_CACHE_MODEL.key() + ".integer");
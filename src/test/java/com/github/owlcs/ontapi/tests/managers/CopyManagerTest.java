@@ -15,6 +15,7 @@
 package com.github.owlcs.ontapi.tests.managers;
 
 import com.github.owlcs.ontapi.*;
+import com.github.owlcs.ontapi.jena.DeltaGraph;
 import com.github.owlcs.ontapi.jena.model.OntModel;
 import com.github.owlcs.ontapi.jena.utils.Graphs;
 import com.github.owlcs.ontapi.utils.FileMap;
@@ -289,6 +290,88 @@ public class CopyManagerTest {
         Assertions.assertEquals(OntGraphDocumentSource.wrap(a.getBaseGraph()).getDocumentIRI(), di);
     }
 
+    @Test
+    public void testForkOntology() {
+        String uri_a = "urn:a";
+        String uri_b = "urn:b";
+        OntologyManager m1 = OntManagers.createManager();
+        OntModel a = m1.createGraphModel(uri_a);
+        OntModel b = m1.createGraphModel(uri_b);
+        a.addImport(b);
+        a.createOntClass(uri_a + "#A1");
+        a.createOntClass(uri_a + "#A2");
+        Ontology src = m1.getOntology(IRI.create(uri_a));
+        Assertions.assertNotNull(src);
+        Assertions.assertEquals(2, src.axioms().count());
+
+        OntologyManager m2 = OntManagers.createManager();
+        m2.createGraphModel(uri_b);
+        Ontology fork = m2.forkOntology(src);
+        Assertions.assertEquals(1, fork.imports().count());
+        Assertions.assertEquals(2, fork.axioms().count());
+        DeltaGraph delta = (DeltaGraph) fork.asGraphModel().getBaseGraph();
+        Assertions.assertSame(a.getBaseGraph(), delta.getParent());
+        Assertions.assertTrue(delta.hasNoChanges());
+
+        DataFactory df = m2.getOWLDataFactory();
+        fork.add(df.getOWLDeclarationAxiom(df.getOWLClass(uri_a + "#A3")));
+        fork.remove(df.getOWLDeclarationAxiom(df.getOWLClass(uri_a + "#A1")));
+        Assertions.assertEquals(2, fork.axioms().count());
+        Assertions.assertEquals(1, delta.getAdditions().size());
+        Assertions.assertEquals(1, delta.getDeletions().size());
+        Assertions.assertEquals(a.getBaseGraph().size(), delta.size());
+        // the source is untouched
+        Assertions.assertEquals(2, src.axioms().count());
+        Assertions.assertTrue(src.containsEntityInSignature(IRI.create(uri_a + "#A1")));
+        Assertions.assertFalse(src.containsEntityInSignature(IRI.create(uri_a + "#A3")));
+
+        m2.mergeFork(fork, src);
+        Assertions.assertTrue(delta.hasNoChanges());
+        Assertions.assertEquals(2, fork.axioms().count());
+        Assertions.assertFalse(src.containsEntityInSignature(IRI.create(uri_a + "#A1")));
+        Assertions.assertTrue(src.containsEntityInSignature(IRI.create(uri_a + "#A3")));
+        Assertions.assertEquals(fork.axioms().collect(Collectors.toSet()), src.axioms().collect(Collectors.toSet()));
+
+        Ontology b_src = m1.getOntology(IRI.create(uri_b));
+        Assertions.assertThrows(OntApiException.IllegalArgument.class, () -> m2.mergeFork(fork, b_src));
+        Assertions.assertThrows(OntApiException.IllegalArgument.class,
+                () -> m2.mergeFork(m2.getOntology(IRI.create(uri_b)), src));
+    }
+
+    @Test
+    public void testMergeStaleFork() {
+        String uri = "urn:a";
+        OntologyManager m = OntManagers.createConcurrentManager();
+        OntModel a = m.createGraphModel(uri);
+        a.createOntClass(uri + "#A1");
+        Ontology src = m.getOntology(IRI.create(uri));
+        Assertions.assertNotNull(src);
+
+        OntologyManager m1 = OntManagers.createConcurrentManager();
+        OntologyManager m2 = OntManagers.createManager();
+        Ontology fork1 = m1.forkOntology(src);
+        Ontology fork2 = m2.forkOntology(src);
+        DeltaGraph delta2 = (DeltaGraph) Graphs.getBase(fork2.asGraphModel().getBaseGraph());
+
+        DataFactory df = m.getOWLDataFactory();
+        fork1.add(df.getOWLDeclarationAxiom(df.getOWLClass(uri + "#A2")));
+        fork2.add(df.getOWLDeclarationAxiom(df.getOWLClass(uri + "#A2")));
+        fork2.add(df.getOWLDeclarationAxiom(df.getOWLClass(uri + "#A3")));
+        Assertions.assertFalse(delta2.isStale());
+
+        m1.mergeFork(fork1, src);
+        Assertions.assertEquals(2, src.axioms().count());
+        Assertions.assertFalse(((DeltaGraph) Graphs.getBase(fork1.asGraphModel().getBaseGraph())).isStale());
+        Assertions.assertTrue(delta2.isStale());
+        // the fork graph is still consistent: no duplicates, correct size
+        Assertions.assertEquals(delta2.find().toList().size(), delta2.size());
+        Assertions.assertEquals(delta2.getParent().size() + 1, delta2.size());
+
+        Assertions.assertThrows(OntApiException.IllegalState.class, () -> m2.mergeFork(fork2, src));
+        Assertions.assertEquals(2, src.axioms().count());
+        Assertions.assertFalse(src.containsEntityInSignature(IRI.create(uri + "#A3")));
+    }
+
     @Test
     public void testDeepCopingIfSourceIsOntologyModel() {
         String uri_a = "urn:a";
@@ -32,6 +32,7 @@ import org.apache.jena.vocabulary.RDFS;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.semanticweb.owlapi.formats.TurtleDocumentFormat;
+import org.semanticweb.owlapi.io.IRIDocumentSource;
 import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.model.IRI;
 import org.semanticweb.owlapi.model.OWLAxiom;
@@ -45,7 +46,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectOutputStream;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -234,4 +237,38 @@ public class GraphDocumentSourceTest {
         Assertions.assertNotNull(o);
         Assertions.assertEquals(1, m.ontologies().count());
     }
+
+    @Test
+    public void testReadGraphFromGraphSource() throws OWLOntologyCreationException {
+        Graph src = ReadWriteUtils.loadResourceTTLFile("/ontapi/pizza.ttl").getGraph();
+        Graph dst = new GraphMem();
+        List<Long> counts = new ArrayList<>();
+        OntFormat res = OntGraphUtils.readGraph(dst, OntGraphDocumentSource.wrap(src),
+                OntManagers.createManager().getOntologyLoaderConfiguration(), (doc, triples, nanos, finished) -> {
+                    LOGGER.debug("{}: {} triples, {} triples/s",
+                            doc, triples, OntGraphUtils.ReadListener.triplesPerSecond(triples, nanos));
+                    if (finished) counts.add(triples);
+                });
+        Assertions.assertEquals(OntFormat.TURTLE, res);
+        Assertions.assertEquals(Collections.singletonList((long) src.size()), counts);
+        Assertions.assertTrue(dst.isIsomorphicWith(src));
+        Assertions.assertEquals(src.getPrefixMapping().getNsPrefixMap(), dst.getPrefixMapping().getNsPrefixMap());
+    }
+
+    @Test
+    public void testReadGraphFromStreamSource() throws OWLOntologyCreationException {
+        Graph src = ReadWriteUtils.loadResourceTTLFile("/ontapi/pizza.ttl").getGraph();
+        Graph dst = new GraphMem();
+        long[] count = new long[1];
+        IRI iri = IRI.create(MiscOntologyTest.class.getResource("/ontapi/pizza.ttl"));
+        OntFormat res = OntGraphUtils.readGraph(dst, new IRIDocumentSource(iri),
+                OntManagers.createManager().getOntologyLoaderConfiguration(), (doc, triples, nanos, finished) -> {
+                    Assertions.assertEquals(iri, doc);
+                    Assertions.assertTrue(triples >= count[0]);
+                    count[0] = triples;
+                });
+        Assertions.assertEquals(OntFormat.TURTLE, res);
+        Assertions.assertEquals(src.size(), count[0]);
+        Assertions.assertTrue(dst.isIsomorphicWith(src));
+    }
 }
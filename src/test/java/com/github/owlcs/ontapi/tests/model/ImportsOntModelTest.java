@@ -15,7 +15,11 @@
 package com.github.owlcs.ontapi.tests.model;
 
 import com.github.owlcs.ontapi.*;
+import com.github.owlcs.ontapi.config.OntLoaderConfiguration;
+import com.github.owlcs.ontapi.jena.LazyGraph;
+import com.github.owlcs.ontapi.jena.OntJenaException;
 import com.github.owlcs.ontapi.jena.OntModelFactory;
+import com.github.owlcs.ontapi.jena.UnionGraph;
 import com.github.owlcs.ontapi.jena.impl.UnionModel;
 import com.github.owlcs.ontapi.jena.model.OntID;
 import com.github.owlcs.ontapi.jena.model.OntIndividual;
@@ -598,4 +602,156 @@ public class ImportsOntModelTest extends OntModelTestBase {
     public void testBaseModelImportsConcurrent() {
         baseModelImportsTest(OntManagers.createConcurrentManager());
     }
+
+    @Test
+    public void testLazyImports() throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        IRI a = IRI.create("http://a");
+        IRI b = IRI.create("http://b");
+        IRI c = IRI.create("http://c");
+        OntModel gc = OntModelFactory.createModel();
+        gc.setID(c.getIRIString());
+        gc.createOntClass(c.getIRIString() + "#C");
+        Set<IRI> fetched = Collections.synchronizedSet(new HashSet<>());
+        m.getDocumentSourceMappers().add(id -> {
+            if (id.matchOntology(b)) {
+                fetched.add(b);
+                return createSource(b, c);
+            }
+            if (id.matchOntology(c)) {
+                fetched.add(c);
+                return OntGraphDocumentSource.wrap(gc.getBaseGraph());
+            }
+            return null;
+        });
+        // the root is not transformed, otherwise the imports are loaded eagerly:
+        Ontology o = m.loadOntologyFromOntologyDocument(createSource(a, b),
+                m.getOntologyLoaderConfiguration().setLoadImportsLazily(true).setPerformTransformation(false));
+
+        Assertions.assertEquals(1, m.ontologies().count());
+        UnionGraph g = (UnionGraph) o.asGraphModel().getGraph();
+        List<Graph> sub = g.getUnderlying().graphs().collect(Collectors.toList());
+        Assertions.assertEquals(1, sub.size());
+        Assertions.assertTrue(sub.get(0) instanceof LazyGraph);
+        Assertions.assertEquals(b.getIRIString(), ((LazyGraph) sub.get(0)).getName());
+
+        Assertions.assertEquals(1, o.axioms(AxiomType.DECLARATION).count());
+        Assertions.assertEquals(1, o.importsDeclarations().count());
+        // the first access to the union view waits for the imports:
+        Assertions.assertEquals(3, o.asGraphModel().classes().count());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(b, c)), fetched);
+        Assertions.assertTrue(((LazyGraph) sub.get(0)).isLoaded());
+        Assertions.assertEquals(1, m.ontologies().count());
+
+        // an explicit loading replaces the placeholder:
+        Ontology ob = m.loadOntology(b);
+        Assertions.assertEquals(3, m.ontologies().count());
+        Assertions.assertEquals(Collections.singletonList(ob), o.directImports().collect(Collectors.toList()));
+        Assertions.assertTrue(g.getUnderlying().graphs().noneMatch(x -> x instanceof LazyGraph));
+        Assertions.assertEquals(3, o.asGraphModel().classes().count());
+        Assertions.assertEquals(3, o.axioms(AxiomType.DECLARATION, Imports.INCLUDED).count());
+    }
+
+    @Test
+    public void testLazyAndEagerImportsGiveSameAxioms() throws Exception {
+        IRI a = IRI.create("http://a");
+        IRI b = IRI.create("http://b");
+        OntModel ga = OntModelFactory.createModel();
+        ga.setID(a.getIRIString()).addImport(b.getIRIString());
+        ga.createOntClass("urn:A").addProperty(RDFS.subClassOf, ga.createResource("urn:C"));
+        OntModel gb = OntModelFactory.createModel();
+        gb.setID(b.getIRIString());
+        gb.createOntClass("urn:C");
+        gb.createOntClass("urn:B").addSuperClass(gb.getOntClass("urn:C"));
+
+        OntologyManager m1 = OntManagers.createManager();
+        m1.getDocumentSourceMappers().add(id -> id.matchOntology(b) ? OntGraphDocumentSource.wrap(gb.getBaseGraph()) : null);
+        OntLoaderConfiguration conf = m1.getOntologyLoaderConfiguration().setPerformTransformation(false);
+        Ontology eager = m1.loadOntologyFromOntologyDocument(OntGraphDocumentSource.wrap(ga.getBaseGraph()), conf);
+
+        OntologyManager m2 = OntManagers.createConcurrentManager();
+        m2.getDocumentSourceMappers().add(id -> id.matchOntology(b) ? OntGraphDocumentSource.wrap(gb.getBaseGraph()) : null);
+        Ontology lazy = m2.loadOntologyFromOntologyDocument(OntGraphDocumentSource.wrap(ga.getBaseGraph()),
+                conf.setLoadImportsLazily(true));
+        Assertions.assertEquals(1, m2.ontologies().count());
+
+        Set<OWLAxiom> expected = eager.axioms().collect(Collectors.toSet());
+        Assertions.assertEquals(2, expected.size());
+        Assertions.assertEquals(expected, lazy.axioms().collect(Collectors.toSet()));
+        Assertions.assertEquals(expected, lazy.axioms(Imports.EXCLUDED).collect(Collectors.toSet()));
+        Assertions.assertEquals(5, eager.axioms(Imports.INCLUDED).count());
+        Assertions.assertEquals(1, eager.imports().count());
+
+        // the first access to the imports closure registers the lazily loaded imports in the manager:
+        Assertions.assertEquals(5, lazy.axioms(Imports.INCLUDED).count());
+        Assertions.assertEquals(2, m2.ontologies().count());
+        Ontology ob = m2.getOntology(b);
+        Assertions.assertNotNull(ob);
+        Assertions.assertEquals(Collections.singletonList(ob), lazy.imports().collect(Collectors.toList()));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(lazy, ob)), lazy.getImportsClosure());
+        UnionGraph g = (UnionGraph) ((BaseModel) lazy).getBase().getGraph();
+        Assertions.assertTrue(g.getUnderlying().graphs().noneMatch(x -> x instanceof LazyGraph));
+        Assertions.assertEquals(3, lazy.asGraphModel().classes().count());
+    }
+
+    @Test
+    public void testLazyImportsWithTransformations() throws Exception {
+        IRI a = IRI.create("http://a");
+        IRI b = IRI.create("http://b");
+        OntModel ga = OntModelFactory.createModel();
+        ga.setID(a.getIRIString()).addImport(b.getIRIString());
+        // the class <urn:A> is not declared, the class <urn:C> is declared only in the imported graph:
+        ga.createResource("urn:A").addProperty(RDFS.subClassOf, ga.createResource("urn:C"));
+        OntModel gb = OntModelFactory.createModel();
+        gb.setID(b.getIRIString());
+        gb.createOntClass("urn:C");
+
+        Map<Boolean, Ontology> res = new HashMap<>();
+        for (boolean lazy : new boolean[]{false, true}) {
+            OntologyManager m = OntManagers.createManager();
+            m.getDocumentSourceMappers().add(id -> id.matchOntology(b) ? OntGraphDocumentSource.wrap(gb.getBaseGraph()) : null);
+            res.put(lazy, m.loadOntologyFromOntologyDocument(OntGraphDocumentSource.wrap(ga.getBaseGraph()),
+                    m.getOntologyLoaderConfiguration().setLoadImportsLazily(lazy)));
+        }
+        Ontology eager = res.get(false);
+        Ontology lazy = res.get(true);
+        // the root is to be transformed, so the imports are loaded eagerly:
+        Assertions.assertEquals(2, lazy.getOWLOntologyManager().ontologies().count());
+        Set<OWLAxiom> expected = eager.axioms().collect(Collectors.toSet());
+        Assertions.assertEquals(2, expected.size());
+        Assertions.assertEquals(expected, lazy.axioms().collect(Collectors.toSet()));
+        Assertions.assertEquals(eager.axioms(Imports.INCLUDED).collect(Collectors.toSet()),
+                lazy.axioms(Imports.INCLUDED).collect(Collectors.toSet()));
+        // no spurious declarations in the root graph:
+        Assertions.assertEquals(Graphs.getBase(eager.asGraphModel().getGraph()).size(),
+                Graphs.getBase(lazy.asGraphModel().getGraph()).size());
+
+        // a root without imports is transformed as usual:
+        OntModel gc = OntModelFactory.createModel();
+        gc.setID("http://c");
+        gc.createResource("urn:D").addProperty(RDFS.subClassOf, gc.createResource("urn:E"));
+        OntologyManager m = OntManagers.createManager();
+        Ontology c = m.loadOntologyFromOntologyDocument(OntGraphDocumentSource.wrap(gc.getBaseGraph()),
+                m.getOntologyLoaderConfiguration().setLoadImportsLazily(true));
+        Assertions.assertEquals(3, c.axioms().count());
+    }
+
+    @Test
+    public void testLazyImportsMissing() throws Exception {
+        OntologyManager m = OntManagers.createManager();
+        IRI a = IRI.create("http://a");
+        IRI b = IRI.create("urn:missing-b");
+        OntLoaderConfiguration conf = m.getOntologyLoaderConfiguration()
+                .setLoadImportsLazily(true).setPerformTransformation(false);
+
+        Ontology o1 = m.loadOntologyFromOntologyDocument(createSource(a, b), conf);
+        Assertions.assertEquals(1, m.ontologies().count());
+        Assertions.assertThrows(OntJenaException.class, () -> o1.asGraphModel().classes().count());
+
+        OntologyManager m2 = OntManagers.createManager();
+        Ontology o2 = m2.loadOntologyFromOntologyDocument(createSource(a, b),
+                conf.setMissingImportHandlingStrategy(MissingImportHandlingStrategy.SILENT));
+        Assertions.assertEquals(1, o2.asGraphModel().classes().count());
+        Assertions.assertEquals(1, o2.axioms().count());
+    }
 }
@@ -15,10 +15,13 @@
 package com.github.owlcs.ontapi.tests.model;
 
 import com.github.owlcs.ontapi.*;
+import com.github.owlcs.ontapi.jena.OntJenaException;
 import com.github.owlcs.ontapi.jena.model.*;
 import com.github.owlcs.ontapi.jena.vocabulary.OWL;
 import com.github.owlcs.ontapi.jena.vocabulary.XSD;
 import com.github.owlcs.ontapi.utils.ReadWriteUtils;
+import org.apache.jena.shared.AddDeniedException;
+import org.apache.jena.shared.DeleteDeniedException;
 import org.apache.jena.vocabulary.RDFS;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -26,8 +29,12 @@ import org.semanticweb.owlapi.io.OWLOntologyDocumentSource;
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.search.EntitySearcher;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.stream.Collectors;
 
 /**
@@ -356,4 +363,132 @@ public class MiscOntModelTest extends OntModelTestBase {
         Assertions.assertEquals(6, o.axioms().peek(x -> LOGGER.debug("2:{}", x)).count());
         Assertions.assertEquals(18, m.size());
     }
+
+    @Test
+    public void testAxiomsAndSignaturePaging() throws OWLOntologyCreationException {
+        Ontology o = OntManagers.createConcurrentManager().loadOntologyFromOntologyDocument(
+                ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE));
+        List<OWLAxiom> axioms = new ArrayList<>();
+        String cursor = null;
+        do {
+            Page<OWLAxiom> page = o.axiomsPage(cursor, 50);
+            Assertions.assertTrue(page.getItems().size() <= 50);
+            axioms.addAll(page.getItems());
+            cursor = page.getNext().orElse(null);
+        } while (cursor != null);
+        Assertions.assertEquals(o.axioms().collect(Collectors.toList()), axioms);
+
+        List<OWLEntity> entities = new ArrayList<>();
+        cursor = null;
+        do {
+            Page<OWLEntity> page = o.signaturePage(cursor, 7);
+            entities.addAll(page.getItems());
+            cursor = page.getNext().orElse(null);
+        } while (cursor != null);
+        Assertions.assertEquals(o.signature().collect(Collectors.toList()), entities);
+
+        Page<OWLAxiom> first = o.axiomsPage(null, 10);
+        String next = first.getNext().orElseThrow(AssertionError::new);
+        Assertions.assertEquals(axioms.subList(10, 20), o.axiomsPage(next, 10).getItems());
+        Assertions.assertThrows(OntApiException.IllegalArgument.class, () -> o.signaturePage(next, 10));
+        Assertions.assertThrows(OntApiException.IllegalArgument.class, () -> o.axiomsPage("xxx", 10));
+
+        o.add(OntManagers.getDataFactory().getOWLDeclarationAxiom(OntManagers.getDataFactory().getOWLClass("X")));
+        Assertions.assertThrows(OntApiException.IllegalState.class, () -> o.axiomsPage(next, 10));
+    }
+
+    @Test
+    public void testFreezeOntology() throws OWLOntologyCreationException {
+        OWLOntologyDocumentSource source = ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl", OntFormat.TURTLE);
+        Ontology expected = OntManagers.createManager().loadOntologyFromOntologyDocument(source);
+        OntologyManager m = OntManagers.createConcurrentManager();
+        Ontology o = m.loadOntologyFromOntologyDocument(source);
+        Assertions.assertFalse(o.isFrozen());
+        o.freeze();
+        o.freeze();
+        Assertions.assertTrue(o.isFrozen());
+
+        Assertions.assertEquals(expected.axioms().collect(Collectors.toSet()), o.axioms().collect(Collectors.toSet()));
+        Assertions.assertEquals(expected.signature().collect(Collectors.toSet()),
+                o.signature().collect(Collectors.toSet()));
+        OWLClass pizza = m.getOWLDataFactory().getOWLClass("http://www.co-ode.org/ontologies/pizza/pizza.owl#Pizza");
+        Assertions.assertTrue(o.containsClassInSignature(pizza.getIRI()));
+        Assertions.assertEquals(expected.referencingAxioms(pizza).count(), o.referencingAxioms(pizza).count());
+        Assertions.assertEquals(expected.subClassAxiomsForSuperClass(pizza).count(),
+                o.subClassAxiomsForSuperClass(pizza).count());
+        Page<OWLAxiom> page = o.axiomsPage(null, 10);
+        Assertions.assertEquals(o.axioms().limit(20).skip(10).collect(Collectors.toList()),
+                o.axiomsPage(page.getNext().orElseThrow(AssertionError::new), 10).getItems());
+
+        OWLAxiom a = o.axioms(AxiomType.SUBCLASS_OF).findFirst().orElseThrow(AssertionError::new);
+        OWLDataFactory df = m.getOWLDataFactory();
+        Assertions.assertThrows(OntApiException.ModificationDenied.class, () -> o.remove(a));
+        Assertions.assertThrows(OntApiException.ModificationDenied.class,
+                () -> o.add(df.getOWLDeclarationAxiom(df.getOWLClass("X"))));
+        Assertions.assertThrows(OntApiException.ModificationDenied.class,
+                () -> m.applyChange(new SetOntologyID(o, IRI.create("Y"))));
+        OntModel g = o.asGraphModel();
+        long size = g.size();
+        Assertions.assertThrows(AddDeniedException.class, () -> g.createOntClass("X"));
+        Assertions.assertThrows(DeleteDeniedException.class, () -> g.removeAll());
+        Assertions.assertEquals(size, g.size());
+        o.clearCache();
+        Assertions.assertTrue(o.containsAxiom(a));
+        Assertions.assertFalse(o.containsAxiom(df.getOWLDeclarationAxiom(df.getOWLClass("X"))));
+        Assertions.assertEquals(expected.getAxiomCount(), o.getAxiomCount());
+
+        // other ontologies in the same manager are still modifiable:
+        Ontology other = m.createOntology(IRI.create("Z"));
+        other.add(df.getOWLDeclarationAxiom(df.getOWLClass("X")));
+        Assertions.assertEquals(1, other.getAxiomCount());
+    }
+
+    @Test
+    public void testFreezeOntologyWithImports() throws Exception {
+        OntologyManager m = OntManagers.createConcurrentManager();
+        OWLDataFactory df = m.getOWLDataFactory();
+        Ontology a = m.createOntology(IRI.create("http://a"));
+        Ontology b = m.createOntology(IRI.create("http://b"));
+        b.add(df.getOWLDeclarationAxiom(df.getOWLClass("urn:C")));
+        m.applyChange(new AddImport(a, df.getOWLImportsDeclaration(IRI.create("http://b"))));
+        m.applyChange(new AddImport(a, df.getOWLImportsDeclaration(IRI.create("http://c"))));
+        a.add(df.getOWLSubClassOfAxiom(df.getOWLClass("urn:A"), df.getOWLClass("urn:C")));
+        a.freeze();
+
+        // the hierarchy of a frozen ontology cannot be changed:
+        Assertions.assertThrows(OntJenaException.Unsupported.class,
+                () -> a.asGraphModel().addImport(m.createOntology(IRI.create("http://d")).asGraphModel()));
+        // a missing import, that is loaded later, is not attached:
+        Ontology c = m.createOntology(IRI.create("http://c"));
+        Assertions.assertEquals(Collections.singletonList("http://b"), a.asGraphModel().imports()
+                .map(x -> x.getID().getURI()).collect(Collectors.toList()));
+
+        // the import is still modifiable, so reading the frozen ontology waits for the lock:
+        ReadWriteLock lock = ((OntologyManagerImpl) m).getLock();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            lock.writeLock().lock();
+            Future<Integer> count;
+            try {
+                count = executor.submit(() -> a.getAxiomCount());
+                Assertions.assertThrows(TimeoutException.class, () -> count.get(200, TimeUnit.MILLISECONDS));
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Assertions.assertEquals(1, (int) count.get(5, TimeUnit.SECONDS));
+
+            // the whole imports closure is frozen, so after the next reading there is no more locking:
+            b.freeze();
+            c.add(df.getOWLDeclarationAxiom(df.getOWLClass("urn:D")));
+            Assertions.assertEquals(1, a.getAxiomCount());
+            lock.writeLock().lock();
+            try {
+                Assertions.assertEquals(1, (int) executor.submit(() -> a.getAxiomCount()).get(5, TimeUnit.SECONDS));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * This file is part of the ONT API.
+ * The contents of this file are subject to the LGPL License, Version 3.0.
+ * Copyright (c) 2021, owl.cs group.
+ *
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see http://www.gnu.org/licenses/.
+ *
+ * Alternatively, the contents of this file may be used under the terms of the Apache License, Version 2.0 in which case, the provisions of the Apache License Version 2.0 are applicable instead of those above.
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with the License. You may obtain a copy of the License at http://www.apache.org/licenses/LICENSE-2.0
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the specific language governing permissions and limitations under the License.
+ */
+
+package com.github.owlcs.ontapi.tests.model;
+
+import com.github.owlcs.ontapi.*;
+import com.github.owlcs.ontapi.jena.model.OntClass;
+import com.github.owlcs.ontapi.jena.model.OntModel;
+import com.github.owlcs.ontapi.jena.model.OntObjectProperty;
+import com.github.owlcs.ontapi.jena.model.OntStatement;
+import com.github.owlcs.ontapi.jena.vocabulary.OWL;
+import com.github.owlcs.ontapi.jena.vocabulary.RDF;
+import com.github.owlcs.ontapi.utils.ReadWriteUtils;
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.GraphUtil;
+import org.apache.jena.sparql.graph.GraphFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.semanticweb.owlapi.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * To test {@link OntologyDiff}.
+ */
+public class OntologyDiffTest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OntologyDiffTest.class);
+
+    private static Ontology load(OntologyManager manager) throws OWLOntologyCreationException {
+        return manager.loadOntologyFromOntologyDocument(ReadWriteUtils.getFileDocumentSource("/ontapi/pizza.ttl",
+                OntFormat.TURTLE));
+    }
+
+    private static Ontology copy(Ontology ontology) {
+        Graph g = GraphFactory.createGraphMem();
+        GraphUtil.addInto(g, ontology.asGraphModel().getBaseGraph());
+        return OntManagers.createManager().addOntology(g);
+    }
+
+    private static Set<OWLAxiom> axioms(Ontology ontology) {
+        return ontology.axioms().collect(Collectors.toSet());
+    }
+
+    @Test
+    public void testNoDifferenceWithDifferentBlankNodes() throws OWLOntologyCreationException {
+        Ontology a = load(OntManagers.createManager());
+        Ontology b = load(OntManagers.createManager());
+        Assertions.assertFalse(OntologyDiff.difference(a.asGraphModel().getBaseGraph(),
+                b.asGraphModel().getBaseGraph()).isEmpty());
+        Assertions.assertTrue(OntologyDiff.diff(a, b).isEmpty());
+    }
+
+    @Test
+    public void testDiffAndApply() throws OWLOntologyCreationException {
+        Ontology source = load(OntManagers.createManager());
+        Ontology target = copy(source);
+        Assertions.assertTrue(OntologyDiff.diff(source, target).isEmpty());
+
+        OntModel m = target.asGraphModel();
+        String ns = m.getID().getURI() + "#";
+        // remove a simple axiom and a whole class expression:
+        m.remove(m.getResource(ns + "American"), RDF.type, m.getResource(ns + "NamedPizza"));
+        OntClass spicy = m.getOntClass(ns + "SpicyPizza");
+        spicy.equivalentClasses().filter(OntClass::isAnon).collect(Collectors.toList())
+                .forEach(c -> spicy.removeEquivalentClass(c));
+        // add new axioms, one is annotated:
+        OntObjectProperty.Named p = m.getObjectProperty(ns + "hasTopping");
+        m.createOntClass(ns + "Extra").addSubClassOfStatement(m.createObjectSomeValuesFrom(p, m.getOWLThing()))
+                .addAnnotation(m.getRDFSComment(), "new");
+        // annotate an existing axiom:
+        OntStatement st = m.getOntClass(ns + "Margherita").getMainStatement();
+        st.addAnnotation(m.getRDFSLabel(), "annotated");
+        // change an ontology annotation:
+        m.getID().addComment("changed");
+
+        List<OWLOntologyChange> changes = OntologyDiff.diff(source, target);
+        changes.forEach(x -> LOGGER.debug("{}", x));
+        Assertions.assertFalse(changes.isEmpty());
+        Assertions.assertTrue(changes.stream().allMatch(x -> x.getOntology() == source));
+        Assertions.assertEquals(1, changes.stream().filter(AddOntologyAnnotation.class::isInstance).count());
+
+        Set<OWLAxiom> expected = axioms(target);
+        Set<OWLAxiom> before = axioms(source);
+        Set<OWLAxiom> removed = before.stream().filter(x -> !expected.contains(x)).collect(Collectors.toSet());
+        Set<OWLAxiom> added = expected.stream().filter(x -> !before.contains(x)).collect(Collectors.toSet());
+        Assertions.assertEquals(removed, changes.stream().filter(OWLOntologyChange::isRemoveAxiom)
+                .map(OWLOntologyChange::getAxiom).collect(Collectors.toSet()));
+        Assertions.assertEquals(added, changes.stream().filter(OWLOntologyChange::isAddAxiom)
+                .map(OWLOntologyChange::getAxiom).collect(Collectors.toSet()));
+
+        source.getOWLOntologyManager().applyChanges(changes);
+        Assertions.assertEquals(expected, axioms(source));
+        Assertions.assertEquals(target.annotations().collect(Collectors.toSet()),
+                source.annotations().collect(Collectors.toSet()));
+        Assertions.assertTrue(OntologyDiff.diff(source, target).isEmpty());
+    }
+
+    @Test
+    public void testDiffWhenDeclarationChanged() {
+        Ontology source = OntManagers.createManager().createOntology(IRI.create("urn:x"));
+        OntModel m = source.asGraphModel();
+        OntClass a = m.createOntClass("urn:A");
+        OntClass b = m.createOntClass("urn:B");
+        a.addSuperClass(b);
+        m.createOntClass("urn:C").addSuperClass(m.createObjectSomeValuesFrom(m.createObjectProperty("urn:p"), b));
+        Assertions.assertEquals(6, source.axioms().count());
+        Ontology original = copy(source);
+
+        // removing the declaration of B makes the axioms with B invisible
+        Ontology target = copy(source);
+        target.asGraphModel().remove(b, RDF.type, OWL.Class);
+        Set<OWLAxiom> expected = axioms(target);
+        Assertions.assertEquals(3, expected.size());
+
+        List<OWLOntologyChange> changes = OntologyDiff.diff(source, target);
+        changes.forEach(x -> LOGGER.debug("{}", x));
+        Assertions.assertEquals(3, changes.size());
+        Assertions.assertTrue(changes.stream().allMatch(OWLOntologyChange::isRemoveAxiom));
+        source.getOWLOntologyManager().applyChanges(changes);
+        Assertions.assertEquals(expected, axioms(source));
+
+        // adding the declaration back makes them visible again
+        changes = OntologyDiff.diff(target, original);
+        changes.forEach(x -> LOGGER.debug("{}", x));
+        Assertions.assertEquals(3, changes.size());
+        Assertions.assertTrue(changes.stream().allMatch(OWLOntologyChange::isAddAxiom));
+        target.getOWLOntologyManager().applyChanges(changes);
+        Assertions.assertEquals(axioms(original), axioms(target));
+    }
+}